@@ -25,3 +25,45 @@ ALTER TABLE calculated_field ADD COLUMN IF NOT EXISTS additional_info varchar;
 ALTER TABLE rule_chain ADD COLUMN IF NOT EXISTS notes varchar(1000000);
 
 -- RULE CHAIN NOTES MIGRATION END
+
+-- EDGE EVENT SEQ ID INDEX START
+
+CREATE INDEX IF NOT EXISTS idx_edge_event_tenant_id_edge_id_seq_id ON edge_event(tenant_id, edge_id, seq_id);
+
+-- EDGE EVENT SEQ ID INDEX END
+
+-- TIME-SERIES ROLLUPS START
+
+CREATE TABLE IF NOT EXISTS ts_rollup
+(
+    entity_id  uuid   NOT NULL,
+    key        int    NOT NULL,
+    resolution bigint NOT NULL,
+    ts         bigint NOT NULL,
+    bool_cnt   bigint NOT NULL,
+    str_cnt    bigint NOT NULL,
+    long_cnt   bigint NOT NULL,
+    dbl_cnt    bigint NOT NULL,
+    json_cnt   bigint NOT NULL,
+    long_sum   bigint,
+    long_min   bigint,
+    long_max   bigint,
+    dbl_sum    double precision,
+    dbl_min    double precision,
+    dbl_max    double precision,
+    str_min    varchar(10000000),
+    str_max    varchar(10000000),
+    last_ts    bigint NOT NULL,
+    CONSTRAINT ts_rollup_pkey PRIMARY KEY (entity_id, key, resolution, ts)
+);
+
+CREATE TABLE IF NOT EXISTS ts_rollup_dirty
+(
+    entity_id uuid   NOT NULL,
+    key       int    NOT NULL,
+    start_ts  bigint NOT NULL,
+    end_ts    bigint NOT NULL,
+    CONSTRAINT ts_rollup_dirty_pkey PRIMARY KEY (entity_id, key, start_ts)
+);
+
+-- TIME-SERIES ROLLUPS END
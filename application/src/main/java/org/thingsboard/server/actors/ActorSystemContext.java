@@ -39,6 +39,7 @@ import org.thingsboard.rule.engine.api.MqttClientSettings;
 import org.thingsboard.rule.engine.api.TbHttpClientSettings;
 import org.thingsboard.rule.engine.api.NotificationCenter;
 import org.thingsboard.rule.engine.api.RuleEngineAiChatModelService;
+import org.thingsboard.rule.engine.api.RuleEngineDataFetchService;
 import org.thingsboard.rule.engine.api.SmsService;
 import org.thingsboard.rule.engine.api.notification.SlackService;
 import org.thingsboard.rule.engine.api.sms.SmsSenderFactory;
@@ -305,6 +306,10 @@ public class ActorSystemContext {
     @Getter
     private AttributesService attributesService;
 
+    @Autowired
+    @Getter
+    private RuleEngineDataFetchService dataFetchService;
+
     @Autowired
     @Getter
     private EventService eventService;
@@ -34,6 +34,7 @@ import org.thingsboard.rule.engine.api.RuleEngineAlarmService;
 import org.thingsboard.rule.engine.api.RuleEngineApiUsageStateService;
 import org.thingsboard.rule.engine.api.RuleEngineAssetProfileCache;
 import org.thingsboard.rule.engine.api.RuleEngineCalculatedFieldQueueService;
+import org.thingsboard.rule.engine.api.RuleEngineDataFetchService;
 import org.thingsboard.rule.engine.api.RuleEngineDeviceProfileCache;
 import org.thingsboard.rule.engine.api.RuleEngineRpcService;
 import org.thingsboard.rule.engine.api.RuleEngineTelemetryService;
@@ -768,6 +769,11 @@ public class DefaultTbContext implements TbContext {
         return mainCtx.getTsService();
     }
 
+    @Override
+    public RuleEngineDataFetchService getDataFetchService() {
+        return mainCtx.getDataFetchService();
+    }
+
     @Override
     public RuleEngineTelemetryService getTelemetryService() {
         return mainCtx.getTsSubService();
@@ -22,7 +22,7 @@ import org.rocksdb.WriteOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
-import org.thingsboard.server.edqs.util.TbRocksDb;
+import org.thingsboard.common.util.TbRocksDb;
 
 @Component
 @ConditionalOnExpression("'${queue.type:null}'=='in-memory'")
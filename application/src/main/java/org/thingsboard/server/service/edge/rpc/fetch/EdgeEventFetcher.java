@@ -27,4 +27,8 @@ public interface EdgeEventFetcher {
 
     PageData<EdgeEvent> fetchEdgeEvents(TenantId tenantId, Edge edge, PageLink pageLink) throws Exception;
 
+    default PageLink getNextPageLink(PageLink pageLink, PageData<EdgeEvent> pageData) {
+        return pageLink.nextPageLink();
+    }
+
 }
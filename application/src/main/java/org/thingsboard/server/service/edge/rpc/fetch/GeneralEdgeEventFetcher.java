@@ -52,17 +52,27 @@ public class GeneralEdgeEventFetcher implements EdgeEventFetcher {
                 System.currentTimeMillis());
     }
 
+    /**
+     * Events are read with a seqId cursor instead of the page number, so the next page
+     * starts right after the last fetched event and no total count is calculated.
+     */
+    @Override
+    public PageLink getNextPageLink(PageLink pageLink, PageData<EdgeEvent> pageData) {
+        seqIdStart = pageData.getData().get(pageData.getData().size() - 1).getSeqId();
+        return pageLink;
+    }
+
     @Override
     public PageData<EdgeEvent> fetchEdgeEvents(TenantId tenantId, Edge edge, PageLink pageLink) {
         try {
             log.trace("[{}] Finding general edge events [{}], seqIdStart = {}, pageLink = {}",
                     tenantId, edge.getId(), seqIdStart, pageLink);
-            PageData<EdgeEvent> edgeEvents = edgeEventService.findEdgeEvents(tenantId, edge.getId(), seqIdStart, null, (TimePageLink) pageLink);
+            PageData<EdgeEvent> edgeEvents = edgeEventService.findEdgeEventsAfterSeqId(tenantId, edge.getId(), seqIdStart, null, (TimePageLink) pageLink);
             if (!edgeEvents.getData().isEmpty()) {
                 return edgeEvents;
             }
             if (seqIdStart > this.maxReadRecordsCount) {
-                edgeEvents = edgeEventService.findEdgeEvents(tenantId, edge.getId(), 0L, Math.max(this.maxReadRecordsCount, seqIdStart - this.maxReadRecordsCount), (TimePageLink) pageLink);
+                edgeEvents = edgeEventService.findEdgeEventsAfterSeqId(tenantId, edge.getId(), 0L, Math.max(this.maxReadRecordsCount, seqIdStart - this.maxReadRecordsCount), (TimePageLink) pageLink);
                 if (edgeEvents.getData().stream().anyMatch(ee -> ee.getSeqId() < seqIdStart)) {
                     log.info("[{}] seqId column of edge_event table started new cycle [{}]", tenantId, edge.getId());
                     this.seqIdNewCycleStarted = true;
@@ -127,7 +127,7 @@ public class PostgresGeneralEdgeEventsDispatcher implements EdgeEventsDispatcher
             log.trace("[{}][{}][{}] Checking if seq id started new cycle", tenantId, edgeId, sessionId);
             TimePageLink pageLink = new TimePageLink(ctx.getEdgeEventStorageSettings().getMaxReadRecordsCount(), 0, null, null, newStartTs, System.currentTimeMillis());
             PageData<EdgeEvent> edgeEvents = ctx.getEdgeEventService()
-                    .findEdgeEvents(tenantId, edgeId, 0L, previousStartSeqId == 0 ? null : previousStartSeqId - 1, pageLink);
+                    .findEdgeEventsAfterSeqId(tenantId, edgeId, 0L, previousStartSeqId == 0 ? null : previousStartSeqId - 1, pageLink);
 
             boolean result = !edgeEvents.getData().isEmpty();
             log.trace("[{}][{}][{}] Result of check if seq id started new cycle, result = {}", tenantId, edgeId, sessionId, result);
@@ -142,7 +142,7 @@ public class PostgresGeneralEdgeEventsDispatcher implements EdgeEventsDispatcher
         try {
             log.trace("[{}][{}][{}] Checking if new edge events available", tenantId, edgeId, sessionId);
             TimePageLink pageLink = new TimePageLink(ctx.getEdgeEventStorageSettings().getMaxReadRecordsCount(), 0, null, null, newStartTs, System.currentTimeMillis());
-            PageData<EdgeEvent> edgeEvents = ctx.getEdgeEventService().findEdgeEvents(tenantId, edgeId, newStartSeqId, null, pageLink);
+            PageData<EdgeEvent> edgeEvents = ctx.getEdgeEventService().findEdgeEventsAfterSeqId(tenantId, edgeId, newStartSeqId, null, pageLink);
             boolean available = !edgeEvents.getData().isEmpty() || session.hasHighPriorityEvents();
             log.trace("[{}][{}][{}] Result of check if new edge events available, result = {}", tenantId, edgeId, sessionId, available);
             return available;
@@ -206,7 +206,7 @@ public class PostgresGeneralEdgeEventsDispatcher implements EdgeEventsDispatcher
         try {
             TimePageLink pageLink = new TimePageLink(1, 0, null, null, null, null);
             PageData<EdgeEvent> edgeEvents = ctx.getEdgeEventService()
-                    .findEdgeEvents(tenantId, edgeId, null, null, pageLink);
+                    .findEdgeEventsAfterSeqId(tenantId, edgeId, null, null, pageLink);
             if (!edgeEvents.getData().isEmpty()) {
                 startSeqId = edgeEvents.getData().get(0).getSeqId() - 1;
             }
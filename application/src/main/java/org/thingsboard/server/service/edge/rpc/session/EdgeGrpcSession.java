@@ -398,55 +398,106 @@ public class EdgeGrpcSession implements EdgeSession {
 
     private void fetchAndSendEdgeEvents(EdgeEventFetcher fetcher, PageLink pageLink, SettableFuture<Pair<Long, Long>> result) {
         Edge edge = state.getEdge();
-        TenantId tenantId = getTenantId();
         try {
             log.trace("[{}] Start processing edge events, fetcher = {}, pageLink = {}", edge.getId(), fetcher.getClass().getSimpleName(), pageLink);
             processHighPriorityEvents();
             PageData<EdgeEvent> pageData = fetcher.fetchEdgeEvents(edge.getTenantId(), edge, pageLink);
-            if (state.isConnected() && !pageData.getData().isEmpty()) {
-                if (fetcher instanceof GeneralEdgeEventFetcher) {
-                    long queueSize = pageData.getTotalElements() - ((long) pageLink.getPageSize() * pageLink.getPage());
-                    ctx.getStatsCounterService().ifPresent(statsCounterService ->
-                            statsCounterService.recordEvent(EdgeStatsKey.DOWNLINK_MSGS_LAG, tenantId, edge.getId(), queueSize));
-                }
-                log.trace("[{}][{}][{}] event(s) are going to be processed.", tenantId, edge.getId(), pageData.getData().size());
-                List<DownlinkMsg> downlinkMsgsPack = downlinkMessageMapper.convertToDownlinkMsgsPack(state, pageData.getData());
-                Futures.addCallback(sendDownlinkMsgsPack(downlinkMsgsPack), new FutureCallback<>() {
-                    @Override
-                    public void onSuccess(@Nullable Boolean isInterrupted) {
-                        if (Boolean.TRUE.equals(isInterrupted)) {
-                            log.debug("[{}][{}][{}] Send downlink messages task was interrupted", tenantId, edge.getId(), getSessionId());
-                            result.set(null);
+            sendEdgeEvents(fetcher, pageLink, pageData, result);
+        } catch (Exception e) {
+            log.error("[{}] Failed to fetch edge events", edge.getId(), e);
+            result.setException(e);
+        }
+    }
+
+    private void sendEdgeEvents(EdgeEventFetcher fetcher, PageLink pageLink, PageData<EdgeEvent> pageData, SettableFuture<Pair<Long, Long>> result) {
+        Edge edge = state.getEdge();
+        TenantId tenantId = getTenantId();
+        if (state.isConnected() && !pageData.getData().isEmpty()) {
+            if (fetcher instanceof GeneralEdgeEventFetcher) {
+                recordDownlinkMsgsLag(tenantId, edge, pageLink, pageData);
+            }
+            log.trace("[{}][{}][{}] event(s) are going to be processed.", tenantId, edge.getId(), pageData.getData().size());
+            List<DownlinkMsg> downlinkMsgsPack = downlinkMessageMapper.convertToDownlinkMsgsPack(state, pageData.getData());
+            // the next page is fetched while the current pack is waiting for the acks from the edge.
+            // Only one page is fetched ahead, so the edge that is slow to ack the messages limits the read rate
+            PageLink nextPageLink = pageData.hasNext() ? fetcher.getNextPageLink(pageLink, pageData) : null;
+            ListenableFuture<PageData<EdgeEvent>> nextPageFuture = nextPageLink != null ?
+                    ctx.getGrpcCallbackExecutorService().submit(() -> fetcher.fetchEdgeEvents(edge.getTenantId(), edge, nextPageLink)) : null;
+            Futures.addCallback(sendDownlinkMsgsPack(downlinkMsgsPack), new FutureCallback<>() {
+                @Override
+                public void onSuccess(@Nullable Boolean isInterrupted) {
+                    if (Boolean.TRUE.equals(isInterrupted)) {
+                        log.debug("[{}][{}][{}] Send downlink messages task was interrupted", tenantId, edge.getId(), getSessionId());
+                        cancelNextPage(nextPageFuture);
+                        result.set(null);
+                    } else if (state.isConnected() && nextPageFuture != null) {
+                        sendNextEdgeEvents(fetcher, nextPageLink, nextPageFuture, result);
+                    } else {
+                        cancelNextPage(nextPageFuture);
+                        EdgeEvent latestEdgeEvent = pageData.getData().get(pageData.getData().size() - 1);
+                        UUID idOffset = latestEdgeEvent.getUuidId();
+                        if (idOffset != null) {
+                            Long newStartTs = Uuids.unixTimestamp(idOffset);
+                            long newStartSeqId = latestEdgeEvent.getSeqId();
+                            result.set(Pair.of(newStartTs, newStartSeqId));
                         } else {
-                            if (state.isConnected() && pageData.hasNext()) {
-                                fetchAndSendEdgeEvents(fetcher, pageLink.nextPageLink(), result);
-                            } else {
-                                EdgeEvent latestEdgeEvent = pageData.getData().get(pageData.getData().size() - 1);
-                                UUID idOffset = latestEdgeEvent.getUuidId();
-                                if (idOffset != null) {
-                                    Long newStartTs = Uuids.unixTimestamp(idOffset);
-                                    long newStartSeqId = latestEdgeEvent.getSeqId();
-                                    result.set(Pair.of(newStartTs, newStartSeqId));
-                                } else {
-                                    result.set(null);
-                                }
-                            }
+                            result.set(null);
                         }
                     }
+                }
 
-                    @Override
-                    public void onFailure(Throwable t) {
-                        log.error("[{}] Failed to send downlink msgs pack", edge.getId(), t);
-                        result.setException(t);
-                    }
-                }, ctx.getGrpcCallbackExecutorService());
-            } else {
-                log.trace("[{}] no event(s) found. Stop processing edge events, fetcher = {}, pageLink = {}", edge.getId(), fetcher.getClass().getSimpleName(), pageLink);
-                result.set(null);
+                @Override
+                public void onFailure(Throwable t) {
+                    log.error("[{}] Failed to send downlink msgs pack", edge.getId(), t);
+                    cancelNextPage(nextPageFuture);
+                    result.setException(t);
+                }
+            }, ctx.getGrpcCallbackExecutorService());
+        } else {
+            log.trace("[{}] no event(s) found. Stop processing edge events, fetcher = {}, pageLink = {}", edge.getId(), fetcher.getClass().getSimpleName(), pageLink);
+            result.set(null);
+        }
+    }
+
+    private void sendNextEdgeEvents(EdgeEventFetcher fetcher, PageLink pageLink, ListenableFuture<PageData<EdgeEvent>> pageDataFuture,
+                                    SettableFuture<Pair<Long, Long>> result) {
+        Futures.addCallback(pageDataFuture, new FutureCallback<>() {
+            @Override
+            public void onSuccess(PageData<EdgeEvent> pageData) {
+                try {
+                    processHighPriorityEvents();
+                    sendEdgeEvents(fetcher, pageLink, pageData, result);
+                } catch (Exception e) {
+                    log.error("[{}] Failed to send edge events", getEdgeId(), e);
+                    result.setException(e);
+                }
             }
-        } catch (Exception e) {
-            log.error("[{}] Failed to fetch edge events", edge.getId(), e);
-            result.setException(e);
+
+            @Override
+            public void onFailure(Throwable t) {
+                log.error("[{}] Failed to fetch edge events", getEdgeId(), t);
+                result.setException(t);
+            }
+        }, ctx.getGrpcCallbackExecutorService());
+    }
+
+    private void recordDownlinkMsgsLag(TenantId tenantId, Edge edge, PageLink pageLink, PageData<EdgeEvent> pageData) {
+        long queueSize;
+        if (pageData.getTotalElements() >= 0) {
+            queueSize = pageData.getTotalElements() - ((long) pageLink.getPageSize() * pageLink.getPage());
+        } else if (!pageData.hasNext()) {
+            // total count is not calculated for the seqId cursor, but the last page holds all the events left in the queue
+            queueSize = pageData.getData().size();
+        } else {
+            return;
+        }
+        ctx.getStatsCounterService().ifPresent(statsCounterService ->
+                statsCounterService.recordEvent(EdgeStatsKey.DOWNLINK_MSGS_LAG, tenantId, edge.getId(), queueSize));
+    }
+
+    private void cancelNextPage(ListenableFuture<PageData<EdgeEvent>> nextPageFuture) {
+        if (nextPageFuture != null) {
+            nextPageFuture.cancel(false);
         }
     }
 
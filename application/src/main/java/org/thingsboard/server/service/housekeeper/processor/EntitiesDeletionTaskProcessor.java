@@ -21,13 +21,10 @@ import org.springframework.stereotype.Component;
 import org.thingsboard.server.common.data.EntityType;
 import org.thingsboard.server.common.data.housekeeper.EntitiesDeletionHousekeeperTask;
 import org.thingsboard.server.common.data.housekeeper.HousekeeperTaskType;
-import org.thingsboard.server.common.data.id.EntityId;
-import org.thingsboard.server.common.data.id.EntityIdFactory;
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.dao.entity.EntityDaoService;
 import org.thingsboard.server.dao.entity.EntityServiceRegistry;
-
-import java.util.UUID;
+import org.thingsboard.server.dao.housekeeper.CleanUpService;
 
 @Component
 @RequiredArgsConstructor
@@ -35,6 +32,7 @@ import java.util.UUID;
 public class EntitiesDeletionTaskProcessor extends HousekeeperTaskProcessor<EntitiesDeletionHousekeeperTask> {
 
     private final EntityServiceRegistry entityServiceRegistry;
+    private final CleanUpService cleanUpService;
 
     @Override
     public void process(EntitiesDeletionHousekeeperTask task) throws Exception {
@@ -42,10 +40,7 @@ public class EntitiesDeletionTaskProcessor extends HousekeeperTaskProcessor<Enti
         TenantId tenantId = task.getTenantId();
         EntityDaoService entityService = entityServiceRegistry.getServiceByEntityType(entityType);
 
-        for (UUID entityUuid : task.getEntities()) {
-            EntityId entityId = EntityIdFactory.getByTypeAndUuid(entityType, entityUuid);
-            entityService.deleteEntity(tenantId, entityId, true);
-        }
+        cleanUpService.deleteEntities(tenantId, entityType, task.getEntities(), entityId -> entityService.deleteEntity(tenantId, entityId, true));
         log.debug("[{}] Deleted {} {}s", tenantId, task.getEntities().size(), entityType.getNormalName().toLowerCase());
     }
 
@@ -0,0 +1,148 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.housekeeper.processor;
+
+import com.google.common.collect.Lists;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.housekeeper.EntitiesTelemetryDeletionHousekeeperTask;
+import org.thingsboard.server.common.data.housekeeper.HousekeeperTaskType;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.EntityIdFactory;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.kv.BaseDeleteTsKvQuery;
+import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.DeleteTsKvQuery;
+import org.thingsboard.server.common.data.kv.ReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.dao.timeseries.TimeseriesService;
+import org.thingsboard.server.queue.housekeeper.HousekeeperConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntitiesTelemetryDeletionTaskProcessor extends HousekeeperTaskProcessor<EntitiesTelemetryDeletionHousekeeperTask> {
+
+    private final TimeseriesService timeseriesService;
+    private final HousekeeperConfig config;
+
+    /*
+     * The entities are processed one by one. The history of an entity is deleted in time windows
+     * starting from its earliest value, with at most telemetry-deletion-max-concurrency keys at once,
+     * so that every query is bounded and the task can stop at a checkpoint in the middle of the entity.
+     * The latest values are removed only after the whole history is deleted, since the keys are read from them
+     * and a retried task would otherwise find no keys and leave the history behind
+     * */
+    @Override
+    public void process(EntitiesTelemetryDeletionHousekeeperTask task) throws Exception {
+        TenantId tenantId = task.getTenantId();
+        EntityType entityType = task.getEntityType();
+        long checkpointTs = System.currentTimeMillis() + config.getTaskCheckpointInterval();
+        long endTs = System.currentTimeMillis();
+
+        List<UUID> entities = task.getEntities();
+        List<String> keys = task.getKeys();
+        Long startTs = task.getStartTs();
+        for (int i = 0; i < entities.size(); i++) {
+            EntityId entityId = EntityIdFactory.getByTypeAndUuid(entityType, entities.get(i));
+            boolean resumed = startTs != null;
+            if (!resumed) {
+                keys = timeseriesService.findAllKeysByEntityIds(tenantId, List.of(entityId));
+            }
+            Long nextStartTs = null;
+            if (!keys.isEmpty() && !config.getDisabledTaskTypes().contains(HousekeeperTaskType.DELETE_TS_HISTORY)) {
+                nextStartTs = deleteHistory(tenantId, entityId, keys, resumed ? startTs : null, endTs, checkpointTs);
+            }
+
+            if (nextStartTs != null) {
+                submitRemaining(task, entities.subList(i, entities.size()), keys, nextStartTs);
+                return;
+            }
+            if (!config.getDisabledTaskTypes().contains(HousekeeperTaskType.DELETE_LATEST_TS)) {
+                wait(timeseriesService.removeAllLatest(tenantId, entityId));
+            }
+            if (i < entities.size() - 1 && System.currentTimeMillis() >= checkpointTs) {
+                submitRemaining(task, entities.subList(i + 1, entities.size()), null, null);
+                return;
+            }
+            startTs = null;
+        }
+        log.debug("[{}] Deleted telemetry of {} {}s", tenantId, entities.size(), entityType.getNormalName().toLowerCase());
+    }
+
+    /**
+     * @return the timestamp to continue from if the checkpoint was reached before the whole history was deleted
+     */
+    private Long deleteHistory(TenantId tenantId, EntityId entityId, List<String> keys, Long startTs, long endTs, long checkpointTs) throws Exception {
+        if (startTs == null) {
+            startTs = findEarliestTs(tenantId, entityId, keys, endTs);
+            if (startTs == null) {
+                return null;
+            }
+        }
+        long window = config.getTelemetryDeletionWindow();
+        for (long windowStartTs = startTs; windowStartTs < endTs; ) {
+            long windowEndTs = windowStartTs < endTs - window ? windowStartTs + window : endTs;
+            for (List<String> keysBatch : Lists.partition(keys, config.getTelemetryDeletionMaxConcurrency())) {
+                List<DeleteTsKvQuery> queries = new ArrayList<>(keysBatch.size());
+                for (String key : keysBatch) {
+                    queries.add(new BaseDeleteTsKvQuery(key, windowStartTs, windowEndTs, false, false));
+                }
+                wait(timeseriesService.remove(tenantId, entityId, queries));
+            }
+            windowStartTs = windowEndTs;
+            if (windowStartTs < endTs && System.currentTimeMillis() >= checkpointTs) {
+                return windowStartTs;
+            }
+        }
+        return null;
+    }
+
+    private Long findEarliestTs(TenantId tenantId, EntityId entityId, List<String> keys, long endTs) throws Exception {
+        Long earliestTs = null;
+        for (List<String> keysBatch : Lists.partition(keys, config.getTelemetryDeletionMaxConcurrency())) {
+            List<ReadTsKvQuery> queries = new ArrayList<>(keysBatch.size());
+            for (String key : keysBatch) {
+                queries.add(new BaseReadTsKvQuery(key, 0, endTs, 1, "ASC"));
+            }
+            for (TsKvEntry entry : wait(timeseriesService.findAll(tenantId, entityId, queries))) {
+                if (earliestTs == null || entry.getTs() < earliestTs) {
+                    earliestTs = entry.getTs();
+                }
+            }
+        }
+        return earliestTs;
+    }
+
+    private void submitRemaining(EntitiesTelemetryDeletionHousekeeperTask task, List<UUID> remaining, List<String> keys, Long startTs) {
+        housekeeperClient.submitTask(new EntitiesTelemetryDeletionHousekeeperTask(task.getTenantId(), task.getEntityType(),
+                new ArrayList<>(remaining), keys, startTs));
+        log.debug("[{}] Submitted task for deleting telemetry of the remaining {} {}s, starting from {}",
+                task.getTenantId(), remaining.size(), task.getEntityType().getNormalName().toLowerCase(), startTs != null ? startTs : 0);
+    }
+
+    @Override
+    public HousekeeperTaskType getTaskType() {
+        return HousekeeperTaskType.DELETE_ENTITIES_TELEMETRY;
+    }
+
+}
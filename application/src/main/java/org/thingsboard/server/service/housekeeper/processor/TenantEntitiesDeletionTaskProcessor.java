@@ -25,6 +25,7 @@ import org.thingsboard.server.common.data.housekeeper.TenantEntitiesDeletionHous
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.dao.Dao;
 import org.thingsboard.server.dao.entity.EntityDaoRegistry;
+import org.thingsboard.server.queue.housekeeper.HousekeeperConfig;
 
 import java.util.List;
 import java.util.UUID;
@@ -35,6 +36,7 @@ import java.util.UUID;
 public class TenantEntitiesDeletionTaskProcessor extends HousekeeperTaskProcessor<TenantEntitiesDeletionHousekeeperTask> {
 
     private final EntityDaoRegistry entityDaoRegistry;
+    private final HousekeeperConfig config;
 
     @Override
     public void process(TenantEntitiesDeletionHousekeeperTask task) throws Exception {
@@ -42,7 +44,8 @@ public class TenantEntitiesDeletionTaskProcessor extends HousekeeperTaskProcesso
         TenantId tenantId = task.getTenantId();
         Dao<?> entityDao = entityDaoRegistry.getDao(entityType);
 
-        UUID last = null;
+        long checkpointTs = System.currentTimeMillis() + config.getTaskCheckpointInterval();
+        UUID last = task.getLastEntityId();
         while (true) {
             List<UUID> entities = entityDao.findIdsByTenantIdAndIdOffset(tenantId, last, 128);
             if (entities.isEmpty()) {
@@ -52,6 +55,13 @@ public class TenantEntitiesDeletionTaskProcessor extends HousekeeperTaskProcesso
             housekeeperClient.submitTask(new EntitiesDeletionHousekeeperTask(tenantId, entityType, entities));
             last = entities.get(entities.size() - 1);
             log.debug("[{}] Submitted task for deleting {} {}s", tenantId, entities.size(), entityType.getNormalName().toLowerCase());
+
+            if (System.currentTimeMillis() >= checkpointTs) {
+                // the rest is submitted as a new task, so that the restarted processing doesn't begin from the first entity
+                housekeeperClient.submitTask(new TenantEntitiesDeletionHousekeeperTask(tenantId, entityType, last));
+                log.debug("[{}] Submitted task for deleting {}s after {}", tenantId, entityType.getNormalName().toLowerCase(), last);
+                break;
+            }
         }
     }
 
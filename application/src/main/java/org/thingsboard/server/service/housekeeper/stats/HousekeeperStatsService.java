@@ -20,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.thingsboard.server.common.data.housekeeper.HousekeeperTask;
 import org.thingsboard.server.common.data.housekeeper.HousekeeperTaskType;
 import org.thingsboard.server.common.stats.DefaultCounter;
 import org.thingsboard.server.common.stats.StatsCounter;
@@ -41,6 +42,7 @@ import java.util.stream.Collectors;
 public class HousekeeperStatsService {
 
     private final Map<HousekeeperTaskType, HousekeeperStats> stats = new EnumMap<>(HousekeeperTaskType.class);
+    private long lastReportTs = System.currentTimeMillis();
 
     public HousekeeperStatsService(StatsFactory statsFactory) {
         for (HousekeeperTaskType taskType : HousekeeperTaskType.values()) {
@@ -51,6 +53,9 @@ public class HousekeeperStatsService {
     @Scheduled(initialDelayString = "${queue.core.housekeeper.stats.print-interval-ms:60000}",
             fixedDelayString = "${queue.core.housekeeper.stats.print-interval-ms:60000}")
     private void reportStats() {
+        long now = System.currentTimeMillis();
+        double intervalSec = Math.max(now - lastReportTs, 1) / 1000.0;
+        lastReportTs = now;
         String statsStr = stats.values().stream().map(stats -> {
             String countersStr = stats.getCounters().stream()
                     .filter(counter -> counter.get() > 0)
@@ -59,7 +64,8 @@ public class HousekeeperStatsService {
             if (countersStr.isEmpty()) {
                 return null;
             } else {
-                return stats.getTaskType() + " " + countersStr + " avgProcessingTime [" + stats.getProcessingTimer().getAvg() + " ms]";
+                return stats.getTaskType() + " " + countersStr + " avgProcessingTime [" + stats.getProcessingTimer().getAvg() + " ms]" +
+                        " throughput [" + String.format("%.2f", stats.getProcessedItemsCounter().get() / intervalSec) + " items/s]";
             }
         }).filter(Objects::nonNull).collect(Collectors.joining(", "));
 
@@ -69,13 +75,14 @@ public class HousekeeperStatsService {
         }
     }
 
-    public void reportProcessed(HousekeeperTaskType taskType, ToHousekeeperServiceMsg msg, long timing) {
-        HousekeeperStats stats = this.stats.get(taskType);
+    public void reportProcessed(HousekeeperTask task, ToHousekeeperServiceMsg msg, long timing) {
+        HousekeeperStats stats = this.stats.get(task.getTaskType());
         if (msg.getTask().getErrorsCount() == 0) {
             stats.getProcessedCounter().increment();
         } else {
             stats.getReprocessedCounter().increment();
         }
+        stats.getProcessedItemsCounter().add(task.getItemsCount());
         stats.getProcessingTimer().record(timing);
     }
 
@@ -97,6 +104,7 @@ public class HousekeeperStatsService {
         private final StatsCounter failedProcessingCounter;
         private final StatsCounter reprocessedCounter;
         private final StatsCounter failedReprocessingCounter;
+        private final StatsCounter processedItemsCounter;
 
         private final StatsTimer processingTimer;
 
@@ -106,6 +114,7 @@ public class HousekeeperStatsService {
             this.failedProcessingCounter = register("failedProcessing", statsFactory);
             this.reprocessedCounter = register("reprocessed", statsFactory);
             this.failedReprocessingCounter = register("failedReprocessing", statsFactory);
+            this.processedItemsCounter = register("processedItems", statsFactory);
             this.processingTimer = statsFactory.createStatsTimer(StatsType.HOUSEKEEPER.getName(), "processingTime", "taskType", taskType.name());
         }
 
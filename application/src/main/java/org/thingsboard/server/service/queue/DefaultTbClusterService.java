@@ -95,6 +95,7 @@ import org.thingsboard.server.queue.TbQueueCallback;
 import org.thingsboard.server.queue.TbQueueProducer;
 import org.thingsboard.server.queue.common.MultipleTbQueueCallbackWrapper;
 import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.queue.common.TbRuleEngineMsgHeaders;
 import org.thingsboard.server.queue.common.TbRuleEngineProducerService;
 import org.thingsboard.server.queue.discovery.PartitionService;
 import org.thingsboard.server.queue.discovery.TopicService;
@@ -186,6 +187,18 @@ public class DefaultTbClusterService implements TbClusterService {
         }
     }
 
+    @Override
+    public void broadcastToRuleEngine(ToRuleEngineNotificationMsg toRuleEngineMsg) {
+        UUID msgId = UUID.randomUUID();
+        TbQueueProducer<TbProtoQueueMsg<ToRuleEngineNotificationMsg>> toRuleEngineNfProducer = producerProvider.getRuleEngineNotificationsMsgProducer();
+        Set<String> tbRuleEngineServices = partitionService.getAllServiceIds(ServiceType.TB_RULE_ENGINE);
+        for (String serviceId : tbRuleEngineServices) {
+            TopicPartitionInfo tpi = topicService.getNotificationsTopic(ServiceType.TB_RULE_ENGINE, serviceId);
+            toRuleEngineNfProducer.send(tpi, new TbProtoQueueMsg<>(msgId, toRuleEngineMsg), null);
+            toRuleEngineNfs.incrementAndGet();
+        }
+    }
+
     @Override
     public void broadcastToCalculatedFields(ToCalculatedFieldNotificationMsg toCfMsg, TbQueueCallback callback) {
         UUID msgId = UUID.randomUUID();
@@ -233,7 +246,7 @@ public class DefaultTbClusterService implements TbClusterService {
     @Override
     public void pushMsgToRuleEngine(TopicPartitionInfo tpi, UUID msgId, ToRuleEngineMsg msg, TbQueueCallback callback) {
         log.trace("PUSHING msg: {} to:{}", msg, tpi);
-        producerProvider.getRuleEngineMsgProducer().send(tpi, new TbProtoQueueMsg<>(msgId, msg), callback);
+        producerProvider.getRuleEngineMsgProducer().send(tpi, TbRuleEngineMsgHeaders.toQueueMsg(msgId, msg), callback);
         toRuleEngineMsgs.incrementAndGet();
     }
 
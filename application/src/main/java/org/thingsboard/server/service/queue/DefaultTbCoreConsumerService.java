@@ -487,6 +487,8 @@ public class DefaultTbCoreConsumerService extends AbstractConsumerService<ToCore
             localSubscriptionService.onTimeSeriesUpdate(msg.getTsUpdate(), callback);
         } else if (msg.hasAttrUpdate()) {
             localSubscriptionService.onAttributesUpdate(msg.getAttrUpdate(), callback);
+        } else if (msg.hasSubUpdateBatch()) {
+            localSubscriptionService.onSubUpdateBatch(msg.getSubUpdateBatch(), callback);
         } else if (msg.hasAlarmUpdate()) {
             localSubscriptionService.onAlarmUpdate(msg.getAlarmUpdate(), callback);
         } else if (msg.hasNotificationsUpdate()) {
@@ -19,9 +19,11 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.server.actors.ActorSystemContext;
 import org.thingsboard.server.common.data.DataConstants;
 import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.alarm.AlarmInfo;
 import org.thingsboard.server.common.data.id.QueueId;
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.plugin.ComponentLifecycleEvent;
@@ -53,6 +55,7 @@ import org.thingsboard.server.service.queue.ruleengine.TbRuleEngineConsumerConte
 import org.thingsboard.server.service.queue.ruleengine.TbRuleEngineQueueConsumerManager;
 import org.thingsboard.server.service.rpc.TbRuleEngineDeviceRpcService;
 import org.thingsboard.server.service.security.auth.jwt.settings.JwtSettingsService;
+import org.thingsboard.server.service.telemetry.ActiveAlarmCache;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -70,6 +73,7 @@ public class DefaultTbRuleEngineConsumerService extends AbstractPartitionBasedCo
     private final QueueService queueService;
     private final TbRuleEngineDeviceRpcService tbDeviceRpcService;
     private final TbMsgPackProcessingContextFactory packProcessingContextFactory;
+    private final ActiveAlarmCache activeAlarmCache;
 
     private final ConcurrentMap<QueueKey, TbRuleEngineQueueConsumerManager> consumers = new ConcurrentHashMap<>();
 
@@ -85,12 +89,14 @@ public class DefaultTbRuleEngineConsumerService extends AbstractPartitionBasedCo
                                               PartitionService partitionService,
                                               ApplicationEventPublisher eventPublisher,
                                               JwtSettingsService jwtSettingsService,
-                                              TbMsgPackProcessingContextFactory packProcessingContextFactory) {
+                                              TbMsgPackProcessingContextFactory packProcessingContextFactory,
+                                              ActiveAlarmCache activeAlarmCache) {
         super(actorContext, tenantProfileCache, deviceProfileCache, assetProfileCache, tbResourceDataCache, apiUsageStateService, partitionService, eventPublisher, jwtSettingsService);
         this.ctx = ctx;
         this.tbDeviceRpcService = tbDeviceRpcService;
         this.queueService = queueService;
         this.packProcessingContextFactory = packProcessingContextFactory;
+        this.activeAlarmCache = activeAlarmCache;
     }
 
     @Override
@@ -187,6 +193,12 @@ public class DefaultTbRuleEngineConsumerService extends AbstractPartitionBasedCo
                     , proto.hasResponse() ? proto.getResponse() : null, error);
             tbDeviceRpcService.processRpcResponseFromDevice(response);
             callback.onSuccess();
+        } else if (nfMsg.hasActiveAlarmUpdate()) {
+            activeAlarmCache.onAlarmUpdated(JacksonUtil.fromString(nfMsg.getActiveAlarmUpdate().getAlarm(), AlarmInfo.class));
+            callback.onSuccess();
+        } else if (nfMsg.hasActiveAlarmDelete()) {
+            activeAlarmCache.onAlarmDeleted(JacksonUtil.fromString(nfMsg.getActiveAlarmDelete().getAlarm(), AlarmInfo.class));
+            callback.onSuccess();
         } else if (nfMsg.getQueueUpdateMsgsCount() > 0) {
             updateQueues(nfMsg.getQueueUpdateMsgsList());
             callback.onSuccess();
@@ -62,6 +62,7 @@ public class TbRuleEngineConsumerStats {
     private final List<StatsCounter> counters = new ArrayList<>();
     private final ConcurrentMap<UUID, TbTenantRuleEngineStats> tenantStats = new ConcurrentHashMap<>();
     private final ConcurrentMap<TenantId, Timer> tenantMsgProcessTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TenantId, Timer> tenantMsgWaitTimers = new ConcurrentHashMap<>();
     private final ConcurrentMap<TenantId, RuleEngineException> tenantExceptions = new ConcurrentHashMap<>();
 
     private final String queueName;
@@ -102,6 +103,17 @@ public class TbRuleEngineConsumerStats {
                 ));
     }
 
+    public Timer getWaitTimer(TenantId tenantId) {
+        return tenantMsgWaitTimers.computeIfAbsent(tenantId,
+                id -> statsFactory.createTimer(StatsType.RULE_ENGINE.getName() + "." + queueName + ".waitTime",
+                        "tenantId", tenantId.getId().toString()
+                ));
+    }
+
+    public void logWaitTime(TenantId tenantId, long waitTimeMs) {
+        tenantStats.computeIfAbsent(tenantId.getId(), TbTenantRuleEngineStats::new).logWaitTime(waitTimeMs);
+    }
+
     public void log(TbRuleEngineProcessingResult msg, boolean finalIterationForPack) {
         int success = msg.getSuccessMap().size();
         int pending = msg.getPendingMap().size();
@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 @Slf4j
 @Data
@@ -39,6 +40,10 @@ public class TbTenantRuleEngineStats {
 
     private final Map<String, AtomicInteger> counters = new HashMap<>();
 
+    // upper bounds of the buckets of the time between the poll of a message and its submission to the rule engine
+    public static final long[] WAIT_TIME_BUCKETS_MS = {10, 50, 100, 500, 1000, 5000};
+    private final AtomicIntegerArray waitTimeHistogram = new AtomicIntegerArray(WAIT_TIME_BUCKETS_MS.length + 1);
+
     public TbTenantRuleEngineStats(UUID tenantId) {
         this.tenantId = tenantId;
         counters.put(TbRuleEngineConsumerStats.TOTAL_MSGS, totalMsgCounter);
@@ -75,6 +80,14 @@ public class TbTenantRuleEngineStats {
         tmpTimeoutMsgCounter.incrementAndGet();
     }
 
+    public void logWaitTime(long waitTimeMs) {
+        int bucket = 0;
+        while (bucket < WAIT_TIME_BUCKETS_MS.length && waitTimeMs > WAIT_TIME_BUCKETS_MS[bucket]) {
+            bucket++;
+        }
+        waitTimeHistogram.incrementAndGet(bucket);
+    }
+
     public void printStats() {
         int total = totalMsgCounter.get();
         if (total > 0) {
@@ -82,11 +95,19 @@ public class TbTenantRuleEngineStats {
             counters.forEach((label, value) -> {
                 stats.append(label).append(" = [").append(value.get()).append("]");
             });
+            stats.append("waitTimeMs = [");
+            for (int i = 0; i < waitTimeHistogram.length(); i++) {
+                stats.append(i < WAIT_TIME_BUCKETS_MS.length ? "<=" + WAIT_TIME_BUCKETS_MS[i] : ">" + WAIT_TIME_BUCKETS_MS[i - 1])
+                        .append(": ").append(waitTimeHistogram.get(i)).append(i < waitTimeHistogram.length() - 1 ? ", " : "]");
+            }
             log.info("[{}] Stats: {}", tenantId, stats);
         }
     }
 
     public void reset() {
         counters.values().forEach(counter -> counter.set(0));
+        for (int i = 0; i < waitTimeHistogram.length(); i++) {
+            waitTimeHistogram.set(i, 0);
+        }
     }
 }
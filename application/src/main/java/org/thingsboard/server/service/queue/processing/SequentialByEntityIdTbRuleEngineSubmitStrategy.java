@@ -23,6 +23,7 @@ import org.thingsboard.server.queue.common.TbProtoQueueMsg;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -83,11 +84,16 @@ public abstract class SequentialByEntityIdTbRuleEngineSubmitStrategy extends Abs
         }
     }
 
+    @Override
+    public Set<EntityId> getSequentialKeys() {
+        return Set.copyOf(entityIdToListMap.keySet());
+    }
+
     private void initMaps() {
         msgToEntityIdMap.clear();
         entityIdToListMap.clear();
         for (IdMsgPair<TransportProtos.ToRuleEngineMsg> pair : orderedMsgList) {
-            EntityId entityId = getEntityId(pair.msg().getValue());
+            EntityId entityId = getEntityId(pair.msg());
             if (entityId != null) {
                 msgToEntityIdMap.put(pair.uuid(), entityId);
                 entityIdToListMap.computeIfAbsent(entityId, id -> new LinkedList<>()).add(pair);
@@ -95,6 +101,6 @@ public abstract class SequentialByEntityIdTbRuleEngineSubmitStrategy extends Abs
         }
     }
 
-    protected abstract EntityId getEntityId(TransportProtos.ToRuleEngineMsg msg);
+    protected abstract EntityId getEntityId(TbProtoQueueMsg<TransportProtos.ToRuleEngineMsg> msg);
 
 }
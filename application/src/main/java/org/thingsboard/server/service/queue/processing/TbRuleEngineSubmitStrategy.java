@@ -15,10 +15,13 @@
  */
 package org.thingsboard.server.service.queue.processing;
 
+import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.queue.common.TbProtoQueueMsg;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
@@ -36,4 +39,12 @@ public interface TbRuleEngineSubmitStrategy {
     void onSuccess(UUID id);
 
     void stop();
+
+    /**
+     * Entities whose messages must not be processed in parallel with the messages of another pack.
+     * Null means that the pack must not be processed in parallel with any other pack.
+     */
+    default Set<EntityId> getSequentialKeys() {
+        return Collections.emptySet();
+    }
 }
@@ -49,6 +49,12 @@ public class TbRuleEngineConsumerContext {
     private int topicDeletionDelayInSec;
     @Value("${queue.rule-engine.management-thread-pool-size:12}")
     private int mgmtThreadPoolSize;
+    @Value("${queue.rule-engine.max-in-flight-packs:1}")
+    private int maxInFlightPacks;
+    @Value("${queue.rule-engine.tenant-fair-scheduling.enabled:false}")
+    private boolean tenantFairSchedulingEnabled;
+    @Value("${queue.rule-engine.tenant-fair-scheduling.quantum:100}")
+    private int tenantSchedulingQuantum;
 
     private final ActorSystemContext actorContext;
     private final StatsFactory statsFactory;
@@ -0,0 +1,157 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.queue.ruleengine;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.queue.kafka.TbKafkaConsumerTemplate;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sliding window of message packs polled by a single consumer and processed in parallel.
+ * Offsets are committed in the poll order, only up to the first pack that is not processed yet.
+ * Not thread-safe: all methods are called from the consumer thread.
+ */
+@Slf4j
+class TbRuleEnginePackPipeline {
+
+    private final Object queueKey;
+    private final TbKafkaConsumerTemplate<?> consumer;
+    private final int maxInFlightPacks;
+    private final long pollInterval;
+    private final Deque<InFlightPack> packs = new ArrayDeque<>();
+
+    TbRuleEnginePackPipeline(Object queueKey, TbKafkaConsumerTemplate<?> consumer, int maxInFlightPacks, long pollInterval) {
+        this.queueKey = queueKey;
+        this.consumer = consumer;
+        this.maxInFlightPacks = maxInFlightPacks;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Waits until the pack can be processed without breaking the order of the sequential keys
+     * and without exceeding the max number of in-flight packs, then submits it for processing.
+     *
+     * @param packProcessor returns true if the pack is processed and its offsets can be committed
+     */
+    void submit(Set<EntityId> sequentialKeys, Callable<Boolean> packProcessor, ExecutorService executor, BooleanSupplier stopped) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = consumer.getLastPolledOffsets();
+        if (!awaitAdmission(sequentialKeys, stopped)) {
+            return;
+        }
+        InFlightPack pack = new InFlightPack(sequentialKeys, offsets, new CompletableFuture<>());
+        packs.add(pack);
+        executor.submit(() -> {
+            try {
+                pack.result().complete(packProcessor.call());
+            } catch (Throwable t) {
+                pack.result().completeExceptionally(t);
+            }
+        });
+    }
+
+    /**
+     * Commits the offsets of the processed packs that are not preceded by a pack still in progress.
+     */
+    void commitProcessed() {
+        Map<TopicPartition, OffsetAndMetadata> toCommit = new HashMap<>();
+        while (!packs.isEmpty() && packs.peek().result().isDone()) {
+            InFlightPack pack = packs.poll();
+            if (!isProcessed(pack)) {
+                // the consumer is stopping; nothing polled after this pack can be committed
+                packs.clear();
+                break;
+            }
+            toCommit.putAll(pack.offsets());
+        }
+        if (!toCommit.isEmpty()) {
+            log.trace("[{}] Committing offsets {}", queueKey, toCommit);
+            consumer.commit(toCommit);
+        }
+    }
+
+    int size() {
+        return packs.size();
+    }
+
+    private boolean awaitAdmission(Set<EntityId> sequentialKeys, BooleanSupplier stopped) {
+        while (!stopped.getAsBoolean()) {
+            commitProcessed();
+            InFlightPack blockingPack = findBlockingPack(sequentialKeys);
+            if (blockingPack == null) {
+                return true;
+            }
+            try {
+                blockingPack.result().get(pollInterval, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // checking again; failures are handled on commit
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private InFlightPack findBlockingPack(Set<EntityId> sequentialKeys) {
+        if (packs.size() >= maxInFlightPacks) {
+            return packs.peek();
+        }
+        for (InFlightPack pack : packs) {
+            if (pack.result().isDone()) {
+                continue;
+            }
+            if (sequentialKeys == null || pack.sequentialKeys() == null || !Collections.disjoint(sequentialKeys, pack.sequentialKeys())) {
+                return pack;
+            }
+        }
+        return null;
+    }
+
+    private boolean isProcessed(InFlightPack pack) {
+        try {
+            return pack.result().get();
+        } catch (ExecutionException e) {
+            // same as in the non-pipelined mode, where a failed pack is skipped and committed with the next one
+            log.warn("[{}] Failed to process messages from queue", queueKey, e.getCause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record InFlightPack(Set<EntityId> sequentialKeys,
+                                Map<TopicPartition, OffsetAndMetadata> offsets,
+                                CompletableFuture<Boolean> result) {
+    }
+
+}
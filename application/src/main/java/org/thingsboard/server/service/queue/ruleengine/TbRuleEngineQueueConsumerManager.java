@@ -18,12 +18,12 @@ package org.thingsboard.server.service.queue.ruleengine;
 import com.google.protobuf.ProtocolStringList;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.server.common.data.TenantProfile;
 import org.thingsboard.server.common.data.id.EntityId;
-import org.thingsboard.server.common.data.id.EntityIdFactory;
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.queue.Queue;
+import org.thingsboard.server.common.data.queue.SubmitStrategyType;
 import org.thingsboard.server.common.msg.TbMsg;
-import org.thingsboard.server.common.msg.gen.MsgProtos;
 import org.thingsboard.server.common.msg.queue.QueueToRuleEngineMsg;
 import org.thingsboard.server.common.msg.queue.RuleEngineException;
 import org.thingsboard.server.common.msg.queue.RuleNodeInfo;
@@ -34,12 +34,14 @@ import org.thingsboard.server.common.util.ProtoUtils;
 import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
 import org.thingsboard.server.queue.TbQueueConsumer;
 import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.queue.common.TbRuleEngineMsgHeaders;
 import org.thingsboard.server.queue.common.consumer.MainQueueConsumerManager;
 import org.thingsboard.server.queue.common.consumer.TbQueueConsumerManagerTask;
 import org.thingsboard.server.queue.common.consumer.TbQueueConsumerManagerTask.DeleteQueueTask;
 import org.thingsboard.server.queue.common.consumer.TbQueueConsumerTask;
 import org.thingsboard.server.queue.common.consumer.TbQueueConsumerTask.ConsumerKey;
 import org.thingsboard.server.queue.discovery.QueueKey;
+import org.thingsboard.server.queue.kafka.TbKafkaConsumerTemplate;
 import org.thingsboard.server.service.queue.TbMsgPackCallback;
 import org.thingsboard.server.service.queue.TbMsgPackProcessingContext;
 import org.thingsboard.server.service.queue.TbMsgPackProcessingContextFactory;
@@ -55,6 +57,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -69,6 +73,8 @@ public class TbRuleEngineQueueConsumerManager extends MainQueueConsumerManager<T
     private final TbRuleEngineConsumerContext ctx;
     private final TbRuleEngineConsumerStats stats;
     private final TbMsgPackProcessingContextFactory packProcessingContextFactory;
+    private final ConcurrentMap<ConsumerKey, TbRuleEnginePackPipeline> pipelines = new ConcurrentHashMap<>();
+    private final TbRuleEngineTenantScheduler tenantScheduler;
 
     @Builder(builderMethodName = "create") // not to conflict with super.builder()
     public TbRuleEngineQueueConsumerManager(TbRuleEngineConsumerContext ctx,
@@ -86,6 +92,7 @@ public class TbRuleEngineQueueConsumerManager extends MainQueueConsumerManager<T
         this.ctx = ctx;
         this.stats = new TbRuleEngineConsumerStats(queueKey, ctx.getStatsFactory());
         this.packProcessingContextFactory = packProcessingContextFactory;
+        this.tenantScheduler = new TbRuleEngineTenantScheduler(ctx.getTenantSchedulingQuantum(), this::getTenantWeight);
     }
 
     public void delete(boolean drainQueue) {
@@ -134,12 +141,55 @@ public class TbRuleEngineQueueConsumerManager extends MainQueueConsumerManager<T
                                TbQueueConsumer<TbProtoQueueMsg<ToRuleEngineMsg>> consumer,
                                ConsumerKey consumerKey,
                                Queue queue) throws Exception {
+        long pollTs = System.currentTimeMillis();
         TbRuleEngineSubmitStrategy submitStrategy = getSubmitStrategy(queue);
         TbRuleEngineProcessingStrategy ackStrategy = getProcessingStrategy(queue);
+        // the sequential strategy keeps the order of the whole partition, so the pack is not reordered
+        if (ctx.isTenantFairSchedulingEnabled() && queue.getSubmitStrategy().getType() != SubmitStrategyType.SEQUENTIAL) {
+            msgs = tenantScheduler.schedule(msgs);
+        }
         submitStrategy.init(msgs);
+        if (ctx.getMaxInFlightPacks() > 1 && consumer instanceof TbKafkaConsumerTemplate<TbProtoQueueMsg<ToRuleEngineMsg>> kafkaConsumer) {
+            TbRuleEnginePackPipeline pipeline = pipelines.computeIfAbsent(consumerKey, key ->
+                    new TbRuleEnginePackPipeline(key, kafkaConsumer, ctx.getMaxInFlightPacks(), queue.getPollInterval()));
+            pipeline.submit(submitStrategy.getSequentialKeys(), () -> processPack(submitStrategy, ackStrategy, consumer, queue, pollTs),
+                    consumerExecutor, () -> stopped || consumer.isStopped());
+        } else if (processPack(submitStrategy, ackStrategy, consumer, queue, pollTs)) {
+            consumer.commit();
+        }
+    }
+
+    @Override
+    protected void onEmptyPoll(TbQueueConsumer<TbProtoQueueMsg<ToRuleEngineMsg>> consumer, ConsumerKey consumerKey) {
+        TbRuleEnginePackPipeline pipeline = pipelines.get(consumerKey);
+        if (pipeline != null) {
+            pipeline.commitProcessed();
+        }
+    }
+
+    @Override
+    protected void onConsumerStopped(ConsumerKey consumerKey) {
+        pipelines.remove(consumerKey);
+    }
+
+    /**
+     * Processes the pack until the processing strategy decides to commit it.
+     *
+     * @return false if the consumer was stopped before the pack was processed
+     */
+    private boolean processPack(TbRuleEngineSubmitStrategy submitStrategy, TbRuleEngineProcessingStrategy ackStrategy,
+                                TbQueueConsumer<TbProtoQueueMsg<ToRuleEngineMsg>> consumer, Queue queue, long pollTs) throws InterruptedException {
+        boolean firstAttempt = true;
         while (!stopped && !consumer.isStopped()) {
             TbMsgPackProcessingContext packCtx = packProcessingContextFactory.create(queue.getName(), submitStrategy, ackStrategy.isSkipTimeoutMsgs());
-            submitStrategy.submitAttempt((id, msg) -> submitMessage(packCtx, id, msg));
+            boolean logWaitTime = firstAttempt && ctx.isStatsEnabled();
+            submitStrategy.submitAttempt((id, msg) -> {
+                if (logWaitTime) {
+                    logWaitTime(msg, pollTs);
+                }
+                submitMessage(packCtx, id, msg);
+            });
+            firstAttempt = false;
 
             final boolean timeout = !packCtx.await(queue.getPackProcessingTimeout(), TimeUnit.MILLISECONDS);
 
@@ -161,12 +211,29 @@ public class TbRuleEngineQueueConsumerManager extends MainQueueConsumerManager<T
 
             if (decision.isCommit()) {
                 submitStrategy.stop();
-                consumer.commit();
-                break;
+                return true;
             } else {
                 submitStrategy.update(decision.getReprocessMap());
             }
         }
+        return false;
+    }
+
+    private void logWaitTime(TbProtoQueueMsg<ToRuleEngineMsg> msg, long pollTs) {
+        TenantId tenantId = TbRuleEngineMsgHeaders.getTenantId(msg);
+        long waitTime = System.currentTimeMillis() - pollTs;
+        stats.logWaitTime(tenantId, waitTime);
+        if (ctx.isPrometheusStatsEnabled()) {
+            stats.getWaitTimer(tenantId).record(waitTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private int getTenantWeight(TenantId tenantId) {
+        TenantProfile tenantProfile = ctx.getActorContext().getTenantProfileCache().get(tenantId);
+        if (tenantProfile == null || tenantProfile.getDefaultProfileConfiguration() == null) {
+            return 1;
+        }
+        return tenantProfile.getDefaultProfileConfiguration().getRuleEngineQueueWeight();
     }
 
     private TbRuleEngineSubmitStrategy getSubmitStrategy(Queue queue) {
@@ -180,7 +247,7 @@ public class TbRuleEngineQueueConsumerManager extends MainQueueConsumerManager<T
     private void submitMessage(TbMsgPackProcessingContext packCtx, UUID id, TbProtoQueueMsg<ToRuleEngineMsg> msg) {
         log.trace("[{}] Creating callback for topic {} message: {}", id, config.getName(), msg.getValue());
         ToRuleEngineMsg toRuleEngineMsg = msg.getValue();
-        TenantId tenantId = TenantId.fromUUID(new UUID(toRuleEngineMsg.getTenantIdMSB(), toRuleEngineMsg.getTenantIdLSB()));
+        TenantId tenantId = TbRuleEngineMsgHeaders.getTenantId(msg);
         TbMsgCallback callback = ctx.isPrometheusStatsEnabled() ?
                 new TbMsgPackCallback(id, tenantId, packCtx, stats.getTimer(tenantId, SUCCESSFUL_STATUS), stats.getTimer(tenantId, FAILED_STATUS)) :
                 new TbMsgPackCallback(id, tenantId, packCtx);
@@ -243,8 +310,7 @@ public class TbRuleEngineQueueConsumerManager extends MainQueueConsumerManager<T
                     }
                     for (TbProtoQueueMsg<ToRuleEngineMsg> msg : msgs) {
                         try {
-                            MsgProtos.TbMsgProto tbMsgProto = ProtoUtils.getTbMsgProto(msg.getValue());
-                            EntityId originator = EntityIdFactory.getByTypeAndUuid(tbMsgProto.getEntityType(), new UUID(tbMsgProto.getEntityIdMSB(), tbMsgProto.getEntityIdLSB()));
+                            EntityId originator = TbRuleEngineMsgHeaders.getOriginator(msg);
 
                             TopicPartitionInfo tpi = ctx.getPartitionService().resolve(ServiceType.TB_RULE_ENGINE, config.getName(), TenantId.SYS_TENANT_ID, originator);
                             ctx.getProducerProvider().getRuleEngineMsgProducer().send(tpi, msg, null);
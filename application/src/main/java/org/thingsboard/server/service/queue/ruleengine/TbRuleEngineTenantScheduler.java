@@ -0,0 +1,91 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.queue.ruleengine;
+
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.queue.common.TbRuleEngineMsgHeaders;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reorders a polled pack with deficit round-robin over the tenants, so that a tenant replaying a backlog
+ * doesn't delay the messages of the other tenants of the same partition.
+ * Each round a tenant gets a quantum of messages multiplied by its weight; unused deficit is carried over
+ * to the next round while the tenant has messages left.
+ * The relative order of the messages of a tenant, and therefore of an originator, is preserved.
+ */
+class TbRuleEngineTenantScheduler {
+
+    private final int quantum;
+    private final ToIntFunction<TenantId> weightFunction;
+
+    TbRuleEngineTenantScheduler(int quantum, ToIntFunction<TenantId> weightFunction) {
+        this.quantum = Math.max(1, quantum);
+        this.weightFunction = weightFunction;
+    }
+
+    List<TbProtoQueueMsg<ToRuleEngineMsg>> schedule(List<TbProtoQueueMsg<ToRuleEngineMsg>> msgs) {
+        Map<TenantId, TenantQueue> queues = new LinkedHashMap<>();
+        for (TbProtoQueueMsg<ToRuleEngineMsg> msg : msgs) {
+            queues.computeIfAbsent(TbRuleEngineMsgHeaders.getTenantId(msg), TenantQueue::new).msgs.add(msg);
+        }
+        if (queues.size() < 2) {
+            return msgs;
+        }
+        List<TbProtoQueueMsg<ToRuleEngineMsg>> result = new ArrayList<>(msgs.size());
+        while (!queues.isEmpty()) {
+            Iterator<TenantQueue> it = queues.values().iterator();
+            while (it.hasNext()) {
+                TenantQueue queue = it.next();
+                if (queue.weight == 0) {
+                    queue.weight = Math.max(1, weightFunction.applyAsInt(queue.tenantId));
+                }
+                queue.deficit += (long) quantum * queue.weight;
+                while (queue.deficit > 0 && !queue.msgs.isEmpty()) {
+                    result.add(queue.msgs.poll());
+                    queue.deficit--;
+                }
+                if (queue.msgs.isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+        return result;
+    }
+
+    private static class TenantQueue {
+
+        private final TenantId tenantId;
+        private final Deque<TbProtoQueueMsg<ToRuleEngineMsg>> msgs = new ArrayDeque<>();
+        private int weight;
+        private long deficit;
+
+        TenantQueue(TenantId tenantId) {
+            this.tenantId = tenantId;
+        }
+
+    }
+
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.ruleengine;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.rule.engine.api.RuleEngineDataFetchService;
+import org.thingsboard.server.common.data.AttributeScope;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.kv.AttributeKvEntry;
+import org.thingsboard.server.common.data.kv.KvEntry;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.dao.attributes.AttributesService;
+import org.thingsboard.server.dao.timeseries.TimeseriesService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Coalesces lookups of the same entity (and attribute scope) that arrive within a short window
+ * into a single query for the union of the requested keys, and then fans the result out to the callers.
+ * Lookups of different entities are not merged, since the DAO has no multi-entity query
+ * that returns the values together with their entity ids.
+ * Batching is disabled by default. When enabled, the batches that are closed by the window end are sent by a pool of threads,
+ * while the batches that reach the max size are sent right away by the caller.
+ */
+@Service
+@Slf4j
+public class DefaultRuleEngineDataFetchService implements RuleEngineDataFetchService {
+
+    private final AttributesService attributesService;
+    private final TimeseriesService timeseriesService;
+
+    @Value("${actors.rule.fetch.batch_window_us:0}")
+    private long batchWindowUs;
+    @Value("${actors.rule.fetch.max_batch_size:100}")
+    private int maxBatchSize;
+    @Value("${actors.rule.fetch.pool_size:4}")
+    private int poolSize = 4;
+
+    private ScheduledExecutorService scheduler;
+    private FetchBatcher<AttributeKvEntry> attributesBatcher;
+    private FetchBatcher<TsKvEntry> latestTimeseriesBatcher;
+
+    public DefaultRuleEngineDataFetchService(AttributesService attributesService, TimeseriesService timeseriesService) {
+        this.attributesService = attributesService;
+        this.timeseriesService = timeseriesService;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (batchWindowUs > 0) {
+            scheduler = ThingsBoardExecutors.newScheduledThreadPool(Math.max(1, poolSize), "rule-engine-data-fetch");
+        }
+        attributesBatcher = new FetchBatcher<>(batch -> attributesService.find(batch.key.tenantId(), batch.key.entityId(), batch.key.scope(), batch.keys));
+        latestTimeseriesBatcher = new FetchBatcher<>(batch -> timeseriesService.findLatest(batch.key.tenantId(), batch.key.entityId(), batch.keys));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public ListenableFuture<List<AttributeKvEntry>> findAttributes(TenantId tenantId, EntityId entityId, AttributeScope scope, Collection<String> keys) {
+        if (scheduler == null) {
+            return attributesService.find(tenantId, entityId, scope, keys);
+        }
+        return attributesBatcher.fetch(new FetchKey(tenantId, entityId, scope), keys);
+    }
+
+    @Override
+    public ListenableFuture<List<TsKvEntry>> findLatestTimeseries(TenantId tenantId, EntityId entityId, Collection<String> keys) {
+        if (scheduler == null) {
+            return timeseriesService.findLatest(tenantId, entityId, keys);
+        }
+        return latestTimeseriesBatcher.fetch(new FetchKey(tenantId, entityId, null), keys);
+    }
+
+    private record FetchKey(TenantId tenantId, EntityId entityId, AttributeScope scope) {}
+
+    private record FetchRequest<V>(Set<String> keys, SettableFuture<List<V>> result) {}
+
+    private class FetchBatcher<V extends KvEntry> {
+
+        private final ConcurrentMap<FetchKey, FetchBatch<V>> batches = new ConcurrentHashMap<>();
+        private final Function<FetchBatch<V>, ListenableFuture<List<V>>> fetchFunction;
+
+        FetchBatcher(Function<FetchBatch<V>, ListenableFuture<List<V>>> fetchFunction) {
+            this.fetchFunction = fetchFunction;
+        }
+
+        ListenableFuture<List<V>> fetch(FetchKey key, Collection<String> keys) {
+            FetchRequest<V> request = new FetchRequest<>(new HashSet<>(keys), SettableFuture.create());
+            while (true) {
+                FetchBatch<V> batch = batches.computeIfAbsent(key, FetchBatch::new);
+                int size = batch.add(request);
+                if (size < 0) {
+                    // the batch is already being fetched
+                    batches.remove(key, batch);
+                    continue;
+                }
+                if (size >= maxBatchSize) {
+                    flush(batch);
+                } else if (batch.scheduled.compareAndSet(false, true)) {
+                    scheduler.schedule(() -> flush(batch), batchWindowUs, TimeUnit.MICROSECONDS);
+                }
+                return request.result();
+            }
+        }
+
+        private void flush(FetchBatch<V> batch) {
+            batches.remove(batch.key, batch);
+            List<FetchRequest<V>> requests = batch.close();
+            if (requests == null) {
+                return;
+            }
+            log.trace("[{}][{}] Fetching {} keys for {} requests", batch.key.tenantId(), batch.key.entityId(), batch.keys.size(), requests.size());
+            ListenableFuture<List<V>> future;
+            try {
+                future = fetchFunction.apply(batch);
+            } catch (Throwable t) {
+                future = Futures.immediateFailedFuture(t);
+            }
+            Futures.addCallback(future, new FutureCallback<>() {
+                @Override
+                public void onSuccess(List<V> entries) {
+                    for (FetchRequest<V> request : requests) {
+                        List<V> result = new ArrayList<>(request.keys().size());
+                        for (V entry : entries) {
+                            if (request.keys().contains(entry.getKey())) {
+                                result.add(entry);
+                            }
+                        }
+                        request.result().set(result);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    requests.forEach(request -> request.result().setException(t));
+                }
+            }, MoreExecutors.directExecutor());
+        }
+
+    }
+
+    private static class FetchBatch<V> {
+
+        private final FetchKey key;
+        private final Set<String> keys = new HashSet<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private List<FetchRequest<V>> requests = new ArrayList<>();
+
+        FetchBatch(FetchKey key) {
+            this.key = key;
+        }
+
+        /**
+         * @return the number of requests in the batch, or -1 if the batch is already closed
+         */
+        synchronized int add(FetchRequest<V> request) {
+            if (requests == null) {
+                return -1;
+            }
+            requests.add(request);
+            keys.addAll(request.keys());
+            return requests.size();
+        }
+
+        synchronized List<FetchRequest<V>> close() {
+            List<FetchRequest<V>> result = requests;
+            requests = null;
+            return result;
+        }
+
+    }
+
+}
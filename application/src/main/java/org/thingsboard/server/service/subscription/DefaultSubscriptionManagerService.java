@@ -18,6 +18,7 @@ package org.thingsboard.server.service.subscription;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.thingsboard.server.common.data.alarm.AlarmInfo;
@@ -47,10 +48,12 @@ import org.thingsboard.server.queue.util.TbCoreComponent;
 import org.thingsboard.server.service.ws.notification.sub.NotificationUpdate;
 import org.thingsboard.server.service.ws.notification.sub.NotificationsSubscriptionUpdate;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -81,12 +84,24 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
 
     private long initTs;
 
+    @Value("${server.ws.remote_updates.batch_interval_ms:0}")
+    private long batchIntervalMs;
+    @Value("${server.ws.remote_updates.batch_max_size:1000}")
+    private int batchMaxSize;
+
+    private TbSubUpdateBatcher batcher;
+    private final ConcurrentMap<String, UUID> targetServiceMsgKeys = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void initExecutor() {
         serviceId = serviceInfoProvider.getServiceId();
         initTs = System.currentTimeMillis();
         toCoreNotificationsProducer = producerProvider.getTbCoreNotificationsMsgProducer();
         scheduler.scheduleWithFixedDelay(this::cleanupEntityUpdates, 1, 1, TimeUnit.HOURS);
+        if (batchIntervalMs > 0) {
+            batcher = new TbSubUpdateBatcher(batchMaxSize, this::sendSubUpdateBatch);
+            scheduler.scheduleWithFixedDelay(batcher::flushAll, batchIntervalMs, batchIntervalMs, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
@@ -129,6 +144,10 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
             } finally {
                 subsLock.unlock();
             }
+            if (batcher != null) {
+                batcher.remove(event.getServiceId());
+                targetServiceMsgKeys.remove(event.getServiceId());
+            }
         }
     }
 
@@ -185,6 +204,8 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
     private void onTimeSeriesUpdate(String targetId, EntityId entityId, List<TsKvEntry> update) {
         if (serviceId.equals(targetId)) {
             localSubscriptionService.onTimeSeriesUpdate(entityId, update, TbCallback.EMPTY);
+        } else if (batcher != null) {
+            batcher.addTimeSeriesUpdate(targetId, entityId, update);
         } else {
             sendCoreNotification(targetId, entityId, TbSubscriptionUtils.toProto(entityId, update));
         }
@@ -234,6 +255,8 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
         List<TsKvEntry> tsKvEntryList = update.stream().map(attr -> new BasicTsKvEntry(attr.getLastUpdateTs(), attr)).collect(Collectors.toList());
         if (serviceId.equals(targetId)) {
             localSubscriptionService.onAttributesUpdate(entityId, scope, tsKvEntryList, TbCallback.EMPTY);
+        } else if (batcher != null) {
+            batcher.addAttributesUpdate(targetId, entityId, scope, tsKvEntryList);
         } else {
             sendCoreNotification(targetId, entityId, TbSubscriptionUtils.toProto(scope, entityId, tsKvEntryList));
         }
@@ -278,8 +301,28 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
 
     private void sendCoreNotification(String targetServiceId, EntityId entityId, ToCoreNotificationMsg msg) {
         log.trace("[{}] Forwarding to remote service [{}]: {}", entityId, targetServiceId, msg);
+        if (batcher != null) {
+            // pending updates must reach the target service before the sub event callbacks and alarm updates
+            batcher.flush(targetServiceId);
+            sendCoreNotification(targetServiceId, getMsgKey(targetServiceId), msg);
+        } else {
+            sendCoreNotification(targetServiceId, entityId.getId(), msg);
+        }
+    }
+
+    private void sendSubUpdateBatch(String targetServiceId, ToCoreNotificationMsg msg) {
+        sendCoreNotification(targetServiceId, getMsgKey(targetServiceId), msg);
+    }
+
+    // with batching, all the notifications for the target service share the key, so that they land in the same
+    // partition of its notifications topic and are consumed in the order they are sent
+    private UUID getMsgKey(String targetServiceId) {
+        return targetServiceMsgKeys.computeIfAbsent(targetServiceId, id -> UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void sendCoreNotification(String targetServiceId, UUID msgKey, ToCoreNotificationMsg msg) {
         TopicPartitionInfo tpi = topicService.getNotificationsTopic(ServiceType.TB_CORE, targetServiceId);
-        TbProtoQueueMsg<ToCoreNotificationMsg> queueMsg = new TbProtoQueueMsg<>(entityId.getId(), msg);
+        TbProtoQueueMsg<ToCoreNotificationMsg> queueMsg = new TbProtoQueueMsg<>(msgKey, msg);
         toCoreNotificationsProducer.send(tpi, queueMsg, null);
     }
 
@@ -389,6 +389,17 @@ public class DefaultTbLocalSubscriptionService implements TbLocalSubscriptionSer
         onAttributesUpdate(entityId.getId(), scope, data, callback);
     }
 
+    @Override
+    public void onSubUpdateBatch(TransportProtos.TbSubUpdateBatchProto batch, TbCallback callback) {
+        for (TransportProtos.TbSubUpdateProto update : batch.getTsUpdatesList()) {
+            onTimeSeriesUpdate(update, TbCallback.EMPTY);
+        }
+        for (TransportProtos.TbSubUpdateProto update : batch.getAttrUpdatesList()) {
+            onAttributesUpdate(update, TbCallback.EMPTY);
+        }
+        callback.onSuccess();
+    }
+
     private void onAttributesUpdate(UUID entityId, String scope, List<TsKvEntry> data, TbCallback callback) {
         getEntityUpdatesInfo(entityId).attributesUpdateTs = System.currentTimeMillis();
         processSubscriptionData(entityId,
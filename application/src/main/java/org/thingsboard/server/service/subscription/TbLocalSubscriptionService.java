@@ -48,6 +48,8 @@ public interface TbLocalSubscriptionService {
 
     void onAttributesUpdate(EntityId entityId, String scope, List<TsKvEntry> update, TbCallback callback);
 
+    void onSubUpdateBatch(TransportProtos.TbSubUpdateBatchProto batch, TbCallback callback);
+
     void onAlarmUpdate(EntityId entityId, AlarmInfo alarm, boolean deleted, TbCallback callback);
 
     void onAlarmUpdate(TransportProtos.TbAlarmSubUpdateProto update, TbCallback callback);
@@ -0,0 +1,133 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.subscription;
+
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.gen.transport.TransportProtos.TbSubUpdateProto;
+import org.thingsboard.server.gen.transport.TransportProtos.ToCoreNotificationMsg;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Coalesces time-series and attribute updates addressed to the same remote core service,
+ * so that updates of many entities are delivered in a single notification per flush interval.
+ * Attribute subscriptions receive the latest values only, so just the last value of each attribute key is kept.
+ * Time-series points are all kept, since the remote service may have subscriptions for the history of the key.
+ */
+@Slf4j
+class TbSubUpdateBatcher {
+
+    private final int maxBatchSize;
+    private final BiConsumer<String, ToCoreNotificationMsg> sender;
+    private final ConcurrentMap<String, Batch> batches = new ConcurrentHashMap<>();
+
+    TbSubUpdateBatcher(int maxBatchSize, BiConsumer<String, ToCoreNotificationMsg> sender) {
+        this.maxBatchSize = maxBatchSize;
+        this.sender = sender;
+    }
+
+    void addTimeSeriesUpdate(String targetServiceId, EntityId entityId, List<TsKvEntry> update) {
+        Batch batch = getBatch(targetServiceId);
+        synchronized (batch) {
+            batch.tsUpdates.computeIfAbsent(entityId.getId(), id -> new ArrayList<>()).addAll(update);
+            flushIfFull(targetServiceId, batch);
+        }
+    }
+
+    void addAttributesUpdate(String targetServiceId, EntityId entityId, String scope, List<TsKvEntry> update) {
+        Batch batch = getBatch(targetServiceId);
+        synchronized (batch) {
+            Map<String, TsKvEntry> latest = batch.attrUpdates.computeIfAbsent(new AttributesKey(entityId.getId(), scope), key -> new LinkedHashMap<>());
+            for (TsKvEntry kv : update) {
+                // deleted attributes have zero ts, so the arrival order is used instead of the ts
+                latest.put(kv.getKey(), kv);
+            }
+            flushIfFull(targetServiceId, batch);
+        }
+    }
+
+    /**
+     * Sends the pending updates of the target service.
+     * Must be called before sending any other notification to the service, to keep the order of the notifications.
+     */
+    void flush(String targetServiceId) {
+        Batch batch = batches.get(targetServiceId);
+        if (batch != null) {
+            synchronized (batch) {
+                send(targetServiceId, batch);
+            }
+        }
+    }
+
+    void flushAll() {
+        batches.forEach((targetServiceId, batch) -> {
+            try {
+                synchronized (batch) {
+                    send(targetServiceId, batch);
+                }
+            } catch (Exception e) {
+                log.warn("[{}] Failed to send subscription updates", targetServiceId, e);
+            }
+        });
+    }
+
+    void remove(String targetServiceId) {
+        batches.remove(targetServiceId);
+    }
+
+    private Batch getBatch(String targetServiceId) {
+        return batches.computeIfAbsent(targetServiceId, id -> new Batch());
+    }
+
+    private void flushIfFull(String targetServiceId, Batch batch) {
+        if (batch.tsUpdates.size() + batch.attrUpdates.size() >= maxBatchSize) {
+            send(targetServiceId, batch);
+        }
+    }
+
+    private void send(String targetServiceId, Batch batch) {
+        if (batch.tsUpdates.isEmpty() && batch.attrUpdates.isEmpty()) {
+            return;
+        }
+        List<TbSubUpdateProto> tsUpdates = new ArrayList<>(batch.tsUpdates.size());
+        batch.tsUpdates.forEach((entityId, update) -> tsUpdates.add(TbSubscriptionUtils.toSubUpdateProto(entityId, update).build()));
+        List<TbSubUpdateProto> attrUpdates = new ArrayList<>(batch.attrUpdates.size());
+        batch.attrUpdates.forEach((key, update) -> attrUpdates.add(TbSubscriptionUtils.toSubUpdateProto(key.entityId(), update.values())
+                .setScope(key.scope()).build()));
+        batch.tsUpdates.clear();
+        batch.attrUpdates.clear();
+        log.trace("[{}] Sending {} time-series and {} attributes updates", targetServiceId, tsUpdates.size(), attrUpdates.size());
+        sender.accept(targetServiceId, TbSubscriptionUtils.toBatchProto(tsUpdates, attrUpdates));
+    }
+
+    private static class Batch {
+        private final Map<UUID, List<TsKvEntry>> tsUpdates = new LinkedHashMap<>();
+        private final Map<AttributesKey, Map<String, TsKvEntry>> attrUpdates = new LinkedHashMap<>();
+    }
+
+    private record AttributesKey(UUID entityId, String scope) {
+    }
+
+}
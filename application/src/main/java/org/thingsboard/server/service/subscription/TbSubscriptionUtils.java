@@ -36,12 +36,14 @@ import org.thingsboard.server.gen.transport.TransportProtos.TbTimeSeriesDeletePr
 import org.thingsboard.server.gen.transport.TransportProtos.TbTimeSeriesUpdateProto;
 import org.thingsboard.server.gen.transport.TransportProtos.ToCoreMsg;
 import org.thingsboard.server.gen.transport.TransportProtos.ToCoreNotificationMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineNotificationMsg;
 import org.thingsboard.server.service.ws.notification.sub.NotificationRequestUpdate;
 import org.thingsboard.server.service.ws.notification.sub.NotificationUpdate;
 import org.thingsboard.server.service.ws.notification.sub.NotificationsSubscriptionUpdate;
 import org.thingsboard.server.service.ws.telemetry.sub.AlarmSubscriptionUpdate;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -229,6 +231,30 @@ public class TbSubscriptionUtils {
     }
 
     public static ToCoreMsg toAlarmUpdateProto(TenantId tenantId, EntityId entityId, AlarmInfo alarm) {
+        SubscriptionMgrMsgProto.Builder msgBuilder = SubscriptionMgrMsgProto.newBuilder();
+        msgBuilder.setAlarmUpdate(toAlarmUpdate(tenantId, entityId, alarm));
+        return ToCoreMsg.newBuilder().setToSubscriptionMgrMsg(msgBuilder.build()).build();
+    }
+
+    public static ToCoreMsg toAlarmDeletedProto(TenantId tenantId, EntityId entityId, AlarmInfo alarm) {
+        SubscriptionMgrMsgProto.Builder msgBuilder = SubscriptionMgrMsgProto.newBuilder();
+        msgBuilder.setAlarmDelete(toAlarmDelete(tenantId, entityId, alarm));
+        return ToCoreMsg.newBuilder().setToSubscriptionMgrMsg(msgBuilder.build()).build();
+    }
+
+    public static ToRuleEngineNotificationMsg toActiveAlarmUpdateProto(AlarmInfo alarm) {
+        return ToRuleEngineNotificationMsg.newBuilder()
+                .setActiveAlarmUpdate(toAlarmUpdate(alarm.getTenantId(), alarm.getOriginator(), alarm))
+                .build();
+    }
+
+    public static ToRuleEngineNotificationMsg toActiveAlarmDeletedProto(AlarmInfo alarm) {
+        return ToRuleEngineNotificationMsg.newBuilder()
+                .setActiveAlarmDelete(toAlarmDelete(alarm.getTenantId(), alarm.getOriginator(), alarm))
+                .build();
+    }
+
+    private static TbAlarmUpdateProto toAlarmUpdate(TenantId tenantId, EntityId entityId, AlarmInfo alarm) {
         TbAlarmUpdateProto.Builder builder = TbAlarmUpdateProto.newBuilder();
         builder.setEntityType(entityId.getEntityType().name());
         builder.setEntityIdMSB(entityId.getId().getMostSignificantBits());
@@ -236,12 +262,10 @@ public class TbSubscriptionUtils {
         builder.setTenantIdMSB(tenantId.getId().getMostSignificantBits());
         builder.setTenantIdLSB(tenantId.getId().getLeastSignificantBits());
         builder.setAlarm(JacksonUtil.toString(alarm));
-        SubscriptionMgrMsgProto.Builder msgBuilder = SubscriptionMgrMsgProto.newBuilder();
-        msgBuilder.setAlarmUpdate(builder);
-        return ToCoreMsg.newBuilder().setToSubscriptionMgrMsg(msgBuilder.build()).build();
+        return builder.build();
     }
 
-    public static ToCoreMsg toAlarmDeletedProto(TenantId tenantId, EntityId entityId, AlarmInfo alarm) {
+    private static TbAlarmDeleteProto toAlarmDelete(TenantId tenantId, EntityId entityId, AlarmInfo alarm) {
         TbAlarmDeleteProto.Builder builder = TbAlarmDeleteProto.newBuilder();
         builder.setEntityType(entityId.getEntityType().name());
         builder.setEntityIdMSB(entityId.getId().getMostSignificantBits());
@@ -249,9 +273,7 @@ public class TbSubscriptionUtils {
         builder.setTenantIdMSB(tenantId.getId().getMostSignificantBits());
         builder.setTenantIdLSB(tenantId.getId().getLeastSignificantBits());
         builder.setAlarm(JacksonUtil.toString(alarm));
-        SubscriptionMgrMsgProto.Builder msgBuilder = SubscriptionMgrMsgProto.newBuilder();
-        msgBuilder.setAlarmDelete(builder);
-        return ToCoreMsg.newBuilder().setToSubscriptionMgrMsg(msgBuilder.build()).build();
+        return builder.build();
     }
 
     public static ToCoreMsg notificationUpdateToProto(TenantId tenantId, UserId recipientId, NotificationUpdate notificationUpdate) {
@@ -299,10 +321,31 @@ public class TbSubscriptionUtils {
     }
 
     static ToCoreNotificationMsg toProto(boolean timeSeries, String scope, EntityId entityId, List<TsKvEntry> updates) {
+        TransportProtos.TbSubUpdateProto.Builder builder = toSubUpdateProto(entityId.getId(), updates);
+
+        var result = TransportProtos.LocalSubscriptionServiceMsgProto.newBuilder();
+        if (timeSeries) {
+            result.setTsUpdate(builder);
+        } else {
+            builder.setScope(scope);
+            result.setAttrUpdate(builder);
+        }
+        return ToCoreNotificationMsg.newBuilder().setToLocalSubscriptionServiceMsg(result).build();
+    }
+
+    static ToCoreNotificationMsg toBatchProto(List<TransportProtos.TbSubUpdateProto> tsUpdates, List<TransportProtos.TbSubUpdateProto> attrUpdates) {
+        var batch = TransportProtos.TbSubUpdateBatchProto.newBuilder()
+                .addAllTsUpdates(tsUpdates)
+                .addAllAttrUpdates(attrUpdates);
+        var result = TransportProtos.LocalSubscriptionServiceMsgProto.newBuilder().setSubUpdateBatch(batch);
+        return ToCoreNotificationMsg.newBuilder().setToLocalSubscriptionServiceMsg(result).build();
+    }
+
+    static TransportProtos.TbSubUpdateProto.Builder toSubUpdateProto(UUID entityId, Collection<TsKvEntry> updates) {
         TransportProtos.TbSubUpdateProto.Builder builder = TransportProtos.TbSubUpdateProto.newBuilder();
 
-        builder.setEntityIdMSB(entityId.getId().getMostSignificantBits());
-        builder.setEntityIdLSB(entityId.getId().getLeastSignificantBits());
+        builder.setEntityIdMSB(entityId.getMostSignificantBits());
+        builder.setEntityIdLSB(entityId.getLeastSignificantBits());
 
         Map<String, List<TransportProtos.TsValueProto>> data = new TreeMap<>();
 
@@ -316,15 +359,7 @@ public class TbSubscriptionUtils {
             dataBuilder.addAllTsValue(value);
             builder.addData(dataBuilder.build());
         });
-
-        var result = TransportProtos.LocalSubscriptionServiceMsgProto.newBuilder();
-        if (timeSeries) {
-            result.setTsUpdate(builder);
-        } else {
-            builder.setScope(scope);
-            result.setAttrUpdate(builder);
-        }
-        return ToCoreNotificationMsg.newBuilder().setToLocalSubscriptionServiceMsg(result).build();
+        return builder;
     }
 
 }
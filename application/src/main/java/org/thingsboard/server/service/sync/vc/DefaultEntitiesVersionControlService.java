@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.service.sync.vc;
 
+import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -104,6 +105,8 @@ import static org.thingsboard.server.common.data.sync.vc.VcUtils.checkBranchName
 @Slf4j
 public class DefaultEntitiesVersionControlService implements EntitiesVersionControlService {
 
+    private static final int EXPORT_BATCH_SIZE = 100;
+
     private final TbRepositorySettingsService repositorySettingsService;
     private final TbAutoCommitSettingsService autoCommitSettingsService;
     private final GitVersionControlQueueService gitServiceQueue;
@@ -139,7 +142,9 @@ public class DefaultEntitiesVersionControlService implements EntitiesVersionCont
                         throw new RuntimeException("Unsupported request type: " + request.getType());
                 }
                 var resultFuture = Futures.transformAsync(Futures.allAsList(theCtx.getFutures()), f -> gitServiceQueue.push(commit), executor);
-                DonAsynchron.withCallback(resultFuture, result -> cachePut(commit.getTxId(), result), e -> processCommitError(user, request, commit, e), executor);
+                var processedEntities = theCtx.getProcessedEntities();
+                DonAsynchron.withCallback(resultFuture, result -> cachePut(commit.getTxId(), result, processedEntities.get()),
+                        e -> processCommitError(user, request, commit, e), executor);
             } catch (Exception e) {
                 processCommitError(user, request, commit, e);
             }
@@ -176,7 +181,7 @@ public class DefaultEntitiesVersionControlService implements EntitiesVersionCont
     }
 
     private void handleSingleEntityRequest(SimpleEntitiesExportCtx ctx) throws Exception {
-        ctx.add(saveEntityData(ctx, ctx.getRequest().getEntityId()));
+        ctx.addEntity(saveEntityData(ctx, ctx.getRequest().getEntityId()));
     }
 
     private void handleComplexRequest(ComplexEntitiesExportCtx parentCtx) {
@@ -188,26 +193,27 @@ public class DefaultEntitiesVersionControlService implements EntitiesVersionCont
             }
 
             if (config.isAllEntities()) {
-                DaoUtil.processInBatches(pageLink -> exportableEntitiesService.findEntitiesIdsByTenantId(ctx.getTenantId(), entityType, pageLink),
-                        100, entityId -> {
-                            try {
-                                ctx.add(saveEntityData(ctx, entityId));
-                            } catch (Exception e) {
-                                throw new RuntimeException(e);
-                            }
-                        });
+                DaoUtil.processBatches(pageLink -> exportableEntitiesService.findEntitiesIdsByTenantId(ctx.getTenantId(), entityType, pageLink),
+                        EXPORT_BATCH_SIZE, batch -> saveEntitiesData(ctx, batch.getData()));
             } else {
-                for (UUID entityId : config.getEntityIds()) {
-                    try {
-                        ctx.add(saveEntityData(ctx, EntityIdFactory.getByTypeAndUuid(entityType, entityId)));
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                }
+                Iterables.partition(config.getEntityIds(), EXPORT_BATCH_SIZE).forEach(entityIds -> saveEntitiesData(ctx,
+                        entityIds.stream().map(entityId -> EntityIdFactory.getByTypeAndUuid(entityType, entityId)).toList()));
             }
         });
     }
 
+    private void saveEntitiesData(EntitiesExportCtx<?> ctx, List<? extends EntityId> entityIds) {
+        try {
+            for (EntityId entityId : entityIds) {
+                ctx.addEntity(saveEntityData(ctx, entityId));
+            }
+            ctx.awaitPending();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        cachePut(ctx.getCommit().getTxId(), new VersionCreationResult(), ctx.getProcessedEntities().get());
+    }
+
     private ListenableFuture<Void> saveEntityData(EntitiesExportCtx<?> ctx, EntityId entityId) throws Exception {
         EntityExportData<ExportableEntity<EntityId>> entityData = exportImportService.exportEntity(ctx, entityId);
         return gitServiceQueue.addToCommit(ctx.getCommit(), entityData);
@@ -287,7 +293,7 @@ public class DefaultEntitiesVersionControlService implements EntitiesVersionCont
                 result = loadFunction.apply(ctx);
             }
             result.setDone(true);
-            return cachePut(ctx.getRequestId(), result);
+            return cachePut(ctx.getRequestId(), result, ctx.getProcessedEntities());
         } catch (LoadEntityException e) {
             return cachePut(ctx.getRequestId(), onError(e.getExternalId(), e.getCause()));
         } catch (Throwable e) {
@@ -372,12 +378,18 @@ public class DefaultEntitiesVersionControlService implements EntitiesVersionCont
         int limit = 100;
         int offset = 0;
         List<EntityExportData> entityDataList;
+        var nextPage = gitServiceQueue.getEntities(ctx.getTenantId(), ctx.getVersionId(), entityType, offset, limit);
         do {
             try {
-                entityDataList = gitServiceQueue.getEntities(ctx.getTenantId(), ctx.getVersionId(), entityType, offset, limit).get();
+                entityDataList = nextPage.get();
             } catch (ExecutionException e) {
                 throw e.getCause();
             }
+            offset += limit;
+            if (entityDataList.size() == limit) {
+                // the next page is read from the repository while the current one is imported
+                nextPage = gitServiceQueue.getEntities(ctx.getTenantId(), ctx.getVersionId(), entityType, offset, limit);
+            }
             log.debug("[{}] Loading {} entities pack ({})", ctx.getTenantId(), entityType, entityDataList.size());
             for (EntityExportData entityData : entityDataList) {
                 EntityExportData reimportBackup = JacksonUtil.clone(entityData);
@@ -388,6 +400,7 @@ public class DefaultEntitiesVersionControlService implements EntitiesVersionCont
                     throw new LoadEntityException(entityData.getExternalId(), e);
                 }
                 registerResult(ctx, entityType, importResult);
+                ctx.setProcessedEntities(ctx.getProcessedEntities() + 1);
 
                 if (!importResult.isUpdatedAllExternalIds()) {
                     ctx.getToReimport().put(entityData.getEntity().getExternalId(), new ReimportTask(reimportBackup, ctx.getSettings()));
@@ -399,7 +412,6 @@ public class DefaultEntitiesVersionControlService implements EntitiesVersionCont
 
             persistToCache(ctx);
             log.debug("Imported {} pack ({}) for tenant {}", entityType, entityDataList.size(), ctx.getTenantId());
-            offset += limit;
         } while (entityDataList.size() == limit);
     }
 
@@ -632,14 +644,24 @@ public class DefaultEntitiesVersionControlService implements EntitiesVersionCont
         taskCache.put(requestId, VersionControlTaskCacheEntry.newForExport(result));
     }
 
+    private void cachePut(UUID requestId, VersionCreationResult result, int processedEntities) {
+        taskCache.put(requestId, VersionControlTaskCacheEntry.newForExport(result, processedEntities));
+    }
+
     private VersionLoadResult cachePut(UUID requestId, VersionLoadResult result) {
         log.trace("[{}] Cache put: {}", requestId, result);
         taskCache.put(requestId, VersionControlTaskCacheEntry.newForImport(result));
         return result;
     }
 
+    private VersionLoadResult cachePut(UUID requestId, VersionLoadResult result, int processedEntities) {
+        log.trace("[{}] Cache put: {}", requestId, result);
+        taskCache.put(requestId, VersionControlTaskCacheEntry.newForImport(result, processedEntities));
+        return result;
+    }
+
     private void persistToCache(EntitiesImportCtx ctx) {
-        cachePut(ctx.getRequestId(), VersionLoadResult.success(new ArrayList<>(ctx.getResults().values())));
+        cachePut(ctx.getRequestId(), VersionLoadResult.success(new ArrayList<>(ctx.getResults().values())), ctx.getProcessedEntities());
     }
 
 }
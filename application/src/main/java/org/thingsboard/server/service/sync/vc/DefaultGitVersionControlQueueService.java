@@ -18,6 +18,7 @@ package org.thingsboard.server.service.sync.vc;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -156,7 +157,7 @@ public class DefaultGitVersionControlQueueService implements GitVersionControlQu
         return Futures.transform(Futures.allAsList(futures), r -> {
             log.trace("[{}] sent all chunks for 'addToCommit'", chunkedMsgId);
             return null;
-        }, executor);
+        }, MoreExecutors.directExecutor());
     }
 
     @Override
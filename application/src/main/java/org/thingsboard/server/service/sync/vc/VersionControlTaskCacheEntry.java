@@ -30,14 +30,29 @@ public class VersionControlTaskCacheEntry implements Serializable {
 
     private VersionCreationResult exportResult;
     private VersionLoadResult importResult;
+    // progress of the task and the heap usage of the node that processes it, sampled on each update
+    private int processedEntities;
+    private long usedMemoryBytes;
 
     public static VersionControlTaskCacheEntry newForExport(VersionCreationResult result) {
-        return new VersionControlTaskCacheEntry(result, null);
+        return newForExport(result, 0);
+    }
+
+    public static VersionControlTaskCacheEntry newForExport(VersionCreationResult result, int processedEntities) {
+        return new VersionControlTaskCacheEntry(result, null, processedEntities, getUsedMemory());
     }
 
     public static VersionControlTaskCacheEntry newForImport(VersionLoadResult result) {
-        return new VersionControlTaskCacheEntry(null, result);
+        return newForImport(result, 0);
     }
 
+    public static VersionControlTaskCacheEntry newForImport(VersionLoadResult result, int processedEntities) {
+        return new VersionControlTaskCacheEntry(null, result, processedEntities, getUsedMemory());
+    }
+
+    private static long getUsedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
 
 }
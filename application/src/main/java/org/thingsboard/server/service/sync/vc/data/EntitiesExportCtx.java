@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.service.sync.vc.data;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +30,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Data
@@ -39,6 +41,7 @@ public abstract class EntitiesExportCtx<R extends VersionCreateRequest> {
     protected final R request;
     private final List<ListenableFuture<Void>> futures;
     private final Map<EntityId, EntityId> externalIdMap;
+    private final AtomicInteger processedEntities;
 
     public EntitiesExportCtx(User user, CommitGitRequest commit, R request) {
         this.user = user;
@@ -46,6 +49,7 @@ public abstract class EntitiesExportCtx<R extends VersionCreateRequest> {
         this.request = request;
         this.futures = new ArrayList<>();
         this.externalIdMap = new HashMap<>();
+        this.processedEntities = new AtomicInteger();
     }
 
     protected <T extends R> EntitiesExportCtx(EntitiesExportCtx<T> other) {
@@ -54,12 +58,26 @@ public abstract class EntitiesExportCtx<R extends VersionCreateRequest> {
         this.request = other.getRequest();
         this.futures = other.getFutures();
         this.externalIdMap = other.getExternalIdMap();
+        this.processedEntities = other.getProcessedEntities();
     }
 
     public void add(ListenableFuture<Void> future) {
         futures.add(future);
     }
 
+    public void addEntity(ListenableFuture<Void> future) {
+        add(future);
+        processedEntities.incrementAndGet();
+    }
+
+    // waits until the queued entities are sent, so that the export keeps no more than one batch in memory
+    public void awaitPending() throws Exception {
+        if (!futures.isEmpty()) {
+            Futures.allAsList(futures).get();
+            futures.clear();
+        }
+    }
+
     public TenantId getTenantId() {
         return user.getTenantId();
     }
@@ -59,6 +59,7 @@ public class EntitiesImportCtx {
     private EntityImportSettings settings;
     private EntityImportResult<?> currentImportResult;
     private boolean rollbackOnError;
+    private int processedEntities;
 
     public EntitiesImportCtx(UUID requestId, User user, String versionId) {
         this(requestId, user, versionId, null);
@@ -0,0 +1,53 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.telemetry;
+
+import org.thingsboard.server.common.data.alarm.Alarm;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+
+import java.util.Optional;
+
+/**
+ * Cache of the latest active alarm by originator and type, kept by the rule engine node that owns the originator's
+ * Main queue partition. Alarm updates made on other nodes are delivered to the owner with the rule engine notifications.
+ */
+public interface ActiveAlarmCache {
+
+    boolean isEnabled();
+
+    /**
+     * @return true if the alarms of the originator are cached by the current node
+     */
+    boolean isMyOriginator(TenantId tenantId, EntityId originator);
+
+    /**
+     * @return the latest active alarm, empty if there is no active alarm, or null if the result is not cached
+     */
+    Optional<Alarm> get(TenantId tenantId, EntityId originator, String type);
+
+    /**
+     * Caches the result of the database lookup, unless it was already updated by the alarm update event.
+     */
+    void putIfAbsent(TenantId tenantId, EntityId originator, String type, Alarm alarm);
+
+    void invalidate(TenantId tenantId, EntityId originator, String type);
+
+    void onAlarmUpdated(Alarm alarm);
+
+    void onAlarmDeleted(Alarm alarm);
+
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.telemetry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.server.common.data.DataConstants;
+import org.thingsboard.server.common.data.alarm.Alarm;
+import org.thingsboard.server.common.data.id.AlarmId;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.msg.queue.ServiceType;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.dao.alarm.AlarmService;
+import org.thingsboard.server.queue.discovery.PartitionService;
+import org.thingsboard.server.queue.discovery.QueueKey;
+import org.thingsboard.server.queue.discovery.TbApplicationEventListener;
+import org.thingsboard.server.queue.discovery.event.PartitionChangeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DefaultActiveAlarmCache extends TbApplicationEventListener<PartitionChangeEvent> implements ActiveAlarmCache {
+
+    private final PartitionService partitionService;
+    private final AlarmService alarmService;
+
+    @Value("${cache.activeAlarms.maxSize:100000}")
+    private int cacheMaxSize;
+    @Value("${cache.activeAlarms.timeToLiveInMinutes:10}")
+    private int cacheValueTtl;
+    @Value("${cache.activeAlarms.warmUp.enabled:true}")
+    private boolean warmUpEnabled;
+    @Value("${cache.activeAlarms.warmUp.pageSize:1000}")
+    private int warmUpPageSize;
+
+    private Cache<ActiveAlarmKey, Optional<Alarm>> cache;
+    // cleared and deleted alarms, so that the delayed update events can't make them active again
+    private Cache<AlarmId, Boolean> inactiveAlarms;
+    private ExecutorService warmUpExecutor;
+    // incremented on every partition change, so that the outdated warm-up is stopped
+    private final AtomicInteger warmUpSeq = new AtomicInteger();
+
+    @PostConstruct
+    private void init() {
+        if (cacheMaxSize > 0) {
+            cache = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfterWrite(cacheValueTtl, TimeUnit.MINUTES)
+                    .build();
+            inactiveAlarms = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfterWrite(cacheValueTtl, TimeUnit.MINUTES)
+                    .build();
+            if (warmUpEnabled) {
+                warmUpExecutor = ThingsBoardExecutors.newSingleThreadScheduledExecutor("active-alarm-cache-warm-up");
+            }
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (warmUpExecutor != null) {
+            warmUpExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    @Override
+    public boolean isMyOriginator(TenantId tenantId, EntityId originator) {
+        return cache != null && isMyPartition(tenantId, originator);
+    }
+
+    @Override
+    public Optional<Alarm> get(TenantId tenantId, EntityId originator, String type) {
+        if (cache == null) {
+            return null;
+        }
+        return cache.getIfPresent(new ActiveAlarmKey(tenantId, originator, type));
+    }
+
+    @Override
+    public void putIfAbsent(TenantId tenantId, EntityId originator, String type, Alarm alarm) {
+        if (cache == null || !isMyPartition(tenantId, originator)) {
+            return;
+        }
+        if (alarm != null && (alarm.isCleared() || inactiveAlarms.getIfPresent(alarm.getId()) != null)) {
+            return;
+        }
+        cache.asMap().putIfAbsent(new ActiveAlarmKey(tenantId, originator, type), Optional.ofNullable(alarm));
+    }
+
+    @Override
+    public void invalidate(TenantId tenantId, EntityId originator, String type) {
+        if (cache != null) {
+            cache.invalidate(new ActiveAlarmKey(tenantId, originator, type));
+        }
+    }
+
+    @Override
+    public void onAlarmUpdated(Alarm alarm) {
+        if (cache == null || !isMyPartition(alarm.getTenantId(), alarm.getOriginator())) {
+            return;
+        }
+        ActiveAlarmKey key = new ActiveAlarmKey(alarm.getTenantId(), alarm.getOriginator(), alarm.getType());
+        if (alarm.isCleared()) {
+            onAlarmInactive(key, alarm.getId());
+        } else if (inactiveAlarms.getIfPresent(alarm.getId()) == null) {
+            cache.asMap().compute(key, (k, cached) -> {
+                if (cached != null && cached.isPresent() && cached.get().getId().equals(alarm.getId())
+                        && cached.get().getEndTs() > alarm.getEndTs()) {
+                    // delayed update event
+                    return cached;
+                }
+                return Optional.of(alarm);
+            });
+        }
+        log.trace("[{}][{}] Updated active alarm cache: {}", alarm.getTenantId(), alarm.getOriginator(), alarm.getId());
+    }
+
+    @Override
+    public void onAlarmDeleted(Alarm alarm) {
+        if (cache == null || !isMyPartition(alarm.getTenantId(), alarm.getOriginator())) {
+            return;
+        }
+        onAlarmInactive(new ActiveAlarmKey(alarm.getTenantId(), alarm.getOriginator(), alarm.getType()), alarm.getId());
+    }
+
+    @Override
+    protected void onTbApplicationEvent(PartitionChangeEvent event) {
+        if (cache == null || !ServiceType.TB_RULE_ENGINE.equals(event.getServiceType())) {
+            return;
+        }
+        cache.asMap().keySet().removeIf(key -> !isMyPartition(key.tenantId(), key.originator()));
+        int seq = warmUpSeq.incrementAndGet();
+        if (warmUpExecutor != null && hasNewMainPartitions(event)) {
+            warmUpExecutor.submit(() -> warmUp(seq));
+        }
+    }
+
+    private void warmUp(int seq) {
+        log.info("Warming up active alarm cache");
+        int loaded = 0;
+        try {
+            Alarm offset = null;
+            List<Alarm> alarms;
+            do {
+                if (seq != warmUpSeq.get() || cache.estimatedSize() >= cacheMaxSize) {
+                    break;
+                }
+                alarms = alarmService.findLatestActiveAlarms(offset, warmUpPageSize);
+                for (Alarm alarm : alarms) {
+                    if (isMyPartition(alarm.getTenantId(), alarm.getOriginator())) {
+                        putIfAbsent(alarm.getTenantId(), alarm.getOriginator(), alarm.getType(), alarm);
+                        loaded++;
+                    }
+                }
+                offset = alarms.isEmpty() ? null : alarms.get(alarms.size() - 1);
+            } while (alarms.size() == warmUpPageSize);
+            log.info("Loaded {} active alarms to the cache", loaded);
+        } catch (Exception e) {
+            log.warn("Failed to warm up active alarm cache, loaded {} active alarms", loaded, e);
+        }
+    }
+
+    private boolean hasNewMainPartitions(PartitionChangeEvent event) {
+        for (Map.Entry<QueueKey, Set<TopicPartitionInfo>> entry : event.getNewPartitions().entrySet()) {
+            if (DataConstants.MAIN_QUEUE_NAME.equals(entry.getKey().getQueueName())
+                    && !event.getOldPartitions().getOrDefault(entry.getKey(), Set.of()).containsAll(entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onAlarmInactive(ActiveAlarmKey key, AlarmId alarmId) {
+        inactiveAlarms.put(alarmId, Boolean.TRUE);
+        cache.asMap().computeIfPresent(key, (k, cached) ->
+                cached.isEmpty() || cached.get().getId().equals(alarmId) ? Optional.empty() : cached);
+    }
+
+    /*
+     * Alarm rules are evaluated by the rule engine node that consumes the originator's messages from the Main queue,
+     * so the cache is kept by that node.
+     */
+    private boolean isMyPartition(TenantId tenantId, EntityId originator) {
+        return partitionService.isMyPartition(ServiceType.TB_RULE_ENGINE, tenantId, originator);
+    }
+
+    private record ActiveAlarmKey(TenantId tenantId, EntityId originator, String type) {
+    }
+
+}
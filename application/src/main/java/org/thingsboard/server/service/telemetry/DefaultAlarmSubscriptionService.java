@@ -20,6 +20,7 @@ import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -60,6 +61,7 @@ import org.thingsboard.server.service.entitiy.alarm.TbAlarmCommentService;
 import org.thingsboard.server.service.subscription.TbSubscriptionUtils;
 
 import java.util.Collection;
+import java.util.Optional;
 
 import static org.thingsboard.server.common.data.alarm.AlarmCommentSubType.SEVERITY_CHANGED;
 
@@ -76,6 +78,7 @@ public class DefaultAlarmSubscriptionService extends AbstractSubscriptionService
     private final TbApiUsageReportClient apiUsageClient;
     private final TbApiUsageStateService apiUsageStateService;
     private final NotificationRuleProcessor notificationRuleProcessor;
+    private final ActiveAlarmCache activeAlarmCache;
 
     @Override
     protected String getExecutorPrefix() {
@@ -84,14 +87,46 @@ public class DefaultAlarmSubscriptionService extends AbstractSubscriptionService
 
     @Override
     public AlarmApiCallResult createAlarm(AlarmCreateOrUpdateActiveRequest request) {
-        boolean creationEnabled = apiUsageStateService.getApiUsageState(request.getTenantId()).isAlarmCreationEnabled();
-        var result = alarmService.createAlarm(request, creationEnabled);
-        if (result.isCreated()) {
-            apiUsageClient.report(request.getTenantId(), null, ApiUsageRecordKey.CREATED_ALARMS_COUNT);
+        AlarmApiCallResult result = updateCachedActiveAlarm(request);
+        if (result == null) {
+            boolean creationEnabled = apiUsageStateService.getApiUsageState(request.getTenantId()).isAlarmCreationEnabled();
+            result = alarmService.createAlarm(request, creationEnabled);
+            if (result.isCreated()) {
+                apiUsageClient.report(request.getTenantId(), null, ApiUsageRecordKey.CREATED_ALARMS_COUNT);
+            }
         }
         return withWsCallback(request, result);
     }
 
+    /*
+     * Updates the cached active alarm by id, without the lookup of the active alarm by originator and type.
+     * Returns null if the active alarm is not cached or was already cleared, so that the alarm is created or updated as usual.
+     */
+    private AlarmApiCallResult updateCachedActiveAlarm(AlarmCreateOrUpdateActiveRequest request) {
+        if (request.getEdgeAlarmId() != null || request.getCustomerId() != null) {
+            return null;
+        }
+        Optional<Alarm> cached = activeAlarmCache.get(request.getTenantId(), request.getOriginator(), request.getType());
+        if (cached == null || cached.isEmpty()) {
+            return null;
+        }
+        AlarmApiCallResult result = alarmService.updateActiveAlarm(AlarmUpdateRequest.builder()
+                .tenantId(request.getTenantId())
+                .alarmId(cached.get().getId())
+                .severity(request.getSeverity())
+                .startTs(request.getStartTs())
+                .endTs(request.getEndTs())
+                .details(request.getDetails())
+                .propagation(request.getPropagation())
+                .userId(request.getUserId())
+                .build());
+        if (!result.isSuccessful()) {
+            activeAlarmCache.invalidate(request.getTenantId(), request.getOriginator(), request.getType());
+            return null;
+        }
+        return result;
+    }
+
     @Override
     public AlarmApiCallResult updateAlarm(AlarmUpdateRequest request) {
         return withWsCallback(alarmService.updateAlarm(request));
@@ -125,6 +160,14 @@ public class DefaultAlarmSubscriptionService extends AbstractSubscriptionService
     @Override
     public boolean deleteAlarm(TenantId tenantId, AlarmId alarmId) {
         AlarmApiCallResult result = alarmService.delAlarm(tenantId, alarmId);
+        if (result.isSuccessful() && result.getAlarm() != null && activeAlarmCache.isEnabled()) {
+            AlarmInfo alarm = result.getAlarm();
+            if (activeAlarmCache.isMyOriginator(alarm.getTenantId(), alarm.getOriginator())) {
+                activeAlarmCache.onAlarmDeleted(alarm);
+            } else {
+                clusterService.broadcastToRuleEngine(TbSubscriptionUtils.toActiveAlarmDeletedProto(alarm));
+            }
+        }
         onAlarmDeleted(result);
         return result.isSuccessful();
     }
@@ -176,12 +219,25 @@ public class DefaultAlarmSubscriptionService extends AbstractSubscriptionService
 
     @Override
     public Alarm findLatestActiveByOriginatorAndType(TenantId tenantId, EntityId originator, String type) {
-        return alarmService.findLatestActiveByOriginatorAndType(tenantId, originator, type);
+        Optional<Alarm> cached = activeAlarmCache.get(tenantId, originator, type);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        Alarm alarm = alarmService.findLatestActiveByOriginatorAndType(tenantId, originator, type);
+        activeAlarmCache.putIfAbsent(tenantId, originator, type, alarm);
+        return alarm;
     }
 
     @Override
     public FluentFuture<Alarm> findLatestActiveByOriginatorAndTypeAsync(TenantId tenantId, EntityId originator, String type) {
-        return alarmService.findLatestActiveByOriginatorAndTypeAsync(tenantId, originator, type);
+        Optional<Alarm> cached = activeAlarmCache.get(tenantId, originator, type);
+        if (cached != null) {
+            return FluentFuture.from(Futures.immediateFuture(cached.orElse(null)));
+        }
+        return alarmService.findLatestActiveByOriginatorAndTypeAsync(tenantId, originator, type).transform(alarm -> {
+            activeAlarmCache.putIfAbsent(tenantId, originator, type, alarm);
+            return alarm;
+        }, MoreExecutors.directExecutor());
     }
 
     @Override
@@ -246,6 +302,14 @@ public class DefaultAlarmSubscriptionService extends AbstractSubscriptionService
     }
 
     private AlarmApiCallResult withWsCallback(AlarmModificationRequest request, AlarmApiCallResult result) {
+        if (result.isSuccessful() && result.getAlarm() != null && activeAlarmCache.isEnabled()) {
+            AlarmInfo alarm = result.getAlarm();
+            if (activeAlarmCache.isMyOriginator(alarm.getTenantId(), alarm.getOriginator())) {
+                activeAlarmCache.onAlarmUpdated(alarm);
+            } else if (result.isModified()) {
+                clusterService.broadcastToRuleEngine(TbSubscriptionUtils.toActiveAlarmUpdateProto(alarm));
+            }
+        }
         if (result.isSuccessful() && result.isModified()) {
             Futures.addCallback(Futures.immediateFuture(result), new AlarmUpdateCallback(), wsCallBackExecutor);
             if (result.isSeverityChanged()) {
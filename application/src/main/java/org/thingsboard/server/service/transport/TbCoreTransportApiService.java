@@ -18,6 +18,7 @@ package org.thingsboard.server.service.transport;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.stereotype.Service;
@@ -33,6 +34,7 @@ import org.thingsboard.server.queue.TbQueueResponseTemplate;
 import org.thingsboard.server.queue.common.DefaultTbQueueResponseTemplate;
 import org.thingsboard.server.queue.common.TbProtoQueueMsg;
 import org.thingsboard.server.queue.provider.TbCoreQueueFactory;
+import org.thingsboard.server.queue.shm.ShmTransportApiQueueFactory;
 import org.thingsboard.server.queue.util.AfterStartUp;
 import org.thingsboard.server.queue.util.TbCoreComponent;
 
@@ -58,9 +60,15 @@ public class TbCoreTransportApiService {
     @Value("${queue.transport_api.max_callback_threads:100}")
     private int maxCallbackThreads;
 
+    @Autowired(required = false)
+    private ShmTransportApiQueueFactory shmTransportApiQueueFactory;
+
     private ExecutorService transportCallbackExecutor;
     private TbQueueResponseTemplate<TbProtoQueueMsg<TransportApiRequestMsg>,
             TbProtoQueueMsg<TransportApiResponseMsg>> transportApiTemplate;
+    // serves the transports running on the same host, in addition to the ones connected via the queue
+    private TbQueueResponseTemplate<TbProtoQueueMsg<TransportApiRequestMsg>,
+            TbProtoQueueMsg<TransportApiResponseMsg>> shmTransportApiTemplate;
 
     public TbCoreTransportApiService(TbCoreQueueFactory tbCoreQueueFactory, TransportApiService transportApiService, StatsFactory statsFactory) {
         this.tbCoreQueueFactory = tbCoreQueueFactory;
@@ -71,12 +79,20 @@ public class TbCoreTransportApiService {
     @PostConstruct
     public void init() {
         this.transportCallbackExecutor = ThingsBoardExecutors.newWorkStealingPool(maxCallbackThreads, getClass());
-        TbQueueProducer<TbProtoQueueMsg<TransportApiResponseMsg>> producer = tbCoreQueueFactory.createTransportApiResponseProducer();
-        TbQueueConsumer<TbProtoQueueMsg<TransportApiRequestMsg>> consumer = tbCoreQueueFactory.createTransportApiRequestConsumer();
-
         String key = StatsType.TRANSPORT.getName();
         MessagesStats queueStats = statsFactory.createMessagesStats(key);
 
+        transportApiTemplate = createTemplate(tbCoreQueueFactory.createTransportApiRequestConsumer(), tbCoreQueueFactory.createTransportApiResponseProducer(), queueStats);
+        if (shmTransportApiQueueFactory != null) {
+            shmTransportApiTemplate = createTemplate(shmTransportApiQueueFactory.createTransportApiRequestConsumer(),
+                    shmTransportApiQueueFactory.createTransportApiResponseProducer(), queueStats);
+        }
+    }
+
+    private TbQueueResponseTemplate<TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> createTemplate(
+            TbQueueConsumer<TbProtoQueueMsg<TransportApiRequestMsg>> consumer,
+            TbQueueProducer<TbProtoQueueMsg<TransportApiResponseMsg>> producer,
+            MessagesStats queueStats) {
         DefaultTbQueueResponseTemplate.DefaultTbQueueResponseTemplateBuilder
                 <TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> builder = DefaultTbQueueResponseTemplate.builder();
         builder.requestTemplate(consumer);
@@ -87,7 +103,7 @@ public class TbCoreTransportApiService {
         builder.executor(transportCallbackExecutor);
         builder.handler(transportApiService);
         builder.stats(queueStats);
-        transportApiTemplate = builder.build();
+        return builder.build();
     }
 
     @AfterStartUp(order = AfterStartUp.REGULAR_SERVICE)
@@ -95,6 +111,10 @@ public class TbCoreTransportApiService {
         log.info("Received application ready event. Starting polling for events.");
         transportApiTemplate.subscribe();
         transportApiTemplate.launch(transportApiService);
+        if (shmTransportApiTemplate != null) {
+            shmTransportApiTemplate.subscribe();
+            shmTransportApiTemplate.launch(transportApiService);
+        }
     }
 
     @PreDestroy
@@ -102,6 +122,9 @@ public class TbCoreTransportApiService {
         if (transportApiTemplate != null) {
             transportApiTemplate.stop();
         }
+        if (shmTransportApiTemplate != null) {
+            shmTransportApiTemplate.stop();
+        }
         if (transportCallbackExecutor != null) {
             transportCallbackExecutor.shutdownNow();
         }
@@ -24,6 +24,8 @@ import org.apache.commons.lang3.RandomUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -102,6 +104,7 @@ import org.thingsboard.server.dao.entityview.EntityViewService;
 import org.thingsboard.server.dao.relation.RelationService;
 import org.thingsboard.server.dao.service.DaoSqlTest;
 import org.thingsboard.server.dao.sql.query.DefaultEntityQueryRepository;
+import org.thingsboard.server.dao.sql.query.DefaultQueryLogComponent;
 import org.thingsboard.server.dao.sql.relation.RelationRepository;
 import org.thingsboard.server.dao.timeseries.TimeseriesService;
 import org.thingsboard.server.dao.usagerecord.ApiUsageStateService;
@@ -1831,6 +1834,53 @@ public class EntityServiceTest extends AbstractControllerTest {
         }
     }
 
+    @Test
+    public void testFindEntityDataByQuery_createdTimeKeysetPagination() {
+        for (int i = 0; i < 25; i++) {
+            Device device = new Device();
+            device.setTenantId(tenantId);
+            device.setName("Keyset device " + i);
+            device.setType("keyset");
+            deviceService.saveDevice(device);
+        }
+        DeviceTypeFilter filter = new DeviceTypeFilter();
+        filter.setDeviceTypes(List.of("keyset"));
+        filter.setDeviceNameFilter("");
+        List<EntityKey> entityFields = Collections.singletonList(new EntityKey(ENTITY_FIELD, "name"));
+
+        DefaultQueryLogComponent queryLog = (DefaultQueryLogComponent) ReflectionTestUtils.getField(entityQueryRepository, "queryLog");
+        DefaultQueryLogComponent queryLogSpy = Mockito.spy(queryLog);
+        ReflectionTestUtils.setField(entityQueryRepository, "queryLog", queryLogSpy);
+        try {
+            for (EntityDataSortOrder.Direction direction : EntityDataSortOrder.Direction.values()) {
+                EntityDataSortOrder sortOrder = new EntityDataSortOrder(new EntityKey(ENTITY_FIELD, "createdTime"), direction);
+                List<EntityId> expected = entityQueryRepository.findEntityDataByQuery(tenantId, new CustomerId(CustomerId.NULL_UUID),
+                        new EntityDataQuery(filter, new EntityDataPageLink(100, 0, null, sortOrder), entityFields, null, null))
+                        .getData().stream().map(EntityData::getEntityId).toList();
+                assertThat(expected).hasSize(25);
+
+                List<EntityId> loaded = new ArrayList<>();
+                PageData<EntityData> page;
+                int pageNumber = 0;
+                do {
+                    EntityDataQuery query = new EntityDataQuery(filter, new EntityDataPageLink(10, pageNumber++, null, sortOrder), entityFields, null, null);
+                    page = entityQueryRepository.findEntityDataByQuery(tenantId, new CustomerId(CustomerId.NULL_UUID), query);
+                    assertThat(page.getTotalElements()).isEqualTo(25);
+                    page.getData().forEach(entityData -> loaded.add(entityData.getEntityId()));
+                } while (page.hasNext());
+
+                assertThat(loaded).as("keyset pages sorted %s", direction).containsExactlyElementsOf(expected);
+            }
+            // the second and the third page of both directions continue from the last row of the previous page
+            ArgumentCaptor<String> queries = ArgumentCaptor.forClass(String.class);
+            Mockito.verify(queryLogSpy, Mockito.atLeastOnce()).logQuery(Mockito.any(), queries.capture(), Mockito.anyLong());
+            assertThat(queries.getAllValues()).filteredOn(query -> query.contains(":keyset_sort_value")).hasSize(4)
+                    .allSatisfy(query -> assertThat(query).doesNotContain("offset"));
+        } finally {
+            ReflectionTestUtils.setField(entityQueryRepository, "queryLog", queryLog);
+        }
+    }
+
     private void assertNullsOrdering(String strategy, List<String> expectedAsc, List<String> expectedDesc, int deviceSize) {
         String originalStrategy = entityQueryRepository.getNullsOrderStrategy();
         ReflectionTestUtils.setField(entityQueryRepository, "nullsOrderStrategy", strategy);
@@ -0,0 +1,201 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.housekeeper.processor;
+
+import com.google.common.util.concurrent.Futures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.housekeeper.EntitiesTelemetryDeletionHousekeeperTask;
+import org.thingsboard.server.common.data.housekeeper.HousekeeperTask;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.DeleteTsKvQuery;
+import org.thingsboard.server.common.data.kv.LongDataEntry;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.common.msg.housekeeper.HousekeeperClient;
+import org.thingsboard.server.dao.timeseries.TimeseriesService;
+import org.thingsboard.server.queue.housekeeper.HousekeeperConfig;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class EntitiesTelemetryDeletionTaskProcessorTest {
+
+    private static final long WINDOW = 10;
+    private static final int MAX_CONCURRENCY = 2;
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final List<String> keys = List.of("a", "b", "c");
+
+    @Mock
+    private TimeseriesService timeseriesService;
+    @Mock
+    private HousekeeperConfig config;
+    @Mock
+    private HousekeeperClient housekeeperClient;
+
+    private EntitiesTelemetryDeletionTaskProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new EntitiesTelemetryDeletionTaskProcessor(timeseriesService, config);
+        ReflectionTestUtils.setField(processor, "housekeeperClient", housekeeperClient);
+        lenient().when(config.getDisabledTaskTypes()).thenReturn(Collections.emptySet());
+        lenient().when(config.getTelemetryDeletionWindow()).thenReturn(WINDOW);
+        lenient().when(config.getTelemetryDeletionMaxConcurrency()).thenReturn(MAX_CONCURRENCY);
+        lenient().when(timeseriesService.removeAllLatest(any(), any())).thenReturn(Futures.immediateFuture(keys));
+        lenient().when(timeseriesService.remove(any(), any(), anyList())).thenReturn(Futures.immediateFuture(Collections.emptyList()));
+    }
+
+    @Test
+    void testDeletesHistoryInWindowsWithCappedConcurrency() throws Exception {
+        given(config.getTaskCheckpointInterval()).willReturn(60000);
+        UUID entity = UUID.randomUUID();
+        long earliestTs = System.currentTimeMillis() - 35;
+        mockHistory(new DeviceId(entity), earliestTs);
+
+        processor.process(new EntitiesTelemetryDeletionHousekeeperTask(tenantId, EntityType.DEVICE, List.of(entity)));
+
+        List<List<DeleteTsKvQuery>> batches = captureRemoveBatches(new DeviceId(entity));
+        InOrder inOrder = inOrder(timeseriesService);
+        inOrder.verify(timeseriesService, atLeastOnce()).remove(eq(tenantId), eq(new DeviceId(entity)), anyList());
+        inOrder.verify(timeseriesService).removeAllLatest(tenantId, new DeviceId(entity));
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(MAX_CONCURRENCY));
+        assertThat(batches).flatMap(batch -> batch).allSatisfy(query -> {
+            assertThat(query.getEndTs() - query.getStartTs()).isLessThanOrEqualTo(WINDOW);
+            assertThat(query.getDeleteLatest()).isFalse();
+        });
+
+        long windowStartTs = earliestTs;
+        for (int i = 0; i < batches.size(); i += 2) {
+            List<DeleteTsKvQuery> windowQueries = batches.get(i);
+            assertThat(windowQueries).extracting(DeleteTsKvQuery::getKey).containsExactly("a", "b");
+            assertThat(batches.get(i + 1)).extracting(DeleteTsKvQuery::getKey).containsExactly("c");
+            assertThat(windowQueries.get(0).getStartTs()).isEqualTo(windowStartTs);
+            windowStartTs = windowQueries.get(0).getEndTs();
+        }
+        assertThat(batches).hasSizeGreaterThanOrEqualTo(8);
+        assertThat(windowStartTs).isGreaterThanOrEqualTo(earliestTs + 35);
+        then(housekeeperClient).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void testSubmitsCheckpointInTheMiddleOfEntity() throws Exception {
+        given(config.getTaskCheckpointInterval()).willReturn(0);
+        UUID entity = UUID.randomUUID();
+        UUID nextEntity = UUID.randomUUID();
+        long earliestTs = System.currentTimeMillis() - 35;
+        mockHistory(new DeviceId(entity), earliestTs);
+
+        processor.process(new EntitiesTelemetryDeletionHousekeeperTask(tenantId, EntityType.DEVICE, List.of(entity, nextEntity)));
+
+        assertThat(captureRemoveBatches(new DeviceId(entity))).hasSize(2)
+                .flatMap(batch -> batch).allSatisfy(query -> {
+                    assertThat(query.getStartTs()).isEqualTo(earliestTs);
+                    assertThat(query.getEndTs()).isEqualTo(earliestTs + WINDOW);
+                });
+        then(timeseriesService).should(never()).findAllKeysByEntityIds(tenantId, List.of(new DeviceId(nextEntity)));
+        // the keys are read from the latest values, so they are kept until the whole history is deleted
+        then(timeseriesService).should(never()).removeAllLatest(any(), any());
+
+        EntitiesTelemetryDeletionHousekeeperTask submitted = captureSubmittedTask();
+        assertThat(submitted.getEntities()).containsExactly(entity, nextEntity);
+        assertThat(submitted.getKeys()).isEqualTo(keys);
+        assertThat(submitted.getStartTs()).isEqualTo(earliestTs + WINDOW);
+    }
+
+    @Test
+    void testResumesFromCheckpoint() throws Exception {
+        given(config.getTaskCheckpointInterval()).willReturn(60000);
+        UUID entity = UUID.randomUUID();
+        long startTs = System.currentTimeMillis() - 5;
+
+        processor.process(new EntitiesTelemetryDeletionHousekeeperTask(tenantId, EntityType.DEVICE, List.of(entity), keys, startTs));
+
+        then(timeseriesService).should(never()).findAllKeysByEntityIds(any(), any());
+        then(timeseriesService).should(never()).findAll(any(), any(), anyList());
+        List<List<DeleteTsKvQuery>> batches = captureRemoveBatches(new DeviceId(entity));
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).extracting(DeleteTsKvQuery::getStartTs).containsOnly(startTs);
+        then(timeseriesService).should().removeAllLatest(tenantId, new DeviceId(entity));
+        then(housekeeperClient).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void testSubmitsCheckpointBetweenEntities() throws Exception {
+        given(config.getTaskCheckpointInterval()).willReturn(0);
+        UUID entity = UUID.randomUUID();
+        UUID nextEntity = UUID.randomUUID();
+        EntityId entityId = new DeviceId(entity);
+        given(timeseriesService.findAllKeysByEntityIds(tenantId, List.of(entityId))).willReturn(keys);
+        given(timeseriesService.findAll(eq(tenantId), eq(entityId), anyList())).willReturn(Futures.immediateFuture(Collections.emptyList()));
+
+        processor.process(new EntitiesTelemetryDeletionHousekeeperTask(tenantId, EntityType.DEVICE, List.of(entity, nextEntity)));
+
+        then(timeseriesService).should().removeAllLatest(tenantId, entityId);
+        then(timeseriesService).should(never()).remove(any(), any(), anyList());
+
+        EntitiesTelemetryDeletionHousekeeperTask submitted = captureSubmittedTask();
+        assertThat(submitted.getEntities()).containsExactly(nextEntity);
+        assertThat(submitted.getKeys()).isNull();
+        assertThat(submitted.getStartTs()).isNull();
+    }
+
+    private void mockHistory(EntityId entityId, long earliestTs) {
+        given(timeseriesService.findAllKeysByEntityIds(tenantId, List.of(entityId))).willReturn(keys);
+        List<TsKvEntry> firstBatch = List.of(new BasicTsKvEntry(earliestTs + 3, new LongDataEntry("a", 1L)),
+                new BasicTsKvEntry(earliestTs, new LongDataEntry("b", 1L)));
+        List<TsKvEntry> secondBatch = List.of(new BasicTsKvEntry(earliestTs + 7, new LongDataEntry("c", 1L)));
+        given(timeseriesService.findAll(eq(tenantId), eq(entityId), anyList()))
+                .willReturn(Futures.immediateFuture(firstBatch), Futures.immediateFuture(secondBatch));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<DeleteTsKvQuery>> captureRemoveBatches(EntityId entityId) {
+        ArgumentCaptor<List<DeleteTsKvQuery>> captor = ArgumentCaptor.forClass(List.class);
+        then(timeseriesService).should(atLeastOnce()).remove(eq(tenantId), eq(entityId), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private EntitiesTelemetryDeletionHousekeeperTask captureSubmittedTask() {
+        ArgumentCaptor<HousekeeperTask> captor = ArgumentCaptor.forClass(HousekeeperTask.class);
+        then(housekeeperClient).should().submitTask(captor.capture());
+        return (EntitiesTelemetryDeletionHousekeeperTask) captor.getValue();
+    }
+
+}
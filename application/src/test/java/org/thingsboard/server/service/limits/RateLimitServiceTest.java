@@ -23,6 +23,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.thingsboard.server.cache.limits.DefaultRateLimitService;
 import org.thingsboard.server.cache.limits.RateLimitService;
+import org.thingsboard.server.cache.limits.TbRateLimitsFactory;
 import org.thingsboard.server.common.data.TenantProfile;
 import org.thingsboard.server.common.data.id.CustomerId;
 import org.thingsboard.server.common.data.id.NotificationRuleId;
@@ -34,6 +35,7 @@ import org.thingsboard.server.common.msg.notification.NotificationRuleProcessor;
 import org.thingsboard.server.dao.tenant.DefaultTbTenantProfileCache;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.eq;
@@ -51,7 +53,7 @@ public class RateLimitServiceTest {
     @BeforeEach
     public void beforeEach() {
         tenantProfileCache = Mockito.mock(DefaultTbTenantProfileCache.class);
-        rateLimitService = new DefaultRateLimitService(tenantProfileCache, mock(NotificationRuleProcessor.class), 60, 100);
+        rateLimitService = new DefaultRateLimitService(tenantProfileCache, mock(NotificationRuleProcessor.class), new TbRateLimitsFactory(Optional.empty()), 60, 100);
         tenantId = TenantId.fromUUID(UUID.randomUUID());
     }
 
@@ -0,0 +1,120 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.queue.ruleengine;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.queue.kafka.TbKafkaConsumerTemplate;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TbRuleEnginePackPipelineTest {
+
+    private final TopicPartition partition = new TopicPartition("tb_rule_engine.main.0", 0);
+    private TbKafkaConsumerTemplate<?> consumer;
+    private ExecutorService executor;
+    private TbRuleEnginePackPipeline pipeline;
+
+    @BeforeEach
+    public void beforeEach() {
+        consumer = mock(TbKafkaConsumerTemplate.class);
+        executor = Executors.newCachedThreadPool();
+        pipeline = new TbRuleEnginePackPipeline("test", consumer, 3, 10);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void givenFirstPackInProgress_whenSecondPackProcessed_thenNothingCommitted() throws Exception {
+        CountDownLatch firstPackLatch = new CountDownLatch(1);
+        pollOffset(10);
+        pipeline.submit(Set.of(), () -> firstPackLatch.await(5, TimeUnit.SECONDS), executor, () -> false);
+        pollOffset(20);
+        pipeline.submit(Set.of(), () -> true, executor, () -> false);
+
+        Thread.sleep(100);
+        pipeline.commitProcessed();
+        verify(consumer, never()).commit(Map.of(partition, new OffsetAndMetadata(20)));
+        assertThat(pipeline.size()).isEqualTo(2);
+
+        firstPackLatch.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            pipeline.commitProcessed();
+            verify(consumer).commit(Map.of(partition, new OffsetAndMetadata(20)));
+        });
+        assertThat(pipeline.size()).isZero();
+    }
+
+    @Test
+    public void givenPackWithSameOriginatorInProgress_whenSubmit_thenWaitForIt() throws Exception {
+        DeviceId deviceId = new DeviceId(UUID.randomUUID());
+        CountDownLatch firstPackLatch = new CountDownLatch(1);
+        AtomicBoolean firstPackDone = new AtomicBoolean();
+        pollOffset(10);
+        pipeline.submit(Set.of(deviceId), () -> {
+            firstPackLatch.await(5, TimeUnit.SECONDS);
+            firstPackDone.set(true);
+            return true;
+        }, executor, () -> false);
+
+        executor.submit(() -> {
+            try {
+                Thread.sleep(100);
+            } finally {
+                firstPackLatch.countDown();
+            }
+            return null;
+        });
+        pollOffset(20);
+        AtomicBoolean processedAfterFirstPack = new AtomicBoolean();
+        pipeline.submit(Set.of(deviceId), () -> {
+            processedAfterFirstPack.set(firstPackDone.get());
+            return true;
+        }, executor, () -> false);
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            pipeline.commitProcessed();
+            assertThat(pipeline.size()).isZero();
+        });
+        assertThat(processedAfterFirstPack).isTrue();
+    }
+
+    private void pollOffset(long offset) {
+        when(consumer.getLastPolledOffsets()).thenReturn(Map.of(partition, new OffsetAndMetadata(offset)));
+    }
+
+}
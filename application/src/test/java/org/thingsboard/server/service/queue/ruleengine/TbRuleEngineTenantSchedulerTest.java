@@ -0,0 +1,87 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.queue.ruleengine;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.queue.common.TbRuleEngineMsgHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TbRuleEngineTenantSchedulerTest {
+
+    private final TenantId tenantA = TenantId.fromUUID(UUID.randomUUID());
+    private final TenantId tenantB = TenantId.fromUUID(UUID.randomUUID());
+
+    @Test
+    public void givenBacklogOfOneTenant_whenSchedule_thenOtherTenantIsInterleaved() {
+        List<TbProtoQueueMsg<ToRuleEngineMsg>> msgs = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            msgs.add(newMsg(tenantA));
+        }
+        msgs.add(newMsg(tenantB));
+        msgs.add(newMsg(tenantB));
+
+        var scheduler = new TbRuleEngineTenantScheduler(2, tenantId -> 1);
+        List<TbProtoQueueMsg<ToRuleEngineMsg>> result = scheduler.schedule(msgs);
+
+        assertThat(result.stream().map(TbRuleEngineMsgHeaders::getTenantId).toList())
+                .containsExactly(tenantA, tenantA, tenantB, tenantB, tenantA, tenantA, tenantA, tenantA);
+        // the order within a tenant is preserved
+        assertThat(result.stream().filter(msg -> TbRuleEngineMsgHeaders.getTenantId(msg).equals(tenantA)).toList())
+                .containsExactlyElementsOf(msgs.subList(0, 6));
+    }
+
+    @Test
+    public void givenWeights_whenSchedule_thenTenantGetsShareByWeight() {
+        List<TbProtoQueueMsg<ToRuleEngineMsg>> msgs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            msgs.add(newMsg(tenantA));
+        }
+        for (int i = 0; i < 4; i++) {
+            msgs.add(newMsg(tenantB));
+        }
+
+        Map<TenantId, Integer> weights = Map.of(tenantA, 1, tenantB, 3);
+        var scheduler = new TbRuleEngineTenantScheduler(1, weights::get);
+        List<TbProtoQueueMsg<ToRuleEngineMsg>> result = scheduler.schedule(msgs);
+
+        assertThat(result.stream().map(TbRuleEngineMsgHeaders::getTenantId).toList())
+                .containsExactly(tenantA, tenantB, tenantB, tenantB, tenantA, tenantB, tenantA, tenantA);
+    }
+
+    @Test
+    public void givenSingleTenant_whenSchedule_thenPackIsNotChanged() {
+        List<TbProtoQueueMsg<ToRuleEngineMsg>> msgs = List.of(newMsg(tenantA), newMsg(tenantA));
+        var scheduler = new TbRuleEngineTenantScheduler(1, tenantId -> 1);
+        assertThat(scheduler.schedule(msgs)).isSameAs(msgs);
+    }
+
+    private TbProtoQueueMsg<ToRuleEngineMsg> newMsg(TenantId tenantId) {
+        return TbRuleEngineMsgHeaders.toQueueMsg(UUID.randomUUID(), ToRuleEngineMsg.newBuilder()
+                .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
+                .setTenantIdLSB(tenantId.getId().getLeastSignificantBits())
+                .build());
+    }
+
+}
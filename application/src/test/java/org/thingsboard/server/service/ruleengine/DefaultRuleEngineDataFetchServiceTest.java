@@ -0,0 +1,139 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.ruleengine;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.AttributeScope;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.kv.AttributeKvEntry;
+import org.thingsboard.server.common.data.kv.BaseAttributeKvEntry;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.StringDataEntry;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.dao.attributes.AttributesService;
+import org.thingsboard.server.dao.timeseries.TimeseriesService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DefaultRuleEngineDataFetchServiceTest {
+
+    private static final TenantId TENANT_ID = TenantId.fromUUID(UUID.fromString("d7210c7f-a152-4e91-8186-19ae85499a6b"));
+    private static final DeviceId DEVICE_ID = new DeviceId(UUID.fromString("a5bd0f7c-e3c4-4bc5-9fcf-4b43d0c4ab05"));
+
+    @Mock
+    private AttributesService attributesServiceMock;
+    @Mock
+    private TimeseriesService timeseriesServiceMock;
+
+    private DefaultRuleEngineDataFetchService dataFetchService;
+
+    @AfterEach
+    void tearDown() {
+        if (dataFetchService != null) {
+            dataFetchService.destroy();
+        }
+    }
+
+    @Test
+    void givenConcurrentLookupsOfSameEntity_whenFetchAttributes_thenSingleQueryForUnionOfKeys() throws Exception {
+        initService(50_000, 100);
+        AttributeKvEntry a = attribute("a");
+        AttributeKvEntry b = attribute("b");
+        AttributeKvEntry c = attribute("c");
+        when(attributesServiceMock.find(eq(TENANT_ID), eq(DEVICE_ID), eq(AttributeScope.SERVER_SCOPE), argThat((Collection<String> keys) -> Set.copyOf(keys).equals(Set.of("a", "b", "c")))))
+                .thenReturn(Futures.immediateFuture(List.of(a, b, c)));
+
+        ListenableFuture<List<AttributeKvEntry>> first = dataFetchService.findAttributes(TENANT_ID, DEVICE_ID, AttributeScope.SERVER_SCOPE, List.of("a", "b"));
+        ListenableFuture<List<AttributeKvEntry>> second = dataFetchService.findAttributes(TENANT_ID, DEVICE_ID, AttributeScope.SERVER_SCOPE, List.of("b", "c"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsExactlyInAnyOrder(a, b);
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsExactlyInAnyOrder(b, c);
+        verify(attributesServiceMock, times(1)).find(any(), any(), any(AttributeScope.class), anyCollection());
+    }
+
+    @Test
+    void givenMaxBatchSizeReached_whenFetchLatestTimeseries_thenFetchedWithoutWaitingForWindow() throws Exception {
+        initService(TimeUnit.HOURS.toMicros(1), 2);
+        TsKvEntry temperature = new BasicTsKvEntry(1L, new StringDataEntry("temperature", "25"));
+        TsKvEntry humidity = new BasicTsKvEntry(1L, new StringDataEntry("humidity", "60"));
+        when(timeseriesServiceMock.findLatest(eq(TENANT_ID), eq(DEVICE_ID), argThat((Collection<String> keys) -> Set.copyOf(keys).equals(Set.of("temperature", "humidity")))))
+                .thenReturn(Futures.immediateFuture(List.of(temperature, humidity)));
+
+        ListenableFuture<List<TsKvEntry>> first = dataFetchService.findLatestTimeseries(TENANT_ID, DEVICE_ID, List.of("temperature"));
+        ListenableFuture<List<TsKvEntry>> second = dataFetchService.findLatestTimeseries(TENANT_ID, DEVICE_ID, List.of("humidity"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsExactly(temperature);
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsExactly(humidity);
+    }
+
+    @Test
+    void givenQueryFailure_whenFetchAttributes_thenAllRequestsFail() {
+        initService(TimeUnit.HOURS.toMicros(1), 2);
+        when(attributesServiceMock.find(eq(TENANT_ID), eq(DEVICE_ID), eq(AttributeScope.CLIENT_SCOPE), anyCollection()))
+                .thenReturn(Futures.immediateFailedFuture(new RuntimeException("DB is down")));
+
+        ListenableFuture<List<AttributeKvEntry>> first = dataFetchService.findAttributes(TENANT_ID, DEVICE_ID, AttributeScope.CLIENT_SCOPE, List.of("a"));
+        ListenableFuture<List<AttributeKvEntry>> second = dataFetchService.findAttributes(TENANT_ID, DEVICE_ID, AttributeScope.CLIENT_SCOPE, List.of("b"));
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasMessageContaining("DB is down");
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasMessageContaining("DB is down");
+    }
+
+    @Test
+    void givenBatchingDisabled_whenFetchAttributes_thenDelegatedDirectly() {
+        initService(0, 100);
+        ListenableFuture<List<AttributeKvEntry>> expected = Futures.immediateFuture(List.of(attribute("a")));
+        when(attributesServiceMock.find(TENANT_ID, DEVICE_ID, AttributeScope.SHARED_SCOPE, List.of("a"))).thenReturn(expected);
+
+        assertThat(dataFetchService.findAttributes(TENANT_ID, DEVICE_ID, AttributeScope.SHARED_SCOPE, List.of("a"))).isSameAs(expected);
+    }
+
+    private void initService(long batchWindowUs, int maxBatchSize) {
+        dataFetchService = new DefaultRuleEngineDataFetchService(attributesServiceMock, timeseriesServiceMock);
+        ReflectionTestUtils.setField(dataFetchService, "batchWindowUs", batchWindowUs);
+        ReflectionTestUtils.setField(dataFetchService, "maxBatchSize", maxBatchSize);
+        dataFetchService.init();
+    }
+
+    private static AttributeKvEntry attribute(String key) {
+        return new BaseAttributeKvEntry(new StringDataEntry(key, key + "-value"), 1L);
+    }
+
+}
@@ -49,6 +49,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.RETURNS_MOCKS;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -74,7 +75,7 @@ class RemoteJsInvokeServiceTest {
         remoteJsInvokeService = new RemoteJsInvokeService(Optional.of(apiUsageStateClient), Optional.of(apiUsageReportClient));
         jsRequestTemplate = mock(TbQueueRequestTemplate.class);
         remoteJsInvokeService.requestTemplate = jsRequestTemplate;
-        StatsFactory statsFactory = mock(StatsFactory.class);
+        StatsFactory statsFactory = mock(StatsFactory.class, RETURNS_MOCKS);
         when(statsFactory.createStatsCounter(any(), any())).thenReturn(mock(StatsCounter.class));
         ReflectionTestUtils.setField(remoteJsInvokeService, "statsFactory", statsFactory);
         remoteJsInvokeService.init();
@@ -186,6 +187,66 @@ class RemoteJsInvokeServiceTest {
         assertThat(invocationResult).isEqualTo(expectedInvocationResult);
     }
 
+    @Test
+    void givenBatchingEnabled_whenInvokingFunction_thenSendInvocationsInOneBatchRequest() throws Exception {
+        ReflectionTestUtils.setField(remoteJsInvokeService, "batchMaxSize", 3);
+        ReflectionTestUtils.setField(remoteJsInvokeService, "batchLingerMs", 60000L);
+        ReflectionTestUtils.setField(remoteJsInvokeService, "maxInvokeRequestsTimeout", 10000L);
+        ReflectionTestUtils.setField(remoteJsInvokeService, "maxExecRequestsTimeout", 2000L);
+        remoteJsInvokeService.init();
+        mockJsEvalResponse();
+        String scriptBody = "return { a: 'b'};";
+        UUID scriptId = remoteJsInvokeService.eval(TenantId.SYS_TENANT_ID, ScriptType.RULE_NODE_SCRIPT, scriptBody).get();
+        reset(jsRequestTemplate);
+
+        doAnswer(methodCall -> {
+            JsInvokeProtos.JsInvokeBatchRequest batchRequest = methodCall.<TbProtoQueueMsg<RemoteJsRequest>>getArgument(0).getValue().getInvokeBatchRequest();
+            if (batchRequest.getScriptBody().isEmpty()) {
+                JsInvokeProtos.JsInvokeResponse notFound = JsInvokeProtos.JsInvokeResponse.newBuilder()
+                        .setSuccess(false)
+                        .setErrorCode(JsInvokeProtos.JsInvokeErrorCode.NOT_FOUND_ERROR)
+                        .build();
+                return Futures.immediateFuture(new TbProtoJsQueueMsg<>(UUID.randomUUID(), RemoteJsResponse.newBuilder()
+                        .setInvokeBatchResponse(JsInvokeProtos.JsInvokeBatchResponse.newBuilder()
+                                .addResults(JsInvokeProtos.JsInvokeResponse.newBuilder().setSuccess(true).setResult("result0"))
+                                .addResults(notFound)
+                                .addResults(notFound))
+                        .build()));
+            }
+            var batchResponse = JsInvokeProtos.JsInvokeBatchResponse.newBuilder();
+            batchRequest.getInvocationsList().forEach(invocation -> batchResponse.addResults(JsInvokeProtos.JsInvokeResponse.newBuilder()
+                    .setSuccess(true)
+                    .setResult("result" + invocation.getArgs(0))));
+            return Futures.immediateFuture(new TbProtoJsQueueMsg<>(UUID.randomUUID(), RemoteJsResponse.newBuilder()
+                    .setInvokeBatchResponse(batchResponse)
+                    .build()));
+        }).when(jsRequestTemplate).send(any());
+
+        var results = List.of(
+                remoteJsInvokeService.invokeScript(TenantId.SYS_TENANT_ID, null, scriptId, "0"),
+                remoteJsInvokeService.invokeScript(TenantId.SYS_TENANT_ID, null, scriptId, "1"),
+                remoteJsInvokeService.invokeScript(TenantId.SYS_TENANT_ID, null, scriptId, "2"));
+        assertThat(Futures.allAsList(results).get()).containsExactly("result0", "result1", "result2");
+
+        ArgumentCaptor<TbProtoJsQueueMsg<RemoteJsRequest>> jsRequestsCaptor = ArgumentCaptor.forClass(TbProtoJsQueueMsg.class);
+        verify(jsRequestTemplate, times(2)).send(jsRequestsCaptor.capture());
+        List<TbProtoJsQueueMsg<RemoteJsRequest>> requestsMade = jsRequestsCaptor.getAllValues();
+
+        JsInvokeProtos.JsInvokeBatchRequest firstRequestMade = requestsMade.get(0).getValue().getInvokeBatchRequest();
+        assertThat(firstRequestMade.getScriptHash()).isEqualTo(getScriptHash(scriptId));
+        assertThat(firstRequestMade.getScriptBody()).isNullOrEmpty();
+        assertThat(firstRequestMade.getInvocationsCount()).isEqualTo(3);
+        assertThat(firstRequestMade.getTimeout()).isEqualTo(2000);
+        assertThat(firstRequestMade.getBatchTimeout()).as("batch execution budget leaves time for the queue round trip").isEqualTo(8000);
+
+        JsInvokeProtos.JsInvokeBatchRequest secondRequestMade = requestsMade.get(1).getValue().getInvokeBatchRequest();
+        assertThat(secondRequestMade.getScriptBody()).contains(scriptBody);
+        assertThat(secondRequestMade.getInvocationsList()).map(invocation -> invocation.getArgs(0)).containsExactly("1", "2");
+
+        assertThat(requestsMade.stream().map(TbProtoQueueMsg::getKey).distinct().count()).as("partition keys are same")
+                .isOne();
+    }
+
     @Test
     void whenDoingEval_thenSaveScriptByHashOfTenantIdAndScriptBody() throws Exception {
         mockJsEvalResponse();
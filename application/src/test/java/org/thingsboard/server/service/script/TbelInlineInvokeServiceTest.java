@@ -0,0 +1,64 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.script;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.id.TenantId;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.thingsboard.server.common.data.msg.TbMsgType.POST_TELEMETRY_REQUEST;
+
+@TestPropertySource(properties = {
+        "tbel.inline.enabled=true",
+        "tbel.max_requests_timeout=1000"
+})
+class TbelInlineInvokeServiceTest extends AbstractTbelInvokeTest {
+
+    @Test
+    void givenBoundedScript_whenInvoking_thenExecuteOnCallingThread() throws Exception {
+        UUID boundedScriptId = evalScript("return msg.temperature > 20;");
+        UUID loopScriptId = evalScript("var t = 0; for (var i = 0; i < 3; i++) { t += i; } return t;");
+
+        ListenableFuture<Object> boundedResult = invokeService.invokeScript(TenantId.SYS_TENANT_ID, null, boundedScriptId,
+                Map.of("temperature", 25), "{}", POST_TELEMETRY_REQUEST.name());
+        assertThat(boundedResult.isDone()).isTrue();
+        assertThat(boundedResult.get()).isEqualTo(true);
+
+        Object loopResult = invokeService.invokeScript(TenantId.SYS_TENANT_ID, null, loopScriptId,
+                Map.of(), "{}", POST_TELEMETRY_REQUEST.name()).get();
+        assertThat(loopResult).isEqualTo(3);
+    }
+
+    @Test
+    void givenBoundedScript_whenInvokedManyTimes_thenNoInlineExecutionIsLeftForWatchdog() throws Exception {
+        UUID scriptId = evalScript("return msg.temperature > 20;");
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(invokeService.invokeScript(TenantId.SYS_TENANT_ID, null, scriptId,
+                    Map.of("temperature", i), "{}", POST_TELEMETRY_REQUEST.name()).isDone()).isTrue();
+        }
+
+        assertThat((Set<?>) ReflectionTestUtils.getField(invokeService, "inlineExecutions")).isEmpty();
+    }
+
+}
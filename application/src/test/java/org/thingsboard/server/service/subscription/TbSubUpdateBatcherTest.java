@@ -0,0 +1,127 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.subscription;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.kv.BaseAttributeKvEntry;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.LongDataEntry;
+import org.thingsboard.server.common.data.kv.StringDataEntry;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.gen.transport.TransportProtos.TbSubUpdateBatchProto;
+import org.thingsboard.server.gen.transport.TransportProtos.TbSubUpdateProto;
+import org.thingsboard.server.gen.transport.TransportProtos.ToCoreNotificationMsg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TbSubUpdateBatcherTest {
+
+    private final List<String> targets = new ArrayList<>();
+    private final List<ToCoreNotificationMsg> sent = new ArrayList<>();
+
+    @Test
+    public void testUpdatesOfDifferentEntitiesAreMerged() {
+        TbSubUpdateBatcher batcher = createBatcher(100);
+        DeviceId device1 = new DeviceId(UUID.randomUUID());
+        DeviceId device2 = new DeviceId(UUID.randomUUID());
+
+        batcher.addTimeSeriesUpdate("core1", device1, List.of(ts("temperature", 1, 20)));
+        batcher.addTimeSeriesUpdate("core1", device1, List.of(ts("temperature", 2, 21)));
+        batcher.addTimeSeriesUpdate("core1", device2, List.of(ts("humidity", 1, 50)));
+        batcher.addTimeSeriesUpdate("core2", device2, List.of(ts("humidity", 1, 50)));
+        assertTrue(sent.isEmpty());
+
+        batcher.flushAll();
+        assertEquals(2, sent.size());
+        TbSubUpdateBatchProto batch = getBatch("core1");
+        assertEquals(2, batch.getTsUpdatesCount());
+        TbSubUpdateProto device1Update = batch.getTsUpdates(0);
+        assertEquals(device1.getId(), new UUID(device1Update.getEntityIdMSB(), device1Update.getEntityIdLSB()));
+        // time-series history is kept
+        assertEquals(2, TbSubscriptionUtils.fromProto(device1Update).size());
+
+        sent.clear();
+        batcher.flushAll();
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void testOnlyLatestAttributeValueIsKept() {
+        TbSubUpdateBatcher batcher = createBatcher(100);
+        DeviceId device = new DeviceId(UUID.randomUUID());
+
+        batcher.addAttributesUpdate("core1", device, "SERVER_SCOPE", List.of(attr("state", 1, "on"), attr("mode", 1, "auto")));
+        batcher.addAttributesUpdate("core1", device, "SERVER_SCOPE", List.of(attr("state", 2, "off")));
+        batcher.addAttributesUpdate("core1", device, "SHARED_SCOPE", List.of(attr("state", 2, "off")));
+        // deleted attribute
+        batcher.addAttributesUpdate("core1", device, "SERVER_SCOPE", List.of(attr("mode", 0, "")));
+        batcher.flush("core1");
+
+        TbSubUpdateBatchProto batch = getBatch("core1");
+        assertEquals(2, batch.getAttrUpdatesCount());
+        TbSubUpdateProto serverScope = batch.getAttrUpdates(0);
+        assertEquals("SERVER_SCOPE", serverScope.getScope());
+        List<TsKvEntry> values = TbSubscriptionUtils.fromProto(serverScope);
+        assertEquals(2, values.size());
+        TsKvEntry mode = values.get(0);
+        assertEquals("mode", mode.getKey());
+        assertEquals(0, mode.getTs());
+        TsKvEntry state = values.get(1);
+        assertEquals("state", state.getKey());
+        assertEquals("off", state.getValueAsString());
+        assertEquals("SHARED_SCOPE", batch.getAttrUpdates(1).getScope());
+    }
+
+    @Test
+    public void testBatchIsSentWhenFull() {
+        TbSubUpdateBatcher batcher = createBatcher(2);
+
+        batcher.addTimeSeriesUpdate("core1", new DeviceId(UUID.randomUUID()), List.of(ts("temperature", 1, 20)));
+        assertTrue(sent.isEmpty());
+        batcher.addAttributesUpdate("core1", new DeviceId(UUID.randomUUID()), "SERVER_SCOPE", List.of(attr("state", 1, "on")));
+        assertEquals(1, sent.size());
+        TbSubUpdateBatchProto batch = getBatch("core1");
+        assertEquals(1, batch.getTsUpdatesCount());
+        assertEquals(1, batch.getAttrUpdatesCount());
+    }
+
+    private TbSubUpdateBatcher createBatcher(int maxBatchSize) {
+        return new TbSubUpdateBatcher(maxBatchSize, (target, msg) -> {
+            targets.add(target);
+            sent.add(msg);
+        });
+    }
+
+    private TbSubUpdateBatchProto getBatch(String target) {
+        ToCoreNotificationMsg msg = sent.get(targets.indexOf(target));
+        return msg.getToLocalSubscriptionServiceMsg().getSubUpdateBatch();
+    }
+
+    private static TsKvEntry ts(String key, long ts, long value) {
+        return new BasicTsKvEntry(ts, new LongDataEntry(key, value));
+    }
+
+    private static TsKvEntry attr(String key, long ts, String value) {
+        return new BasicTsKvEntry(ts, new BaseAttributeKvEntry(ts, new StringDataEntry(key, value)));
+    }
+
+}
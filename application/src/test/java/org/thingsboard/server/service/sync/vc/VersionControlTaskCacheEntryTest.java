@@ -0,0 +1,64 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.sync.vc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.SerializationUtils;
+import org.thingsboard.server.common.data.sync.vc.VersionCreationResult;
+import org.thingsboard.server.common.data.sync.vc.VersionLoadResult;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionControlTaskCacheEntryTest {
+
+    @Test
+    public void testNewForExport() {
+        VersionCreationResult result = new VersionCreationResult();
+        VersionControlTaskCacheEntry entry = VersionControlTaskCacheEntry.newForExport(result, 250);
+
+        assertThat(entry.getExportResult()).isSameAs(result);
+        assertThat(entry.getImportResult()).isNull();
+        assertThat(entry.getProcessedEntities()).isEqualTo(250);
+        assertThat(entry.getUsedMemoryBytes()).isPositive();
+        assertThat(VersionControlTaskCacheEntry.newForExport(result).getProcessedEntities()).isZero();
+    }
+
+    @Test
+    public void testNewForImport() {
+        VersionLoadResult result = VersionLoadResult.success(Collections.emptyList());
+        VersionControlTaskCacheEntry entry = VersionControlTaskCacheEntry.newForImport(result, 100);
+
+        assertThat(entry.getImportResult()).isSameAs(result);
+        assertThat(entry.getExportResult()).isNull();
+        assertThat(entry.getProcessedEntities()).isEqualTo(100);
+        assertThat(entry.getUsedMemoryBytes()).isPositive();
+        assertThat(VersionControlTaskCacheEntry.newForImport(result).getProcessedEntities()).isZero();
+    }
+
+    @Test
+    public void testSerialization() {
+        VersionControlTaskCacheEntry entry = VersionControlTaskCacheEntry.newForImport(VersionLoadResult.success(Collections.emptyList()), 42);
+
+        VersionControlTaskCacheEntry deserialized = (VersionControlTaskCacheEntry) SerializationUtils.deserialize(SerializationUtils.serialize(entry));
+
+        assertThat(deserialized.getProcessedEntities()).isEqualTo(42);
+        assertThat(deserialized.getUsedMemoryBytes()).isEqualTo(entry.getUsedMemoryBytes());
+        assertThat(deserialized.getImportResult().getResult()).isEmpty();
+    }
+
+}
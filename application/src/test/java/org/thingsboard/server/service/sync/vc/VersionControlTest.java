@@ -29,6 +29,7 @@ import org.thingsboard.rule.engine.debug.TbMsgGeneratorNode;
 import org.thingsboard.rule.engine.debug.TbMsgGeneratorNodeConfiguration;
 import org.thingsboard.rule.engine.metadata.TbGetAttributesNode;
 import org.thingsboard.rule.engine.metadata.TbGetAttributesNodeConfiguration;
+import org.thingsboard.server.cache.TbTransactionalCache;
 import org.thingsboard.server.common.data.Customer;
 import org.thingsboard.server.common.data.Dashboard;
 import org.thingsboard.server.common.data.DashboardInfo;
@@ -131,6 +132,8 @@ public class VersionControlTest extends AbstractControllerTest {
     private EntitiesVersionControlService versionControlService;
     @Autowired
     private OtaPackageService otaPackageService;
+    @Autowired
+    private TbTransactionalCache<UUID, VersionControlTaskCacheEntry> taskCache;
 
     private TenantId tenantId1;
     protected User tenantAdmin1;
@@ -244,6 +247,39 @@ public class VersionControlTest extends AbstractControllerTest {
         checkImportedCustomerData(customer, importedCustomer);
     }
 
+    @Test
+    public void testCustomerVc_betweenTenants_multipleBatches() throws Exception {
+        int customersCount = 250;
+        for (int i = 0; i < customersCount; i++) {
+            createCustomer("Customer " + i);
+        }
+        String versionId = createVersion("customers", EntityType.CUSTOMER);
+        assertThat(listVersions()).extracting(EntityVersion::getId).contains(versionId);
+
+        loginTenant2();
+        EntityTypeVersionLoadRequest request = new EntityTypeVersionLoadRequest();
+        request.setVersionId(versionId);
+        request.setRollbackOnError(true);
+        EntityTypeVersionLoadConfig config = new EntityTypeVersionLoadConfig();
+        config.setFindExistingEntityByName(true);
+        request.setEntityTypes(Map.of(EntityType.CUSTOMER, config));
+        UUID requestId = doPost("/api/entities/vc/entity", request, UUID.class);
+        VersionLoadResult result = await().atMost(60, TimeUnit.SECONDS)
+                .until(() -> doGet("/api/entities/vc/entity/" + requestId + "/status", VersionLoadResult.class), VersionLoadResult::isDone);
+
+        assertThat(result.getError()).isNull();
+        assertThat(result.getResult()).singleElement().satisfies(typeResult -> {
+            assertThat(typeResult.getEntityType()).isEqualTo(EntityType.CUSTOMER);
+            assertThat(typeResult.getCreated()).isEqualTo(customersCount);
+        });
+        VersionControlTaskCacheEntry cacheEntry = taskCache.get(requestId).get();
+        assertThat(cacheEntry.getProcessedEntities()).isEqualTo(customersCount);
+        assertThat(cacheEntry.getUsedMemoryBytes()).isPositive();
+        for (int i = 0; i < customersCount; i += 50) {
+            assertThat(findCustomer("Customer " + i)).isNotNull();
+        }
+    }
+
     @Test
     public void testDeviceVc_sameTenant() throws Exception {
         DeviceProfile deviceProfile = createDeviceProfile(null, null, "Device profile v1.0");
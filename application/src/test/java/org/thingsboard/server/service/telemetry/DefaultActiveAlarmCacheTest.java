@@ -0,0 +1,221 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.telemetry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.DataConstants;
+import org.thingsboard.server.common.data.alarm.Alarm;
+import org.thingsboard.server.common.data.alarm.AlarmSeverity;
+import org.thingsboard.server.common.data.id.AlarmId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.msg.queue.ServiceType;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.dao.alarm.AlarmService;
+import org.thingsboard.server.queue.discovery.PartitionService;
+import org.thingsboard.server.queue.discovery.QueueKey;
+import org.thingsboard.server.queue.discovery.event.PartitionChangeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DefaultActiveAlarmCacheTest {
+
+    private static final String TYPE = "High Temperature";
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final DeviceId deviceId = new DeviceId(UUID.randomUUID());
+    private PartitionService partitionService;
+    private AlarmService alarmService;
+    private DefaultActiveAlarmCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        partitionService = mock(PartitionService.class);
+        when(partitionService.isMyPartition(eq(ServiceType.TB_RULE_ENGINE), any(), any())).thenReturn(true);
+        alarmService = mock(AlarmService.class);
+        cache = new DefaultActiveAlarmCache(partitionService, alarmService);
+        ReflectionTestUtils.setField(cache, "cacheMaxSize", 100);
+        ReflectionTestUtils.setField(cache, "cacheValueTtl", 10);
+        ReflectionTestUtils.setField(cache, "warmUpEnabled", true);
+        ReflectionTestUtils.setField(cache, "warmUpPageSize", 2);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(cache, "destroy");
+    }
+
+    @Test
+    public void givenNoActiveAlarm_whenLookupIsCached_thenEmptyResultIsReturned() {
+        assertThat(cache.get(tenantId, deviceId, TYPE)).isNull();
+
+        cache.putIfAbsent(tenantId, deviceId, TYPE, null);
+
+        assertThat(cache.get(tenantId, deviceId, TYPE)).isEmpty();
+    }
+
+    @Test
+    public void givenAlarmCreated_whenAlarmUpdated_thenAlarmIsCached() {
+        cache.putIfAbsent(tenantId, deviceId, TYPE, null);
+        Alarm alarm = alarm(false, 100);
+
+        cache.onAlarmUpdated(alarm);
+
+        assertThat(cache.get(tenantId, deviceId, TYPE)).contains(alarm);
+    }
+
+    @Test
+    public void givenAlarmCleared_whenDelayedUpdateReceived_thenAlarmIsNotActive() {
+        Alarm active = alarm(false, 100);
+        Alarm cleared = new Alarm(active);
+        cleared.setCleared(true);
+
+        cache.onAlarmUpdated(active);
+        cache.onAlarmUpdated(cleared);
+        cache.onAlarmUpdated(active);
+        cache.putIfAbsent(tenantId, deviceId, TYPE, active);
+
+        assertThat(cache.get(tenantId, deviceId, TYPE)).isEmpty();
+    }
+
+    @Test
+    public void givenOlderUpdate_whenAlarmUpdated_thenNewerAlarmIsKept() {
+        Alarm older = alarm(false, 100);
+        Alarm newer = new Alarm(older);
+        newer.setEndTs(200);
+        newer.setSeverity(AlarmSeverity.MAJOR);
+
+        cache.onAlarmUpdated(newer);
+        cache.onAlarmUpdated(older);
+
+        assertThat(cache.get(tenantId, deviceId, TYPE)).contains(newer);
+    }
+
+    @Test
+    public void givenLookupResult_whenAlarmAlreadyUpdated_thenLookupResultIsIgnored() {
+        Alarm alarm = alarm(false, 100);
+        cache.onAlarmUpdated(alarm);
+
+        cache.putIfAbsent(tenantId, deviceId, TYPE, null);
+
+        assertThat(cache.get(tenantId, deviceId, TYPE)).contains(alarm);
+    }
+
+    @Test
+    public void givenAlarmDeleted_whenLookup_thenEmptyResultIsReturned() {
+        Alarm alarm = alarm(false, 100);
+        cache.onAlarmUpdated(alarm);
+
+        cache.onAlarmDeleted(alarm);
+
+        assertThat(cache.get(tenantId, deviceId, TYPE)).isEmpty();
+    }
+
+    @Test
+    public void givenNotMyPartition_whenLookupIsCached_thenResultIsNotCached() {
+        when(partitionService.isMyPartition(eq(ServiceType.TB_RULE_ENGINE), any(), any())).thenReturn(false);
+
+        cache.putIfAbsent(tenantId, deviceId, TYPE, null);
+        cache.onAlarmUpdated(alarm(false, 100));
+
+        assertThat(cache.get(tenantId, deviceId, TYPE)).isNull();
+    }
+
+    @Test
+    public void givenNewMainPartitions_whenPartitionsChanged_thenActiveAlarmsAreLoaded() {
+        DeviceId otherDeviceId = new DeviceId(UUID.randomUUID());
+        DeviceId notMyDeviceId = new DeviceId(UUID.randomUUID());
+        when(partitionService.isMyPartition(eq(ServiceType.TB_RULE_ENGINE), any(), eq(notMyDeviceId))).thenReturn(false);
+        Alarm first = alarm(deviceId, TYPE);
+        Alarm second = alarm(deviceId, "Low Temperature");
+        Alarm third = alarm(otherDeviceId, TYPE);
+        Alarm notMine = alarm(notMyDeviceId, TYPE);
+        when(alarmService.findLatestActiveAlarms(null, 2)).thenReturn(List.of(first, second));
+        when(alarmService.findLatestActiveAlarms(second, 2)).thenReturn(List.of(third, notMine));
+        when(alarmService.findLatestActiveAlarms(notMine, 2)).thenReturn(List.of());
+
+        cache.onApplicationEvent(partitionChangeEvent(Set.of(), Set.of(tpi(0))));
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(cache.get(tenantId, deviceId, TYPE)).contains(first);
+            assertThat(cache.get(tenantId, deviceId, "Low Temperature")).contains(second);
+            assertThat(cache.get(tenantId, otherDeviceId, TYPE)).contains(third);
+            verify(alarmService).findLatestActiveAlarms(notMine, 2);
+        });
+        assertThat(cache.get(tenantId, notMyDeviceId, TYPE)).isNull();
+    }
+
+    @Test
+    public void givenPartitionLost_whenPartitionsChanged_thenNotMyEntriesAreRemovedWithoutWarmUp() {
+        cache.putIfAbsent(tenantId, deviceId, TYPE, null);
+        when(partitionService.isMyPartition(eq(ServiceType.TB_RULE_ENGINE), any(), any())).thenReturn(false);
+
+        cache.onApplicationEvent(partitionChangeEvent(Set.of(tpi(0), tpi(1)), Set.of(tpi(1))));
+
+        assertThat(cache.get(tenantId, deviceId, TYPE)).isNull();
+        verify(alarmService, after(500).never()).findLatestActiveAlarms(any(), anyInt());
+    }
+
+    private PartitionChangeEvent partitionChangeEvent(Set<TopicPartitionInfo> oldPartitions, Set<TopicPartitionInfo> newPartitions) {
+        QueueKey queueKey = new QueueKey(ServiceType.TB_RULE_ENGINE, DataConstants.MAIN_QUEUE_NAME);
+        return new PartitionChangeEvent(this, ServiceType.TB_RULE_ENGINE, Map.of(queueKey, newPartitions), Map.of(queueKey, oldPartitions));
+    }
+
+    private TopicPartitionInfo tpi(int partition) {
+        return TopicPartitionInfo.builder()
+                .topic("tb_rule_engine.main")
+                .partition(partition)
+                .myPartition(true)
+                .build();
+    }
+
+    private Alarm alarm(DeviceId originator, String type) {
+        Alarm alarm = alarm(false, 100);
+        alarm.setOriginator(originator);
+        alarm.setType(type);
+        return alarm;
+    }
+
+    private Alarm alarm(boolean cleared, long endTs) {
+        Alarm alarm = new Alarm(new AlarmId(UUID.randomUUID()));
+        alarm.setTenantId(tenantId);
+        alarm.setOriginator(deviceId);
+        alarm.setType(TYPE);
+        alarm.setSeverity(AlarmSeverity.CRITICAL);
+        alarm.setCleared(cleared);
+        alarm.setEndTs(endTs);
+        return alarm;
+    }
+
+}
@@ -19,21 +19,15 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.support.NullValue;
-import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.connection.ReturnType;
-import org.springframework.data.redis.connection.jedis.JedisClusterConnection;
-import org.springframework.data.redis.connection.jedis.JedisConnection;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.thingsboard.server.common.data.FstStatsService;
-import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisPool;
-import redis.clients.jedis.util.JedisClusterCRC16;
 
 import java.io.Serializable;
 import java.util.Arrays;
@@ -48,7 +42,6 @@ import java.util.function.Supplier;
 public abstract class RedisTbTransactionalCache<K extends Serializable, V extends Serializable> implements TbTransactionalCache<K, V> {
 
     static final byte[] BINARY_NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
-    static final JedisPool MOCK_POOL = new JedisPool(); //non-null pool required for JedisConnection to trigger closing jedis connection
 
     @Autowired
     private FstStatsService fstStatsService;
@@ -199,18 +192,7 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
     }
 
     protected RedisConnection getConnection(byte[] rawKey) {
-        if (!connectionFactory.isRedisClusterAware()) {
-            return connectionFactory.getConnection();
-        }
-        RedisConnection connection = connectionFactory.getClusterConnection();
-
-        int slotNum = JedisClusterCRC16.getSlot(rawKey);
-        Jedis jedis = new Jedis((((JedisClusterConnection) connection).getNativeConnection().getConnectionFromSlot(slotNum)));
-
-        JedisConnection jedisConnection = new JedisConnection(jedis, MOCK_POOL, jedis.getDB());
-        jedisConnection.setConvertPipelineAndTxResults(connectionFactory.getConvertPipelineAndTxResults());
-
-        return jedisConnection;
+        return TbRedisConnections.getConnection(connectionFactory, rawKey);
     }
 
     protected RedisConnection watch(byte[][] rawKeysList) {
@@ -272,23 +254,7 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
     }
 
     protected void executeScript(RedisConnection connection, byte[] scriptSha, byte[] luaScript, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
-        try {
-            connection.scriptingCommands().evalSha(scriptSha, returnType, numKeys, keysAndArgs);
-        } catch (InvalidDataAccessApiUsageException ignored) {
-            log.debug("Loading LUA with expected SHA [{}], connection [{}]", new String(scriptSha), connection.getNativeConnection());
-            String actualSha = connection.scriptingCommands().scriptLoad(luaScript);
-            if (!Arrays.equals(scriptSha, StringRedisSerializer.UTF_8.serialize(actualSha))) {
-                String message = String.format("SHA for LUA script wrong! Expected [%s], but actual [%s], connection [%s]",
-                        new String(scriptSha), actualSha, connection.getNativeConnection());
-                throw new IllegalStateException(message);
-            }
-            try {
-                connection.scriptingCommands().evalSha(scriptSha, returnType, numKeys, keysAndArgs);
-            } catch (InvalidDataAccessApiUsageException exception) {
-                log.warn("Slowly executing eval instead of fast evalSha", exception);
-                connection.scriptingCommands().eval(luaScript, returnType, numKeys, keysAndArgs);
-            }
-        }
+        TbRedisConnections.executeScript(connection, scriptSha, luaScript, returnType, numKeys, keysAndArgs);
     }
 
 }
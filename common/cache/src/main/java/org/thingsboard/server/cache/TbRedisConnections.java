@@ -0,0 +1,85 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.jedis.JedisClusterConnection;
+import org.springframework.data.redis.connection.jedis.JedisConnection;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+import java.util.Arrays;
+
+/**
+ * Connection and LUA script helpers shared by the Redis based components.
+ */
+@Slf4j
+public final class TbRedisConnections {
+
+    static final JedisPool MOCK_POOL = new JedisPool(); //non-null pool required for JedisConnection to trigger closing jedis connection
+
+    private TbRedisConnections() {
+    }
+
+    /**
+     * Returns the connection to the node that owns the key. In cluster mode it's a connection to the node that serves the slot of the key,
+     * so that the commands and scripts that work with a single key may be executed on it.
+     */
+    public static RedisConnection getConnection(JedisConnectionFactory connectionFactory, byte[] rawKey) {
+        if (!connectionFactory.isRedisClusterAware()) {
+            return connectionFactory.getConnection();
+        }
+        RedisConnection connection = connectionFactory.getClusterConnection();
+
+        int slotNum = JedisClusterCRC16.getSlot(rawKey);
+        Jedis jedis = new Jedis((((JedisClusterConnection) connection).getNativeConnection().getConnectionFromSlot(slotNum)));
+
+        JedisConnection jedisConnection = new JedisConnection(jedis, MOCK_POOL, jedis.getDB());
+        jedisConnection.setConvertPipelineAndTxResults(connectionFactory.getConvertPipelineAndTxResults());
+
+        return jedisConnection;
+    }
+
+    /**
+     * Executes the script by its SHA, loading the script first if the node doesn't know it yet.
+     */
+    public static <T> T executeScript(RedisConnection connection, byte[] scriptSha, byte[] luaScript, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        try {
+            return connection.scriptingCommands().evalSha(scriptSha, returnType, numKeys, keysAndArgs);
+        } catch (InvalidDataAccessApiUsageException ignored) {
+            log.debug("Loading LUA with expected SHA [{}], connection [{}]", new String(scriptSha), connection.getNativeConnection());
+            String actualSha = connection.scriptingCommands().scriptLoad(luaScript);
+            if (!Arrays.equals(scriptSha, StringRedisSerializer.UTF_8.serialize(actualSha))) {
+                String message = String.format("SHA for LUA script wrong! Expected [%s], but actual [%s], connection [%s]",
+                        new String(scriptSha), actualSha, connection.getNativeConnection());
+                throw new IllegalStateException(message);
+            }
+            try {
+                return connection.scriptingCommands().evalSha(scriptSha, returnType, numKeys, keysAndArgs);
+            } catch (InvalidDataAccessApiUsageException exception) {
+                log.warn("Slowly executing eval instead of fast evalSha", exception);
+                return connection.scriptingCommands().eval(luaScript, returnType, numKeys, keysAndArgs);
+            }
+        }
+    }
+
+}
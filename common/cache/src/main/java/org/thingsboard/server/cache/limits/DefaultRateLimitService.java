@@ -41,13 +41,16 @@ public class DefaultRateLimitService implements RateLimitService {
 
     private final TenantProfileProvider tenantProfileProvider;
     private final NotificationRuleProcessor notificationRuleProcessor;
+    private final TbRateLimitsFactory rateLimitsFactory;
 
     public DefaultRateLimitService(TenantProfileProvider tenantProfileProvider,
                                    @Lazy NotificationRuleProcessor notificationRuleProcessor,
+                                   TbRateLimitsFactory rateLimitsFactory,
                                    @Value("${cache.rateLimits.timeToLiveInMinutes:120}") int rateLimitsTtl,
                                    @Value("${cache.rateLimits.maxSize:200000}") int rateLimitsCacheMaxSize) {
         this.tenantProfileProvider = tenantProfileProvider;
         this.notificationRuleProcessor = notificationRuleProcessor;
+        this.rateLimitsFactory = rateLimitsFactory;
         this.rateLimits = Caffeine.newBuilder()
                 .expireAfterAccess(rateLimitsTtl, TimeUnit.MINUTES)
                 .maximumSize(rateLimitsCacheMaxSize)
@@ -82,7 +85,9 @@ public class DefaultRateLimitService implements RateLimitService {
 
         String rateLimitConfig = tenantProfile.getProfileConfiguration()
                 .map(api::getLimitConfig).orElse(null);
-        boolean success = checkRateLimit(api, level, rateLimitConfig);
+        boolean distributed = tenantProfile.getProfileConfiguration()
+                .map(profileConfiguration -> profileConfiguration.isDistributedRateLimit(api)).orElse(false);
+        boolean success = checkRateLimit(api, level, rateLimitConfig, distributed);
         if (!success) {
             notificationRuleProcessor.process(RateLimitsTrigger.builder()
                     .tenantId(tenantId)
@@ -96,6 +101,10 @@ public class DefaultRateLimitService implements RateLimitService {
 
     @Override
     public boolean checkRateLimit(LimitedApi api, Object level, String rateLimitConfig) {
+        return checkRateLimit(api, level, rateLimitConfig, false);
+    }
+
+    private boolean checkRateLimit(LimitedApi api, Object level, String rateLimitConfig, boolean distributed) {
         RateLimitKey key = new RateLimitKey(api, level);
         if (StringUtils.isEmpty(rateLimitConfig)) {
             rateLimits.invalidate(key);
@@ -104,9 +113,9 @@ public class DefaultRateLimitService implements RateLimitService {
         log.trace("[{}] Checking rate limit for {} ({})", level, api, rateLimitConfig);
 
         TbRateLimits rateLimit = rateLimits.asMap().compute(key, (k, limit) -> {
-            if (limit == null || !limit.getConfiguration().equals(rateLimitConfig)) {
-                limit = new TbRateLimits(rateLimitConfig, api.isRefillRateLimitIntervally());
-                log.trace("[{}] Created new rate limit bucket for {} ({})", level, api, rateLimitConfig);
+            if (limit == null || !rateLimitsFactory.isUpToDate(limit, rateLimitConfig, distributed)) {
+                limit = rateLimitsFactory.create(api, level, rateLimitConfig, distributed);
+                log.trace("[{}] Created new {} rate limit bucket for {} ({})", level, distributed ? "distributed" : "local", api, rateLimitConfig);
             }
             return limit;
         });
@@ -0,0 +1,35 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache.limits;
+
+import org.thingsboard.server.common.data.limit.RateLimitEntry;
+
+import java.util.List;
+
+/**
+ * Token storage shared by all the nodes of the cluster.
+ */
+public interface DistributedRateLimitStore {
+
+    /**
+     * Takes up to the requested number of tokens from the bucket identified by the key.
+     * Every limit entry is treated as a fixed window of {@code capacity} tokens per {@code durationSeconds}.
+     *
+     * @return the number of tokens taken, from 0 to {@code tokens}
+     */
+    long tryAcquire(String key, List<RateLimitEntry> limits, long tokens);
+
+}
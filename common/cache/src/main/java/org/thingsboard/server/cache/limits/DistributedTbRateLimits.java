@@ -0,0 +1,136 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache.limits;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.server.common.data.limit.RateLimitEntry;
+import org.thingsboard.server.common.data.limit.RateLimitUtil;
+import org.thingsboard.server.common.msg.tools.TbRateLimits;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limit shared by all the nodes of the cluster.
+ * To avoid a round trip to the store per message, tokens are taken from the store in batches
+ * and consumed locally until they run out or expire. The batch is a fraction of the smallest capacity,
+ * so the tokens prefetched by idle nodes don't starve the busy ones.
+ * When the local tokens run low, the next batch is requested in the background, so the callers don't wait for the store
+ * while the limit is not exhausted. No lock is held while the store is called.
+ * If the store is not available, the local bucket of this node is used instead.
+ */
+@Slf4j
+public class DistributedTbRateLimits extends TbRateLimits {
+
+    static final int PREFETCH_CAPACITY_FRACTION = 10;
+
+    private final DistributedRateLimitStore store;
+    private final Executor refillExecutor;
+    @Getter
+    private final String key;
+    private final List<RateLimitEntry> limits;
+    private final long prefetchSize;
+    private final long prefetchTtlMs;
+
+    private final AtomicLong prefetchedTokens = new AtomicLong();
+    private final AtomicBoolean refillInProgress = new AtomicBoolean();
+    private volatile long prefetchedUntil;
+
+    public DistributedTbRateLimits(DistributedRateLimitStore store, Executor refillExecutor, String key, String limitsConfiguration,
+                                   boolean refillIntervally, long maxPrefetchSize, long prefetchTtlMs) {
+        super(limitsConfiguration, refillIntervally);
+        this.store = store;
+        this.refillExecutor = refillExecutor;
+        this.key = key;
+        this.limits = RateLimitUtil.parseConfig(limitsConfiguration);
+        long minCapacity = limits.stream().mapToLong(RateLimitEntry::capacity).min().orElse(1);
+        this.prefetchSize = Math.max(1, Math.min(maxPrefetchSize, minCapacity / PREFETCH_CAPACITY_FRACTION));
+        this.prefetchTtlMs = prefetchTtlMs;
+    }
+
+    @Override
+    public boolean tryConsume() {
+        return tryConsume(1);
+    }
+
+    @Override
+    public boolean tryConsume(long number) {
+        long ts = System.currentTimeMillis();
+        if (ts > prefetchedUntil && prefetchedTokens.get() > 0) {
+            prefetchedTokens.set(0);
+        }
+        if (takePrefetched(number)) {
+            return true;
+        }
+        long granted;
+        try {
+            granted = store.tryAcquire(key, limits, Math.max(number, prefetchSize));
+        } catch (Exception e) {
+            log.debug("[{}] Failed to acquire tokens from the distributed store, using local limits", key, e);
+            return super.tryConsume(number);
+        }
+        addPrefetched(granted, ts);
+        return takePrefetched(number);
+    }
+
+    private boolean takePrefetched(long number) {
+        while (true) {
+            long available = prefetchedTokens.get();
+            if (available < number) {
+                return false;
+            }
+            if (prefetchedTokens.compareAndSet(available, available - number)) {
+                if (available - number < prefetchSize / 2) {
+                    refillAsync();
+                }
+                return true;
+            }
+        }
+    }
+
+    private void refillAsync() {
+        if (!refillInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    long ts = System.currentTimeMillis();
+                    addPrefetched(store.tryAcquire(key, limits, prefetchSize), ts);
+                } catch (Exception e) {
+                    log.debug("[{}] Failed to prefetch tokens from the distributed store", key, e);
+                } finally {
+                    refillInProgress.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refillInProgress.set(false);
+            log.debug("[{}] Failed to schedule tokens prefetch", key, e);
+        }
+    }
+
+    private void addPrefetched(long granted, long ts) {
+        if (granted > 0) {
+            prefetchedUntil = ts + prefetchTtlMs;
+            prefetchedTokens.addAndGet(granted);
+        }
+    }
+
+}
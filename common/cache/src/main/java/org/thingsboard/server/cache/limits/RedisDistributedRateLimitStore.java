@@ -0,0 +1,97 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache.limits;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.script.DigestUtils;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+import org.thingsboard.server.cache.TbRedisConnections;
+import org.thingsboard.server.common.data.limit.RateLimitEntry;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "cache", value = "type", havingValue = "redis")
+public class RedisDistributedRateLimitStore implements DistributedRateLimitStore {
+
+    // The whole bucket is a single hash, so the script touches only the declared key and works with Redis Cluster.
+    // Redis TIME is used to align the windows, so that clock skew between the nodes does not matter.
+    static final String TRY_ACQUIRE_LUA_SCRIPT = """
+            local key = KEYS[1]
+            local requested = tonumber(ARGV[1])
+            local time = redis.call('TIME')
+            local nowMs = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+            local granted = requested
+            local maxDurationMs = 0
+            local windows = {}
+            for i = 2, #ARGV, 2 do
+                local capacity = tonumber(ARGV[i])
+                local durationMs = tonumber(ARGV[i + 1]) * 1000
+                local window = math.floor(nowMs / durationMs)
+                local used = 0
+                if tonumber(redis.call('HGET', key, 'w' .. i)) == window then
+                    used = tonumber(redis.call('HGET', key, 'c' .. i)) or 0
+                end
+                granted = math.max(0, math.min(granted, capacity - used))
+                maxDurationMs = math.max(maxDurationMs, durationMs)
+                windows[i] = { window, used }
+            end
+
+            if granted > 0 then
+                for i, entry in pairs(windows) do
+                    redis.call('HSET', key, 'w' .. i, entry[1], 'c' .. i, entry[2] + granted)
+                end
+                redis.call('PEXPIRE', key, maxDurationMs)
+            end
+            return granted
+            """;
+    private static final byte[] TRY_ACQUIRE_SCRIPT = StringRedisSerializer.UTF_8.serialize(TRY_ACQUIRE_LUA_SCRIPT);
+    private static final byte[] TRY_ACQUIRE_SHA = StringRedisSerializer.UTF_8.serialize(DigestUtils.sha1DigestAsHex(TRY_ACQUIRE_LUA_SCRIPT));
+
+    private final JedisConnectionFactory connectionFactory;
+
+    public RedisDistributedRateLimitStore(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = (JedisConnectionFactory) connectionFactory;
+    }
+
+    @Override
+    public long tryAcquire(String key, List<RateLimitEntry> limits, long tokens) {
+        byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+        byte[][] keyAndArgs = new byte[2 + limits.size() * 2][];
+        keyAndArgs[0] = rawKey;
+        keyAndArgs[1] = toBytes(tokens);
+        for (int i = 0; i < limits.size(); i++) {
+            RateLimitEntry limit = limits.get(i);
+            keyAndArgs[2 + i * 2] = toBytes(limit.capacity());
+            keyAndArgs[3 + i * 2] = toBytes(limit.durationSeconds());
+        }
+        try (RedisConnection connection = TbRedisConnections.getConnection(connectionFactory, rawKey)) {
+            Long granted = TbRedisConnections.executeScript(connection, TRY_ACQUIRE_SHA, TRY_ACQUIRE_SCRIPT, ReturnType.INTEGER, 1, keyAndArgs);
+            return granted != null ? granted : 0;
+        }
+    }
+
+    private static byte[] toBytes(long value) {
+        return StringRedisSerializer.UTF_8.serialize(Long.toString(value));
+    }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache.limits;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.limit.LimitedApi;
+import org.thingsboard.server.common.msg.tools.TbRateLimits;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+@Component
+@Slf4j
+public class TbRateLimitsFactory {
+
+    private static final String KEY_PREFIX = "rateLimits:";
+
+    private final Optional<DistributedRateLimitStore> distributedStore;
+
+    @Value("${cache.rateLimits.distributed.maxPrefetchTokens:100}")
+    private long maxPrefetchTokens = 100;
+    @Value("${cache.rateLimits.distributed.prefetchTtlInMs:1000}")
+    private long prefetchTtlMs = 1000;
+    @Value("${cache.rateLimits.distributed.prefetchThreads:4}")
+    private int prefetchThreads = 4;
+
+    private ExecutorService prefetchExecutor;
+
+    public TbRateLimitsFactory(Optional<DistributedRateLimitStore> distributedStore) {
+        this.distributedStore = distributedStore;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (distributedStore.isPresent()) {
+            prefetchExecutor = ThingsBoardExecutors.newWorkStealingPool(prefetchThreads, "rate-limits-prefetch");
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+        }
+    }
+
+    public TbRateLimits create(LimitedApi api, Object level, String limitsConfiguration, boolean distributed) {
+        if (distributed) {
+            if (distributedStore.isPresent()) {
+                return new DistributedTbRateLimits(distributedStore.get(), prefetchExecutor, toKey(api, level), limitsConfiguration,
+                        api.isRefillRateLimitIntervally(), maxPrefetchTokens, prefetchTtlMs);
+            }
+            log.debug("[{}] Distributed rate limits require Redis cache, using local limits for {}", level, api);
+        }
+        return new TbRateLimits(limitsConfiguration, api.isRefillRateLimitIntervally());
+    }
+
+    public boolean isUpToDate(TbRateLimits rateLimits, String limitsConfiguration, boolean distributed) {
+        return rateLimits.getConfiguration().equals(limitsConfiguration) &&
+                (rateLimits instanceof DistributedTbRateLimits) == (distributed && distributedStore.isPresent());
+    }
+
+    static String toKey(LimitedApi api, Object level) {
+        String levelKey = level instanceof EntityId entityId ?
+                entityId.getEntityType() + ":" + entityId.getId() : String.valueOf(level);
+        return KEY_PREFIX + api.name() + ":" + levelKey;
+    }
+
+}
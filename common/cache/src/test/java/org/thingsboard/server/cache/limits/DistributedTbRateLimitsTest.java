@@ -0,0 +1,151 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache.limits;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.limit.RateLimitEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DistributedTbRateLimitsTest {
+
+    private static final String KEY = "rateLimits:TRANSPORT_MESSAGES_PER_TENANT:test";
+
+    @Test
+    public void givenTwoNodes_whenConsuming_thenCapacityIsShared() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        DistributedTbRateLimits node1 = new DistributedTbRateLimits(store, Runnable::run, KEY, "10:3600", false, 100, 60000);
+        DistributedTbRateLimits node2 = new DistributedTbRateLimits(store, Runnable::run, KEY, "10:3600", false, 100, 60000);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(node1.tryConsume()).isTrue();
+        }
+        for (int i = 0; i < 4; i++) {
+            assertThat(node2.tryConsume()).isTrue();
+        }
+
+        assertThat(node1.tryConsume()).isFalse();
+        assertThat(node2.tryConsume()).isFalse();
+    }
+
+    @Test
+    public void givenLargeCapacity_whenConsuming_thenTokensArePrefetched() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        DistributedTbRateLimits rateLimits = new DistributedTbRateLimits(store, task -> {}, KEY, "10000:3600", false, 100, 60000);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(rateLimits.tryConsume()).isTrue();
+        }
+
+        assertThat(store.calls.get()).isEqualTo(1);
+        assertThat(rateLimits.tryConsume()).isTrue();
+        assertThat(store.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenTokensRunningLow_whenConsuming_thenNextBatchIsPrefetchedInBackground() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        List<Runnable> pendingTasks = new ArrayList<>();
+        DistributedTbRateLimits rateLimits = new DistributedTbRateLimits(store, pendingTasks::add, KEY, "10000:3600", false, 100, 60000);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(rateLimits.tryConsume()).isTrue();
+        }
+        assertThat(pendingTasks).isEmpty();
+
+        assertThat(rateLimits.tryConsume()).isTrue();
+        assertThat(pendingTasks).hasSize(1);
+        assertThat(store.calls.get()).isEqualTo(1);
+
+        pendingTasks.remove(0).run();
+        assertThat(store.calls.get()).isEqualTo(2);
+
+        for (int i = 0; i < 149; i++) {
+            assertThat(rateLimits.tryConsume()).isTrue();
+        }
+        assertThat(store.calls.get()).isEqualTo(2);
+        assertThat(pendingTasks).hasSize(1);
+    }
+
+    @Test
+    public void givenSmallCapacity_whenConsuming_thenTenthOfCapacityIsPrefetched() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        DistributedTbRateLimits rateLimits = new DistributedTbRateLimits(store, task -> {}, KEY, "100:1,4000:60", false, 100, 60000);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimits.tryConsume()).isTrue();
+        }
+
+        assertThat(store.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenPartiallyAvailableTokens_whenConsumingMore_thenRejectedAndTokensKeptForNextCall() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        DistributedTbRateLimits rateLimits = new DistributedTbRateLimits(store, Runnable::run, KEY, "5:3600", false, 100, 60000);
+
+        assertThat(rateLimits.tryConsume(8)).isFalse();
+        assertThat(rateLimits.tryConsume(5)).isTrue();
+        assertThat(rateLimits.tryConsume()).isFalse();
+    }
+
+    @Test
+    public void givenStoreFailure_whenConsuming_thenLocalLimitsAreUsed() {
+        DistributedRateLimitStore store = (key, limits, tokens) -> {
+            throw new IllegalStateException("Redis is not available");
+        };
+        DistributedTbRateLimits rateLimits = new DistributedTbRateLimits(store, Runnable::run, KEY, "2:3600", false, 100, 60000);
+
+        assertThat(rateLimits.tryConsume()).isTrue();
+        assertThat(rateLimits.tryConsume()).isTrue();
+        assertThat(rateLimits.tryConsume()).isFalse();
+    }
+
+    /**
+     * Stand-in for the Redis store with the same fixed window semantics.
+     */
+    private static class InMemoryRateLimitStore implements DistributedRateLimitStore {
+
+        private final Map<String, Long> used = new HashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public synchronized long tryAcquire(String key, List<RateLimitEntry> limits, long tokens) {
+            calls.incrementAndGet();
+            long ts = System.currentTimeMillis();
+            long granted = tokens;
+            for (RateLimitEntry limit : limits) {
+                granted = Math.max(0, Math.min(granted, limit.capacity() - used.getOrDefault(windowKey(key, limit, ts), 0L)));
+            }
+            for (RateLimitEntry limit : limits) {
+                used.merge(windowKey(key, limit, ts), granted, Long::sum);
+            }
+            return granted;
+        }
+
+        private static String windowKey(String key, RateLimitEntry limit, long ts) {
+            return key + ":" + limit + ":" + ts / (limit.durationSeconds() * 1000);
+        }
+
+    }
+
+}
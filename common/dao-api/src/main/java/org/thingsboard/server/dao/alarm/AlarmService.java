@@ -68,6 +68,11 @@ public interface AlarmService extends EntityDaoService {
      */
     AlarmApiCallResult updateAlarm(AlarmUpdateRequest request);
 
+    /**
+     * Same as {@link #updateAlarm(AlarmUpdateRequest)}, but not successful if the alarm is already cleared.
+     */
+    AlarmApiCallResult updateActiveAlarm(AlarmUpdateRequest request);
+
     AlarmApiCallResult acknowledgeAlarm(TenantId tenantId, AlarmId alarmId, long ackTs);
 
     AlarmApiCallResult clearAlarm(TenantId tenantId, AlarmId alarmId, long clearTs, JsonNode details, boolean pushEvent);
@@ -104,6 +109,8 @@ public interface AlarmService extends EntityDaoService {
 
     FluentFuture<Alarm> findLatestActiveByOriginatorAndTypeAsync(TenantId tenantId, EntityId originator, String type);
 
+    List<Alarm> findLatestActiveAlarms(Alarm offset, int limit);
+
     PageData<AlarmData> findAlarmDataByQueryForEntities(TenantId tenantId,
                                                         AlarmDataQuery query, Collection<EntityId> orderedEntityIds);
 
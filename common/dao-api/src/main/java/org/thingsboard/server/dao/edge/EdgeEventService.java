@@ -28,6 +28,8 @@ public interface EdgeEventService {
 
     PageData<EdgeEvent> findEdgeEvents(TenantId tenantId, EdgeId edgeId, Long seqIdStart, Long seqIdEnd, TimePageLink pageLink);
 
+    PageData<EdgeEvent> findEdgeEventsAfterSeqId(TenantId tenantId, EdgeId edgeId, Long seqIdStart, Long seqIdEnd, TimePageLink pageLink);
+
     void cleanupEvents(long ttl);
 
 }
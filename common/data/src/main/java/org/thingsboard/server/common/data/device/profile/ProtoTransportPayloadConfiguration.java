@@ -15,11 +15,15 @@
  */
 package org.thingsboard.server.common.data.device.profile;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.DynamicMessage;
 import com.squareup.wire.schema.Location;
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.thingsboard.server.common.data.DynamicProtoUtils;
 import org.thingsboard.server.common.data.StringUtils;
@@ -45,6 +49,11 @@ public class ProtoTransportPayloadConfiguration implements TransportPayloadTypeC
     private boolean enableCompatibilityWithJsonPayloadFormat;
     private boolean useJsonPayloadFormatForDefaultDownlinkTopics;
 
+    @JsonIgnore
+    @ToString.Exclude
+    @Setter(AccessLevel.NONE)
+    private transient volatile ProtoTransportPayloadDescriptors descriptors;
+
     @Schema(
             description = "Transport payload type", requiredMode = Schema.RequiredMode.REQUIRED
     )
@@ -69,6 +78,25 @@ public class ProtoTransportPayloadConfiguration implements TransportPayloadTypeC
         return DynamicProtoUtils.getDynamicMessageBuilder(deviceRpcRequestProtoSchema, RPC_REQUEST_PROTO_SCHEMA);
     }
 
+    /**
+     * Descriptors of all the schemas, parsed on the first call and reused afterwards.
+     * The transports keep one instance of the device profile per profile version,
+     * so the schemas are parsed once per version instead of once per device session.
+     */
+    @JsonIgnore
+    public ProtoTransportPayloadDescriptors getDescriptors() {
+        ProtoTransportPayloadDescriptors result = descriptors;
+        if (result == null) {
+            result = new ProtoTransportPayloadDescriptors(
+                    getTelemetryDynamicMessageDescriptor(getDeviceTelemetryProtoSchema()),
+                    getAttributesDynamicMessageDescriptor(getDeviceAttributesProtoSchema()),
+                    getRpcResponseDynamicMessageDescriptor(getDeviceRpcResponseProtoSchema()),
+                    getRpcRequestDynamicMessageBuilder(getDeviceRpcRequestProtoSchema()).getDescriptorForType());
+            descriptors = result;
+        }
+        return result;
+    }
+
     public String getDeviceRpcResponseProtoSchema() {
         if (StringUtils.isNotEmpty(deviceRpcResponseProtoSchema)) {
             return deviceRpcResponseProtoSchema;
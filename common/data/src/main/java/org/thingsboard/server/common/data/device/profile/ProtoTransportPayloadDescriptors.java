@@ -0,0 +1,34 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.data.device.profile;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+
+/**
+ * Message descriptors parsed from the schemas of the {@link ProtoTransportPayloadConfiguration}.
+ * Immutable, so a single instance is shared by all transport sessions of the devices that use the same device profile.
+ */
+public record ProtoTransportPayloadDescriptors(Descriptors.Descriptor telemetryMsgDescriptor,
+                                               Descriptors.Descriptor attributesMsgDescriptor,
+                                               Descriptors.Descriptor rpcResponseMsgDescriptor,
+                                               Descriptors.Descriptor rpcRequestMsgDescriptor) {
+
+    public DynamicMessage.Builder newRpcRequestMsgBuilder() {
+        return DynamicMessage.newBuilder(rpcRequestMsgDescriptor);
+    }
+
+}
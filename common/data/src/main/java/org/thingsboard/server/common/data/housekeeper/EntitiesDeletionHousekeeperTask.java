@@ -45,6 +45,12 @@ public class EntitiesDeletionHousekeeperTask extends HousekeeperTask {
         this.entities = entities;
     }
 
+    @JsonIgnore
+    @Override
+    public int getItemsCount() {
+        return entities.size();
+    }
+
     @JsonIgnore
     @Override
     public String getDescription() {
@@ -31,6 +31,8 @@ import org.thingsboard.server.common.data.id.TenantId;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "taskType", visible = true, include = JsonTypeInfo.As.EXISTING_PROPERTY, defaultImpl = HousekeeperTask.class)
@@ -39,6 +41,7 @@ import java.io.Serializable;
         @Type(name = "DELETE_LATEST_TS", value = LatestTsDeletionHousekeeperTask.class),
         @Type(name = "DELETE_TENANT_ENTITIES", value = TenantEntitiesDeletionHousekeeperTask.class),
         @Type(name = "DELETE_ENTITIES", value = EntitiesDeletionHousekeeperTask.class),
+        @Type(name = "DELETE_ENTITIES_TELEMETRY", value = EntitiesTelemetryDeletionHousekeeperTask.class),
         @Type(name = "DELETE_ALARMS", value = AlarmsDeletionHousekeeperTask.class),
         @Type(name = "UNASSIGN_ALARMS", value = AlarmsUnassignHousekeeperTask.class)
 })
@@ -85,6 +88,10 @@ public class HousekeeperTask implements Serializable {
         return new TenantEntitiesDeletionHousekeeperTask(tenantId, entityType);
     }
 
+    public static HousekeeperTask deleteEntitiesTelemetry(TenantId tenantId, EntityType entityType, List<UUID> entities) {
+        return new EntitiesTelemetryDeletionHousekeeperTask(tenantId, entityType, entities);
+    }
+
     public static HousekeeperTask deleteCalculatedFields(TenantId tenantId, EntityId entityId) {
         return new HousekeeperTask(tenantId, entityId, HousekeeperTaskType.DELETE_CALCULATED_FIELDS);
     }
@@ -93,6 +100,14 @@ public class HousekeeperTask implements Serializable {
         return new HousekeeperTask(tenantId, entityId, HousekeeperTaskType.DELETE_JOBS);
     }
 
+    /**
+     * Number of entities (or other items) processed by the task, used for the throughput stats
+     */
+    @JsonIgnore
+    public int getItemsCount() {
+        return 1;
+    }
+
     @JsonIgnore
     public String getDescription() {
         return taskType.getDescription() + " for " + entityId.getEntityType().getNormalName().toLowerCase() + " " + entityId.getId();
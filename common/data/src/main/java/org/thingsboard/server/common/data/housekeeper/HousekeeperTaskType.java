@@ -31,6 +31,7 @@ public enum HousekeeperTaskType {
     UNASSIGN_ALARMS("alarms unassigning"),
     DELETE_TENANT_ENTITIES("tenant entities deletion"),
     DELETE_ENTITIES("entities deletion"),
+    DELETE_ENTITIES_TELEMETRY("entities telemetry deletion"),
     DELETE_CALCULATED_FIELDS("calculated fields deletion"),
     DELETE_JOBS("jobs deletion");
 
@@ -24,6 +24,7 @@ import org.thingsboard.server.common.data.EntityType;
 import org.thingsboard.server.common.data.id.TenantId;
 
 import java.io.Serial;
+import java.util.UUID;
 
 @Data
 @ToString(callSuper = true)
@@ -35,10 +36,20 @@ public class TenantEntitiesDeletionHousekeeperTask extends HousekeeperTask {
     private static final long serialVersionUID = -8033108795318393447L;
 
     private EntityType entityType;
+    /*
+     * Id of the last entity submitted for deletion by the previous task,
+     * so that the task continues from the checkpoint instead of starting from the first entity
+     * */
+    private UUID lastEntityId;
 
     public TenantEntitiesDeletionHousekeeperTask(TenantId tenantId, EntityType entityType) {
+        this(tenantId, entityType, null);
+    }
+
+    public TenantEntitiesDeletionHousekeeperTask(TenantId tenantId, EntityType entityType, UUID lastEntityId) {
         super(tenantId, tenantId, HousekeeperTaskType.DELETE_TENANT_ENTITIES);
         this.entityType = entityType;
+        this.lastEntityId = lastEntityId;
     }
 
     @JsonIgnore
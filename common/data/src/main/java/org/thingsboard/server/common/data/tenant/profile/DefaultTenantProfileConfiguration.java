@@ -25,9 +25,11 @@ import lombok.NoArgsConstructor;
 import org.thingsboard.server.common.data.ApiUsageRecordKey;
 import org.thingsboard.server.common.data.EntityType;
 import org.thingsboard.server.common.data.TenantProfileType;
+import org.thingsboard.server.common.data.limit.LimitedApi;
 import org.thingsboard.server.common.data.validation.RateLimit;
 
 import java.io.Serial;
+import java.util.Set;
 
 @Schema
 @AllArgsConstructor
@@ -161,6 +163,10 @@ public class DefaultTenantProfileConfiguration implements TenantProfileConfigura
     @RateLimit(fieldName = "Edge uplink messages per edge")
     private String edgeUplinkMessagesRateLimitsPerEdge;
 
+    @Schema(description = "Rate limits that are shared by all the nodes of the cluster instead of being enforced by each node separately. " +
+            "Requires Redis cache; otherwise, the limits are enforced locally.")
+    private Set<LimitedApi> distributedRateLimits;
+
     private int defaultStorageTtlDays;
     private int alarmsTtlDays;
     private int rpcTtlDays;
@@ -169,6 +175,11 @@ public class DefaultTenantProfileConfiguration implements TenantProfileConfigura
 
     private double warnThreshold;
 
+    @Builder.Default
+    @Schema(description = "Weight of the tenant when the messages of several tenants share a rule engine queue partition. " +
+            "A tenant with weight 2 gets twice as many messages submitted per scheduling round as a tenant with weight 1", example = "1")
+    private int ruleEngineQueueWeight = 1;
+
     @Schema(example = "5")
     private long maxCalculatedFieldsPerEntity = 5;
     @Schema(example = "10")
@@ -268,6 +279,10 @@ public class DefaultTenantProfileConfiguration implements TenantProfileConfigura
         return alarmsReevaluationInterval <= 0 ? 60 : alarmsReevaluationInterval;
     }
 
+    public boolean isDistributedRateLimit(LimitedApi api) {
+        return distributedRateLimits != null && distributedRateLimits.contains(api);
+    }
+
     public long getIntermediateAggregationIntervalInSecForCF() {
         return intermediateAggregationIntervalInSecForCF <= 0 ? 300 : intermediateAggregationIntervalInSecForCF;
     }
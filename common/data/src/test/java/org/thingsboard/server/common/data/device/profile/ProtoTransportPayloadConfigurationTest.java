@@ -0,0 +1,48 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.data.device.profile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProtoTransportPayloadConfigurationTest {
+
+    private static final String TELEMETRY_SCHEMA = "syntax =\"proto3\";\n" +
+            "package telemetry;\n" +
+            "\n" +
+            "message SensorDataReading {\n" +
+            "  optional double temperature = 1;\n" +
+            "}";
+
+    @Test
+    public void testDescriptorsAreParsedOnce() throws Exception {
+        ProtoTransportPayloadConfiguration configuration = new ProtoTransportPayloadConfiguration();
+        configuration.setDeviceTelemetryProtoSchema(TELEMETRY_SCHEMA);
+
+        ProtoTransportPayloadDescriptors descriptors = configuration.getDescriptors();
+        assertThat(descriptors.telemetryMsgDescriptor().getName()).isEqualTo("SensorDataReading");
+        assertThat(descriptors.rpcRequestMsgDescriptor().getName()).isEqualTo("RpcRequestMsg");
+        assertThat(descriptors.rpcResponseMsgDescriptor().getName()).isEqualTo("RpcResponseMsg");
+        assertThat(descriptors.newRpcRequestMsgBuilder()).isNotSameAs(descriptors.newRpcRequestMsgBuilder());
+        assertThat(configuration.getDescriptors()).isSameAs(descriptors);
+
+        String json = new ObjectMapper().writeValueAsString(configuration);
+        assertThat(json).doesNotContain("descriptors");
+    }
+
+}
@@ -22,6 +22,7 @@ import org.rocksdb.Options;
 import org.rocksdb.WriteOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.thingsboard.common.util.TbRocksDb;
 import org.thingsboard.server.queue.edqs.InMemoryEdqsComponent;
 
 import java.nio.file.Files;
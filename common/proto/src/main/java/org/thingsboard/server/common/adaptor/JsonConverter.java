@@ -234,26 +234,12 @@ public class JsonConverter {
             if (element.isJsonPrimitive()) {
                 JsonPrimitive value = element.getAsJsonPrimitive();
                 if (value.isString()) {
-                    if (maxStringValueLength > 0 && value.getAsString().length() > maxStringValueLength) {
-                        String message = String.format("String value length [%d] for key [%s] is greater than maximum allowed [%d]", value.getAsString().length(), valueEntry.getKey(), maxStringValueLength);
-                        throw new JsonSyntaxException(message);
-                    }
-                    if (isTypeCastEnabled && NumberUtils.isParsable(value.getAsString())) {
-                        try {
-                            result.add(buildNumericKeyValueProto(value, valueEntry.getKey()));
-                        } catch (RuntimeException th) {
-                            result.add(KeyValueProto.newBuilder().setKey(valueEntry.getKey()).setType(KeyValueType.STRING_V)
-                                    .setStringV(value.getAsString()).build());
-                        }
-                    } else {
-                        result.add(KeyValueProto.newBuilder().setKey(valueEntry.getKey()).setType(KeyValueType.STRING_V)
-                                .setStringV(value.getAsString()).build());
-                    }
+                    result.add(buildStringKeyValueProto(value.getAsString(), valueEntry.getKey()));
                 } else if (value.isBoolean()) {
                     result.add(KeyValueProto.newBuilder().setKey(valueEntry.getKey()).setType(KeyValueType.BOOLEAN_V)
                             .setBoolV(value.getAsBoolean()).build());
                 } else if (value.isNumber()) {
-                    result.add(buildNumericKeyValueProto(value, valueEntry.getKey()));
+                    result.add(buildNumericKeyValueProto(value.getAsString(), valueEntry.getKey()));
                 } else if (!value.isJsonNull()) {
                     throw new JsonSyntaxException(CAN_T_PARSE_VALUE + value);
                 }
@@ -266,8 +252,23 @@ public class JsonConverter {
         return result;
     }
 
-    private static KeyValueProto buildNumericKeyValueProto(JsonPrimitive value, String key) {
-        String valueAsString = value.getAsString();
+    static KeyValueProto buildStringKeyValueProto(String value, String key) {
+        if (maxStringValueLength > 0 && value.length() > maxStringValueLength) {
+            String message = String.format("String value length [%d] for key [%s] is greater than maximum allowed [%d]", value.length(), key, maxStringValueLength);
+            throw new JsonSyntaxException(message);
+        }
+        if (isTypeCastEnabled && NumberUtils.isParsable(value)) {
+            try {
+                return buildNumericKeyValueProto(value, key);
+            } catch (RuntimeException th) {
+                return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.STRING_V).setStringV(value).build();
+            }
+        } else {
+            return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.STRING_V).setStringV(value).build();
+        }
+    }
+
+    static KeyValueProto buildNumericKeyValueProto(String valueAsString, String key) {
         KeyValueProto.Builder builder = KeyValueProto.newBuilder().setKey(key);
         var bd = new BigDecimal(valueAsString);
         if (bd.stripTrailingZeros().scale() <= 0 && !isSimpleDouble(valueAsString)) {
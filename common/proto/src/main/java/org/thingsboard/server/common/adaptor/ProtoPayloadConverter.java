@@ -0,0 +1,176 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.adaptor;
+
+import com.google.gson.JsonParser;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.thingsboard.server.gen.transport.TransportProtos.KeyValueProto;
+import org.thingsboard.server.gen.transport.TransportProtos.KeyValueType;
+import org.thingsboard.server.gen.transport.TransportProtos.PostAttributeMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.PostTelemetryMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.TsKvListProto;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Converts the payload of the device profile PROTOBUF transport type to the telemetry and attributes messages.
+ * Compiled once per message descriptor. The fields of flat messages (scalar and enum fields only) are mapped
+ * to the key-value entries directly, the same way {@link JsonConverter} maps the JSON representation of the message.
+ * Other messages, e.g. with nested or repeated fields, are converted through the JSON representation.
+ */
+public final class ProtoPayloadConverter {
+
+    private static final Set<Descriptors.FieldDescriptor.Type> INT32_TYPES = Set.of(
+            Descriptors.FieldDescriptor.Type.INT32, Descriptors.FieldDescriptor.Type.SINT32, Descriptors.FieldDescriptor.Type.SFIXED32);
+    private static final Set<Descriptors.FieldDescriptor.Type> INT64_TYPES = Set.of(
+            Descriptors.FieldDescriptor.Type.INT64, Descriptors.FieldDescriptor.Type.SINT64, Descriptors.FieldDescriptor.Type.SFIXED64);
+
+    private final Descriptors.Descriptor descriptor;
+    private final FieldConverter[] fieldConverters;
+
+    private ProtoPayloadConverter(Descriptors.Descriptor descriptor, FieldConverter[] fieldConverters) {
+        this.descriptor = descriptor;
+        this.fieldConverters = fieldConverters;
+    }
+
+    public static ProtoPayloadConverter compile(Descriptors.Descriptor descriptor) {
+        if (descriptor == null || !isFlat(descriptor)) {
+            return new ProtoPayloadConverter(descriptor, null);
+        }
+        FieldConverter[] fieldConverters = descriptor.getFields().stream()
+                // the same order as in the JSON representation
+                .sorted(Comparator.comparingInt(Descriptors.FieldDescriptor::getNumber))
+                .map(ProtoPayloadConverter::compileField)
+                .toArray(FieldConverter[]::new);
+        return new ProtoPayloadConverter(descriptor, fieldConverters);
+    }
+
+    public boolean isDirect() {
+        return fieldConverters != null;
+    }
+
+    public PostTelemetryMsg convertToTelemetryProto(byte[] payload) throws AdaptorException, InvalidProtocolBufferException {
+        ProtoConverter.validateDescriptor(descriptor);
+        if (fieldConverters == null) {
+            return JsonConverter.convertToTelemetryProto(JsonParser.parseString(ProtoConverter.dynamicMsgToJson(payload, descriptor)));
+        }
+        TsKvListProto tsKvList = TsKvListProto.newBuilder()
+                .setTs(System.currentTimeMillis())
+                .addAllKv(convertToKeyValues(payload))
+                .build();
+        return PostTelemetryMsg.newBuilder().addTsKvList(tsKvList).build();
+    }
+
+    public PostAttributeMsg convertToAttributesProto(byte[] payload) throws AdaptorException, InvalidProtocolBufferException {
+        ProtoConverter.validateDescriptor(descriptor);
+        if (fieldConverters == null) {
+            return JsonConverter.convertToAttributesProto(JsonParser.parseString(ProtoConverter.dynamicMsgToJson(payload, descriptor)));
+        }
+        return PostAttributeMsg.newBuilder().addAllKv(convertToKeyValues(payload)).build();
+    }
+
+    private List<KeyValueProto> convertToKeyValues(byte[] payload) throws InvalidProtocolBufferException {
+        DynamicMessage message = DynamicMessage.parseFrom(descriptor, payload);
+        List<KeyValueProto> result = new ArrayList<>(fieldConverters.length);
+        for (FieldConverter fieldConverter : fieldConverters) {
+            Descriptors.FieldDescriptor field = fieldConverter.field();
+            // unset fields with presence are not included into the JSON representation, other fields are included with the default value
+            if (field.getContainingOneof() != null && !message.hasField(field)) {
+                continue;
+            }
+            result.add(fieldConverter.converter().apply(message.getField(field)));
+        }
+        return result;
+    }
+
+    private static boolean isFlat(Descriptors.Descriptor descriptor) {
+        Set<String> jsonNames = descriptor.getFields().stream()
+                .map(Descriptors.FieldDescriptor::getJsonName)
+                .collect(Collectors.toSet());
+        if (jsonNames.contains("ts") && jsonNames.contains("values")) {
+            // may be the message with the timestamp, see JsonConverter
+            return false;
+        }
+        return descriptor.getFields().stream().noneMatch(field -> field.isRepeated()
+                || field.getJavaType() == Descriptors.FieldDescriptor.JavaType.MESSAGE
+                || (field.getJavaType() == Descriptors.FieldDescriptor.JavaType.ENUM
+                && "google.protobuf.NullValue".equals(field.getEnumType().getFullName())));
+    }
+
+    // the values are converted the same way as the JSON printer prints them and JsonConverter parses them back
+    private static FieldConverter compileField(Descriptors.FieldDescriptor field) {
+        String key = field.getJsonName();
+        Descriptors.FieldDescriptor.Type type = field.getType();
+        Function<Object, KeyValueProto> converter;
+        if (INT32_TYPES.contains(type)) {
+            converter = value -> toLong(key, (Integer) value);
+        } else if (type == Descriptors.FieldDescriptor.Type.UINT32 || type == Descriptors.FieldDescriptor.Type.FIXED32) {
+            converter = value -> toLong(key, Integer.toUnsignedLong((Integer) value));
+        } else if (INT64_TYPES.contains(type)) {
+            converter = value -> JsonConverter.buildStringKeyValueProto(Long.toString((Long) value), key);
+        } else if (type == Descriptors.FieldDescriptor.Type.UINT64 || type == Descriptors.FieldDescriptor.Type.FIXED64) {
+            converter = value -> JsonConverter.buildStringKeyValueProto(Long.toUnsignedString((Long) value), key);
+        } else if (type == Descriptors.FieldDescriptor.Type.FLOAT) {
+            converter = value -> {
+                Float floatValue = (Float) value;
+                return floatValue.isNaN() || floatValue.isInfinite() ?
+                        JsonConverter.buildStringKeyValueProto(floatValue.toString(), key) :
+                        JsonConverter.buildNumericKeyValueProto(floatValue.toString(), key);
+            };
+        } else if (type == Descriptors.FieldDescriptor.Type.DOUBLE) {
+            converter = value -> {
+                Double doubleValue = (Double) value;
+                return doubleValue.isNaN() || doubleValue.isInfinite() ?
+                        JsonConverter.buildStringKeyValueProto(doubleValue.toString(), key) :
+                        JsonConverter.buildNumericKeyValueProto(doubleValue.toString(), key);
+            };
+        } else if (type == Descriptors.FieldDescriptor.Type.BOOL) {
+            converter = value -> KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.BOOLEAN_V).setBoolV((Boolean) value).build();
+        } else if (type == Descriptors.FieldDescriptor.Type.STRING) {
+            converter = value -> JsonConverter.buildStringKeyValueProto((String) value, key);
+        } else if (type == Descriptors.FieldDescriptor.Type.BYTES) {
+            converter = value -> JsonConverter.buildStringKeyValueProto(Base64.getEncoder().encodeToString(((ByteString) value).toByteArray()), key);
+        } else if (type == Descriptors.FieldDescriptor.Type.ENUM) {
+            converter = value -> {
+                Descriptors.EnumValueDescriptor enumValue = (Descriptors.EnumValueDescriptor) value;
+                // unknown values are printed as numbers
+                return enumValue.getIndex() == -1 ?
+                        toLong(key, enumValue.getNumber()) :
+                        JsonConverter.buildStringKeyValueProto(enumValue.getName(), key);
+            };
+        } else {
+            throw new IllegalArgumentException("Unsupported field type: " + type);
+        }
+        return new FieldConverter(field, converter);
+    }
+
+    private static KeyValueProto toLong(String key, long value) {
+        return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.LONG_V).setLongV(value).build();
+    }
+
+    private record FieldConverter(Descriptors.FieldDescriptor field, Function<Object, KeyValueProto> converter) {
+    }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.adaptor;
+
+import com.google.gson.JsonParser;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.DynamicProtoUtils;
+import org.thingsboard.server.gen.transport.TransportProtos.KeyValueProto;
+import org.thingsboard.server.gen.transport.TransportProtos.PostTelemetryMsg;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProtoPayloadConverterTest {
+
+    private static final String FLAT_SCHEMA = "syntax =\"proto3\";\n" +
+            "package test;\n" +
+            "\n" +
+            "enum Status {\n" +
+            "  OK = 0;\n" +
+            "  FAILED = 1;\n" +
+            "}\n" +
+            "\n" +
+            "message SensorDataReading {\n" +
+            "  optional double temperature = 2;\n" +
+            "  float humidity = 1;\n" +
+            "  int32 counter = 3;\n" +
+            "  uint32 uptime = 4;\n" +
+            "  int64 total = 5;\n" +
+            "  bool enabled = 6;\n" +
+            "  string serial_number = 7;\n" +
+            "  string firmware = 8;\n" +
+            "  bytes raw = 9;\n" +
+            "  Status status = 10;\n" +
+            "  optional int32 unset = 11;\n" +
+            "}";
+
+    private static final String NESTED_SCHEMA = "syntax =\"proto3\";\n" +
+            "package test;\n" +
+            "\n" +
+            "message SensorDataReading {\n" +
+            "  message Values {\n" +
+            "    double temperature = 1;\n" +
+            "  }\n" +
+            "  int64 ts = 1;\n" +
+            "  Values values = 2;\n" +
+            "}";
+
+    @Test
+    public void testFlatMessageIsConvertedDirectly() throws Exception {
+        Descriptors.Descriptor descriptor = DynamicProtoUtils.getDescriptor(FLAT_SCHEMA, "test");
+        ProtoPayloadConverter converter = ProtoPayloadConverter.compile(descriptor);
+        assertThat(converter.isDirect()).isTrue();
+
+        DynamicMessage msg = DynamicMessage.newBuilder(descriptor)
+                .setField(descriptor.findFieldByName("temperature"), 42.0)
+                .setField(descriptor.findFieldByName("humidity"), 0.1f)
+                .setField(descriptor.findFieldByName("counter"), -5)
+                .setField(descriptor.findFieldByName("uptime"), -1)
+                .setField(descriptor.findFieldByName("total"), Long.MAX_VALUE)
+                .setField(descriptor.findFieldByName("enabled"), true)
+                .setField(descriptor.findFieldByName("serial_number"), "SN-001")
+                .setField(descriptor.findFieldByName("firmware"), "1.5")
+                .setField(descriptor.findFieldByName("raw"), ByteString.copyFromUtf8("raw"))
+                .setField(descriptor.findFieldByName("status"), descriptor.findFieldByName("status").getEnumType().findValueByName("FAILED"))
+                .build();
+        byte[] payload = msg.toByteArray();
+
+        List<KeyValueProto> expected = JsonConverter.convertToTelemetryProto(JsonParser.parseString(ProtoConverter.dynamicMsgToJson(payload, descriptor)))
+                .getTsKvList(0).getKvList();
+        PostTelemetryMsg telemetry = converter.convertToTelemetryProto(payload);
+        assertThat(telemetry.getTsKvListCount()).isEqualTo(1);
+        assertThat(telemetry.getTsKvList(0).getKvList()).isEqualTo(expected);
+        assertThat(expected).extracting(KeyValueProto::getKey).startsWith("humidity", "temperature").contains("serialNumber");
+
+        assertThat(converter.convertToAttributesProto(payload))
+                .isEqualTo(JsonConverter.convertToAttributesProto(JsonParser.parseString(ProtoConverter.dynamicMsgToJson(payload, descriptor))));
+    }
+
+    @Test
+    public void testDefaultValuesAreConverted() throws Exception {
+        Descriptors.Descriptor descriptor = DynamicProtoUtils.getDescriptor(FLAT_SCHEMA, "test");
+        ProtoPayloadConverter converter = ProtoPayloadConverter.compile(descriptor);
+
+        byte[] payload = DynamicMessage.newBuilder(descriptor).build().toByteArray();
+
+        assertThat(converter.convertToAttributesProto(payload))
+                .isEqualTo(JsonConverter.convertToAttributesProto(JsonParser.parseString(ProtoConverter.dynamicMsgToJson(payload, descriptor))));
+    }
+
+    @Test
+    public void testMessageWithTsIsConvertedThroughJson() throws Exception {
+        Descriptors.Descriptor descriptor = DynamicProtoUtils.getDescriptor(NESTED_SCHEMA, "test");
+        ProtoPayloadConverter converter = ProtoPayloadConverter.compile(descriptor);
+        assertThat(converter.isDirect()).isFalse();
+
+        Descriptors.Descriptor valuesDescriptor = descriptor.findNestedTypeByName("Values");
+        DynamicMessage msg = DynamicMessage.newBuilder(descriptor)
+                .setField(descriptor.findFieldByName("ts"), 1000L)
+                .setField(descriptor.findFieldByName("values"), DynamicMessage.newBuilder(valuesDescriptor)
+                        .setField(valuesDescriptor.findFieldByName("temperature"), 25.5)
+                        .build())
+                .build();
+
+        PostTelemetryMsg telemetry = converter.convertToTelemetryProto(msg.toByteArray());
+        assertThat(telemetry.getTsKvList(0).getTs()).isEqualTo(1000L);
+        assertThat(telemetry.getTsKvList(0).getKv(0).getDoubleV()).isEqualTo(25.5);
+    }
+
+    @Test
+    public void testInvalidSchema() {
+        ProtoPayloadConverter converter = ProtoPayloadConverter.compile(null);
+        assertThat(converter.isDirect()).isFalse();
+        assertThatThrownBy(() -> converter.convertToTelemetryProto(new byte[0]))
+                .isInstanceOf(AdaptorException.class);
+    }
+
+}
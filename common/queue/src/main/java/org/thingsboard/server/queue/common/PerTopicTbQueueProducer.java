@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.common;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.queue.TbQueueCallback;
+import org.thingsboard.server.queue.TbQueueMsg;
+import org.thingsboard.server.queue.TbQueueProducer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Sends the messages of each topic with a separate producer, created on the first message to the topic.
+ * Used for the rule engine queues, so that each queue gets its own producer buffer and batches,
+ * and the producer properties can be tuned per queue topic.
+ */
+@RequiredArgsConstructor
+public class PerTopicTbQueueProducer<T extends TbQueueMsg> implements TbQueueProducer<T> {
+
+    @Getter
+    private final String defaultTopic;
+    private final Function<String, TbQueueProducer<T>> producerFactory;
+
+    private final ConcurrentMap<String, TbQueueProducer<T>> producers = new ConcurrentHashMap<>();
+    private volatile boolean stopped;
+
+    @Override
+    public void send(TopicPartitionInfo tpi, T msg, TbQueueCallback callback) {
+        if (stopped) {
+            if (callback != null) {
+                callback.onFailure(new IllegalStateException("Producer is stopped"));
+            }
+            return;
+        }
+        producers.computeIfAbsent(tpi.getTopic(), producerFactory).send(tpi, msg, callback);
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        producers.values().forEach(TbQueueProducer::stop);
+    }
+
+}
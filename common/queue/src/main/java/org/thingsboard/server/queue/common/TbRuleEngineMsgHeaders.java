@@ -0,0 +1,98 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.common;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.EntityIdFactory;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.msg.gen.MsgProtos;
+import org.thingsboard.server.common.util.ProtoUtils;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
+import org.thingsboard.server.queue.TbQueueMsgHeaders;
+
+import java.util.UUID;
+
+import static org.thingsboard.server.queue.common.AbstractTbQueueTemplate.bytesToString;
+import static org.thingsboard.server.queue.common.AbstractTbQueueTemplate.bytesToUuid;
+import static org.thingsboard.server.queue.common.AbstractTbQueueTemplate.stringToBytes;
+import static org.thingsboard.server.queue.common.AbstractTbQueueTemplate.uuidToBytes;
+
+/**
+ * Routing fields of the {@link ToRuleEngineMsg} duplicated into the queue message headers,
+ * so that submit strategies, partitioning and rate limits can work without touching the payload.
+ * Messages produced by older nodes don't have the headers; in that case the values are taken from the payload.
+ */
+@Slf4j
+public final class TbRuleEngineMsgHeaders {
+
+    public static final String TENANT_ID_HEADER = "tbTenantId";
+    public static final String ORIGINATOR_TYPE_HEADER = "tbOriginatorType";
+    public static final String ORIGINATOR_ID_HEADER = "tbOriginatorId";
+
+    private TbRuleEngineMsgHeaders() {
+    }
+
+    public static TbProtoQueueMsg<ToRuleEngineMsg> toQueueMsg(UUID msgId, ToRuleEngineMsg msg) {
+        return new TbProtoQueueMsg<>(msgId, msg, toHeaders(msg));
+    }
+
+    public static TbQueueMsgHeaders toHeaders(ToRuleEngineMsg msg) {
+        TbQueueMsgHeaders headers = new DefaultTbQueueMsgHeaders();
+        headers.put(TENANT_ID_HEADER, uuidToBytes(new UUID(msg.getTenantIdMSB(), msg.getTenantIdLSB())));
+        if (msg.hasTbMsgProto()) {
+            MsgProtos.TbMsgProto tbMsgProto = msg.getTbMsgProto();
+            headers.put(ORIGINATOR_TYPE_HEADER, stringToBytes(tbMsgProto.getEntityType()));
+            headers.put(ORIGINATOR_ID_HEADER, uuidToBytes(new UUID(tbMsgProto.getEntityIdMSB(), tbMsgProto.getEntityIdLSB())));
+        }
+        return headers;
+    }
+
+    public static TenantId getTenantId(TbProtoQueueMsg<ToRuleEngineMsg> msg) {
+        byte[] tenantId = msg.getHeaders().get(TENANT_ID_HEADER);
+        if (tenantId != null) {
+            return TenantId.fromUUID(bytesToUuid(tenantId));
+        }
+        ToRuleEngineMsg value = msg.getValue();
+        return TenantId.fromUUID(new UUID(value.getTenantIdMSB(), value.getTenantIdLSB()));
+    }
+
+    public static EntityId getOriginator(TbProtoQueueMsg<ToRuleEngineMsg> msg) {
+        TbQueueMsgHeaders headers = msg.getHeaders();
+        byte[] originatorType = headers.get(ORIGINATOR_TYPE_HEADER);
+        byte[] originatorId = headers.get(ORIGINATOR_ID_HEADER);
+        if (originatorType != null && originatorId != null) {
+            return EntityIdFactory.getByTypeAndUuid(EntityType.valueOf(bytesToString(originatorType)), bytesToUuid(originatorId));
+        }
+        MsgProtos.TbMsgProto tbMsgProto = getTbMsgProto(msg.getValue());
+        if (tbMsgProto == null) {
+            return null;
+        }
+        return EntityIdFactory.getByTypeAndUuid(tbMsgProto.getEntityType(), new UUID(tbMsgProto.getEntityIdMSB(), tbMsgProto.getEntityIdLSB()));
+    }
+
+    private static MsgProtos.TbMsgProto getTbMsgProto(ToRuleEngineMsg msg) {
+        try {
+            return ProtoUtils.getTbMsgProto(msg);
+        } catch (InvalidProtocolBufferException e) {
+            log.warn("Failed to parse TbMsg: {}", msg);
+            return null;
+        }
+    }
+
+}
@@ -68,7 +68,7 @@ public class TbRuleEngineProducerService {
                 .setTbMsgProto(TbMsg.toProto(tbMsg))
                 .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
                 .setTenantIdLSB(tenantId.getId().getLeastSignificantBits()).build();
-        producer.send(tpi, new TbProtoQueueMsg<>(tbMsg.getId(), msg), callback);
+        producer.send(tpi, TbRuleEngineMsgHeaders.toQueueMsg(tbMsg.getId(), msg), callback);
     }
 
 }
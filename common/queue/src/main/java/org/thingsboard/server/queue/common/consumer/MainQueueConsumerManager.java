@@ -206,6 +206,7 @@ public class MainQueueConsumerManager<M extends TbQueueMsg, C extends QueueConfi
             ThingsBoardThreadFactory.updateCurrentThreadName(consumerTask.getKey().toString());
             consumerLoop(consumerTask.getKey(), consumerTask.getConsumer());
             log.info("[{}] Consumer stopped", consumerTask.getKey());
+            onConsumerStopped(consumerTask.getKey());
 
             try {
                 Runnable callback = consumerTask.getCallback();
@@ -225,6 +226,7 @@ public class MainQueueConsumerManager<M extends TbQueueMsg, C extends QueueConfi
                 try {
                     List<M> msgs = consumer.poll(config.getPollInterval());
                     if (msgs.isEmpty()) {
+                        onEmptyPoll(consumer, consumerKey);
                         continue;
                     }
                     processMsgs(msgs, consumer, consumerKey, config);
@@ -257,6 +259,12 @@ public class MainQueueConsumerManager<M extends TbQueueMsg, C extends QueueConfi
         log.trace("Processed {} messages", msgs.size());
     }
 
+    protected void onEmptyPoll(TbQueueConsumer<M> consumer, ConsumerKey consumerKey) {
+    }
+
+    protected void onConsumerStopped(ConsumerKey consumerKey) {
+    }
+
     public void stop() {
         log.debug("[{}] Stopping consumers", queueKey);
         consumerWrapper.getConsumers().forEach(TbQueueConsumerTask::initiateStop);
@@ -30,6 +30,12 @@ public class HousekeeperConfig {
     private Set<HousekeeperTaskType> disabledTaskTypes;
     @Value("${queue.core.housekeeper.task-processing-timeout-ms:120000}")
     private int taskProcessingTimeout;
+    @Value("${queue.core.housekeeper.task-checkpoint-interval-ms:30000}")
+    private int taskCheckpointInterval;
+    @Value("${queue.core.housekeeper.telemetry-deletion-window-ms:2592000000}")
+    private long telemetryDeletionWindow;
+    @Value("${queue.core.housekeeper.telemetry-deletion-max-concurrency:8}")
+    private int telemetryDeletionMaxConcurrency;
     @Value("${queue.core.housekeeper.poll-interval-ms:500}")
     private int pollInterval;
     @Value("${queue.core.housekeeper.task-reprocessing-delay-ms:3000}")
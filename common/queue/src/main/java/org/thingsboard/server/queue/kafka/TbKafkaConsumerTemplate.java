@@ -24,6 +24,7 @@ import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.springframework.util.StopWatch;
 import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
@@ -65,6 +66,8 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
     private final boolean stopWhenRead; // stop consuming when reached end offset remembered on start
     private int readCount;
     private Map<Integer, Long> endOffsets; // needed if stopWhenRead is true
+    @Getter
+    private volatile Map<TopicPartition, OffsetAndMetadata> lastPolledOffsets = Collections.emptyMap(); // offsets to commit to acknowledge the last poll only
 
     @Builder
     private TbKafkaConsumerTemplate(TbKafkaSettings settings, TbKafkaDecoder<T> decoder,
@@ -165,6 +168,12 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
             recordList = Collections.emptyList();
         } else {
             recordList = new ArrayList<>(256);
+            Map<TopicPartition, OffsetAndMetadata> polledOffsets = new HashMap<>();
+            for (TopicPartition partition : records.partitions()) {
+                List<ConsumerRecord<String, byte[]>> partitionRecords = records.records(partition);
+                polledOffsets.put(partition, new OffsetAndMetadata(partitionRecords.get(partitionRecords.size() - 1).offset() + 1));
+            }
+            lastPolledOffsets = polledOffsets;
             records.forEach(record -> {
                 recordList.add(record);
                 if (stopWhenRead && endOffsets != null) {
@@ -224,6 +233,22 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
         }
     }
 
+    /**
+     * Commits the given offsets instead of the current consumer position.
+     * Used to acknowledge only the polls that are fully processed while the next ones are still in progress.
+     */
+    public void commit(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        if (groupId == null || offsets.isEmpty()) {
+            return;
+        }
+        consumerLock.lock();
+        try {
+            consumer.commitSync(offsets);
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
     @Override
     protected void doUnsubscribe() {
         if (consumer != null) {
@@ -0,0 +1,74 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sizes of the records sent by a single producer, per topic, since the previous {@link #getAndReset()}.
+ */
+class TbKafkaProducerStats {
+
+    private final ConcurrentMap<String, TopicCounters> topics = new ConcurrentHashMap<>();
+
+    void record(String topic, int recordSize) {
+        topics.computeIfAbsent(topic, t -> new TopicCounters()).record(recordSize);
+    }
+
+    List<TopicStats> getAndReset() {
+        List<TopicStats> result = new ArrayList<>();
+        for (Map.Entry<String, TopicCounters> entry : topics.entrySet()) {
+            TopicCounters counters = entry.getValue();
+            long records = counters.records.sumThenReset();
+            long bytes = counters.bytes.sumThenReset();
+            long maxSize = counters.maxSize.getThenReset();
+            if (records > 0) {
+                result.add(new TopicStats(entry.getKey(), records, bytes / records, maxSize));
+            }
+        }
+        return result;
+    }
+
+    record TopicStats(String topic, long records, long avgRecordSize, long maxRecordSize) {
+
+        @Override
+        public String toString() {
+            return "[" + topic + "] records: " + records + ", avg size: " + avgRecordSize + ", max size: " + maxRecordSize;
+        }
+
+    }
+
+    private static class TopicCounters {
+
+        private final LongAdder records = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAccumulator maxSize = new LongAccumulator(Math::max, 0);
+
+        void record(int recordSize) {
+            records.increment();
+            bytes.add(recordSize);
+            maxSize.accumulate(recordSize);
+        }
+
+    }
+
+}
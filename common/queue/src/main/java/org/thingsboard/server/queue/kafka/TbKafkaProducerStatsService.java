@@ -0,0 +1,102 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.kafka;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.server.queue.util.TbKafkaComponent;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically prints the record sizes per topic and the batch fill of the registered producers,
+ * to tune the per-topic producer properties for each traffic class.
+ */
+@Slf4j
+@Component
+@TbKafkaComponent
+public class TbKafkaProducerStatsService {
+
+    private final Set<TbKafkaProducerTemplate<?>> producers = ConcurrentHashMap.newKeySet();
+
+    @Getter
+    @Value("${queue.kafka.producer-stats.enabled:false}")
+    private boolean enabled;
+
+    @Value("${queue.kafka.producer-stats.print-interval-ms:60000}")
+    private long printIntervalMs;
+
+    private ScheduledExecutorService statsPrintScheduler;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        this.statsPrintScheduler = ThingsBoardExecutors.newSingleThreadScheduledExecutor("kafka-producer-stats");
+        statsPrintScheduler.scheduleWithFixedDelay(this::printStats, printIntervalMs, printIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void registerProducer(TbKafkaProducerTemplate<?> producer) {
+        if (enabled) {
+            producers.add(producer);
+        }
+    }
+
+    public void unregisterProducer(TbKafkaProducerTemplate<?> producer) {
+        producers.remove(producer);
+    }
+
+    private void printStats() {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        for (TbKafkaProducerTemplate<?> producer : producers) {
+            try {
+                List<TbKafkaProducerStats.TopicStats> topicStats = producer.getStats().getAndReset();
+                if (topicStats.isEmpty()) {
+                    continue;
+                }
+                double batchSizeAvg = producer.getProducerMetric("batch-size-avg");
+                double recordsPerRequestAvg = producer.getProducerMetric("records-per-request-avg");
+                log.info("[{}] Producer batch fill: {}% of {} bytes, records per request: {}, topics: [{}].", producer.getClientId(),
+                        String.format("%.1f", batchSizeAvg * 100 / producer.getBatchSize()), producer.getBatchSize(),
+                        String.format("%.1f", recordsPerRequestAvg),
+                        topicStats.stream().map(TbKafkaProducerStats.TopicStats::toString).collect(Collectors.joining(", ")));
+            } catch (Exception e) {
+                log.warn("[{}] Failed to print producer stats", producer.getClientId(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (statsPrintScheduler != null) {
+            statsPrintScheduler.shutdownNow();
+        }
+    }
+
+}
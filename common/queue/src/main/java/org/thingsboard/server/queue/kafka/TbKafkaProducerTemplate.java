@@ -15,14 +15,18 @@
  */
 package org.thingsboard.server.queue.kafka;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
+import org.thingsboard.common.util.ThingsBoardThreadFactory;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
 import org.thingsboard.server.queue.TbQueueAdmin;
@@ -32,10 +36,16 @@ import org.thingsboard.server.queue.TbQueueProducer;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -59,9 +69,22 @@ public class TbKafkaProducerTemplate<T extends TbQueueMsg> implements TbQueuePro
     @Getter
     private final String clientId;
 
+    @Getter(AccessLevel.PACKAGE)
+    private final int batchSize;
+
+    // encodes the messages off the caller thread; single-threaded to keep the order of the records.
+    // The queue is bounded, so the callers are blocked once the encoder falls behind, same as by the Kafka client when its buffer is full
+    private final ExecutorService encoderExecutor;
+
+    private final TbKafkaProducerStatsService statsService;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final TbKafkaProducerStats stats;
+
     @Builder
-    private TbKafkaProducerTemplate(TbKafkaSettings settings, String defaultTopic, String clientId, TbQueueAdmin admin) {
-        Properties props = settings.toProducerProps();
+    private TbKafkaProducerTemplate(TbKafkaSettings settings, String defaultTopic, String clientId, TbQueueAdmin admin,
+                                    TbKafkaProducerStatsService statsService) {
+        Properties props = settings.toProducerProps(defaultTopic);
 
         this.clientId = Objects.requireNonNull(clientId, "Kafka producer client.id is null");
         if (!StringUtils.isEmpty(clientId)) {
@@ -73,6 +96,23 @@ public class TbKafkaProducerTemplate<T extends TbQueueMsg> implements TbQueuePro
         this.defaultTopic = defaultTopic;
         this.admin = admin;
         topics = ConcurrentHashMap.newKeySet();
+        this.batchSize = Integer.parseInt(String.valueOf(props.get(ProducerConfig.BATCH_SIZE_CONFIG)));
+
+        if (settings.isProducerAsyncEncoding(defaultTopic)) {
+            this.encoderExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(settings.getProducerAsyncEncodingQueueSize()),
+                    ThingsBoardThreadFactory.forName("kafka-producer-encoder-" + clientId), TbKafkaProducerTemplate::waitForEncoder);
+        } else {
+            this.encoderExecutor = null;
+        }
+        if (statsService != null && statsService.isEnabled()) {
+            this.statsService = statsService;
+            this.stats = new TbKafkaProducerStats();
+            statsService.registerProducer(this);
+        } else {
+            this.statsService = null;
+            this.stats = null;
+        }
     }
 
     void addAnalyticHeaders(List<Header> headers) {
@@ -97,38 +137,91 @@ public class TbKafkaProducerTemplate<T extends TbQueueMsg> implements TbQueuePro
     }
 
     public void send(TopicPartitionInfo tpi, String key, T msg, TbQueueCallback callback) {
-        try {
-            String topic = tpi.getFullTopicName();
-            createTopicIfNotExist(topic);
-            byte[] data = msg.getData();
-            ProducerRecord<String, byte[]> record;
-            List<Header> headers = msg.getHeaders().getData().entrySet().stream().map(e -> new RecordHeader(e.getKey(), e.getValue())).collect(Collectors.toList());
-            if (log.isDebugEnabled()) {
-                addAnalyticHeaders(headers);
-            }
-            Integer partition = tpi.isUseInternalPartition() ? tpi.getPartition().orElse(null) : null;
-            record = new ProducerRecord<>(topic, partition, key, data, headers);
-            producer.send(record, (metadata, exception) -> {
-                if (exception == null) {
-                    if (callback != null) {
-                        callback.onSuccess(new KafkaTbQueueMsgMetadata(metadata));
-                    }
-                } else {
-                    if (callback != null) {
-                        callback.onFailure(exception);
-                    } else {
-                        log.warn("Producer template failure", exception);
+        if (encoderExecutor != null) {
+            List<Header> headers = toRecordHeaders(msg);
+            try {
+                encoderExecutor.execute(() -> {
+                    try {
+                        doSend(tpi, key, msg, headers, callback);
+                    } catch (Exception e) {
+                        onSendFailure(callback, e);
                     }
-                }
-            });
+                });
+            } catch (RejectedExecutionException e) {
+                onSendFailure(callback, e);
+                throw e;
+            }
+            return;
+        }
+        try {
+            doSend(tpi, key, msg, toRecordHeaders(msg), callback);
         } catch (Exception e) {
-            if (callback != null) {
-                callback.onFailure(e);
+            onSendFailure(callback, e);
+            throw e;
+        }
+    }
+
+    static void waitForEncoder(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Kafka producer is stopped");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the Kafka producer encoder queue", e);
+        }
+    }
+
+    private List<Header> toRecordHeaders(T msg) {
+        List<Header> headers = msg.getHeaders().getData().entrySet().stream().map(e -> new RecordHeader(e.getKey(), e.getValue())).collect(Collectors.toList());
+        if (log.isDebugEnabled()) {
+            addAnalyticHeaders(headers);
+        }
+        return headers;
+    }
+
+    private void doSend(TopicPartitionInfo tpi, String key, T msg, List<Header> headers, TbQueueCallback callback) {
+        String topic = tpi.getFullTopicName();
+        createTopicIfNotExist(topic);
+        byte[] data = msg.getData();
+        if (stats != null) {
+            stats.record(topic, data.length);
+        }
+        Integer partition = tpi.isUseInternalPartition() ? tpi.getPartition().orElse(null) : null;
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, partition, key, data, headers);
+        producer.send(record, (metadata, exception) -> {
+            if (exception == null) {
+                if (callback != null) {
+                    callback.onSuccess(new KafkaTbQueueMsgMetadata(metadata));
+                }
             } else {
-                log.warn("Producer template failure (send method wrapper): {}", e.getMessage(), e);
+                if (callback != null) {
+                    callback.onFailure(exception);
+                } else {
+                    log.warn("Producer template failure", exception);
+                }
+            }
+        });
+    }
+
+    private void onSendFailure(TbQueueCallback callback, Exception e) {
+        if (callback != null) {
+            callback.onFailure(e);
+        } else {
+            log.warn("Producer template failure (send method wrapper): {}", e.getMessage(), e);
+        }
+    }
+
+    double getProducerMetric(String name) {
+        for (Map.Entry<MetricName, ? extends Metric> entry : producer.metrics().entrySet()) {
+            MetricName metricName = entry.getKey();
+            if ("producer-metrics".equals(metricName.group()) && name.equals(metricName.name())
+                    && entry.getValue().metricValue() instanceof Number value) {
+                return value.doubleValue();
             }
-            throw e;
         }
+        return Double.NaN;
     }
 
     private void createTopicIfNotExist(String topic) {
@@ -141,6 +234,19 @@ public class TbKafkaProducerTemplate<T extends TbQueueMsg> implements TbQueuePro
 
     @Override
     public void stop() {
+        if (statsService != null) {
+            statsService.unregisterProducer(this);
+        }
+        if (encoderExecutor != null) {
+            encoderExecutor.shutdown();
+            try {
+                if (!encoderExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("[{}] Failed to encode pending messages before the producer is stopped", clientId);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         if (producer != null) {
             producer.close();
         }
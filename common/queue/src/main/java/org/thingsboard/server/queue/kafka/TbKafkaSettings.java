@@ -157,6 +157,16 @@ public class TbKafkaSettings {
     @Value("${queue.kafka.consumer-properties-per-topic-inline:}")
     private String consumerPropertiesPerTopicInline;
 
+    @Value("${queue.kafka.producer-properties-per-topic-inline:}")
+    private String producerPropertiesPerTopicInline;
+
+    @Value("${queue.kafka.producer-async-encoding-topics:}")
+    private String producerAsyncEncodingTopics;
+
+    @Getter
+    @Value("${queue.kafka.producer-async-encoding-queue-size:10000}")
+    private int producerAsyncEncodingQueueSize;
+
     @Autowired
     private KafkaAdmin kafkaAdmin;
 
@@ -167,12 +177,19 @@ public class TbKafkaSettings {
     @Setter
     private Map<String, List<TbProperty>> consumerPropertiesPerTopic = new HashMap<>();
 
+    @Setter
+    private Map<String, List<TbProperty>> producerPropertiesPerTopic = new HashMap<>();
+
     @PostConstruct
     public void initInlineTopicProperties() {
         Map<String, List<TbProperty>> inlineProps = parseTopicPropertyList(consumerPropertiesPerTopicInline);
         if (!inlineProps.isEmpty()) {
             consumerPropertiesPerTopic.putAll(inlineProps);
         }
+        Map<String, List<TbProperty>> inlineProducerProps = parseTopicPropertyList(producerPropertiesPerTopicInline);
+        if (!inlineProducerProps.isEmpty()) {
+            producerPropertiesPerTopic.putAll(inlineProducerProps);
+        }
     }
 
     public Properties toConsumerProps(String topic) {
@@ -189,24 +206,21 @@ public class TbKafkaSettings {
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
 
-        if (topic != null) {
-            List<TbProperty> properties = consumerPropertiesPerTopic.get(topic);
-            if (properties == null) {
-                for (Map.Entry<String, List<TbProperty>> entry : consumerPropertiesPerTopic.entrySet()) {
-                    if (topic.startsWith(entry.getKey())) {
-                        properties = entry.getValue();
-                        break;
-                    }
-                }
-            }
-            if (properties != null) {
-                properties.forEach(kv -> props.put(kv.getKey(), kv.getValue()));
-            }
-        }
+        putTopicProperties(props, consumerPropertiesPerTopic, topic);
         return props;
     }
 
     public Properties toProducerProps() {
+        return toProducerProps(null);
+    }
+
+    /**
+     * Producer properties with the overrides from {@code producer-properties-per-topic} applied,
+     * so that e.g. linger, batch size and compression can be tuned per queue.
+     *
+     * @param topic default topic of the producer
+     */
+    public Properties toProducerProps(String topic) {
         Properties props = toProps();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
         props.put(ProducerConfig.RETRIES_CONFIG, retries);
@@ -219,9 +233,45 @@ public class TbKafkaSettings {
         props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
         props.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, maxRequestSize);
         props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequestsPerConnection);
+        putTopicProperties(props, producerPropertiesPerTopic, topic);
         return props;
     }
 
+    /**
+     * @return true if the messages of the producer with the given default topic are to be encoded
+     * on the producer's own thread instead of the caller thread
+     */
+    public boolean isProducerAsyncEncoding(String topic) {
+        if (topic == null || StringUtils.isBlank(producerAsyncEncodingTopics)) {
+            return false;
+        }
+        for (String prefix : producerAsyncEncodingTopics.split(",")) {
+            prefix = prefix.trim();
+            if (!prefix.isEmpty() && topic.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putTopicProperties(Properties props, Map<String, List<TbProperty>> propertiesPerTopic, String topic) {
+        if (topic == null) {
+            return;
+        }
+        List<TbProperty> properties = propertiesPerTopic.get(topic);
+        if (properties == null) {
+            for (Map.Entry<String, List<TbProperty>> entry : propertiesPerTopic.entrySet()) {
+                if (topic.startsWith(entry.getKey())) {
+                    properties = entry.getValue();
+                    break;
+                }
+            }
+        }
+        if (properties != null) {
+            properties.forEach(kv -> props.put(kv.getKey(), kv.getValue()));
+        }
+    }
+
     Properties toProps() {
         Properties props = new Properties();
 
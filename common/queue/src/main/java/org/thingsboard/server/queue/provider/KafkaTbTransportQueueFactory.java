@@ -17,6 +17,7 @@ package org.thingsboard.server.queue.provider;
 
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 import org.thingsboard.server.gen.transport.TransportProtos.ToCoreMsg;
@@ -32,6 +33,7 @@ import org.thingsboard.server.queue.TbQueueConsumer;
 import org.thingsboard.server.queue.TbQueueProducer;
 import org.thingsboard.server.queue.TbQueueRequestTemplate;
 import org.thingsboard.server.queue.common.DefaultTbQueueRequestTemplate;
+import org.thingsboard.server.queue.common.PerTopicTbQueueProducer;
 import org.thingsboard.server.queue.common.TbProtoQueueMsg;
 import org.thingsboard.server.queue.discovery.TbServiceInfoProvider;
 import org.thingsboard.server.queue.discovery.TopicService;
@@ -41,6 +43,7 @@ import org.thingsboard.server.queue.kafka.TbKafkaConsumerTemplate;
 import org.thingsboard.server.queue.kafka.TbKafkaProducerTemplate;
 import org.thingsboard.server.queue.kafka.TbKafkaSettings;
 import org.thingsboard.server.queue.kafka.TbKafkaTopicConfigs;
+import org.thingsboard.server.queue.shm.ShmTransportApiQueueFactory;
 import org.thingsboard.server.queue.settings.TbQueueCoreSettings;
 import org.thingsboard.server.queue.settings.TbQueueRuleEngineSettings;
 import org.thingsboard.server.queue.settings.TbQueueTransportApiSettings;
@@ -67,6 +70,9 @@ public class KafkaTbTransportQueueFactory implements TbTransportQueueFactory {
     private final TbQueueAdmin notificationAdmin;
     private final TbQueueAdmin housekeeperAdmin;
 
+    @Autowired(required = false)
+    private ShmTransportApiQueueFactory shmTransportApiQueueFactory;
+
     public KafkaTbTransportQueueFactory(TbKafkaSettings kafkaSettings,
                                         TbServiceInfoProvider serviceInfoProvider,
                                         TbQueueCoreSettings coreSettings,
@@ -95,6 +101,9 @@ public class KafkaTbTransportQueueFactory implements TbTransportQueueFactory {
 
     @Override
     public TbQueueRequestTemplate<TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> createTransportApiRequestTemplate() {
+        if (shmTransportApiQueueFactory != null) {
+            return shmTransportApiQueueFactory.createTransportApiRequestTemplate();
+        }
         TbKafkaProducerTemplate.TbKafkaProducerTemplateBuilder<TbProtoQueueMsg<TransportApiRequestMsg>> requestBuilder = TbKafkaProducerTemplate.builder();
         requestBuilder.settings(kafkaSettings);
         requestBuilder.clientId("transport-api-request-" + serviceInfoProvider.getServiceId());
@@ -123,12 +132,14 @@ public class KafkaTbTransportQueueFactory implements TbTransportQueueFactory {
 
     @Override
     public TbQueueProducer<TbProtoQueueMsg<ToRuleEngineMsg>> createRuleEngineMsgProducer() {
-        TbKafkaProducerTemplate.TbKafkaProducerTemplateBuilder<TbProtoQueueMsg<ToRuleEngineMsg>> requestBuilder = TbKafkaProducerTemplate.builder();
-        requestBuilder.settings(kafkaSettings);
-        requestBuilder.clientId("transport-node-rule-engine-" + serviceInfoProvider.getServiceId());
-        requestBuilder.defaultTopic(topicService.buildTopicName(ruleEngineSettings.getTopic()));
-        requestBuilder.admin(ruleEngineAdmin);
-        return requestBuilder.build();
+        return new PerTopicTbQueueProducer<>(topicService.buildTopicName(ruleEngineSettings.getTopic()), topic -> {
+            TbKafkaProducerTemplate.TbKafkaProducerTemplateBuilder<TbProtoQueueMsg<ToRuleEngineMsg>> requestBuilder = TbKafkaProducerTemplate.builder();
+            requestBuilder.settings(kafkaSettings);
+            requestBuilder.clientId("transport-node-rule-engine-" + serviceInfoProvider.getServiceId() + "-" + topic);
+            requestBuilder.defaultTopic(topic);
+            requestBuilder.admin(ruleEngineAdmin);
+            return requestBuilder.build();
+        });
     }
 
     @Override
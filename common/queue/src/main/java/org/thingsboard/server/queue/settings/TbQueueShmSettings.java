@@ -0,0 +1,43 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.settings;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+@Lazy
+@Data
+@Component
+public class TbQueueShmSettings {
+
+    @Value("${queue.shm.enabled:false}")
+    private boolean enabled;
+
+    @Value("${queue.shm.directory:/dev/shm/thingsboard}")
+    private String directory;
+
+    @Value("${queue.shm.ring_buffer_size:16777216}")
+    private int ringBufferSize;
+
+    @Value("${queue.shm.max_poll_records:1024}")
+    private int maxPollRecords;
+
+    @Value("${queue.shm.idle_park_nanos:50000}")
+    private long idleParkNanos;
+
+}
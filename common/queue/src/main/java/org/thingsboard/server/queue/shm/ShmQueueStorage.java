@@ -0,0 +1,189 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.shm;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.thingsboard.server.queue.settings.TbQueueShmSettings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Ring buffers of the shared memory queue. Each topic is a directory with one ring buffer file per producer,
+ * so that every file has a single writer and a single reader even if several processes produce to the same topic.
+ * <p>
+ * A topic has a single consumer per host: the consumer holds the lock file of the topic directory, and the consumers
+ * of other processes don't read the topic until the lock is released. The ring buffer files of the stopped producers
+ * are deleted by the consumer once all their records are consumed.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${queue.shm.enabled:false}'=='true'")
+public class ShmQueueStorage {
+
+    private static final String RING_BUFFER_FILE_SUFFIX = ".ring";
+    private static final String CONSUMER_LOCK_FILE = "consumer.lock";
+
+    private final TbQueueShmSettings settings;
+    // mapped separately for the producers and the consumers, since only the producer side holds the producer lock
+    private final ConcurrentMap<Path, ShmRingBuffer> producerRingBuffers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Path, ShmRingBuffer> consumerRingBuffers = new ConcurrentHashMap<>();
+
+    public ShmQueueStorage(TbQueueShmSettings settings) {
+        this.settings = settings;
+    }
+
+    public ShmRingBuffer getProducerRingBuffer(String topic, String producerId) {
+        return getRingBuffer(producerRingBuffers, getTopicDirectory(topic).resolve(producerId + RING_BUFFER_FILE_SUFFIX), true);
+    }
+
+    public List<ShmRingBuffer> getConsumerRingBuffers(String topic) {
+        Path topicDirectory = getTopicDirectory(topic);
+        if (!Files.isDirectory(topicDirectory)) {
+            return Collections.emptyList();
+        }
+        List<ShmRingBuffer> result = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(topicDirectory, "*" + RING_BUFFER_FILE_SUFFIX)) {
+            for (Path file : files) {
+                ShmRingBuffer ringBuffer = getRingBuffer(consumerRingBuffers, file, false);
+                if (deleteIfAbandoned(topic, ringBuffer)) {
+                    consumerRingBuffers.remove(file, ringBuffer);
+                    close(ringBuffer);
+                } else {
+                    result.add(ringBuffer);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("[{}] Failed to list ring buffers", topic, e);
+        }
+        return result;
+    }
+
+    /**
+     * @return the lock of the topic consumer, or null if the topic is already consumed by another consumer on this host
+     */
+    public FileLock tryLockConsumer(String topic) {
+        Path lockFile = getTopicDirectory(topic).resolve(CONSUMER_LOCK_FILE);
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return lock;
+            }
+        } catch (OverlappingFileLockException e) {
+            // held by another consumer in this process
+        } catch (IOException e) {
+            log.warn("[{}] Failed to lock the consumer lock file", topic, e);
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("[{}] Failed to close the consumer lock file", topic, e);
+            }
+        }
+        return null;
+    }
+
+    public void createTopic(String topic) {
+        try {
+            Files.createDirectories(getTopicDirectory(topic));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create topic " + topic, e);
+        }
+    }
+
+    public void deleteTopic(String topic) {
+        Path topicDirectory = getTopicDirectory(topic);
+        for (ConcurrentMap<Path, ShmRingBuffer> ringBuffers : List.of(producerRingBuffers, consumerRingBuffers)) {
+            ringBuffers.entrySet().removeIf(entry -> {
+                if (entry.getKey().startsWith(topicDirectory)) {
+                    close(entry.getValue());
+                    return true;
+                }
+                return false;
+            });
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(topicDirectory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+            Files.delete(topicDirectory);
+        } catch (IOException e) {
+            log.warn("[{}] Failed to delete topic", topic, e);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        for (ConcurrentMap<Path, ShmRingBuffer> ringBuffers : List.of(producerRingBuffers, consumerRingBuffers)) {
+            ringBuffers.values().forEach(this::close);
+            ringBuffers.clear();
+        }
+    }
+
+    private boolean deleteIfAbandoned(String topic, ShmRingBuffer ringBuffer) {
+        try {
+            if (ringBuffer.deleteIfAbandoned()) {
+                log.info("[{}] Deleted ring buffer of the stopped producer {}", topic, ringBuffer.getPath().getFileName());
+                return true;
+            }
+        } catch (IOException e) {
+            log.warn("[{}] Failed to check ring buffer {}", topic, ringBuffer.getPath(), e);
+        }
+        return false;
+    }
+
+    private ShmRingBuffer getRingBuffer(ConcurrentMap<Path, ShmRingBuffer> ringBuffers, Path file, boolean producer) {
+        return ringBuffers.computeIfAbsent(file, path -> {
+            try {
+                log.debug("Mapping ring buffer {}", path);
+                return ShmRingBuffer.open(path, settings.getRingBufferSize(), producer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map ring buffer " + path, e);
+            }
+        });
+    }
+
+    private Path getTopicDirectory(String topic) {
+        return Path.of(settings.getDirectory(), topic);
+    }
+
+    private void close(ShmRingBuffer ringBuffer) {
+        try {
+            ringBuffer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close ring buffer {}", ringBuffer.getPath(), e);
+        }
+    }
+
+}
@@ -0,0 +1,259 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.shm;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Single-producer single-consumer ring buffer backed by a memory-mapped file, so that the producer and the consumer
+ * may live in different processes on the same host.
+ * <p>
+ * The file starts with a header that holds the capacity, the write position (owned by the producer) and the read position
+ * (owned by the consumer), each on its own cache line. Positions grow monotonically and are published with release/acquire
+ * semantics. Records are length-prefixed and aligned to 8 bytes; a record that does not fit before the end of the buffer
+ * is preceded by a padding marker and written from the beginning.
+ * <p>
+ * Calls to {@link #offer(byte[])} from several threads of the producer process are serialized,
+ * while {@link #poll(int, Consumer)} is expected to be called from a single consumer thread.
+ * <p>
+ * The producer holds a file lock while the file is open. The lock is released by the OS when the producer process dies,
+ * so the consumer can tell the files of the stopped producers and delete them once consumed.
+ */
+public final class ShmRingBuffer implements AutoCloseable {
+
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int CAPACITY_OFFSET = 0;
+    private static final int WRITE_POSITION_OFFSET = 64;
+    private static final int READ_POSITION_OFFSET = 128;
+    static final int HEADER_SIZE = 192;
+    // the producer lock is taken on a byte far beyond the end of the file, so that it doesn't overlap with the header lock
+    private static final long PRODUCER_LOCK_POSITION = Long.MAX_VALUE - 1;
+
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES;
+    private static final int RECORD_ALIGNMENT = 8;
+    private static final int PADDING = -1;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer data;
+    private final int capacity;
+    private final int mask;
+    private final FileLock producerLock;
+
+    private ShmRingBuffer(Path path, FileChannel channel, int capacity, FileLock producerLock) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.producerLock = producerLock;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        this.header.order(ByteOrder.nativeOrder());
+        this.data = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, capacity);
+        this.data.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Maps the ring buffer file, creating it with the given capacity if it does not exist yet.
+     * The capacity of an existing file is taken from its header.
+     *
+     * @param capacity size of the data region in bytes; must be a power of two
+     */
+    public static ShmRingBuffer open(Path path, int capacity) throws IOException {
+        return open(path, capacity, false);
+    }
+
+    /**
+     * @param producer whether the file is opened by its producer, which holds the producer lock until the file is closed
+     * @see #open(Path, int)
+     */
+    public static ShmRingBuffer open(Path path, int capacity, boolean producer) throws IOException {
+        if (capacity < RECORD_ALIGNMENT || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two, but was " + capacity);
+        }
+        while (true) {
+            Files.createDirectories(path.getParent());
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ShmRingBuffer ringBuffer = null;
+            try (var ignored = channel.lock(0, HEADER_SIZE, false)) {
+                // the file might have been deleted by the consumer as abandoned right after it was opened here
+                if (!producer || Files.exists(path)) {
+                    ringBuffer = map(path, channel, capacity, producer);
+                }
+            } catch (OverlappingFileLockException e) {
+                // the header is locked by another channel of this process, which only happens if the producer
+                // and the consumer of the file run in the same process; retrying once it is released
+                Thread.onSpinWait();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+            if (ringBuffer != null) {
+                return ringBuffer;
+            }
+            channel.close();
+        }
+    }
+
+    private static ShmRingBuffer map(Path path, FileChannel channel, int capacity, boolean producer) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity);
+            header.order(ByteOrder.nativeOrder());
+            LONG.setRelease(header, CAPACITY_OFFSET, (long) capacity);
+        } else {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.nativeOrder());
+            capacity = (int) (long) LONG.getAcquire(header, CAPACITY_OFFSET);
+        }
+        FileLock producerLock = null;
+        if (producer) {
+            try {
+                producerLock = channel.tryLock(PRODUCER_LOCK_POSITION, 1, false);
+            } catch (OverlappingFileLockException e) {
+                producerLock = null;
+            }
+            if (producerLock == null) {
+                throw new IllegalStateException("Ring buffer " + path + " is already opened by another producer");
+            }
+        }
+        return new ShmRingBuffer(path, channel, capacity, producerLock);
+    }
+
+    /**
+     * Appends the record to the buffer.
+     *
+     * @return false if there is not enough free space, i.e. the consumer is behind by almost the whole capacity
+     */
+    public synchronized boolean offer(byte[] record) {
+        int recordLength = align(RECORD_HEADER_SIZE + record.length);
+        if (recordLength > capacity) {
+            throw new IllegalArgumentException("Record of " + record.length + " bytes exceeds the ring buffer capacity " + capacity);
+        }
+        long writePosition = (long) LONG.getOpaque(header, WRITE_POSITION_OFFSET);
+        long readPosition = (long) LONG.getAcquire(header, READ_POSITION_OFFSET);
+        int index = (int) (writePosition & mask);
+        int tailLength = capacity - index;
+        int padding = tailLength < recordLength ? tailLength : 0;
+        if (writePosition + padding + recordLength - readPosition > capacity) {
+            return false;
+        }
+        if (padding > 0) {
+            data.putInt(index, PADDING);
+            index = 0;
+        }
+        data.put(index + RECORD_HEADER_SIZE, record);
+        data.putInt(index, record.length);
+        LONG.setRelease(header, WRITE_POSITION_OFFSET, writePosition + padding + recordLength);
+        return true;
+    }
+
+    /**
+     * Passes up to {@code maxRecords} available records to the handler and releases their space to the producer.
+     *
+     * @return number of records handled
+     */
+    public int poll(int maxRecords, Consumer<byte[]> handler) {
+        long readPosition = (long) LONG.getOpaque(header, READ_POSITION_OFFSET);
+        long writePosition = (long) LONG.getAcquire(header, WRITE_POSITION_OFFSET);
+        int count = 0;
+        while (readPosition < writePosition && count < maxRecords) {
+            int index = (int) (readPosition & mask);
+            int length = data.getInt(index);
+            if (length == PADDING) {
+                readPosition += capacity - index;
+                continue;
+            }
+            byte[] record = new byte[length];
+            data.get(index + RECORD_HEADER_SIZE, record);
+            readPosition += align(RECORD_HEADER_SIZE + length);
+            count++;
+            handler.accept(record);
+        }
+        LONG.setRelease(header, READ_POSITION_OFFSET, readPosition);
+        return count;
+    }
+
+    /**
+     * @return number of bytes written but not consumed yet, including the record headers
+     */
+    public long getLag() {
+        return (long) LONG.getAcquire(header, WRITE_POSITION_OFFSET) - (long) LONG.getAcquire(header, READ_POSITION_OFFSET);
+    }
+
+    /**
+     * Deletes the file if its producer is stopped and all its records are consumed.
+     * Called by the consumer; the file is still mapped and has to be closed by the caller.
+     *
+     * @return true if the file was deleted
+     */
+    public boolean deleteIfAbandoned() throws IOException {
+        if (producerLock != null || getLag() > 0) {
+            return false;
+        }
+        try (var ignored = channel.lock(0, HEADER_SIZE, false)) {
+            if (getLag() > 0 || isProducerAlive()) {
+                return false;
+            }
+            return Files.deleteIfExists(path);
+        } catch (OverlappingFileLockException e) {
+            return false; // the file is being opened in this process
+        }
+    }
+
+    private boolean isProducerAlive() throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock(PRODUCER_LOCK_POSITION, 1, true);
+        } catch (OverlappingFileLockException e) {
+            return true; // held by a producer in this process
+        }
+        if (lock == null) {
+            return true; // held by a producer in another process
+        }
+        lock.release();
+        return false;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int align(int length) {
+        return (length + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+    }
+
+}
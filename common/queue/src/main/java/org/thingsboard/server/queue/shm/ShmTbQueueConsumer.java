@@ -0,0 +1,202 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.shm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.queue.TbQueueConsumer;
+import org.thingsboard.server.queue.TbQueueMsg;
+import org.thingsboard.server.queue.TbQueueMsgDecoder;
+
+import java.io.IOException;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Consumer of the shared memory queue. Messages are acknowledged once polled, same as with the in-memory queue.
+ * While there are no messages, the consumer parks for a short time instead of sleeping for the whole poll duration,
+ * so that a message is picked up within microseconds after it is produced.
+ * <p>
+ * Only one consumer per host reads a topic: the consumer takes the lock of the topic and doesn't read it while
+ * the lock is held by a consumer of another process, taking it over once that process stops.
+ */
+@Slf4j
+public class ShmTbQueueConsumer<T extends TbQueueMsg> implements TbQueueConsumer<T> {
+
+    private static final long RING_BUFFERS_SCAN_INTERVAL_MS = 100;
+
+    private final ShmQueueStorage storage;
+    private final String topic;
+    private final TbQueueMsgDecoder<T> decoder;
+    private final int maxPollRecords;
+    private final long idleParkNanos;
+
+    private volatile Set<TopicPartitionInfo> partitions;
+    private volatile boolean stopped;
+    private volatile boolean subscribed;
+
+    private List<ShmRingBuffer> ringBuffers = Collections.emptyList();
+    private long ringBuffersScanTs;
+
+    private final Map<String, FileLock> consumerLocks = new HashMap<>();
+    private final Set<String> lockedByOthers = new HashSet<>();
+
+    public ShmTbQueueConsumer(ShmQueueStorage storage, String topic, TbQueueMsgDecoder<T> decoder, int maxPollRecords, long idleParkNanos) {
+        this.storage = storage;
+        this.topic = topic;
+        this.decoder = decoder;
+        this.maxPollRecords = maxPollRecords;
+        this.idleParkNanos = idleParkNanos;
+    }
+
+    @Override
+    public String getTopic() {
+        return topic;
+    }
+
+    @Override
+    public void subscribe() {
+        subscribe(Collections.singleton(new TopicPartitionInfo(topic, null, null, true)));
+    }
+
+    @Override
+    public void subscribe(Set<TopicPartitionInfo> partitions) {
+        releaseLocks();
+        partitions.forEach(tpi -> storage.createTopic(tpi.getFullTopicName()));
+        this.partitions = partitions;
+        ringBuffersScanTs = 0;
+        subscribed = true;
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        releaseLocks();
+    }
+
+    @Override
+    public void unsubscribe() {
+        stopped = true;
+        subscribed = false;
+        releaseLocks();
+    }
+
+    @Override
+    public List<T> poll(long durationInMillis) {
+        if (!subscribed) {
+            return Collections.emptyList();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationInMillis);
+        List<T> messages = new ArrayList<>();
+        do {
+            for (ShmRingBuffer ringBuffer : getRingBuffers()) {
+                if (messages.size() >= maxPollRecords) {
+                    break;
+                }
+                ringBuffer.poll(maxPollRecords - messages.size(), record -> {
+                    try {
+                        messages.add(decoder.decode(new ShmTbQueueMsg(record)));
+                    } catch (Exception e) {
+                        log.error("[{}] Failed to decode message from the shared memory queue", ringBuffer.getPath(), e);
+                    }
+                });
+            }
+            if (!messages.isEmpty()) {
+                return messages;
+            }
+            LockSupport.parkNanos(idleParkNanos);
+        } while (!stopped && System.nanoTime() < deadline);
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void commit() {
+    }
+
+    @Override
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    @Override
+    public Set<TopicPartitionInfo> getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    public List<String> getFullTopicNames() {
+        return partitions.stream().map(TopicPartitionInfo::getFullTopicName).collect(Collectors.toList());
+    }
+
+    private List<ShmRingBuffer> getRingBuffers() {
+        long now = System.currentTimeMillis();
+        if (now - ringBuffersScanTs >= RING_BUFFERS_SCAN_INTERVAL_MS) {
+            // picking up the ring buffers of the producers that started after the previous scan
+            List<ShmRingBuffer> ringBuffers = new ArrayList<>();
+            for (TopicPartitionInfo tpi : partitions) {
+                if (tryLock(tpi.getFullTopicName())) {
+                    ringBuffers.addAll(storage.getConsumerRingBuffers(tpi.getFullTopicName()));
+                }
+            }
+            this.ringBuffers = ringBuffers;
+            ringBuffersScanTs = now;
+        }
+        return ringBuffers;
+    }
+
+    private synchronized boolean tryLock(String topic) {
+        if (stopped || !subscribed) {
+            return false;
+        }
+        if (consumerLocks.containsKey(topic)) {
+            return true;
+        }
+        FileLock lock = storage.tryLockConsumer(topic);
+        if (lock == null) {
+            if (lockedByOthers.add(topic)) {
+                log.warn("[{}] Topic is consumed by another process on this host, waiting until it stops", topic);
+            }
+            return false;
+        }
+        if (lockedByOthers.remove(topic)) {
+            log.info("[{}] Took over the topic from the stopped consumer", topic);
+        }
+        consumerLocks.put(topic, lock);
+        return true;
+    }
+
+    private synchronized void releaseLocks() {
+        for (Map.Entry<String, FileLock> entry : consumerLocks.entrySet()) {
+            try {
+                entry.getValue().channel().close();
+            } catch (IOException e) {
+                log.warn("[{}] Failed to release the consumer lock", entry.getKey(), e);
+            }
+        }
+        consumerLocks.clear();
+        lockedByOthers.clear();
+    }
+
+}
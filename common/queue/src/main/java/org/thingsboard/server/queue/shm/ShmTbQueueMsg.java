@@ -0,0 +1,100 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.shm;
+
+import org.thingsboard.server.queue.TbQueueMsg;
+import org.thingsboard.server.queue.TbQueueMsgHeaders;
+import org.thingsboard.server.queue.common.DefaultTbQueueMsgHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Queue message as it is stored in the {@link ShmRingBuffer}: the key, the headers and the payload in a single record.
+ */
+public class ShmTbQueueMsg implements TbQueueMsg {
+
+    private final UUID key;
+    private final TbQueueMsgHeaders headers;
+    private final byte[] data;
+
+    public ShmTbQueueMsg(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        this.key = new UUID(buffer.getLong(), buffer.getLong());
+        int headersCount = buffer.getInt();
+        TbQueueMsgHeaders headers = new DefaultTbQueueMsgHeaders();
+        for (int i = 0; i < headersCount; i++) {
+            String name = new String(getBytes(buffer), StandardCharsets.UTF_8);
+            headers.put(name, getBytes(buffer));
+        }
+        this.headers = headers;
+        this.data = getBytes(buffer);
+    }
+
+    public static byte[] encode(TbQueueMsg msg) {
+        Map<String, byte[]> headers = msg.getHeaders().getData();
+        byte[] data = msg.getData();
+        byte[][] headerNames = new byte[headers.size()][];
+        int length = 2 * Long.BYTES + Integer.BYTES + Integer.BYTES + data.length;
+        int i = 0;
+        for (Map.Entry<String, byte[]> header : headers.entrySet()) {
+            headerNames[i] = header.getKey().getBytes(StandardCharsets.UTF_8);
+            length += 2 * Integer.BYTES + headerNames[i].length + header.getValue().length;
+            i++;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        UUID key = msg.getKey();
+        buffer.putLong(key.getMostSignificantBits());
+        buffer.putLong(key.getLeastSignificantBits());
+        buffer.putInt(headers.size());
+        i = 0;
+        for (byte[] value : headers.values()) {
+            putBytes(buffer, headerNames[i++]);
+            putBytes(buffer, value);
+        }
+        putBytes(buffer, data);
+        return buffer.array();
+    }
+
+    @Override
+    public UUID getKey() {
+        return key;
+    }
+
+    @Override
+    public TbQueueMsgHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public byte[] getData() {
+        return data;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
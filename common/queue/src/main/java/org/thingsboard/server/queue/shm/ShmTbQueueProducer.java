@@ -0,0 +1,69 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.shm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.queue.TbQueueCallback;
+import org.thingsboard.server.queue.TbQueueMsg;
+import org.thingsboard.server.queue.TbQueueProducer;
+
+@Slf4j
+public class ShmTbQueueProducer<T extends TbQueueMsg> implements TbQueueProducer<T> {
+
+    private final ShmQueueStorage storage;
+    private final String defaultTopic;
+    private final String producerId;
+
+    public ShmTbQueueProducer(ShmQueueStorage storage, String defaultTopic, String producerId) {
+        this.storage = storage;
+        this.defaultTopic = defaultTopic;
+        this.producerId = producerId;
+    }
+
+    @Override
+    public String getDefaultTopic() {
+        return defaultTopic;
+    }
+
+    @Override
+    public void send(TopicPartitionInfo tpi, T msg, TbQueueCallback callback) {
+        boolean result;
+        try {
+            result = storage.getProducerRingBuffer(tpi.getFullTopicName(), producerId).offer(ShmTbQueueMsg.encode(msg));
+        } catch (Exception e) {
+            log.warn("[{}] Failed to send message to the shared memory queue", tpi.getFullTopicName(), e);
+            if (callback != null) {
+                callback.onFailure(e);
+            }
+            return;
+        }
+        if (result) {
+            if (callback != null) {
+                callback.onSuccess(null);
+            }
+        } else {
+            if (callback != null) {
+                callback.onFailure(new RuntimeException("Shared memory queue " + tpi.getFullTopicName() + " is full"));
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.shm;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.thingsboard.server.gen.transport.TransportProtos.TransportApiRequestMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.TransportApiResponseMsg;
+import org.thingsboard.server.queue.TbQueueConsumer;
+import org.thingsboard.server.queue.TbQueueProducer;
+import org.thingsboard.server.queue.TbQueueRequestTemplate;
+import org.thingsboard.server.queue.common.DefaultTbQueueRequestTemplate;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.queue.discovery.TbServiceInfoProvider;
+import org.thingsboard.server.queue.discovery.TopicService;
+import org.thingsboard.server.queue.settings.TbQueueShmSettings;
+import org.thingsboard.server.queue.settings.TbQueueTransportApiSettings;
+
+/**
+ * Transport API queues over shared memory, for transports running on the same host as the core.
+ * The transport side uses {@link #createTransportApiRequestTemplate()} instead of the broker-based template,
+ * and the core serves the shared memory requests in addition to the ones from the broker.
+ */
+@Component
+@ConditionalOnExpression("'${queue.shm.enabled:false}'=='true'")
+public class ShmTransportApiQueueFactory {
+
+    private final ShmQueueStorage storage;
+    private final TbQueueShmSettings shmSettings;
+    private final TbQueueTransportApiSettings transportApiSettings;
+    private final TbServiceInfoProvider serviceInfoProvider;
+    private final TopicService topicService;
+    private final ShmTbQueueAdmin admin;
+
+    public ShmTransportApiQueueFactory(ShmQueueStorage storage,
+                                       TbQueueShmSettings shmSettings,
+                                       TbQueueTransportApiSettings transportApiSettings,
+                                       TbServiceInfoProvider serviceInfoProvider,
+                                       TopicService topicService) {
+        this.storage = storage;
+        this.shmSettings = shmSettings;
+        this.transportApiSettings = transportApiSettings;
+        this.serviceInfoProvider = serviceInfoProvider;
+        this.topicService = topicService;
+        this.admin = new ShmTbQueueAdmin(storage);
+    }
+
+    public TbQueueRequestTemplate<TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> createTransportApiRequestTemplate() {
+        ShmTbQueueProducer<TbProtoQueueMsg<TransportApiRequestMsg>> producerTemplate =
+                new ShmTbQueueProducer<>(storage, topicService.buildTopicName(transportApiSettings.getRequestsTopic()), serviceInfoProvider.getServiceId());
+
+        ShmTbQueueConsumer<TbProtoQueueMsg<TransportApiResponseMsg>> consumerTemplate =
+                new ShmTbQueueConsumer<>(storage, topicService.buildTopicName(transportApiSettings.getResponsesTopic() + "." + serviceInfoProvider.getServiceId()),
+                        msg -> new TbProtoQueueMsg<>(msg.getKey(), TransportApiResponseMsg.parseFrom(msg.getData()), msg.getHeaders()),
+                        shmSettings.getMaxPollRecords(), shmSettings.getIdleParkNanos());
+
+        DefaultTbQueueRequestTemplate.DefaultTbQueueRequestTemplateBuilder
+                <TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> templateBuilder = DefaultTbQueueRequestTemplate.builder();
+        templateBuilder.queueAdmin(admin);
+        templateBuilder.requestTemplate(producerTemplate);
+        templateBuilder.responseTemplate(consumerTemplate);
+        templateBuilder.maxPendingRequests(transportApiSettings.getMaxPendingRequests());
+        templateBuilder.maxRequestTimeout(transportApiSettings.getMaxRequestsTimeout());
+        templateBuilder.pollInterval(transportApiSettings.getResponsePollInterval());
+        return templateBuilder.build();
+    }
+
+    public TbQueueConsumer<TbProtoQueueMsg<TransportApiRequestMsg>> createTransportApiRequestConsumer() {
+        return new ShmTbQueueConsumer<>(storage, topicService.buildTopicName(transportApiSettings.getRequestsTopic()),
+                msg -> new TbProtoQueueMsg<>(msg.getKey(), TransportApiRequestMsg.parseFrom(msg.getData()), msg.getHeaders()),
+                shmSettings.getMaxPollRecords(), shmSettings.getIdleParkNanos());
+    }
+
+    public TbQueueProducer<TbProtoQueueMsg<TransportApiResponseMsg>> createTransportApiResponseProducer() {
+        return new ShmTbQueueProducer<>(storage, topicService.buildTopicName(transportApiSettings.getResponsesTopic()), serviceInfoProvider.getServiceId());
+    }
+
+}
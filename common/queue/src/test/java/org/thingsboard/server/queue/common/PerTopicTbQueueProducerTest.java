@@ -0,0 +1,79 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.common;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
+import org.thingsboard.server.queue.TbQueueCallback;
+import org.thingsboard.server.queue.TbQueueProducer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PerTopicTbQueueProducerTest {
+
+    private final Map<String, TbQueueProducer<TbProtoQueueMsg<ToRuleEngineMsg>>> created = new HashMap<>();
+
+    private final PerTopicTbQueueProducer<TbProtoQueueMsg<ToRuleEngineMsg>> producer = new PerTopicTbQueueProducer<>("tb_rule_engine", topic -> {
+        @SuppressWarnings("unchecked")
+        TbQueueProducer<TbProtoQueueMsg<ToRuleEngineMsg>> topicProducer = mock(TbQueueProducer.class);
+        created.put(topic, topicProducer);
+        return topicProducer;
+    });
+
+    @Test
+    void givenMessagesToDifferentQueues_whenSend_thenEachQueueTopicHasOwnProducer() {
+        TopicPartitionInfo mainTpi = new TopicPartitionInfo("tb_rule_engine.main", null, 0, false);
+        TopicPartitionInfo otherMainTpi = new TopicPartitionInfo("tb_rule_engine.main", null, 5, false);
+        TopicPartitionInfo hpTpi = new TopicPartitionInfo("tb_rule_engine.hp", null, 0, false);
+        TbProtoQueueMsg<ToRuleEngineMsg> msg = new TbProtoQueueMsg<>(UUID.randomUUID(), ToRuleEngineMsg.getDefaultInstance());
+
+        producer.send(mainTpi, msg, null);
+        producer.send(otherMainTpi, msg, null);
+        producer.send(hpTpi, msg, null);
+
+        assertThat(producer.getDefaultTopic()).isEqualTo("tb_rule_engine");
+        assertThat(created).containsOnlyKeys("tb_rule_engine.main", "tb_rule_engine.hp");
+        verify(created.get("tb_rule_engine.main")).send(mainTpi, msg, null);
+        verify(created.get("tb_rule_engine.main")).send(otherMainTpi, msg, null);
+        verify(created.get("tb_rule_engine.hp")).send(hpTpi, msg, null);
+    }
+
+    @Test
+    void givenStoppedProducer_whenSend_thenAllProducersAreStoppedAndSendFails() {
+        TopicPartitionInfo mainTpi = new TopicPartitionInfo("tb_rule_engine.main", null, 0, false);
+        TbProtoQueueMsg<ToRuleEngineMsg> msg = new TbProtoQueueMsg<>(UUID.randomUUID(), ToRuleEngineMsg.getDefaultInstance());
+        producer.send(mainTpi, msg, null);
+
+        producer.stop();
+        TbQueueCallback callback = mock(TbQueueCallback.class);
+        producer.send(new TopicPartitionInfo("tb_rule_engine.hp", null, 0, false), msg, callback);
+
+        verify(created.get("tb_rule_engine.main")).stop();
+        assertThat(created).containsOnlyKeys("tb_rule_engine.main");
+        verify(callback).onFailure(any(IllegalStateException.class));
+        verify(callback, never()).onSuccess(any());
+    }
+
+}
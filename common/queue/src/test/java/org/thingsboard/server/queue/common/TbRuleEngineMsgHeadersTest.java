@@ -0,0 +1,65 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.common;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.msg.gen.MsgProtos;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TbRuleEngineMsgHeadersTest {
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final DeviceId deviceId = new DeviceId(UUID.randomUUID());
+
+    @Test
+    void givenMsgWithHeaders_whenGetRoutingFields_thenReadFromHeaders() {
+        ToRuleEngineMsg msg = toRuleEngineMsg();
+        TbProtoQueueMsg<ToRuleEngineMsg> queueMsg = TbRuleEngineMsgHeaders.toQueueMsg(UUID.randomUUID(), msg);
+
+        // payload with the same routing fields cleared proves that the values come from the headers
+        TbProtoQueueMsg<ToRuleEngineMsg> headersOnly = new TbProtoQueueMsg<>(queueMsg.getKey(), ToRuleEngineMsg.getDefaultInstance(), queueMsg.getHeaders());
+
+        assertThat(TbRuleEngineMsgHeaders.getTenantId(headersOnly)).isEqualTo(tenantId);
+        assertThat(TbRuleEngineMsgHeaders.getOriginator(headersOnly)).isEqualTo(deviceId);
+    }
+
+    @Test
+    void givenMsgWithoutHeaders_whenGetRoutingFields_thenReadFromPayload() {
+        TbProtoQueueMsg<ToRuleEngineMsg> queueMsg = new TbProtoQueueMsg<>(UUID.randomUUID(), toRuleEngineMsg());
+
+        assertThat(TbRuleEngineMsgHeaders.getTenantId(queueMsg)).isEqualTo(tenantId);
+        assertThat(TbRuleEngineMsgHeaders.getOriginator(queueMsg)).isEqualTo(deviceId);
+    }
+
+    private ToRuleEngineMsg toRuleEngineMsg() {
+        return ToRuleEngineMsg.newBuilder()
+                .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
+                .setTenantIdLSB(tenantId.getId().getLeastSignificantBits())
+                .setTbMsgProto(MsgProtos.TbMsgProto.newBuilder()
+                        .setType("POST_TELEMETRY_REQUEST")
+                        .setEntityType(deviceId.getEntityType().name())
+                        .setEntityIdMSB(deviceId.getId().getMostSignificantBits())
+                        .setEntityIdLSB(deviceId.getId().getLeastSignificantBits()))
+                .build();
+    }
+
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TbKafkaProducerStatsTest {
+
+    @Test
+    void givenRecordsForTopics_whenGetAndReset_thenStatsPerTopicAndCountersReset() {
+        TbKafkaProducerStats stats = new TbKafkaProducerStats();
+        stats.record("tb_rule_engine.main", 100);
+        stats.record("tb_rule_engine.main", 300);
+        stats.record("tb_core", 50);
+
+        assertThat(stats.getAndReset()).containsExactlyInAnyOrder(
+                new TbKafkaProducerStats.TopicStats("tb_rule_engine.main", 2, 200, 300),
+                new TbKafkaProducerStats.TopicStats("tb_core", 1, 50, 50));
+
+        stats.record("tb_core", 10);
+        assertThat(stats.getAndReset()).containsExactly(new TbKafkaProducerStats.TopicStats("tb_core", 1, 10, 10));
+        assertThat(stats.getAndReset()).isEmpty();
+    }
+
+}
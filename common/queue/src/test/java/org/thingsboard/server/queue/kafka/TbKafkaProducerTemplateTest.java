@@ -24,8 +24,15 @@ import org.thingsboard.server.queue.TbQueueMsg;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.willCallRealMethod;
 import static org.mockito.BDDMockito.willReturn;
@@ -51,4 +58,31 @@ class TbKafkaProducerTemplateTest {
         headers.forEach(r -> log.info("RecordHeader key [{}] value [{}]", r.key(), new String(r.value(), StandardCharsets.UTF_8)));
     }
 
+    @Test
+    void givenFullEncoderQueue_whenExecute_thenCallerWaitsUntilQueueHasSpace() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(1), TbKafkaProducerTemplate::waitForEncoder);
+        try {
+            CountDownLatch encoderBlocked = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    encoderBlocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute(() -> {});
+
+            CompletableFuture<Void> blockedSend = CompletableFuture.runAsync(() -> executor.execute(() -> {}));
+            Thread.sleep(100);
+            assertThat(blockedSend).isNotDone();
+
+            encoderBlocked.countDown();
+            blockedSend.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(RejectedExecutionException.class);
+    }
+
 }
@@ -48,7 +48,12 @@ class TbKafkaSettingsTest {
                     "tb_core_updated:enable.auto.commit=true;" +
                     "tb_core_updated:bootstrap.servers=kafka1:9092,kafka2:9092;" +
                     "tb_edge_updated:max.poll.records=5;" +
-                    "tb_edge_updated:auto.offset.reset=latest"
+                    "tb_edge_updated:auto.offset.reset=latest",
+            "queue.kafka.producer-properties-per-topic-inline=" +
+                    "tb_rule_engine:linger.ms=20;" +
+                    "tb_rule_engine:batch.size=262144;" +
+                    "tb_rule_engine:compression.type=lz4",
+            "queue.kafka.producer-async-encoding-topics=tb_rule_engine, tb_core"
     })
     class InlinePropertiesAndSsl {
 
@@ -107,6 +112,26 @@ class TbKafkaSettingsTest {
             assertThat(edgeProps.getProperty("auto.offset.reset")).isEqualTo("latest");
         }
 
+        @Test
+        void givenProducerPropertiesPerTopic_whenToProducerProps_thenOverridesAppliedByTopicPrefix() {
+            Properties ruleEngineProps = settings.toProducerProps("tb_rule_engine.main");
+            assertThat(ruleEngineProps.get("linger.ms")).isEqualTo("20");
+            assertThat(ruleEngineProps.get("batch.size")).isEqualTo("262144");
+            assertThat(ruleEngineProps.get("compression.type")).isEqualTo("lz4");
+
+            Properties coreProps = settings.toProducerProps("tb_core");
+            assertThat(coreProps.get("linger.ms")).isEqualTo(1L);
+            assertThat(coreProps.get("compression.type")).isEqualTo("none");
+        }
+
+        @Test
+        void givenAsyncEncodingTopics_whenIsProducerAsyncEncoding_thenMatchedByTopicPrefix() {
+            assertThat(settings.isProducerAsyncEncoding("tb_rule_engine.main")).isTrue();
+            assertThat(settings.isProducerAsyncEncoding("tb_core.notifications.tb-core-0")).isTrue();
+            assertThat(settings.isProducerAsyncEncoding("tb_transport.notifications")).isFalse();
+            assertThat(settings.isProducerAsyncEncoding(null)).isFalse();
+        }
+
     }
 
     @Nested
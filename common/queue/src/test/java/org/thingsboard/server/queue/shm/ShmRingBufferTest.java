@@ -0,0 +1,228 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.shm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.queue.TbQueueMsg;
+import org.thingsboard.server.queue.TbQueueMsgHeaders;
+import org.thingsboard.server.queue.common.DefaultTbQueueMsgHeaders;
+import org.thingsboard.server.queue.settings.TbQueueShmSettings;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShmRingBufferTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<ShmRingBuffer> ringBuffers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (ShmRingBuffer ringBuffer : ringBuffers) {
+            ringBuffer.close();
+        }
+    }
+
+    @Test
+    void givenRecords_whenPoll_thenReturnedInOrder() throws Exception {
+        ShmRingBuffer ringBuffer = open(dir.resolve("topic/producer.ring"), 1024);
+        for (int i = 0; i < 10; i++) {
+            assertThat(ringBuffer.offer(("msg" + i).getBytes(StandardCharsets.UTF_8))).isTrue();
+        }
+
+        List<String> polled = new ArrayList<>();
+        assertThat(ringBuffer.poll(4, record -> polled.add(new String(record, StandardCharsets.UTF_8)))).isEqualTo(4);
+        assertThat(ringBuffer.poll(100, record -> polled.add(new String(record, StandardCharsets.UTF_8)))).isEqualTo(6);
+        assertThat(polled).containsExactly("msg0", "msg1", "msg2", "msg3", "msg4", "msg5", "msg6", "msg7", "msg8", "msg9");
+        assertThat(ringBuffer.getLag()).isZero();
+    }
+
+    @Test
+    void givenFullBuffer_whenOffer_thenRejectedUntilConsumed() throws Exception {
+        ShmRingBuffer ringBuffer = open(dir.resolve("topic/producer.ring"), 64);
+        byte[] record = new byte[12]; // 16 bytes with the length prefix
+        for (int i = 0; i < 4; i++) {
+            assertThat(ringBuffer.offer(record)).isTrue();
+        }
+        assertThat(ringBuffer.offer(record)).isFalse();
+
+        assertThat(ringBuffer.poll(1, r -> {})).isEqualTo(1);
+        assertThat(ringBuffer.offer(record)).isTrue();
+        assertThatThrownBy(() -> ringBuffer.offer(new byte[64])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenRecordNotFittingBeforeEnd_whenOffer_thenWrappedAround() throws Exception {
+        ShmRingBuffer ringBuffer = open(dir.resolve("topic/producer.ring"), 64);
+        List<byte[]> polled = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            byte[] record = new byte[1 + i % 20];
+            record[0] = (byte) i;
+            assertThat(ringBuffer.offer(record)).isTrue();
+            assertThat(ringBuffer.poll(10, polled::add)).isEqualTo(1);
+            assertThat(polled.get(i)).isEqualTo(record);
+        }
+    }
+
+    @Test
+    void givenReopenedFile_whenPoll_thenContinueFromStoredPositions() throws Exception {
+        Path file = dir.resolve("topic/producer.ring");
+        ShmRingBuffer producer = open(file, 1024);
+        producer.offer(new byte[]{1});
+        producer.offer(new byte[]{2});
+        producer.poll(1, r -> {});
+        producer.close();
+
+        ShmRingBuffer consumer = open(file, 4096);
+        assertThat(consumer.getCapacity()).isEqualTo(1024);
+        List<byte[]> polled = new ArrayList<>();
+        consumer.poll(10, polled::add);
+        assertThat(polled).containsExactly(new byte[]{2});
+    }
+
+    @Test
+    void givenQueueMsg_whenSendAndPoll_thenKeyHeadersAndDataPreserved() {
+        TbQueueShmSettings settings = new TbQueueShmSettings();
+        settings.setDirectory(dir.toString());
+        settings.setRingBufferSize(1 << 16);
+        ShmQueueStorage storage = new ShmQueueStorage(settings);
+        try {
+            ShmTbQueueConsumer<TbQueueMsg> consumer = new ShmTbQueueConsumer<>(storage, "tb_transport.api.requests", msg -> msg, 100, 1000);
+            consumer.subscribe();
+            ShmTbQueueProducer<TbQueueMsg> producer = new ShmTbQueueProducer<>(storage, "tb_transport.api.requests", "tb-mqtt-transport-0");
+
+            TbQueueMsgHeaders headers = new DefaultTbQueueMsgHeaders();
+            headers.put("requestId", new byte[]{1, 2, 3});
+            headers.put("responseTopic", "tb_transport.api.responses.tb-mqtt-transport-0".getBytes(StandardCharsets.UTF_8));
+            TbQueueMsg msg = new TestQueueMsg(UUID.randomUUID(), headers, new byte[]{42});
+            producer.send(TopicPartitionInfo.builder().topic("tb_transport.api.requests").build(), msg, null);
+
+            List<TbQueueMsg> polled = consumer.poll(100);
+            assertThat(polled).hasSize(1);
+            TbQueueMsg result = polled.get(0);
+            assertThat(result.getKey()).isEqualTo(msg.getKey());
+            assertThat(result.getData()).isEqualTo(new byte[]{42});
+            assertThat(result.getHeaders().getData()).containsOnlyKeys("requestId", "responseTopic");
+            assertThat(result.getHeaders().get("requestId")).isEqualTo(new byte[]{1, 2, 3});
+            assertThat(consumer.poll(1)).isEmpty();
+        } finally {
+            storage.destroy();
+        }
+    }
+
+    @Test
+    void givenStoppedProducer_whenAllRecordsConsumed_thenFileDeleted() throws Exception {
+        Path file = dir.resolve("topic/producer.ring");
+        ShmRingBuffer producer = ShmRingBuffer.open(file, 1024, true);
+        ringBuffers.add(producer);
+        ShmRingBuffer consumer = open(file, 1024);
+        producer.offer(new byte[]{1});
+
+        assertThat(consumer.deleteIfAbandoned()).isFalse();
+        consumer.poll(10, r -> {});
+        assertThat(consumer.deleteIfAbandoned()).isFalse();
+        assertThat(producer.deleteIfAbandoned()).isFalse();
+
+        producer.offer(new byte[]{2});
+        producer.close();
+        assertThat(consumer.deleteIfAbandoned()).isFalse();
+        consumer.poll(10, r -> {});
+        assertThat(consumer.deleteIfAbandoned()).isTrue();
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void givenRunningProducer_whenOpenedByAnotherProducer_thenRejected() throws Exception {
+        Path file = dir.resolve("topic/producer.ring");
+        ringBuffers.add(ShmRingBuffer.open(file, 1024, true));
+
+        assertThatThrownBy(() -> ShmRingBuffer.open(file, 1024, true)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void givenTwoConsumersOnHost_whenPoll_thenOnlyLockHolderConsumesUntilItStops() {
+        ShmQueueStorage firstStorage = createStorage();
+        ShmQueueStorage secondStorage = createStorage();
+        ShmQueueStorage producerStorage = createStorage();
+        try {
+            String topic = "tb_transport.api.requests";
+            ShmTbQueueConsumer<TbQueueMsg> firstConsumer = new ShmTbQueueConsumer<>(firstStorage, topic, msg -> msg, 100, 1000);
+            ShmTbQueueConsumer<TbQueueMsg> secondConsumer = new ShmTbQueueConsumer<>(secondStorage, topic, msg -> msg, 100, 1000);
+            firstConsumer.subscribe();
+            assertThat(firstConsumer.poll(1)).isEmpty();
+            secondConsumer.subscribe();
+
+            ShmTbQueueProducer<TbQueueMsg> producer = new ShmTbQueueProducer<>(producerStorage, topic, "tb-mqtt-transport-0");
+            TopicPartitionInfo tpi = TopicPartitionInfo.builder().topic(topic).build();
+            producer.send(tpi, new TestQueueMsg(UUID.randomUUID(), new DefaultTbQueueMsgHeaders(), new byte[]{1}), null);
+
+            assertThat(secondConsumer.poll(300)).isEmpty();
+            assertThat(firstConsumer.poll(300)).extracting(TbQueueMsg::getData).containsExactly(new byte[]{1});
+
+            firstConsumer.unsubscribe();
+            producer.send(tpi, new TestQueueMsg(UUID.randomUUID(), new DefaultTbQueueMsgHeaders(), new byte[]{2}), null);
+            assertThat(secondConsumer.poll(300)).extracting(TbQueueMsg::getData).containsExactly(new byte[]{2});
+        } finally {
+            firstStorage.destroy();
+            secondStorage.destroy();
+            producerStorage.destroy();
+        }
+    }
+
+    private ShmQueueStorage createStorage() {
+        TbQueueShmSettings settings = new TbQueueShmSettings();
+        settings.setDirectory(dir.toString());
+        settings.setRingBufferSize(1 << 16);
+        return new ShmQueueStorage(settings);
+    }
+
+    private ShmRingBuffer open(Path file, int capacity) throws Exception {
+        ShmRingBuffer ringBuffer = ShmRingBuffer.open(file, capacity);
+        ringBuffers.add(ringBuffer);
+        return ringBuffer;
+    }
+
+    private record TestQueueMsg(UUID key, TbQueueMsgHeaders headers, byte[] data) implements TbQueueMsg {
+
+        @Override
+        public UUID getKey() {
+            return key;
+        }
+
+        @Override
+        public TbQueueMsgHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public byte[] getData() {
+            return data;
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.shm;
+
+import com.google.common.util.concurrent.Futures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thingsboard.server.common.stats.MessagesStats;
+import org.thingsboard.server.gen.transport.TransportProtos.TransportApiRequestMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.TransportApiResponseMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.ValidateDeviceCredentialsResponseMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.ValidateDeviceTokenRequestMsg;
+import org.thingsboard.server.queue.TbQueueRequestTemplate;
+import org.thingsboard.server.queue.TbQueueResponseTemplate;
+import org.thingsboard.server.queue.common.DefaultTbQueueResponseTemplate;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.queue.discovery.TbServiceInfoProvider;
+import org.thingsboard.server.queue.discovery.TopicService;
+import org.thingsboard.server.queue.settings.TbQueueShmSettings;
+import org.thingsboard.server.queue.settings.TbQueueTransportApiSettings;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ShmTransportApiQueueFactoryTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<ShmQueueStorage> storages = new ArrayList<>();
+    private ExecutorService callbackExecutor;
+    private TbQueueResponseTemplate<TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> responseTemplate;
+    private TbQueueRequestTemplate<TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> requestTemplate;
+
+    @BeforeEach
+    void setUp() {
+        callbackExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (requestTemplate != null) {
+            requestTemplate.stop();
+        }
+        if (responseTemplate != null) {
+            responseTemplate.stop();
+        }
+        callbackExecutor.shutdownNow();
+        storages.forEach(ShmQueueStorage::destroy);
+    }
+
+    @Test
+    void givenTransportStartedAfterCore_whenSendRequest_thenResponseReceived() throws Exception {
+        ShmTransportApiQueueFactory coreFactory = createFactory("tb-core-0");
+        DefaultTbQueueResponseTemplate.DefaultTbQueueResponseTemplateBuilder
+                <TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> builder = DefaultTbQueueResponseTemplate.builder();
+        builder.requestTemplate(coreFactory.createTransportApiRequestConsumer());
+        builder.responseTemplate(coreFactory.createTransportApiResponseProducer());
+        builder.maxPendingRequests(100);
+        builder.requestTimeout(10000);
+        builder.pollInterval(25);
+        builder.executor(callbackExecutor);
+        builder.stats(mock(MessagesStats.class));
+        responseTemplate = builder.build();
+        responseTemplate.subscribe();
+        responseTemplate.launch(request -> Futures.immediateFuture(new TbProtoQueueMsg<>(request.getKey(), TransportApiResponseMsg.newBuilder()
+                .setValidateCredResponseMsg(ValidateDeviceCredentialsResponseMsg.newBuilder()
+                        .setCredentialsBody(request.getValue().getValidateTokenRequestMsg().getToken()))
+                .build())));
+
+        // the ring buffers of the transport are created after the core has subscribed and have to be discovered by its consumer
+        requestTemplate = createFactory("tb-mqtt-transport-0").createTransportApiRequestTemplate();
+        requestTemplate.init();
+
+        for (int i = 0; i < 3; i++) {
+            TransportApiRequestMsg request = TransportApiRequestMsg.newBuilder()
+                    .setValidateTokenRequestMsg(ValidateDeviceTokenRequestMsg.newBuilder().setToken("token" + i))
+                    .build();
+            TbProtoQueueMsg<TransportApiResponseMsg> response = requestTemplate.send(new TbProtoQueueMsg<>(UUID.randomUUID(), request)).get(5, TimeUnit.SECONDS);
+            assertThat(response.getValue().getValidateCredResponseMsg().getCredentialsBody()).isEqualTo("token" + i);
+        }
+    }
+
+    private ShmTransportApiQueueFactory createFactory(String serviceId) {
+        TbQueueShmSettings shmSettings = new TbQueueShmSettings();
+        shmSettings.setDirectory(dir.toString());
+        shmSettings.setRingBufferSize(1 << 16);
+        shmSettings.setMaxPollRecords(100);
+        shmSettings.setIdleParkNanos(50000);
+        TbQueueTransportApiSettings transportApiSettings = new TbQueueTransportApiSettings();
+        transportApiSettings.setRequestsTopic("tb_transport.api.requests");
+        transportApiSettings.setResponsesTopic("tb_transport.api.responses");
+        transportApiSettings.setMaxPendingRequests(100);
+        transportApiSettings.setMaxRequestsTimeout(10000);
+        transportApiSettings.setResponsePollInterval(25);
+        TbServiceInfoProvider serviceInfoProvider = mock(TbServiceInfoProvider.class);
+        given(serviceInfoProvider.getServiceId()).willReturn(serviceId);
+        TopicService topicService = mock(TopicService.class);
+        given(topicService.buildTopicName(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+
+        ShmQueueStorage storage = new ShmQueueStorage(shmSettings);
+        storages.add(storage);
+        return new ShmTransportApiQueueFactory(storage, shmSettings, transportApiSettings, serviceInfoProvider, topicService);
+    }
+
+}
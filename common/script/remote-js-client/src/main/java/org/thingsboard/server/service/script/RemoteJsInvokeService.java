@@ -15,9 +15,11 @@
  */
 package org.thingsboard.server.service.script;
 
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.Getter;
@@ -28,6 +30,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
+import org.thingsboard.common.util.ThingsBoardExecutors;
 import org.thingsboard.common.util.ThingsBoardThreadFactory;
 import org.thingsboard.script.api.TbScriptException;
 import org.thingsboard.script.api.js.AbstractJsInvokeService;
@@ -39,6 +42,9 @@ import org.thingsboard.server.queue.TbQueueRequestTemplate;
 import org.thingsboard.server.queue.common.TbProtoJsQueueMsg;
 import org.thingsboard.server.queue.common.TbProtoQueueMsg;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -46,6 +52,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
@@ -79,6 +86,12 @@ public class RemoteJsInvokeService extends AbstractJsInvokeService {
     @Value("${js.remote.stats.enabled:false}")
     private boolean statsEnabled;
 
+    @Value("${js.remote.batch.max_size:0}")
+    private int batchMaxSize;
+
+    @Value("${js.remote.batch.linger_ms:5}")
+    private long batchLingerMs;
+
     private final ExecutorService callbackExecutor = Executors.newFixedThreadPool(
             Runtime.getRuntime().availableProcessors(), ThingsBoardThreadFactory.forName("js-executor-remote-callback"));
 
@@ -107,11 +120,18 @@ public class RemoteJsInvokeService extends AbstractJsInvokeService {
     protected final Map<String, String> scriptHashToBodysMap = new ConcurrentHashMap<>();
     private final Lock scriptsLock = new ReentrantLock();
 
+    private final Map<String, List<JsInvocation>> pendingInvocations = new HashMap<>();
+    private final Lock pendingInvocationsLock = new ReentrantLock();
+    private ScheduledExecutorService batchScheduler;
+
     @PostConstruct
     @Override
     public void init() {
         super.init();
         requestTemplate.init();
+        if (batchMaxSize > 1) {
+            batchScheduler = ThingsBoardExecutors.newSingleThreadScheduledExecutor("js-remote-batch");
+        }
     }
 
     @PreDestroy
@@ -121,6 +141,9 @@ public class RemoteJsInvokeService extends AbstractJsInvokeService {
         if (requestTemplate != null) {
             requestTemplate.stop();
         }
+        if (batchScheduler != null) {
+            batchScheduler.shutdownNow();
+        }
         callbackExecutor.shutdownNow();
     }
 
@@ -163,7 +186,13 @@ public class RemoteJsInvokeService extends AbstractJsInvokeService {
         if (scriptBody == null) {
             return Futures.immediateFailedFuture(new RuntimeException("No script body found for script hash [" + scriptHash + "] (script id: [" + scriptId + "])"));
         }
+        if (batchScheduler != null) {
+            return addToBatch(scriptId, jsInfo, args);
+        }
+        return sendInvokeRequest(scriptId, jsInfo, scriptBody, args);
+    }
 
+    private ListenableFuture<Object> sendInvokeRequest(UUID scriptId, JsScriptInfo jsInfo, String scriptBody, Object[] args) {
         JsInvokeProtos.RemoteJsRequest jsRequestWrapper = buildJsInvokeRequest(jsInfo, args, false, null);
 
         StopWatch stopWatch;
@@ -209,16 +238,138 @@ public class RemoteJsInvokeService extends AbstractJsInvokeService {
         return jsRequestWrapper;
     }
 
+    /*
+     * Invocations of the same script are packed into one batch request, which is sent when it reaches
+     * the max size or when the linger time of its first invocation is over. The results are returned in the
+     * order of the invocations and are used to complete the futures of the corresponding invocations.
+     */
+    private ListenableFuture<Object> addToBatch(UUID scriptId, JsScriptInfo jsInfo, Object[] args) {
+        JsInvocation invocation = new JsInvocation(scriptId, args, SettableFuture.create());
+        String scriptHash = jsInfo.getHash();
+        List<JsInvocation> fullBatch = null;
+        boolean newBatch = false;
+        pendingInvocationsLock.lock();
+        try {
+            List<JsInvocation> batch = pendingInvocations.get(scriptHash);
+            if (batch == null) {
+                batch = new ArrayList<>(batchMaxSize);
+                pendingInvocations.put(scriptHash, batch);
+                newBatch = true;
+            }
+            batch.add(invocation);
+            if (batch.size() >= batchMaxSize) {
+                fullBatch = pendingInvocations.remove(scriptHash);
+            }
+        } finally {
+            pendingInvocationsLock.unlock();
+        }
+        if (fullBatch != null) {
+            sendBatch(UUID.randomUUID(), jsInfo, fullBatch, false);
+        } else if (newBatch) {
+            batchScheduler.schedule(() -> flushBatch(jsInfo), batchLingerMs, TimeUnit.MILLISECONDS);
+        }
+        return invocation.result();
+    }
+
+    private void flushBatch(JsScriptInfo jsInfo) {
+        List<JsInvocation> batch;
+        pendingInvocationsLock.lock();
+        try {
+            batch = pendingInvocations.remove(jsInfo.getHash());
+        } finally {
+            pendingInvocationsLock.unlock();
+        }
+        if (batch != null) {
+            sendBatch(UUID.randomUUID(), jsInfo, batch, false);
+        }
+    }
+
+    private void sendBatch(UUID requestKey, JsScriptInfo jsInfo, List<JsInvocation> invocations, boolean includeScriptBody) {
+        String scriptBody = scriptHashToBodysMap.get(jsInfo.getHash());
+        if (invocations.size() == 1 && !includeScriptBody) {
+            JsInvocation invocation = invocations.get(0);
+            invocation.result().setFuture(sendInvokeRequest(invocation.scriptId(), jsInfo, scriptBody, invocation.args()));
+            return;
+        }
+        if (includeScriptBody && scriptBody == null) {
+            RuntimeException e = new RuntimeException("No script body found for script hash [" + jsInfo.getHash() + "]");
+            invocations.forEach(invocation -> invocation.result().setException(e));
+            return;
+        }
+
+        JsInvokeProtos.JsInvokeBatchRequest.Builder batchRequestBuilder = JsInvokeProtos.JsInvokeBatchRequest.newBuilder()
+                .setScriptHash(jsInfo.getHash())
+                .setFunctionName(jsInfo.getFunctionName())
+                .setTimeout((int) maxExecRequestsTimeout)
+                .setBatchTimeout((int) getBatchTimeout());
+        if (includeScriptBody) {
+            batchRequestBuilder.setScriptBody(scriptBody);
+        }
+        for (JsInvocation invocation : invocations) {
+            JsInvokeProtos.JsInvokeBatchItem.Builder itemBuilder = JsInvokeProtos.JsInvokeBatchItem.newBuilder();
+            for (Object arg : invocation.args()) {
+                itemBuilder.addArgs(arg.toString());
+            }
+            batchRequestBuilder.addInvocations(itemBuilder);
+        }
+        JsInvokeProtos.RemoteJsRequest jsRequestWrapper = JsInvokeProtos.RemoteJsRequest.newBuilder()
+                .setInvokeBatchRequest(batchRequestBuilder)
+                .build();
+
+        log.trace("Post invoke batch request of {} invocations for script hash [{}]", invocations.size(), jsInfo.getHash());
+        ListenableFuture<TbProtoQueueMsg<JsInvokeProtos.RemoteJsResponse>> future = requestTemplate.send(new TbProtoJsQueueMsg<>(requestKey, jsRequestWrapper));
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(TbProtoQueueMsg<JsInvokeProtos.RemoteJsResponse> response) {
+                onBatchResponse(requestKey, jsInfo, invocations, includeScriptBody, scriptBody, response.getValue().getInvokeBatchResponse());
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                invocations.forEach(invocation -> invocation.result().setException(t));
+            }
+        }, callbackExecutor);
+    }
+
+    /*
+     * The JS executor runs the invocations of a batch one after another, so their total execution time is capped
+     * to leave at least max_exec_requests_timeout of the request timeout for delivering the request and the response
+     * */
+    long getBatchTimeout() {
+        return Math.max(maxInvokeRequestsTimeout - maxExecRequestsTimeout, maxExecRequestsTimeout);
+    }
+
+    private void onBatchResponse(UUID requestKey, JsScriptInfo jsInfo, List<JsInvocation> invocations, boolean includedScriptBody,
+                                 String scriptBody, JsInvokeProtos.JsInvokeBatchResponse batchResponse) {
+        if (batchResponse.getResultsCount() != invocations.size()) {
+            RuntimeException e = new RuntimeException("Expected " + invocations.size() + " results in the invoke batch response but got " + batchResponse.getResultsCount());
+            invocations.forEach(invocation -> invocation.result().setException(e));
+            return;
+        }
+        List<JsInvocation> notFound = new ArrayList<>();
+        for (int i = 0; i < invocations.size(); i++) {
+            JsInvocation invocation = invocations.get(i);
+            JsInvokeProtos.JsInvokeResponse invokeResult = batchResponse.getResults(i);
+            if (invokeResult.getSuccess()) {
+                invocation.result().set(invokeResult.getResult());
+            } else if (!includedScriptBody && JsInvokeProtos.JsInvokeErrorCode.NOT_FOUND_ERROR.equals(invokeResult.getErrorCode())) {
+                notFound.add(invocation);
+            } else {
+                log.debug("[{}] Failed to invoke function due to [{}]: {}", invocation.scriptId(), invokeResult.getErrorCode().name(), invokeResult.getErrorDetails());
+                invocation.result().setException(toScriptException(invocation.scriptId(), invokeResult.getErrorCode(), invokeResult.getErrorDetails(), scriptBody));
+            }
+        }
+        if (!notFound.isEmpty()) {
+            log.debug("[{}] Remote JS executor couldn't find the script, sending invoke batch request again with script body", jsInfo.getHash());
+            sendBatch(requestKey, jsInfo, notFound, true);
+        }
+    }
+
     private ListenableFuture<Object> handleInvokeError(UUID requestKey, UUID scriptId, JsScriptInfo jsInfo,
                                                        JsInvokeProtos.JsInvokeErrorCode errorCode, String errorDetails,
                                                        String scriptBody, Object[] args) {
-        final RuntimeException e = new RuntimeException(errorDetails);
         log.debug("[{}] Failed to invoke function due to [{}]: {}", scriptId, errorCode.name(), errorDetails);
-        if (JsInvokeProtos.JsInvokeErrorCode.TIMEOUT_ERROR.equals(errorCode)) {
-            throw new TbScriptException(scriptId, TbScriptException.ErrorCode.TIMEOUT, scriptBody, new TimeoutException());
-        } else if (JsInvokeProtos.JsInvokeErrorCode.COMPILATION_ERROR.equals(errorCode)) {
-            throw new TbScriptException(scriptId, TbScriptException.ErrorCode.COMPILATION, scriptBody, e);
-        } else if (JsInvokeProtos.JsInvokeErrorCode.NOT_FOUND_ERROR.equals(errorCode)) {
+        if (JsInvokeProtos.JsInvokeErrorCode.NOT_FOUND_ERROR.equals(errorCode)) {
             log.debug("[{}] Remote JS executor couldn't find the script", scriptId);
             if (scriptBody != null) {
                 JsInvokeProtos.RemoteJsRequest invokeRequestWithScriptBody = buildJsInvokeRequest(jsInfo, args, true, scriptBody);
@@ -234,7 +385,16 @@ public class RemoteJsInvokeService extends AbstractJsInvokeService {
                 }, MoreExecutors.directExecutor());
             }
         }
-        throw new TbScriptException(scriptId, TbScriptException.ErrorCode.RUNTIME, scriptBody, e);
+        throw toScriptException(scriptId, errorCode, errorDetails, scriptBody);
+    }
+
+    private TbScriptException toScriptException(UUID scriptId, JsInvokeProtos.JsInvokeErrorCode errorCode, String errorDetails, String scriptBody) {
+        if (JsInvokeProtos.JsInvokeErrorCode.TIMEOUT_ERROR.equals(errorCode)) {
+            return new TbScriptException(scriptId, TbScriptException.ErrorCode.TIMEOUT, scriptBody, new TimeoutException());
+        } else if (JsInvokeProtos.JsInvokeErrorCode.COMPILATION_ERROR.equals(errorCode)) {
+            return new TbScriptException(scriptId, TbScriptException.ErrorCode.COMPILATION, scriptBody, new RuntimeException(errorDetails));
+        }
+        return new TbScriptException(scriptId, TbScriptException.ErrorCode.RUNTIME, scriptBody, new RuntimeException(errorDetails));
     }
 
     @Override
@@ -282,4 +442,7 @@ public class RemoteJsInvokeService extends AbstractJsInvokeService {
         return jsScriptInfo != null ? jsScriptInfo.getHash() : null;
     }
 
+    private record JsInvocation(UUID scriptId, Object[] args, SettableFuture<Object> result) {
+    }
+
 }
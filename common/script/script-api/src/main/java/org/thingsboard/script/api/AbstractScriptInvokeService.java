@@ -19,6 +19,7 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.thingsboard.common.util.JacksonUtil;
@@ -49,6 +50,7 @@ public abstract class AbstractScriptInvokeService implements ScriptInvokeService
     private static final String EVAL_RESPONSES = "eval_responses";
     private static final String FAILURES = "failures";
     private static final String TIMEOUTS = "timeouts";
+    private static final String INVOKE_LATENCY = "scriptInvokeLatency";
 
     protected final Map<UUID, BlockedScriptInfo> disabledScripts = new ConcurrentHashMap<>();
 
@@ -59,7 +61,10 @@ public abstract class AbstractScriptInvokeService implements ScriptInvokeService
     private StatsCounter timeoutsCounter;
 
     private FutureCallback<UUID> evalCallback;
-    private FutureCallback<Object> invokeCallback;
+    private ScriptStatCallback<Object> invokeCallback;
+    // invocations completed on the calling thread and the ones completed asynchronously
+    private Timer inlineInvokeLatencyTimer;
+    private Timer asyncInvokeLatencyTimer;
 
     @Autowired
     private StatsFactory statsFactory;
@@ -109,6 +114,8 @@ public abstract class AbstractScriptInvokeService implements ScriptInvokeService
         this.timeoutsCounter = statsFactory.createStatsCounter(key, TIMEOUTS);
         this.evalCallback = new ScriptStatCallback<>(evalResponsesCounter, timeoutsCounter, failuresCounter);
         this.invokeCallback = new ScriptStatCallback<>(invokeResponsesCounter, timeoutsCounter, failuresCounter);
+        this.inlineInvokeLatencyTimer = statsFactory.createTimer(INVOKE_LATENCY, "statsName", key, "mode", "inline");
+        this.asyncInvokeLatencyTimer = statsFactory.createTimer(INVOKE_LATENCY, "statsName", key, "mode", "async");
         if (getMaxEvalRequestsTimeout() > 0 || getMaxInvokeRequestsTimeout() > 0) {
             timeoutExecutorService = ThingsBoardExecutors.newSingleThreadScheduledExecutor("script-timeout");
         }
@@ -161,46 +168,56 @@ public abstract class AbstractScriptInvokeService implements ScriptInvokeService
 
     @Override
     public ListenableFuture<Object> invokeScript(TenantId tenantId, CustomerId customerId, UUID scriptId, Object... args) {
-        if (isExecEnabled(tenantId)) {
-            if (!isScriptPresent(scriptId)) {
-                return error("No compiled script found for scriptId: [" + scriptId + "]!");
-            }
-            if (!isDisabled(scriptId)) {
-                if (argsSizeExceeded(args)) {
-                    TbScriptException t = new TbScriptException(scriptId, TbScriptException.ErrorCode.OTHER, null, new IllegalArgumentException(
-                            format("Script input arguments exceed maximum allowed total args size of %s symbols", getMaxTotalArgsSize())
-                    ));
-                    return Futures.immediateFailedFuture(handleScriptException(scriptId, null, t));
-                }
-                reportExecution(tenantId, customerId);
-                requestsCounter.increment();
-                log.trace("[{}] InvokeScript uuid {} with timeout {}ms", tenantId, scriptId, getMaxInvokeRequestsTimeout());
-                var task = doInvokeFunction(scriptId, args);
-
-                var resultFuture = Futures.transform(task.getResultFuture(), output -> {
-                    String result = JacksonUtil.toString(output);
-                    if (resultSizeExceeded(result)) {
-                        throw new TbScriptException(scriptId, TbScriptException.ErrorCode.OTHER, null, new RuntimeException(
-                                format("Script invocation result exceeds maximum allowed size of %s symbols", getMaxResultSize())
-                        ));
-                    }
-                    return output;
-                }, MoreExecutors.directExecutor());
-
-                return withTimeoutAndStatsCallback(scriptId, task, resultFuture, invokeCallback, getMaxInvokeRequestsTimeout());
-            } else {
-                String message = "Script invocation is blocked due to maximum error count "
-                        + getMaxErrors() + ", scriptId " + scriptId + "!";
-                log.warn("[{}] " + message, tenantId);
-                return error(message);
-            }
-        } else {
+        ListenableFuture<Object> rejected = checkInvocation(tenantId, scriptId, args);
+        if (rejected != null) {
+            return rejected;
+        }
+        reportExecution(tenantId, customerId);
+        requestsCounter.increment();
+        log.trace("[{}] InvokeScript uuid {} with timeout {}ms", tenantId, scriptId, getMaxInvokeRequestsTimeout());
+        long startTs = System.nanoTime();
+        return toInvocationResult(scriptId, doInvokeFunction(scriptId, args), startTs);
+    }
+
+    private ListenableFuture<Object> checkInvocation(TenantId tenantId, UUID scriptId, Object[] args) {
+        if (!isExecEnabled(tenantId)) {
             return error("Script execution is disabled due to API limits!");
         }
+        if (!isScriptPresent(scriptId)) {
+            return error("No compiled script found for scriptId: [" + scriptId + "]!");
+        }
+        if (isDisabled(scriptId)) {
+            String message = "Script invocation is blocked due to maximum error count "
+                    + getMaxErrors() + ", scriptId " + scriptId + "!";
+            log.warn("[{}] " + message, tenantId);
+            return error(message);
+        }
+        if (argsSizeExceeded(args)) {
+            TbScriptException t = new TbScriptException(scriptId, TbScriptException.ErrorCode.OTHER, null, new IllegalArgumentException(
+                    format("Script input arguments exceed maximum allowed total args size of %s symbols", getMaxTotalArgsSize())
+            ));
+            return Futures.immediateFailedFuture(handleScriptException(scriptId, null, t));
+        }
+        return null;
+    }
+
+    private ListenableFuture<Object> toInvocationResult(UUID scriptId, TbScriptExecutionTask task, long startTs) {
+        Timer latencyTimer = task.getResultFuture().isDone() ? inlineInvokeLatencyTimer : asyncInvokeLatencyTimer;
+        var resultFuture = Futures.transform(task.getResultFuture(), output -> {
+            String result = JacksonUtil.toString(output);
+            if (resultSizeExceeded(result)) {
+                throw new TbScriptException(scriptId, TbScriptException.ErrorCode.OTHER, null, new RuntimeException(
+                        format("Script invocation result exceeds maximum allowed size of %s symbols", getMaxResultSize())
+                ));
+            }
+            return output;
+        }, MoreExecutors.directExecutor());
+
+        return withTimeoutAndStatsCallback(scriptId, task, resultFuture, invokeCallback.withLatency(latencyTimer, startTs), getMaxInvokeRequestsTimeout());
     }
 
     private <T extends V, V> ListenableFuture<T> withTimeoutAndStatsCallback(UUID scriptId, TbScriptExecutionTask task, ListenableFuture<T> future, FutureCallback<V> statsCallback, long timeout) {
-        if (timeout > 0) {
+        if (timeout > 0 && !future.isDone()) { // no need to schedule the timeout for the scripts executed inline
             future = Futures.withTimeout(future, timeout, TimeUnit.MILLISECONDS, timeoutExecutorService);
         }
         Futures.addCallback(future, statsCallback, getCallbackExecutor());
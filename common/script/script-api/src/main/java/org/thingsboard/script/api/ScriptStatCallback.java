@@ -16,24 +16,40 @@
 package org.thingsboard.script.api;
 
 import com.google.common.util.concurrent.FutureCallback;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.Nullable;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.thingsboard.server.common.stats.StatsCounter;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class ScriptStatCallback<T> implements FutureCallback<T> {
 
     private final StatsCounter successMsgs;
     private final StatsCounter timeoutMsgs;
     private final StatsCounter failedMsgs;
+    private final Timer latencyTimer;
+    private final long startTs;
+
+    public ScriptStatCallback(StatsCounter successMsgs, StatsCounter timeoutMsgs, StatsCounter failedMsgs) {
+        this(successMsgs, timeoutMsgs, failedMsgs, null, 0);
+    }
+
+    /**
+     * Creates the callback that also records the latency of the invocation started at {@code startTs} (in nanos).
+     */
+    public ScriptStatCallback<T> withLatency(Timer latencyTimer, long startTs) {
+        return new ScriptStatCallback<>(successMsgs, timeoutMsgs, failedMsgs, latencyTimer, startTs);
+    }
 
     @Override
     public void onSuccess(@Nullable T result) {
         successMsgs.increment();
+        recordLatency();
     }
 
     @Override
@@ -43,5 +59,13 @@ public class ScriptStatCallback<T> implements FutureCallback<T> {
         } else {
             failedMsgs.increment();
         }
+        recordLatency();
     }
+
+    private void recordLatency() {
+        if (latencyTimer != null) {
+            latencyTimer.record(System.nanoTime() - startTs, TimeUnit.NANOSECONDS);
+        }
+    }
+
 }
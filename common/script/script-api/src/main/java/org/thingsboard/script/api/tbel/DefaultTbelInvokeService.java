@@ -19,12 +19,14 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.mvel2.CompileException;
@@ -55,10 +57,13 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -110,8 +115,20 @@ public class DefaultTbelInvokeService extends AbstractScriptInvokeService implem
     @Value("${tbel.compiled_scripts_cache_size:1000}")
     private int compiledScriptsCacheSize;
 
+    @Value("${tbel.inline.enabled:false}")
+    private boolean inlineEnabled;
+
+    @Value("${tbel.inline.max_script_body_size:1000}")
+    private int inlineMaxScriptBodySize;
+
+    @Value("${tbel.inline.max_exec_time_ms:50}")
+    private long inlineMaxExecTimeMs;
+
     private ListeningExecutorService executor;
 
+    // in-flight inline executions, checked against their deadlines by a single watchdog task
+    private final Set<InlineExecution> inlineExecutions = ConcurrentHashMap.newKeySet();
+
     private final Lock lock = new ReentrantLock();
 
     protected DefaultTbelInvokeService(Optional<TbApiUsageStateClient> apiUsageStateClient, Optional<TbApiUsageReportClient> apiUsageReportClient) {
@@ -155,6 +172,11 @@ public class DefaultTbelInvokeService extends AbstractScriptInvokeService implem
         compiledScriptsCache = Caffeine.newBuilder()
                 .maximumSize(compiledScriptsCacheSize)
                 .build();
+        if (inlineEnabled && maxInvokeRequestsTimeout > 0) {
+            // the inline execution is stopped at most 10% of the timeout after its deadline
+            long watchdogInterval = Math.max(1, maxInvokeRequestsTimeout / 10);
+            timeoutExecutorService.scheduleWithFixedDelay(this::stopTimedOutInlineExecutions, watchdogInterval, watchdogInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     @PreDestroy
@@ -200,7 +222,11 @@ public class DefaultTbelInvokeService extends AbstractScriptInvokeService implem
                 lock.lock();
                 try {
                     scriptIdToHash.put(scriptId, scriptHash);
-                    scriptMap.computeIfAbsent(scriptHash, k -> new TbelScript(scriptBody, argNames));
+                    scriptMap.computeIfAbsent(scriptHash, k -> {
+                        TbelScript script = new TbelScript(scriptBody, argNames);
+                        script.setInline(inlineEnabled && TbelScriptBoundsChecker.isBounded(scriptBody, inlineMaxScriptBodySize));
+                        return script;
+                    });
                 } finally {
                     lock.unlock();
                 }
@@ -215,24 +241,89 @@ public class DefaultTbelInvokeService extends AbstractScriptInvokeService implem
 
     @Override
     protected TbelScriptExecutionTask doInvokeFunction(UUID scriptId, Object[] args) {
-        ExecutionContext executionContext = new ExecutionContext(this.parserConfig, maxMemoryLimitMb * 1024 * 1024);
+        String inlineScriptHash = scriptIdToHash.get(scriptId);
+        TbelScript inlineScript = inlineScriptHash != null ? scriptMap.get(inlineScriptHash) : null;
+        if (inlineScript != null && inlineScript.isInline()) {
+            return invokeInline(scriptId, inlineScriptHash, inlineScript, args);
+        }
+        ExecutionContext executionContext = newExecutionContext();
         return new TbelScriptExecutionTask(executionContext, executor.submit(() -> {
-            String scriptHash = scriptIdToHash.get(scriptId);
-            if (scriptHash == null) {
-                throw new TbScriptException(scriptId, TbScriptException.ErrorCode.OTHER, null, new RuntimeException("Script not found!"));
-            }
+            String scriptHash = getScriptHash(scriptId);
             TbelScript script = scriptMap.get(scriptHash);
             Serializable compiledScript = compiledScriptsCache.get(scriptHash, k -> compileScript(script.getScriptBody()));
-            try {
-                return MVEL.executeTbExpression(compiledScript, executionContext, script.createVars(args));
-            } catch (ScriptMemoryOverflowException e) {
-                throw new TbScriptException(scriptId, TbScriptException.ErrorCode.OTHER, script.getScriptBody(), new RuntimeException("Script memory overflow!"));
-            } catch (Exception e) {
-                throw new TbScriptException(scriptId, TbScriptException.ErrorCode.RUNTIME, script.getScriptBody(), e);
-            }
+            return executeScript(scriptId, script, compiledScript, executionContext, args);
         }));
     }
 
+    /*
+     * Bounded scripts are executed on the calling thread, without the hand-off to the executor:
+     * their execution time is limited by the script size, and the memory is still limited by the execution context.
+     * The regular timeout still applies: the execution context is stopped by the watchdog once it passes, so a script
+     * that hangs in a library call doesn't block the calling thread. A script that takes too long is moved back to the executor.
+     */
+    private TbelScriptExecutionTask invokeInline(UUID scriptId, String scriptHash, TbelScript script, Object[] args) {
+        ExecutionContext executionContext = newExecutionContext();
+        long startTs = System.nanoTime();
+        InlineExecution execution = null;
+        if (maxInvokeRequestsTimeout > 0) {
+            execution = new InlineExecution(executionContext, startTs + TimeUnit.MILLISECONDS.toNanos(maxInvokeRequestsTimeout));
+            inlineExecutions.add(execution);
+        }
+        ListenableFuture<Object> result;
+        try {
+            Serializable compiledScript = compiledScriptsCache.get(scriptHash, k -> compileScript(script.getScriptBody()));
+            result = Futures.immediateFuture(executeScript(scriptId, script, compiledScript, executionContext, args));
+        } catch (Exception e) {
+            if (execution != null && execution.timedOut) {
+                e = new TbScriptException(scriptId, TbScriptException.ErrorCode.TIMEOUT, script.getScriptBody(), new TimeoutException());
+            }
+            result = Futures.immediateFailedFuture(e);
+        } finally {
+            if (execution != null) {
+                inlineExecutions.remove(execution);
+            }
+        }
+        long execTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTs);
+        if (execTimeMs > inlineMaxExecTimeMs) {
+            log.debug("[{}] Inline script execution took {}ms, disabling inline execution of the script", scriptId, execTimeMs);
+            script.setInline(false);
+        }
+        return new TbelScriptExecutionTask(executionContext, result);
+    }
+
+    private void stopTimedOutInlineExecutions() {
+        long now = System.nanoTime();
+        for (InlineExecution execution : inlineExecutions) {
+            if (now - execution.deadline >= 0) {
+                execution.timedOut = true;
+                execution.context.stop();
+                inlineExecutions.remove(execution);
+            }
+        }
+    }
+
+    private ExecutionContext newExecutionContext() {
+        return new ExecutionContext(this.parserConfig, maxMemoryLimitMb * 1024 * 1024);
+    }
+
+    private String getScriptHash(UUID scriptId) {
+        String scriptHash = scriptIdToHash.get(scriptId);
+        if (scriptHash == null) {
+            throw new TbScriptException(scriptId, TbScriptException.ErrorCode.OTHER, null, new RuntimeException("Script not found!"));
+        }
+        return scriptHash;
+    }
+
+    private Object executeScript(UUID scriptId, TbelScript script, Serializable compiledScript, ExecutionContext executionContext, Object[] args) {
+        try {
+            return MVEL.executeTbExpression(compiledScript, executionContext, script.createVars(args));
+        } catch (ScriptMemoryOverflowException e) {
+            throw new TbScriptException(scriptId, TbScriptException.ErrorCode.OTHER, script.getScriptBody(), new RuntimeException("Script memory overflow!"));
+        } catch (Exception e) {
+            throw new TbScriptException(scriptId, TbScriptException.ErrorCode.RUNTIME, script.getScriptBody(), e);
+        }
+    }
+
     @Override
     protected void doRelease(UUID scriptId) {
         String scriptHash = scriptIdToHash.remove(scriptId);
@@ -249,6 +340,15 @@ public class DefaultTbelInvokeService extends AbstractScriptInvokeService implem
         }
     }
 
+    @RequiredArgsConstructor
+    private static class InlineExecution {
+
+        private final ExecutionContext context;
+        private final long deadline;
+        private volatile boolean timedOut;
+
+    }
+
     private static Serializable compileScript(String scriptBody) throws CompileException {
         return MVEL.compileExpression(scriptBody, new ParserContext());
     }
@@ -25,6 +25,10 @@ public class TbelScript {
 
     private final String scriptBody;
     private final String[] argNames;
+    /**
+     * Whether the script is executed on the calling thread, see {@link TbelScriptBoundsChecker}
+     */
+    private volatile boolean inline;
 
     public Map createVars(Object[] args) {
         if (args == null || args.length != argNames.length) {
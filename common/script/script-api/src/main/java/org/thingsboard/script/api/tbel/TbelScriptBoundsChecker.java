@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.script.api.tbel;
+
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Static check of the TBEL script body that tells whether the script execution time is bounded by the script size:
+ * the script has no loops and no function definitions (and therefore no recursion).
+ * Such scripts are cheap enough to be executed inline, on the calling thread.
+ */
+public final class TbelScriptBoundsChecker {
+
+    private static final Set<String> UNBOUNDED_KEYWORDS = Set.of("for", "foreach", "while", "do", "until", "def", "function");
+
+    // string literals and comments are skipped, so that keywords inside them are not taken into account
+    private static final Pattern TOKEN_PATTERN = Pattern.compile(
+            "\"(?:\\\\.|[^\"\\\\])*\"|'(?:\\\\.|[^'\\\\])*'|//[^\\n]*|/\\*[\\s\\S]*?(?:\\*/|$)|[A-Za-z_$][A-Za-z0-9_$]*");
+
+    private TbelScriptBoundsChecker() {
+    }
+
+    public static boolean isBounded(String scriptBody, int maxScriptBodySize) {
+        if (scriptBody == null || scriptBody.length() > maxScriptBodySize) {
+            return false;
+        }
+        Matcher matcher = TOKEN_PATTERN.matcher(scriptBody);
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (UNBOUNDED_KEYWORDS.contains(token) && !isMemberAccess(scriptBody, matcher.start())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 'msg.do' or 'msg.while' are property names, not keywords
+    private static boolean isMemberAccess(String scriptBody, int tokenStart) {
+        int i = tokenStart - 1;
+        while (i >= 0 && Character.isWhitespace(scriptBody.charAt(i))) {
+            i--;
+        }
+        return i >= 0 && scriptBody.charAt(i) == '.';
+    }
+
+}
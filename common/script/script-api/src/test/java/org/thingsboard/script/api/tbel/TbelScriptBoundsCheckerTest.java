@@ -0,0 +1,45 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.script.api.tbel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TbelScriptBoundsCheckerTest {
+
+    @Test
+    void givenScriptWithoutLoopsAndFunctions_thenBounded() {
+        assertThat(TbelScriptBoundsChecker.isBounded("return msg.temperature > 20;", 100)).isTrue();
+        assertThat(TbelScriptBoundsChecker.isBounded("var s = 'for while'; // do it\nreturn {s: s};", 100)).isTrue();
+        assertThat(TbelScriptBoundsChecker.isBounded("/* while */ return msg.do;", 100)).isTrue();
+        assertThat(TbelScriptBoundsChecker.isBounded("var a = \"say \\\"while\\\"\"; return a;", 100)).isTrue();
+    }
+
+    @Test
+    void givenScriptWithLoopsOrFunctions_thenNotBounded() {
+        assertThat(TbelScriptBoundsChecker.isBounded("for (var i = 0; i < 5; i++) {} return msg;", 100)).isFalse();
+        assertThat(TbelScriptBoundsChecker.isBounded("foreach (x : msg.list) { }", 100)).isFalse();
+        assertThat(TbelScriptBoundsChecker.isBounded("while (true) {}", 100)).isFalse();
+        assertThat(TbelScriptBoundsChecker.isBounded("function f(a) { return f(a); } return f(1);", 100)).isFalse();
+    }
+
+    @Test
+    void givenTooBigScript_thenNotBounded() {
+        assertThat(TbelScriptBoundsChecker.isBounded("return msg.temperature > 20;", 10)).isFalse();
+    }
+
+}
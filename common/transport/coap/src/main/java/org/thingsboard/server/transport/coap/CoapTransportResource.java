@@ -252,7 +252,7 @@ public class CoapTransportResource extends AbstractCoapTransportResource {
         TransportProtos.SessionInfoProto sessionInfo = clients.getNewSyncSession(clientState);
         UUID sessionId = toSessionId(sessionInfo);
         transportService.process(sessionInfo, clientState.getAdaptor().convertToPostAttributes(sessionId, request,
-                        clientState.getConfiguration().getAttributesMsgDescriptor()),
+                        clientState.getConfiguration().getAttributesPayloadConverter()),
                 new CoapResponseCodeCallback(exchange, CoAP.ResponseCode.CREATED, CoAP.ResponseCode.INTERNAL_SERVER_ERROR));
     }
 
@@ -260,7 +260,7 @@ public class CoapTransportResource extends AbstractCoapTransportResource {
         TransportProtos.SessionInfoProto sessionInfo = clients.getNewSyncSession(clientState);
         UUID sessionId = toSessionId(sessionInfo);
         transportService.process(sessionInfo, clientState.getAdaptor().convertToPostTelemetry(sessionId, request,
-                        clientState.getConfiguration().getTelemetryMsgDescriptor()),
+                        clientState.getConfiguration().getTelemetryPayloadConverter()),
                 new CoapResponseCodeCallback(exchange, CoAP.ResponseCode.CREATED, CoAP.ResponseCode.INTERNAL_SERVER_ERROR));
     }
 
@@ -18,20 +18,21 @@ package org.thingsboard.server.transport.coap;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.DynamicMessage;
 import lombok.Data;
+import org.thingsboard.server.common.adaptor.ProtoPayloadConverter;
 
 @Data
 public class TransportConfigurationContainer {
 
     private boolean jsonPayload;
-    private Descriptors.Descriptor telemetryMsgDescriptor;
-    private Descriptors.Descriptor attributesMsgDescriptor;
+    private ProtoPayloadConverter telemetryPayloadConverter;
+    private ProtoPayloadConverter attributesPayloadConverter;
     private Descriptors.Descriptor rpcResponseMsgDescriptor;
     private DynamicMessage.Builder rpcRequestDynamicMessageBuilder;
 
-    public TransportConfigurationContainer(boolean jsonPayload, Descriptors.Descriptor telemetryMsgDescriptor, Descriptors.Descriptor attributesMsgDescriptor, Descriptors.Descriptor rpcResponseMsgDescriptor, DynamicMessage.Builder rpcRequestDynamicMessageBuilder) {
+    public TransportConfigurationContainer(boolean jsonPayload, ProtoPayloadConverter telemetryPayloadConverter, ProtoPayloadConverter attributesPayloadConverter, Descriptors.Descriptor rpcResponseMsgDescriptor, DynamicMessage.Builder rpcRequestDynamicMessageBuilder) {
         this.jsonPayload = jsonPayload;
-        this.telemetryMsgDescriptor = telemetryMsgDescriptor;
-        this.attributesMsgDescriptor = attributesMsgDescriptor;
+        this.telemetryPayloadConverter = telemetryPayloadConverter;
+        this.attributesPayloadConverter = attributesPayloadConverter;
         this.rpcResponseMsgDescriptor = rpcResponseMsgDescriptor;
         this.rpcRequestDynamicMessageBuilder = rpcRequestDynamicMessageBuilder;
     }
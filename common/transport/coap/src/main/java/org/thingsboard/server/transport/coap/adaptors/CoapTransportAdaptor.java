@@ -20,6 +20,7 @@ import com.google.protobuf.DynamicMessage;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.thingsboard.server.common.adaptor.AdaptorException;
+import org.thingsboard.server.common.adaptor.ProtoPayloadConverter;
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.gen.transport.TransportProtos.ProvisionDeviceRequestMsg;
 
@@ -27,9 +28,9 @@ import java.util.UUID;
 
 public interface CoapTransportAdaptor {
 
-    TransportProtos.PostTelemetryMsg convertToPostTelemetry(UUID sessionId, Request inbound, Descriptors.Descriptor telemetryMsgDescriptor) throws AdaptorException;
+    TransportProtos.PostTelemetryMsg convertToPostTelemetry(UUID sessionId, Request inbound, ProtoPayloadConverter telemetryPayloadConverter) throws AdaptorException;
 
-    TransportProtos.PostAttributeMsg convertToPostAttributes(UUID sessionId, Request inbound, Descriptors.Descriptor attributesMsgDescriptor) throws AdaptorException;
+    TransportProtos.PostAttributeMsg convertToPostAttributes(UUID sessionId, Request inbound, ProtoPayloadConverter attributesPayloadConverter) throws AdaptorException;
 
     TransportProtos.GetAttributeRequestMsg convertToGetAttributes(UUID sessionId, Request inbound) throws AdaptorException;
 
@@ -27,8 +27,8 @@ import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.springframework.stereotype.Component;
 import org.thingsboard.server.common.adaptor.AdaptorException;
-import org.thingsboard.server.common.adaptor.JsonConverter;
 import org.thingsboard.server.common.adaptor.ProtoConverter;
+import org.thingsboard.server.common.adaptor.ProtoPayloadConverter;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.gen.transport.TransportProtos;
@@ -42,20 +42,20 @@ import java.util.UUID;
 public class ProtoCoapAdaptor implements CoapTransportAdaptor {
 
     @Override
-    public TransportProtos.PostTelemetryMsg convertToPostTelemetry(UUID sessionId, Request inbound, Descriptors.Descriptor telemetryMsgDescriptor) throws AdaptorException {
-        ProtoConverter.validateDescriptor(telemetryMsgDescriptor);
+    public TransportProtos.PostTelemetryMsg convertToPostTelemetry(UUID sessionId, Request inbound, ProtoPayloadConverter telemetryPayloadConverter) throws AdaptorException {
+        validateConverter(telemetryPayloadConverter);
         try {
-            return JsonConverter.convertToTelemetryProto(JsonParser.parseString(ProtoConverter.dynamicMsgToJson(inbound.getPayload(), telemetryMsgDescriptor)));
+            return telemetryPayloadConverter.convertToTelemetryProto(inbound.getPayload());
         } catch (Exception e) {
             throw new AdaptorException(e);
         }
     }
 
     @Override
-    public TransportProtos.PostAttributeMsg convertToPostAttributes(UUID sessionId, Request inbound, Descriptors.Descriptor attributesMsgDescriptor) throws AdaptorException {
-        ProtoConverter.validateDescriptor(attributesMsgDescriptor);
+    public TransportProtos.PostAttributeMsg convertToPostAttributes(UUID sessionId, Request inbound, ProtoPayloadConverter attributesPayloadConverter) throws AdaptorException {
+        validateConverter(attributesPayloadConverter);
         try {
-            return JsonConverter.convertToAttributesProto(JsonParser.parseString(ProtoConverter.dynamicMsgToJson(inbound.getPayload(), attributesMsgDescriptor)));
+            return attributesPayloadConverter.convertToAttributesProto(inbound.getPayload());
         } catch (Exception e) {
             throw new AdaptorException(e);
         }
@@ -156,6 +156,12 @@ public class ProtoCoapAdaptor implements CoapTransportAdaptor {
         return response;
     }
 
+    private static void validateConverter(ProtoPayloadConverter converter) throws AdaptorException {
+        if (converter == null) {
+            throw new AdaptorException("Failed to get dynamic message descriptor!");
+        }
+    }
+
     @Override
     public int getContentFormat() {
         return MediaTypeRegistry.APPLICATION_OCTET_STREAM;
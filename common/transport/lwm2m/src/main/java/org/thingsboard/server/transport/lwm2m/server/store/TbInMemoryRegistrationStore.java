@@ -106,6 +106,7 @@ public class TbInMemoryRegistrationStore implements RegistrationStore, Startable
             // If a registration is already associated to this address we don't care as we only want to keep the most
             // recent binding.
             regsByAddr.put(registration.getSocketAddress(), registration);
+            onRegistrationSaved(registration);
             if (registrationRemoved != null) {
                 Collection<Observation> observationsRemoved = unsafeRemoveAllObservations(registrationRemoved.getId());
                 if (!registrationRemoved.getSocketAddress().equals(registration.getSocketAddress())) {
@@ -113,6 +114,7 @@ public class TbInMemoryRegistrationStore implements RegistrationStore, Startable
                 }
                 if (!registrationRemoved.getId().equals(registration.getId())) {
                     removeFromMap(regsByRegId, registrationRemoved.getId(), registrationRemoved);
+                    onRegistrationRemoved(registrationRemoved);
                 }
                 if (!registrationRemoved.getClientTransportData().getIdentity()
                         .equals(registration.getClientTransportData().getIdentity())) {
@@ -152,6 +154,7 @@ public class TbInMemoryRegistrationStore implements RegistrationStore, Startable
                 }
 
                 regsByRegId.put(updatedRegistration.getId(), updatedRegistration);
+                onRegistrationSaved(updatedRegistration);
 
                 return new UpdatedRegistration(registration, updatedRegistration);
             }
@@ -222,6 +225,7 @@ public class TbInMemoryRegistrationStore implements RegistrationStore, Startable
                 removeFromMap(regsByAddr, registration.getSocketAddress(), registration);
                 removeFromMap(regsByRegId, registration.getId(), registration);
                 removeFromMap(regsByIdentity, registration.getClientTransportData().getIdentity(), registration);
+                onRegistrationRemoved(registration);
                 return new Deregistration(registration, observationsRemoved);
             }
             return null;
@@ -267,6 +271,7 @@ public class TbInMemoryRegistrationStore implements RegistrationStore, Startable
             tokensByRegId.put(registrationId, new HashSet<ObservationIdentifier>());
         }
         tokensByRegId.get(registrationId).add(id);
+        onObservationSaved(observation);
 
         // log any collisions
         if (previousObservation != null) {
@@ -383,6 +388,7 @@ public class TbInMemoryRegistrationStore implements RegistrationStore, Startable
     private void unsafeRemoveObservation(ObservationIdentifier observationId) {
         Observation removed = obsByToken.remove(observationId);
         if (removed != null) {
+            onObservationRemoved(removed);
             String registrationId = removed.getRegistrationId();
             Set<ObservationIdentifier> tokens = tokensByRegId.get(registrationId);
             tokens.remove(observationId);
@@ -404,6 +410,7 @@ public class TbInMemoryRegistrationStore implements RegistrationStore, Startable
             for (ObservationIdentifier id : ids) {
                 Observation observationRemoved = obsByToken.remove(id);
                 if (observationRemoved != null) {
+                    onObservationRemoved(observationRemoved);
                     removed.add(observationRemoved);
                 }
             }
@@ -425,6 +432,49 @@ public class TbInMemoryRegistrationStore implements RegistrationStore, Startable
         }
         return result;
     }
+    /* *************** Persistence **************** */
+
+    /**
+     * Loads the previously persisted registrations and observations without notifying the persistence hooks.
+     * Observations of unknown registrations are dropped.
+     */
+    protected void restore(Collection<Registration> registrations, Collection<Observation> observations) {
+        try {
+            lock.writeLock().lock();
+            for (Registration registration : registrations) {
+                regsByEp.put(registration.getEndpoint(), registration);
+                regsByRegId.put(registration.getId(), registration);
+                regsByIdentity.put(registration.getClientTransportData().getIdentity(), registration);
+                regsByAddr.put(registration.getSocketAddress(), registration);
+            }
+            for (Observation observation : observations) {
+                if (regsByRegId.containsKey(observation.getRegistrationId())) {
+                    obsByToken.put(observation.getId(), observation);
+                    tokensByRegId.computeIfAbsent(observation.getRegistrationId(), regId -> new HashSet<>()).add(observation.getId());
+                } else {
+                    onObservationRemoved(observation);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * The hooks are called under the write lock, right after the in-memory state is changed
+     * */
+    protected void onRegistrationSaved(Registration registration) {
+    }
+
+    protected void onRegistrationRemoved(Registration registration) {
+    }
+
+    protected void onObservationSaved(Observation observation) {
+    }
+
+    protected void onObservationRemoved(Observation observation) {
+    }
+
     /* *************** Expiration handling **************** */
 
     @Override
@@ -15,9 +15,11 @@
  */
 package org.thingsboard.server.transport.lwm2m.server.store;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.leshan.server.registration.RegistrationStore;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.stereotype.Component;
@@ -40,17 +42,36 @@ public class TbLwM2mStoreFactory {
     private final LwM2mCredentialsSecurityInfoValidator validator;
     private final LwM2mVersionedModelProvider modelProvider;
 
+    @Value("${transport.lwm2m.local_store.enabled:false}")
+    private boolean localStoreEnabled;
+    @Value("${transport.lwm2m.local_store.path:${user.home}/.rocksdb/lwm2m}")
+    private String localStorePath;
+
+    private TbRocksDbSecurityStore localSecurityStore;
+
     @Bean
     private RegistrationStore registrationStore() {
-        return redisConfiguration.isPresent() ?
-                new TbLwM2mRedisRegistrationStore(config, getConnectionFactory(), modelProvider) :
-                new TbInMemoryRegistrationStore(config, config.getCleanPeriodInSec(), modelProvider);
+        if (redisConfiguration.isPresent()) {
+            return new TbLwM2mRedisRegistrationStore(config, getConnectionFactory(), modelProvider);
+        } else if (localStoreEnabled) {
+            return new TbRocksDbRegistrationStore(config, config.getCleanPeriodInSec(), modelProvider, localStorePath + "/registrations");
+        } else {
+            return new TbInMemoryRegistrationStore(config, config.getCleanPeriodInSec(), modelProvider);
+        }
     }
 
     @Bean
     private TbMainSecurityStore securityStore() {
-        return new TbLwM2mSecurityStore(redisConfiguration.isPresent() ?
-                new TbLwM2mRedisSecurityStore(getConnectionFactory()) : new TbInMemorySecurityStore(), validator);
+        TbEditableSecurityStore securityStore;
+        if (redisConfiguration.isPresent()) {
+            securityStore = new TbLwM2mRedisSecurityStore(getConnectionFactory());
+        } else if (localStoreEnabled) {
+            localSecurityStore = new TbRocksDbSecurityStore(localStorePath + "/security");
+            securityStore = localSecurityStore;
+        } else {
+            securityStore = new TbInMemorySecurityStore();
+        }
+        return new TbLwM2mSecurityStore(securityStore, validator);
     }
 
     @Bean
@@ -73,6 +94,13 @@ public class TbLwM2mStoreFactory {
         return redisConfiguration.isPresent() ? new TbLwM2MDtlsSessionRedisStore(getConnectionFactory()) : new TbL2M2MDtlsSessionInMemoryStore();
     }
 
+    @PreDestroy
+    private void destroy() {
+        if (localSecurityStore != null) {
+            localSecurityStore.close();
+        }
+    }
+
     private RedisConnectionFactory getConnectionFactory() {
         return redisConfiguration.get().redisConnectionFactory();
     }
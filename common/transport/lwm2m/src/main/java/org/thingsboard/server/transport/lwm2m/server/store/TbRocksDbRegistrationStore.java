@@ -0,0 +1,111 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.server.redis.serialization.ObservationSerDes;
+import org.eclipse.leshan.server.redis.serialization.RegistrationSerDes;
+import org.eclipse.leshan.server.registration.Registration;
+import org.rocksdb.Options;
+import org.rocksdb.WriteOptions;
+import org.thingsboard.common.util.TbRocksDb;
+import org.thingsboard.server.transport.lwm2m.config.LwM2MTransportServerConfig;
+import org.thingsboard.server.transport.lwm2m.server.LwM2mVersionedModelProvider;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Registration store for the single node LwM2M transport that keeps registrations and observations in the local RocksDB,
+ * so that they survive the restart of the transport and the clients don't need to register again.
+ * All the reads are served from the in-memory maps of {@link TbInMemoryRegistrationStore}, RocksDB is written on every change.
+ */
+@Slf4j
+public class TbRocksDbRegistrationStore extends TbInMemoryRegistrationStore {
+
+    private static final String REG_KEY_PREFIX = "reg_";
+    private static final String OBS_KEY_PREFIX = "obs_";
+
+    private final RegistrationSerDes registrationSerDes = new RegistrationSerDes();
+    private final ObservationSerDes observationSerDes = new ObservationSerDes();
+
+    private final TbRocksDb db;
+
+    public TbRocksDbRegistrationStore(LwM2MTransportServerConfig config, long cleanPeriodInSec, LwM2mVersionedModelProvider modelProvider, String path) {
+        super(config, cleanPeriodInSec, modelProvider);
+        this.db = new TbRocksDb(path, new Options().setCreateIfMissing(true), new WriteOptions());
+        this.db.init();
+        load();
+    }
+
+    private void load() {
+        List<Registration> registrations = new ArrayList<>();
+        List<Observation> observations = new ArrayList<>();
+        List<String> corruptedKeys = new ArrayList<>();
+        db.forEach((key, value) -> {
+            try {
+                if (key.startsWith(REG_KEY_PREFIX)) {
+                    registrations.add(registrationSerDes.deserialize(value));
+                } else if (key.startsWith(OBS_KEY_PREFIX)) {
+                    observations.add(observationSerDes.deserialize(value));
+                }
+            } catch (Exception e) {
+                log.warn("[{}] Failed to deserialize LwM2M store entry", key, e);
+                corruptedKeys.add(key);
+            }
+        });
+        corruptedKeys.forEach(db::delete);
+        restore(registrations, observations);
+        log.info("Restored {} LwM2M registrations and {} observations from the local store", registrations.size(), observations.size());
+    }
+
+    @Override
+    protected void onRegistrationSaved(Registration registration) {
+        db.put(toRegistrationKey(registration), registrationSerDes.bSerialize(registration));
+    }
+
+    @Override
+    protected void onRegistrationRemoved(Registration registration) {
+        db.delete(toRegistrationKey(registration));
+    }
+
+    @Override
+    protected void onObservationSaved(Observation observation) {
+        db.put(toObservationKey(observation), observationSerDes.serialize(observation));
+    }
+
+    @Override
+    protected void onObservationRemoved(Observation observation) {
+        db.delete(toObservationKey(observation));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        super.destroy();
+        db.close();
+    }
+
+    private static String toRegistrationKey(Registration registration) {
+        return REG_KEY_PREFIX + registration.getId();
+    }
+
+    private static String toObservationKey(Observation observation) {
+        return OBS_KEY_PREFIX + HexFormat.of().formatHex(observation.getId().getBytes());
+    }
+
+}
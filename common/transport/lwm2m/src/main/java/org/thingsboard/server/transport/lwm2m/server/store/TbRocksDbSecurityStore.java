@@ -0,0 +1,84 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.leshan.server.security.NonUniqueSecurityInfoException;
+import org.rocksdb.Options;
+import org.rocksdb.WriteOptions;
+import org.thingsboard.common.util.TbRocksDb;
+import org.thingsboard.server.common.data.JavaSerDesUtil;
+import org.thingsboard.server.transport.lwm2m.secure.TbLwM2MSecurityInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Security store for the single node LwM2M transport backed by the local RocksDB.
+ * Reads are served from the in-memory maps of {@link TbInMemorySecurityStore}.
+ */
+@Slf4j
+public class TbRocksDbSecurityStore extends TbInMemorySecurityStore {
+
+    private final TbRocksDb db;
+
+    public TbRocksDbSecurityStore(String path) {
+        this.db = new TbRocksDb(path, new Options().setCreateIfMissing(true), new WriteOptions());
+        this.db.init();
+        load();
+    }
+
+    private void load() {
+        List<String> invalidKeys = new ArrayList<>();
+        db.forEach((endpoint, data) -> {
+            try {
+                super.put(JavaSerDesUtil.<TbLwM2MSecurityInfo>decode(data));
+            } catch (Exception e) {
+                log.warn("[{}] Failed to restore LwM2M security info", endpoint, e);
+                invalidKeys.add(endpoint);
+            }
+        });
+        invalidKeys.forEach(db::delete);
+        log.info("Restored {} LwM2M security infos from the local store", securityByEp.size());
+    }
+
+    @Override
+    public void put(TbLwM2MSecurityInfo tbSecurityInfo) throws NonUniqueSecurityInfoException {
+        writeLock.lock();
+        try {
+            super.put(tbSecurityInfo);
+            db.put(tbSecurityInfo.getEndpoint(), JavaSerDesUtil.encode(tbSecurityInfo));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String endpoint) {
+        writeLock.lock();
+        try {
+            super.remove(endpoint);
+            db.delete(endpoint);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void close() {
+        db.close();
+    }
+
+}
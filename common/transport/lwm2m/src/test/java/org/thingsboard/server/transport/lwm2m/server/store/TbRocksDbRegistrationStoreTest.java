@@ -0,0 +1,116 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import org.eclipse.leshan.core.endpoint.EndpointUriUtil;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.server.registration.Registration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TbRocksDbRegistrationStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void registrationsAndObservationsAreRestoredAfterReopen() {
+        String path = tempDir.resolve("registrations").toString();
+        Registration registration1 = registration("reg1", "ep1", 5001);
+        Registration registration2 = registration("reg2", "ep2", 5002);
+        Observation observation1 = observation("token1", "reg1", new LwM2mPath(3, 0, 9));
+        Observation observation2 = observation("token2", "reg1", new LwM2mPath(3, 0, 10));
+        Observation observation3 = observation("token3", "reg2", new LwM2mPath(3, 0, 9));
+
+        TbRocksDbRegistrationStore store = new TbRocksDbRegistrationStore(null, 2, null, path);
+        store.addRegistration(registration1);
+        store.addRegistration(registration2);
+        store.addObservation("reg1", observation1, false);
+        store.addObservation("reg1", observation2, false);
+        store.addObservation("reg2", observation3, false);
+        store.removeObservation("reg1", observation2.getId());
+        store.removeRegistration("reg2");
+        store.destroy();
+
+        TbRocksDbRegistrationStore restored = new TbRocksDbRegistrationStore(null, 2, null, path);
+        try {
+            assertThat(restored.getRegistrationByEndpoint("ep1").getId()).isEqualTo("reg1");
+            assertThat(restored.getRegistration("reg1").getEndpoint()).isEqualTo("ep1");
+            assertThat(restored.getRegistrationByAdress(registration1.getSocketAddress()).getId()).isEqualTo("reg1");
+            assertThat(restored.getRegistrationByIdentity(registration1.getClientTransportData().getIdentity()).getId()).isEqualTo("reg1");
+            assertThat(restored.getRegistrationByEndpoint("ep2")).isNull();
+            assertThat(restored.getRegistration("reg2")).isNull();
+
+            Observation restoredObservation = restored.getObservation("reg1", observation1.getId());
+            assertThat(restoredObservation).isInstanceOf(SingleObservation.class);
+            assertThat(((SingleObservation) restoredObservation).getPath()).isEqualTo(new LwM2mPath(3, 0, 9));
+            assertThat(restored.getObservation(observation1.getId()).getRegistrationId()).isEqualTo("reg1");
+            assertThat(restored.getObservations("reg1")).hasSize(1);
+            assertThat(restored.getObservation(observation2.getId())).isNull();
+            assertThat(restored.getObservation(observation3.getId())).isNull();
+        } finally {
+            restored.destroy();
+        }
+    }
+
+    @Test
+    void reRegistrationReplacesPersistedRegistration() {
+        String path = tempDir.resolve("re-registration").toString();
+
+        TbRocksDbRegistrationStore store = new TbRocksDbRegistrationStore(null, 2, null, path);
+        store.addRegistration(registration("reg1", "ep1", 5001));
+        store.addObservation("reg1", observation("token1", "reg1", new LwM2mPath(3, 0, 9)), false);
+        store.addRegistration(registration("reg2", "ep1", 5002));
+        store.destroy();
+
+        TbRocksDbRegistrationStore restored = new TbRocksDbRegistrationStore(null, 2, null, path);
+        try {
+            assertThat(restored.getRegistrationByEndpoint("ep1").getId()).isEqualTo("reg2");
+            assertThat(restored.getRegistration("reg1")).isNull();
+            assertThat(restored.getObservations("reg1")).isEmpty();
+        } finally {
+            restored.destroy();
+        }
+    }
+
+    private Registration registration(String id, String endpoint, int port) {
+        return new Registration
+                .Builder(id, endpoint, new IpPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)),
+                EndpointUriUtil.createUri("coap://localhost:5685"))
+                .objectLinks(new Link[]{new Link("/3/0")})
+                .build();
+    }
+
+    private Observation observation(String token, String registrationId, LwM2mPath path) {
+        return new SingleObservation(new ObservationIdentifier(token.getBytes(StandardCharsets.UTF_8)), registrationId, path,
+                ContentFormat.TLV, Map.of(), Map.of());
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import org.eclipse.leshan.core.SecurityMode;
+import org.eclipse.leshan.server.security.SecurityInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thingsboard.server.transport.lwm2m.secure.TbLwM2MSecurityInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TbRocksDbSecurityStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void securityInfoIsRestoredAfterReopen() throws Exception {
+        String path = tempDir.resolve("security").toString();
+        TbRocksDbSecurityStore store = new TbRocksDbSecurityStore(path);
+        store.put(pskSecurityInfo("ep1", "identity1"));
+        store.put(pskSecurityInfo("ep2", "identity2"));
+        store.remove("ep2");
+        store.close();
+
+        TbRocksDbSecurityStore restored = new TbRocksDbSecurityStore(path);
+        try {
+            assertThat(restored.getByEndpoint("ep1").getPskIdentity()).isEqualTo("identity1");
+            assertThat(restored.getByIdentity("identity1").getEndpoint()).isEqualTo("ep1");
+            assertThat(restored.getByEndpoint("ep2")).isNull();
+            assertThat(restored.getByIdentity("identity2")).isNull();
+        } finally {
+            restored.close();
+        }
+    }
+
+    private TbLwM2MSecurityInfo pskSecurityInfo(String endpoint, String identity) {
+        TbLwM2MSecurityInfo securityInfo = new TbLwM2MSecurityInfo();
+        securityInfo.setEndpoint(endpoint);
+        securityInfo.setSecurityMode(SecurityMode.PSK);
+        securityInfo.setSecurityInfo(SecurityInfo.newPreSharedKeyInfo(endpoint, identity, "key".getBytes(StandardCharsets.UTF_8)));
+        return securityInfo;
+    }
+
+}
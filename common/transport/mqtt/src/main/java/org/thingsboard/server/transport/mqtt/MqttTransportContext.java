@@ -24,6 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.thingsboard.server.common.transport.TransportContext;
+import org.thingsboard.server.common.transport.TransportDeviceProfileCache;
 import org.thingsboard.server.common.transport.TransportTenantProfileCache;
 import org.thingsboard.server.transport.mqtt.adaptors.JsonMqttAdaptor;
 import org.thingsboard.server.transport.mqtt.adaptors.ProtoMqttAdaptor;
@@ -53,6 +54,10 @@ public class MqttTransportContext extends TransportContext {
     @Autowired
     private TransportTenantProfileCache tenantProfileCache;
 
+    @Getter
+    @Autowired
+    private TransportDeviceProfileCache deviceProfileCache;
+
     @Getter
     @Autowired
     private GatewayMetricsService gatewayMetricsService;
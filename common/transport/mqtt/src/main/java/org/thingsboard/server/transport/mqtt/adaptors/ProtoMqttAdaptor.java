@@ -26,8 +26,8 @@ import io.netty.handler.codec.mqtt.MqttPublishMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.thingsboard.server.common.adaptor.AdaptorException;
-import org.thingsboard.server.common.adaptor.JsonConverter;
 import org.thingsboard.server.common.adaptor.ProtoConverter;
+import org.thingsboard.server.common.adaptor.ProtoPayloadConverter;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.device.profile.MqttTopics;
 import org.thingsboard.server.common.data.ota.OtaPackageType;
@@ -48,9 +48,9 @@ public class ProtoMqttAdaptor implements MqttTransportAdaptor {
     public TransportProtos.PostTelemetryMsg convertToPostTelemetry(MqttDeviceAwareSessionContext ctx, MqttPublishMessage inbound) throws AdaptorException {
         DeviceSessionCtx deviceSessionCtx = (DeviceSessionCtx) ctx;
         byte[] bytes = toBytes(inbound.payload());
-        Descriptors.Descriptor telemetryDynamicMsgDescriptor = ProtoConverter.validateDescriptor(deviceSessionCtx.getTelemetryDynamicMessageDescriptor());
+        ProtoPayloadConverter telemetryPayloadConverter = validateConverter(deviceSessionCtx.getTelemetryPayloadConverter());
         try {
-            return JsonConverter.convertToTelemetryProto(JsonParser.parseString(ProtoConverter.dynamicMsgToJson(bytes, telemetryDynamicMsgDescriptor)));
+            return telemetryPayloadConverter.convertToTelemetryProto(bytes);
         } catch (Exception e) {
             log.debug("Failed to decode post telemetry request", e);
             throw new AdaptorException(e);
@@ -61,9 +61,9 @@ public class ProtoMqttAdaptor implements MqttTransportAdaptor {
     public TransportProtos.PostAttributeMsg convertToPostAttributes(MqttDeviceAwareSessionContext ctx, MqttPublishMessage inbound) throws AdaptorException {
         DeviceSessionCtx deviceSessionCtx = (DeviceSessionCtx) ctx;
         byte[] bytes = toBytes(inbound.payload());
-        Descriptors.Descriptor attributesDynamicMessageDescriptor = ProtoConverter.validateDescriptor(deviceSessionCtx.getAttributesDynamicMessageDescriptor());
+        ProtoPayloadConverter attributesPayloadConverter = validateConverter(deviceSessionCtx.getAttributesPayloadConverter());
         try {
-            return JsonConverter.convertToAttributesProto(JsonParser.parseString(ProtoConverter.dynamicMsgToJson(bytes, attributesDynamicMessageDescriptor)));
+            return attributesPayloadConverter.convertToAttributesProto(bytes);
         } catch (Exception e) {
             log.debug("Failed to decode post attributes request", e);
             throw new AdaptorException(e);
@@ -229,4 +229,11 @@ public class ProtoMqttAdaptor implements MqttTransportAdaptor {
         return Integer.parseInt(topicName.substring(topic.length()));
     }
 
+    private static ProtoPayloadConverter validateConverter(ProtoPayloadConverter converter) throws AdaptorException {
+        if (converter == null) {
+            throw new AdaptorException("Failed to get dynamic message descriptor!");
+        }
+        return converter;
+    }
+
 }
@@ -24,13 +24,16 @@ import io.netty.util.ReferenceCountUtil;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.server.common.adaptor.ProtoPayloadConverter;
 import org.thingsboard.server.common.data.DeviceProfile;
 import org.thingsboard.server.common.data.DeviceTransportType;
 import org.thingsboard.server.common.data.TransportPayloadType;
 import org.thingsboard.server.common.data.device.profile.DeviceProfileTransportConfiguration;
 import org.thingsboard.server.common.data.device.profile.MqttDeviceProfileTransportConfiguration;
 import org.thingsboard.server.common.data.device.profile.ProtoTransportPayloadConfiguration;
+import org.thingsboard.server.common.data.device.profile.ProtoTransportPayloadDescriptors;
 import org.thingsboard.server.common.data.device.profile.TransportPayloadTypeConfiguration;
+import org.thingsboard.server.common.transport.profile.ProtoTransportPayloadConverters;
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.transport.mqtt.MqttTransportContext;
 import org.thingsboard.server.transport.mqtt.TopicType;
@@ -89,6 +92,10 @@ public class DeviceSessionCtx extends MqttDeviceAwareSessionContext {
     private volatile Descriptors.Descriptor rpcResponseDynamicMessageDescriptor;
     @Getter
     private volatile DynamicMessage.Builder rpcRequestDynamicMessageBuilder;
+    @Getter
+    private volatile ProtoPayloadConverter telemetryPayloadConverter;
+    @Getter
+    private volatile ProtoPayloadConverter attributesPayloadConverter;
     private volatile MqttTransportAdaptor adaptor;
     private volatile boolean jsonPayloadFormatCompatibilityEnabled;
     private volatile boolean useJsonPayloadFormatForDefaultDownlinkTopics;
@@ -158,7 +165,7 @@ public class DeviceSessionCtx extends MqttDeviceAwareSessionContext {
             sendAckOnValidationException = mqttConfig.isSendAckOnValidationException();
             if (TransportPayloadType.PROTOBUF.equals(payloadType)) {
                 ProtoTransportPayloadConfiguration protoTransportPayloadConfig = (ProtoTransportPayloadConfiguration) transportPayloadTypeConfiguration;
-                updateDynamicMessageDescriptors(protoTransportPayloadConfig);
+                updateDynamicMessageDescriptors(deviceProfile, protoTransportPayloadConfig);
                 jsonPayloadFormatCompatibilityEnabled = protoTransportPayloadConfig.isEnableCompatibilityWithJsonPayloadFormat();
                 useJsonPayloadFormatForDefaultDownlinkTopics = jsonPayloadFormatCompatibilityEnabled && protoTransportPayloadConfig.isUseJsonPayloadFormatForDefaultDownlinkTopics();
             }
@@ -172,11 +179,15 @@ public class DeviceSessionCtx extends MqttDeviceAwareSessionContext {
         updateAdaptor();
     }
 
-    private void updateDynamicMessageDescriptors(ProtoTransportPayloadConfiguration protoTransportPayloadConfig) {
-        telemetryDynamicMessageDescriptor = protoTransportPayloadConfig.getTelemetryDynamicMessageDescriptor(protoTransportPayloadConfig.getDeviceTelemetryProtoSchema());
-        attributesDynamicMessageDescriptor = protoTransportPayloadConfig.getAttributesDynamicMessageDescriptor(protoTransportPayloadConfig.getDeviceAttributesProtoSchema());
-        rpcResponseDynamicMessageDescriptor = protoTransportPayloadConfig.getRpcResponseDynamicMessageDescriptor(protoTransportPayloadConfig.getDeviceRpcResponseProtoSchema());
-        rpcRequestDynamicMessageBuilder = protoTransportPayloadConfig.getRpcRequestDynamicMessageBuilder(protoTransportPayloadConfig.getDeviceRpcRequestProtoSchema());
+    private void updateDynamicMessageDescriptors(DeviceProfile deviceProfile, ProtoTransportPayloadConfiguration protoTransportPayloadConfig) {
+        ProtoTransportPayloadConverters converters = context.getDeviceProfileCache().getProtoPayloadConverters(deviceProfile.getId(), protoTransportPayloadConfig);
+        ProtoTransportPayloadDescriptors descriptors = converters.descriptors();
+        telemetryDynamicMessageDescriptor = descriptors.telemetryMsgDescriptor();
+        attributesDynamicMessageDescriptor = descriptors.attributesMsgDescriptor();
+        rpcResponseDynamicMessageDescriptor = descriptors.rpcResponseMsgDescriptor();
+        rpcRequestDynamicMessageBuilder = descriptors.newRpcRequestMsgBuilder();
+        telemetryPayloadConverter = converters.telemetryConverter();
+        attributesPayloadConverter = converters.attributesConverter();
     }
 
     public MqttTransportAdaptor getAdaptor(TopicType topicType) {
@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.transport.snmp.service;
 
+import com.google.common.hash.Hashing;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListenableScheduledFuture;
@@ -22,6 +23,7 @@ import com.google.common.util.concurrent.ListeningScheduledExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.Builder;
@@ -53,12 +55,15 @@ import org.thingsboard.common.util.ThingsBoardExecutors;
 import org.thingsboard.server.common.adaptor.JsonConverter;
 import org.thingsboard.server.common.data.DataConstants;
 import org.thingsboard.server.common.data.TbTransportService;
+import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.kv.DataType;
 import org.thingsboard.server.common.data.transport.snmp.SnmpCommunicationSpec;
 import org.thingsboard.server.common.data.transport.snmp.SnmpMapping;
 import org.thingsboard.server.common.data.transport.snmp.SnmpMethod;
 import org.thingsboard.server.common.data.transport.snmp.config.RepeatingQueryingSnmpCommunicationConfig;
 import org.thingsboard.server.common.data.transport.snmp.config.SnmpCommunicationConfig;
+import org.thingsboard.server.common.stats.DefaultCounter;
+import org.thingsboard.server.common.stats.StatsFactory;
 import org.thingsboard.server.common.transport.TransportService;
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.queue.util.TbSnmpTransportComponent;
@@ -72,11 +77,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @TbSnmpTransportComponent
@@ -87,6 +97,7 @@ import java.util.stream.Collectors;
 public class SnmpTransportService implements TbTransportService, CommandResponder {
     private final TransportService transportService;
     private final PduService pduService;
+    private final StatsFactory statsFactory;
     @Autowired @Lazy
     private SnmpTransportContext transportContext;
 
@@ -94,6 +105,11 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
     private Snmp snmp;
     private ListeningScheduledExecutorService scheduler;
     private ExecutorService executor;
+    private Semaphore inFlightRequests;
+
+    private Timer queryingLatencyTimer;
+    private Timer queryingLagTimer;
+    private DefaultCounter skippedQueryingCounter;
 
     private final Map<SnmpCommunicationSpec, ResponseDataMapper> responseDataMappers = new EnumMap<>(SnmpCommunicationSpec.class);
     private final Map<SnmpCommunicationSpec, ResponseProcessor> responseProcessors = new EnumMap<>(SnmpCommunicationSpec.class);
@@ -110,11 +126,19 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
     private String snmpUnderlyingProtocol;
     @Value("${transport.snmp.request_chunk_delay_ms:100}")
     private int requestChunkDelayMs;
+    @Value("${transport.snmp.max_in_flight_requests:10000}")
+    private int maxInFlightRequests;
 
     @PostConstruct
     private void init() throws IOException {
         scheduler = MoreExecutors.listeningDecorator(ThingsBoardExecutors.newScheduledThreadPool(schedulerThreadPoolSize, "snmp-querying"));
         executor = ThingsBoardExecutors.newWorkStealingPool(responseProcessingThreadPoolSize, "snmp-response-processing");
+        if (maxInFlightRequests > 0) {
+            inFlightRequests = new Semaphore(maxInFlightRequests);
+        }
+        queryingLatencyTimer = statsFactory.createTimer("snmpQueryingLatency");
+        queryingLagTimer = statsFactory.createTimer("snmpQueryingLag");
+        skippedQueryingCounter = statsFactory.createDefaultCounter("snmpQueryingSkipped");
 
         initializeSnmp();
         configureResponseDataMappers();
@@ -154,27 +178,49 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
         SecurityModels.getInstance().addSecurityModel(usm);
     }
 
+    /*
+     * Querying configs of the device with the same frequency are polled with a single request,
+     * and the first poll of each device is shifted within the querying period by a hash of the device id,
+     * so that devices with the same frequency are spread uniformly over the period instead of being polled at once
+     * */
     public void createQueryingTasks(DeviceSessionContext sessionContext) {
+        Map<Long, List<RepeatingQueryingSnmpCommunicationConfig>> configsByFrequency = new LinkedHashMap<>();
         sessionContext.getProfileTransportConfiguration().getCommunicationConfigs().stream()
                 .filter(communicationConfig -> communicationConfig instanceof RepeatingQueryingSnmpCommunicationConfig)
-                .forEach(config -> {
-                    RepeatingQueryingSnmpCommunicationConfig repeatingCommunicationConfig = (RepeatingQueryingSnmpCommunicationConfig) config;
-                    Long queryingFrequency = repeatingCommunicationConfig.getQueryingFrequencyMs();
-
-                    ScheduledTask scheduledTask = new ScheduledTask();
-                    scheduledTask.init(() -> {
-                        try {
-                            if (sessionContext.isActive() && sessionContext.isConnected()) {
-                                return sendRequest(sessionContext, repeatingCommunicationConfig);
-                            }
-                        } catch (Exception e) {
-                            log.error("Failed to send SNMP request for device {}: {}", sessionContext.getDeviceId(), e.toString());
-                            transportService.errorEvent(sessionContext.getTenantId(), sessionContext.getDeviceId(), config.getSpec().getLabel(), e);
-                        }
-                        return Futures.immediateVoidFuture();
-                    }, queryingFrequency, scheduler);
-                    sessionContext.getQueryingTasks().add(scheduledTask);
-                });
+                .map(communicationConfig -> (RepeatingQueryingSnmpCommunicationConfig) communicationConfig)
+                .forEach(config -> configsByFrequency.computeIfAbsent(config.getQueryingFrequencyMs(), frequency -> new ArrayList<>()).add(config));
+
+        configsByFrequency.forEach((queryingFrequency, configs) -> {
+            long initialDelay = getInitialDelay(sessionContext.getDeviceId(), queryingFrequency);
+            ScheduledTask scheduledTask = new ScheduledTask();
+            scheduledTask.init(() -> {
+                queryingLagTimer.record(scheduledTask.getStartLag(), TimeUnit.MILLISECONDS);
+                try {
+                    if (sessionContext.isActive() && sessionContext.isConnected()) {
+                        return sendQueryingRequest(sessionContext, configs);
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to send SNMP request for device {}: {}", sessionContext.getDeviceId(), e.toString());
+                    for (RepeatingQueryingSnmpCommunicationConfig config : configs) {
+                        transportService.errorEvent(sessionContext.getTenantId(), sessionContext.getDeviceId(), config.getSpec().getLabel(), e);
+                    }
+                }
+                return Futures.immediateVoidFuture();
+            }, initialDelay, queryingFrequency, scheduler);
+            sessionContext.getQueryingTasks().add(scheduledTask);
+        });
+    }
+
+    /*
+     * Time-based ids created by the same node share the least significant bits, and the time bits of ids created
+     * in a bulk differ by a multiple of the clock tick, so the whole id is hashed instead of taking the raw bits
+     * */
+    static long getInitialDelay(DeviceId deviceId, long queryingFrequency) {
+        long hash = Hashing.murmur3_128().newHasher()
+                .putLong(deviceId.getId().getMostSignificantBits())
+                .putLong(deviceId.getId().getLeastSignificantBits())
+                .hash().asLong();
+        return Math.floorMod(hash, queryingFrequency);
     }
 
     public void cancelQueryingTasks(DeviceSessionContext sessionContext) {
@@ -183,8 +229,30 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
     }
 
 
-    private ListenableFuture<Void> sendRequest(DeviceSessionContext sessionContext, SnmpCommunicationConfig communicationConfig) {
-        return sendRequest(sessionContext, communicationConfig, Collections.emptyMap());
+    private ListenableFuture<Void> sendQueryingRequest(DeviceSessionContext sessionContext, List<RepeatingQueryingSnmpCommunicationConfig> configs) {
+        Set<String> oids = new HashSet<>();
+        List<SnmpMapping> mappings = configs.stream()
+                .flatMap(config -> config.getAllMappings().stream())
+                .filter(mapping -> oids.add(mapping.getOid()))
+                .collect(Collectors.toList());
+        List<PDU> request = pduService.createPdus(sessionContext, SnmpMethod.GET, mappings, Collections.emptyMap());
+        if (request.isEmpty()) {
+            return Futures.immediateVoidFuture();
+        }
+        if (inFlightRequests != null && !inFlightRequests.tryAcquire(request.size())) {
+            log.debug("[{}] Skipping SNMP querying: max in-flight requests limit ({}) is reached", sessionContext.getDeviceId(), maxInFlightRequests);
+            skippedQueryingCounter.increment();
+            return Futures.immediateVoidFuture();
+        }
+        RequestContext requestContext = RequestContext.builder()
+                .communicationSpec(configs.get(0).getSpec())
+                .method(SnmpMethod.GET)
+                .responseMappings(mappings)
+                .queryingConfigs(configs)
+                .requestSize(request.size())
+                .inFlightPermits(inFlightRequests != null ? request.size() : 0)
+                .build();
+        return sendRequest(sessionContext, request, requestContext);
     }
 
     private ListenableFuture<Void> sendRequest(DeviceSessionContext sessionContext, SnmpCommunicationConfig communicationConfig, Map<String, String> values) {
@@ -227,7 +295,8 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
             snmp.send(pdu, sessionContext.getTarget(), requestContext, sessionContext);
         } catch (Exception e) {
             log.error("[{}] Failed to send SNMP request", sessionContext.getDeviceId(), e);
-            transportService.errorEvent(sessionContext.getTenantId(), sessionContext.getDeviceId(), requestContext.getCommunicationSpec().getLabel(), e);
+            releaseInFlightPermit(requestContext);
+            reportError(sessionContext, requestContext, e);
         }
     }
 
@@ -283,9 +352,13 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
     public void processResponseEvent(DeviceSessionContext sessionContext, ResponseEvent event) {
         ((Snmp) event.getSource()).cancel(event.getRequest(), sessionContext);
         RequestContext requestContext = (RequestContext) event.getUserObject();
+        releaseInFlightPermit(requestContext);
+        if (!sessionContext.isActive()) {
+            return;
+        }
         if (event.getError() != null) {
             log.warn("[{}] SNMP response error: {}", sessionContext.getDeviceId(), event.getError().toString());
-            transportService.errorEvent(sessionContext.getTenantId(), sessionContext.getDeviceId(), requestContext.getCommunicationSpec().getLabel(), new RuntimeException(event.getError()));
+            reportError(sessionContext, requestContext, new RuntimeException(event.getError()));
             return;
         }
 
@@ -294,10 +367,11 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
 
         List<PDU> response;
         if (requestContext.getRequestSize() == 1) {
+            recordQueryingLatency(requestContext);
             if (responsePdu == null) {
                 if (requestContext.getMethod() == SnmpMethod.GET) {
                     log.debug("[{}][{}] Empty response from device", sessionContext.getDeviceId(), event.getRequest().getRequestID());
-                    transportService.errorEvent(sessionContext.getTenantId(), sessionContext.getDeviceId(), requestContext.getCommunicationSpec().getLabel(), new RuntimeException("No response from device"));
+                    reportError(sessionContext, requestContext, new RuntimeException("No response from device"));
                 }
                 return;
             }
@@ -306,6 +380,7 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
             List<PDU> responseParts = requestContext.getResponseParts();
             responseParts.add(responsePdu);
             if (responseParts.size() == requestContext.getRequestSize()) {
+                recordQueryingLatency(requestContext);
                 response = new ArrayList<>();
                 for (PDU responsePart : responseParts) {
                     if (responsePart != null) {
@@ -320,6 +395,10 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
         }
 
         executor.execute(() -> {
+            if (requestContext.getQueryingConfigs() != null) {
+                processQueryingResponse(sessionContext, response, requestContext.getQueryingConfigs());
+                return;
+            }
             try {
                 processResponse(sessionContext, response, requestContext);
             } catch (Exception e) {
@@ -328,6 +407,44 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
         });
     }
 
+    private void processQueryingResponse(DeviceSessionContext sessionContext, List<PDU> response, List<RepeatingQueryingSnmpCommunicationConfig> configs) {
+        for (RepeatingQueryingSnmpCommunicationConfig config : configs) {
+            RequestContext configRequestContext = RequestContext.builder()
+                    .communicationSpec(config.getSpec())
+                    .method(config.getMethod())
+                    .responseMappings(config.getAllMappings())
+                    .requestSize(response.size())
+                    .build();
+            try {
+                processResponse(sessionContext, response, configRequestContext);
+            } catch (Exception e) {
+                transportService.errorEvent(sessionContext.getTenantId(), sessionContext.getDeviceId(), config.getSpec().getLabel(), e);
+            }
+        }
+    }
+
+    private void reportError(DeviceSessionContext sessionContext, RequestContext requestContext, Exception e) {
+        if (requestContext.getQueryingConfigs() != null) {
+            for (RepeatingQueryingSnmpCommunicationConfig config : requestContext.getQueryingConfigs()) {
+                transportService.errorEvent(sessionContext.getTenantId(), sessionContext.getDeviceId(), config.getSpec().getLabel(), e);
+            }
+        } else {
+            transportService.errorEvent(sessionContext.getTenantId(), sessionContext.getDeviceId(), requestContext.getCommunicationSpec().getLabel(), e);
+        }
+    }
+
+    private void releaseInFlightPermit(RequestContext requestContext) {
+        if (inFlightRequests != null && requestContext.getInFlightPermits().getAndDecrement() > 0) {
+            inFlightRequests.release();
+        }
+    }
+
+    private void recordQueryingLatency(RequestContext requestContext) {
+        if (requestContext.getQueryingConfigs() != null) {
+            queryingLatencyTimer.record(System.nanoTime() - requestContext.getStartTs(), TimeUnit.NANOSECONDS);
+        }
+    }
+
     /*
      * SNMP notifications handler
      *
@@ -492,17 +609,24 @@ public class SnmpTransportService implements TbTransportService, CommandResponde
         private final SnmpCommunicationSpec communicationSpec;
         private final SnmpMethod method;
         private final List<SnmpMapping> responseMappings;
+        // set for the merged querying request of multiple communication configs
+        private final List<RepeatingQueryingSnmpCommunicationConfig> queryingConfigs;
 
         private final int requestSize;
         private List<PDU> responseParts;
+        private final AtomicInteger inFlightPermits;
+        private final long startTs = System.nanoTime();
 
         @Builder
-        public RequestContext(Integer requestId, SnmpCommunicationSpec communicationSpec, SnmpMethod method, List<SnmpMapping> responseMappings, int requestSize) {
+        public RequestContext(Integer requestId, SnmpCommunicationSpec communicationSpec, SnmpMethod method, List<SnmpMapping> responseMappings,
+                              List<RepeatingQueryingSnmpCommunicationConfig> queryingConfigs, int requestSize, int inFlightPermits) {
             this.requestId = requestId;
             this.communicationSpec = communicationSpec;
             this.method = method;
             this.responseMappings = responseMappings;
+            this.queryingConfigs = queryingConfigs;
             this.requestSize = requestSize;
+            this.inFlightPermits = new AtomicInteger(inFlightPermits);
             if (requestSize > 1) {
                 this.responseParts = Collections.synchronizedList(new ArrayList<>());
             }
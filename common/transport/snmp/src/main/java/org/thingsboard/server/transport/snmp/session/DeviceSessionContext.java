@@ -110,9 +110,8 @@ public class DeviceSessionContext extends DeviceAwareSessionContext implements S
 
     @Override
     public void onResponse(ResponseEvent event) {
-        if (isActive) {
-            snmpTransportContext.getSnmpTransportService().processResponseEvent(this, event);
-        }
+        // the response is handled for inactive session as well, to release the in-flight request permit
+        snmpTransportContext.getSnmpTransportService().processResponseEvent(this, event);
     }
 
     public void initializeTarget(SnmpDeviceProfileTransportConfiguration profileTransportConfig, SnmpDeviceTransportConfiguration deviceTransportConfig) throws Exception {
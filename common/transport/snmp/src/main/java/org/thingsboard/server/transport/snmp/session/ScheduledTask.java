@@ -30,25 +30,34 @@ import java.util.concurrent.TimeUnit;
 public class ScheduledTask {
     private ListenableFuture<?> scheduledFuture;
     private boolean stopped = false;
+    private volatile long expectedStartTs;
+    // delay of the current run start relative to the planned start, caused by the busy scheduler
+    private volatile long startLag;
 
     public void init(AsyncCallable<Void> task, long delayMs, ScheduledExecutorService scheduler) {
-        schedule(task, delayMs, scheduler);
+        init(task, delayMs, delayMs, scheduler);
     }
 
-    private void schedule(AsyncCallable<Void> task, long delayMs, ScheduledExecutorService scheduler) {
+    public void init(AsyncCallable<Void> task, long initialDelayMs, long delayMs, ScheduledExecutorService scheduler) {
+        schedule(task, initialDelayMs, delayMs, scheduler);
+    }
+
+    private void schedule(AsyncCallable<Void> task, long currentDelayMs, long delayMs, ScheduledExecutorService scheduler) {
+        expectedStartTs = System.currentTimeMillis() + currentDelayMs;
         scheduledFuture = Futures.scheduleAsync(() -> {
             if (stopped) {
                 return Futures.immediateCancelledFuture();
             }
+            startLag = Math.max(0, System.currentTimeMillis() - expectedStartTs);
             try {
                 return task.call();
             } catch (Throwable t) {
                 log.error("Unhandled error in scheduled task", t);
                 return Futures.immediateFailedFuture(t);
             }
-        }, delayMs, TimeUnit.MILLISECONDS, scheduler);
+        }, currentDelayMs, TimeUnit.MILLISECONDS, scheduler);
         if (!stopped) {
-            scheduledFuture.addListener(() -> schedule(task, delayMs, scheduler), MoreExecutors.directExecutor());
+            scheduledFuture.addListener(() -> schedule(task, delayMs, delayMs, scheduler), MoreExecutors.directExecutor());
         }
     }
 
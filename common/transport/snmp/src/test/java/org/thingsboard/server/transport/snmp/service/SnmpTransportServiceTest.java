@@ -0,0 +1,307 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.snmp.service;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.mockito.ArgumentCaptor;
+import org.snmp4j.CommunityTarget;
+import org.snmp4j.mp.SnmpConstants;
+import org.snmp4j.smi.OctetString;
+import org.snmp4j.smi.UdpAddress;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.Device;
+import org.thingsboard.server.common.data.device.data.SnmpDeviceTransportConfiguration;
+import org.thingsboard.server.common.data.device.profile.SnmpDeviceProfileTransportConfiguration;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.kv.DataType;
+import org.thingsboard.server.common.data.transport.snmp.SnmpCommunicationSpec;
+import org.thingsboard.server.common.data.transport.snmp.SnmpMapping;
+import org.thingsboard.server.common.data.transport.snmp.SnmpMethod;
+import org.thingsboard.server.common.data.transport.snmp.SnmpProtocolVersion;
+import org.thingsboard.server.common.data.transport.snmp.config.RepeatingQueryingSnmpCommunicationConfig;
+import org.thingsboard.server.common.data.transport.snmp.config.impl.ClientAttributesQueryingSnmpCommunicationConfig;
+import org.thingsboard.server.common.data.transport.snmp.config.impl.TelemetryQueryingSnmpCommunicationConfig;
+import org.thingsboard.server.common.stats.DefaultCounter;
+import org.thingsboard.server.common.stats.StatsFactory;
+import org.thingsboard.server.common.transport.TransportService;
+import org.thingsboard.server.gen.transport.TransportProtos.KeyValueProto;
+import org.thingsboard.server.gen.transport.TransportProtos.PostAttributeMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.PostTelemetryMsg;
+import org.thingsboard.server.transport.snmp.SnmpDeviceSimulatorV2;
+import org.thingsboard.server.transport.snmp.SnmpTransportContext;
+import org.thingsboard.server.transport.snmp.session.DeviceSessionContext;
+import org.thingsboard.server.transport.snmp.session.ScheduledTask;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Execution(ExecutionMode.SAME_THREAD)
+public class SnmpTransportServiceTest {
+
+    private static final String OID_1 = "1.3.6.1.2.1.1.1.52";
+    private static final String OID_2 = "1.3.6.1.2.1.2.1.52";
+    private static final String OID_3 = "1.3.6.1.2.1.3.1.52";
+    private static final String OID_4 = "1.3.6.1.2.1.4.1.52";
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+
+    private TransportService transportService;
+    private PduService pduService;
+    private SnmpTransportContext transportContext;
+    private SnmpAuthService authService;
+    private DefaultCounter skippedCounter;
+    private SnmpTransportService snmpTransportService;
+    private SnmpDeviceSimulatorV2 device;
+    private int devicePort;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        devicePort = findFreePort();
+        device = new SnmpDeviceSimulatorV2(devicePort, "public", Map.of(
+                OID_1, "value_1",
+                OID_2, "value_2",
+                OID_3, "value_3",
+                OID_4, "value_4"
+        ));
+        device.start();
+
+        transportService = mock(TransportService.class);
+        pduService = spy(new PduService());
+        StatsFactory statsFactory = mock(StatsFactory.class);
+        when(statsFactory.createTimer(any())).thenReturn(mock(Timer.class));
+        skippedCounter = mock(DefaultCounter.class);
+        when(statsFactory.createDefaultCounter(eq("snmpQueryingSkipped"))).thenReturn(skippedCounter);
+
+        snmpTransportService = new SnmpTransportService(transportService, pduService, statsFactory);
+        transportContext = mock(SnmpTransportContext.class);
+        authService = mock(SnmpAuthService.class);
+        when(transportContext.getSnmpTransportService()).thenReturn(snmpTransportService);
+        when(transportContext.getSnmpAuthService()).thenReturn(authService);
+        ReflectionTestUtils.setField(snmpTransportService, "transportContext", transportContext);
+        ReflectionTestUtils.setField(snmpTransportService, "snmpBindPort", 0);
+        ReflectionTestUtils.setField(snmpTransportService, "snmpBindAddress", "127.0.0.1");
+        ReflectionTestUtils.setField(snmpTransportService, "responseProcessingThreadPoolSize", 1);
+        ReflectionTestUtils.setField(snmpTransportService, "schedulerThreadPoolSize", 1);
+        ReflectionTestUtils.setField(snmpTransportService, "snmpUnderlyingProtocol", "udp");
+        ReflectionTestUtils.setField(snmpTransportService, "requestChunkDelayMs", 0);
+        setMaxRequestOids(100);
+        setMaxInFlightRequests(10);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        snmpTransportService.shutdown();
+        device.stop();
+    }
+
+    @Test
+    public void givenConfigsWithSameFrequency_whenQuerying_thenSingleMergedRequestIsSentAndResponseIsRoutedToEachConfig() throws Exception {
+        setMaxRequestOids(2);
+        DeviceSessionContext session = createSession(devicePort);
+        // OID_3 is mapped by both configs, and it must be requested only once
+        List<RepeatingQueryingSnmpCommunicationConfig> configs = List.of(
+                telemetryConfig(Map.of(OID_1, "t1", OID_2, "t2", OID_3, "t3")),
+                attributesConfig(Map.of(OID_3, "a3", OID_4, "a4"))
+        );
+
+        sendQueryingRequest(session, configs);
+
+        ArgumentCaptor<List<SnmpMapping>> mappings = ArgumentCaptor.forClass(List.class);
+        verify(pduService).createPdus(eq(session), eq(SnmpMethod.GET), mappings.capture(), eq(Map.of()));
+        assertThat(mappings.getValue()).extracting(SnmpMapping::getOid).containsExactlyInAnyOrder(OID_1, OID_2, OID_3, OID_4);
+
+        ArgumentCaptor<PostTelemetryMsg> telemetry = ArgumentCaptor.forClass(PostTelemetryMsg.class);
+        verify(transportService, timeout(5000)).process(any(), telemetry.capture(), any());
+        assertThat(telemetry.getValue().getTsKvListList().stream().flatMap(tsKv -> tsKv.getKvList().stream()).map(KeyValueProto::getKey))
+                .containsExactlyInAnyOrder("t1", "t2", "t3");
+
+        ArgumentCaptor<PostAttributeMsg> attributes = ArgumentCaptor.forClass(PostAttributeMsg.class);
+        verify(transportService, timeout(5000)).process(any(), attributes.capture(), any());
+        assertThat(attributes.getValue().getKvList()).extracting(KeyValueProto::getKey).containsExactlyInAnyOrder("a3", "a4");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> getInFlightRequests().availablePermits() == 10);
+        verify(transportService, never()).errorEvent(any(), any(), any(), any());
+    }
+
+    @Test
+    public void givenNoInFlightPermitsLeft_whenQuerying_thenPollIsSkippedAndPermitsAreReleasedOnResponse() throws Exception {
+        setMaxRequestOids(1);
+        setMaxInFlightRequests(2);
+        DeviceSessionContext session = createSession(devicePort);
+
+        // 3 PDUs are required, while only 2 permits are available
+        sendQueryingRequest(session, List.of(telemetryConfig(Map.of(OID_1, "t1", OID_2, "t2", OID_3, "t3"))));
+
+        verify(skippedCounter).increment();
+        assertThat(getInFlightRequests().availablePermits()).isEqualTo(2);
+        verify(transportService, never()).process(any(), any(PostTelemetryMsg.class), any());
+
+        sendQueryingRequest(session, List.of(telemetryConfig(Map.of(OID_1, "t1", OID_2, "t2"))));
+
+        verify(transportService, timeout(5000)).process(any(), any(PostTelemetryMsg.class), any());
+        await().atMost(5, TimeUnit.SECONDS).until(() -> getInFlightRequests().availablePermits() == 2);
+        verify(skippedCounter).increment();
+    }
+
+    @Test
+    public void givenNoResponseForMergedRequest_whenTimedOut_thenErrorIsReportedForEachConfigAndPermitsAreReleased() throws Exception {
+        DeviceSessionContext session = createSession(findFreePort());
+
+        sendQueryingRequest(session, List.of(
+                telemetryConfig(Map.of(OID_1, "t1")),
+                attributesConfig(Map.of(OID_2, "a2"))
+        ));
+
+        verify(transportService, timeout(5000)).errorEvent(eq(tenantId), eq(session.getDeviceId()), eq(SnmpCommunicationSpec.TELEMETRY_QUERYING.getLabel()), any());
+        verify(transportService, timeout(5000)).errorEvent(eq(tenantId), eq(session.getDeviceId()), eq(SnmpCommunicationSpec.CLIENT_ATTRIBUTES_QUERYING.getLabel()), any());
+        await().atMost(5, TimeUnit.SECONDS).until(() -> getInFlightRequests().availablePermits() == 10);
+    }
+
+    @Test
+    public void givenDevicesWithSameFrequency_whenQueryingTasksCreated_thenFirstPollsAreSpreadOverPeriod() throws Exception {
+        long frequency = TimeUnit.HOURS.toMillis(1);
+        List<DeviceSessionContext> sessions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            DeviceSessionContext session = createSession(devicePort,
+                    telemetryConfig(Map.of(OID_1, "t1"), frequency),
+                    attributesConfig(Map.of(OID_2, "a2"), frequency));
+            sessions.add(session);
+        }
+
+        try {
+            long startTs = System.currentTimeMillis();
+            sessions.forEach(snmpTransportService::createQueryingTasks);
+
+            Set<Long> initialDelays = new HashSet<>();
+            for (DeviceSessionContext session : sessions) {
+                // configs with the same frequency share one task
+                assertThat(session.getQueryingTasks()).hasSize(1);
+                ScheduledTask task = session.getQueryingTasks().get(0);
+                long expectedDelay = SnmpTransportService.getInitialDelay(session.getDeviceId(), frequency);
+                assertThat(task.getExpectedStartTs() - startTs).isBetween(expectedDelay, expectedDelay + 1000);
+                initialDelays.add(expectedDelay / 1000);
+            }
+            // time-based ids created in a row share the least significant bits and differ only slightly in the time bits
+            assertThat(initialDelays).hasSizeGreaterThan(sessions.size() / 2);
+        } finally {
+            sessions.forEach(snmpTransportService::cancelQueryingTasks);
+        }
+    }
+
+    private void sendQueryingRequest(DeviceSessionContext session, List<RepeatingQueryingSnmpCommunicationConfig> configs) {
+        ReflectionTestUtils.invokeMethod(snmpTransportService, "sendQueryingRequest", session, configs);
+    }
+
+    private DeviceSessionContext createSession(int port, RepeatingQueryingSnmpCommunicationConfig... configs) throws Exception {
+        CommunityTarget target = new CommunityTarget();
+        target.setCommunity(new OctetString("public"));
+        target.setAddress(new UdpAddress("127.0.0.1/" + port));
+        target.setVersion(SnmpConstants.version2c);
+        target.setTimeout(500);
+        target.setRetries(0);
+        when(authService.setUpSnmpTarget(any(), any())).thenReturn(target);
+
+        SnmpDeviceProfileTransportConfiguration profileTransportConfiguration = new SnmpDeviceProfileTransportConfiguration();
+        profileTransportConfiguration.setCommunicationConfigs(List.of(configs));
+        SnmpDeviceTransportConfiguration deviceTransportConfiguration = new SnmpDeviceTransportConfiguration();
+        deviceTransportConfiguration.setProtocolVersion(SnmpProtocolVersion.V2C);
+        Device device = new Device(new DeviceId(Uuids.timeBased()));
+        device.setTenantId(tenantId);
+
+        return DeviceSessionContext.builder()
+                .tenantId(tenantId)
+                .device(device)
+                .profileTransportConfiguration(profileTransportConfiguration)
+                .deviceTransportConfiguration(deviceTransportConfiguration)
+                .snmpTransportContext(transportContext)
+                .build();
+    }
+
+    private TelemetryQueryingSnmpCommunicationConfig telemetryConfig(Map<String, String> keysByOid) {
+        return telemetryConfig(keysByOid, 60000L);
+    }
+
+    private TelemetryQueryingSnmpCommunicationConfig telemetryConfig(Map<String, String> keysByOid, long frequency) {
+        TelemetryQueryingSnmpCommunicationConfig config = new TelemetryQueryingSnmpCommunicationConfig();
+        config.setMappings(toMappings(keysByOid));
+        config.setQueryingFrequencyMs(frequency);
+        return config;
+    }
+
+    private ClientAttributesQueryingSnmpCommunicationConfig attributesConfig(Map<String, String> keysByOid) {
+        return attributesConfig(keysByOid, 60000L);
+    }
+
+    private ClientAttributesQueryingSnmpCommunicationConfig attributesConfig(Map<String, String> keysByOid, long frequency) {
+        ClientAttributesQueryingSnmpCommunicationConfig config = new ClientAttributesQueryingSnmpCommunicationConfig();
+        config.setMappings(toMappings(keysByOid));
+        config.setQueryingFrequencyMs(frequency);
+        return config;
+    }
+
+    private List<SnmpMapping> toMappings(Map<String, String> keysByOid) {
+        List<SnmpMapping> mappings = new ArrayList<>();
+        keysByOid.forEach((oid, key) -> mappings.add(new SnmpMapping(oid, key, DataType.STRING)));
+        return mappings;
+    }
+
+    private void setMaxRequestOids(int maxRequestOids) {
+        ReflectionTestUtils.setField(pduService, "maxRequestOids", maxRequestOids);
+    }
+
+    private void setMaxInFlightRequests(int maxInFlightRequests) throws Exception {
+        snmpTransportService.shutdown();
+        ReflectionTestUtils.setField(snmpTransportService, "maxInFlightRequests", maxInFlightRequests);
+        ReflectionTestUtils.invokeMethod(snmpTransportService, "init");
+    }
+
+    private Semaphore getInFlightRequests() {
+        return (Semaphore) ReflectionTestUtils.getField(snmpTransportService, "inFlightRequests");
+    }
+
+    private static int findFreePort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
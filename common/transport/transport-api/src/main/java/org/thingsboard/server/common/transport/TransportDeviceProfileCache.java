@@ -16,7 +16,9 @@
 package org.thingsboard.server.common.transport;
 
 import org.thingsboard.server.common.data.DeviceProfile;
+import org.thingsboard.server.common.data.device.profile.ProtoTransportPayloadConfiguration;
 import org.thingsboard.server.common.data.id.DeviceProfileId;
+import org.thingsboard.server.common.transport.profile.ProtoTransportPayloadConverters;
 import org.thingsboard.server.gen.transport.TransportProtos;
 
 public interface TransportDeviceProfileCache {
@@ -31,4 +33,10 @@ public interface TransportDeviceProfileCache {
 
     void evict(DeviceProfileId id);
 
+    /**
+     * Returns the payload converters compiled from the proto schemas of the device profile.
+     * Compiled once per profile version and shared by all sessions of the devices that use the profile.
+     */
+    ProtoTransportPayloadConverters getProtoPayloadConverters(DeviceProfileId id, ProtoTransportPayloadConfiguration configuration);
+
 }
@@ -18,6 +18,7 @@ package org.thingsboard.server.common.transport.limits;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.thingsboard.server.cache.limits.TbRateLimitsFactory;
 import org.thingsboard.server.common.data.EntityType;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.TenantProfile;
@@ -51,6 +52,9 @@ import static org.thingsboard.server.common.transport.limits.TransportLimitsType
 public class DefaultTransportRateLimitService implements TransportRateLimitService {
 
     private final static DummyTransportRateLimit ALLOW = new DummyTransportRateLimit();
+    private static final String REGULAR_MSG_LIMIT = "msg";
+    private static final String TELEMETRY_MSG_LIMIT = "telemetryMsg";
+    private static final String TELEMETRY_DATA_POINTS_LIMIT = "telemetryDataPoints";
     private final ConcurrentMap<TenantId, Boolean> tenantAllowed = new ConcurrentHashMap<>();
     private final ConcurrentMap<TenantId, Set<DeviceId>> tenantDevices = new ConcurrentHashMap<>();
     private final ConcurrentMap<TenantId, Set<DeviceId>> tenantGateways = new ConcurrentHashMap<>();
@@ -62,6 +66,7 @@ public class DefaultTransportRateLimitService implements TransportRateLimitServi
     private final Map<InetAddress, InetAddressRateLimitStats> ipMap = new ConcurrentHashMap<>();
 
     private final TransportTenantProfileCache tenantProfileCache;
+    private final TbRateLimitsFactory rateLimitsFactory;
 
     @Value("${transport.rate_limits.ip_limits_enabled:false}")
     private boolean ipRateLimitsEnabled;
@@ -70,8 +75,9 @@ public class DefaultTransportRateLimitService implements TransportRateLimitServi
     @Value("${transport.rate_limits.ip_block_timeout:60000}")
     private long ipBlockTimeout;
 
-    public DefaultTransportRateLimitService(TransportTenantProfileCache tenantProfileCache) {
+    public DefaultTransportRateLimitService(TransportTenantProfileCache tenantProfileCache, TbRateLimitsFactory rateLimitsFactory) {
         this.tenantProfileCache = tenantProfileCache;
+        this.rateLimitsFactory = rateLimitsFactory;
     }
 
     @Override
@@ -109,32 +115,22 @@ public class DefaultTransportRateLimitService implements TransportRateLimitServi
     public void update(TenantProfileUpdateResult update) {
         TenantProfile profile = update.getProfile();
         log.info("Received tenant profile update: {}", profile);
-        EntityTransportRateLimits tenantRateLimitPrototype = createRateLimits(profile, TENANT_LIMITS);
-        EntityTransportRateLimits deviceRateLimitPrototype = createRateLimits(profile, DEVICE_LIMITS);
-        EntityTransportRateLimits gatewayRateLimitPrototype = createRateLimits(profile, GATEWAY_LIMITS);
-        EntityTransportRateLimits gatewayDeviceRateLimitPrototype = createRateLimits(profile, GATEWAY_DEVICE_LIMITS);
         for (TenantId tenantId : update.getAffectedTenants()) {
-            update(tenantId, tenantRateLimitPrototype, deviceRateLimitPrototype, gatewayRateLimitPrototype, gatewayDeviceRateLimitPrototype);
+            update(tenantId, profile);
         }
     }
 
     @Override
     public void update(TenantId tenantId) {
-        TenantProfile profile = tenantProfileCache.get(tenantId);
-        update(tenantId,
-                createRateLimits(profile, TENANT_LIMITS),
-                createRateLimits(profile, DEVICE_LIMITS),
-                createRateLimits(profile, GATEWAY_LIMITS),
-                createRateLimits(profile, GATEWAY_DEVICE_LIMITS)
-        );
+        update(tenantId, tenantProfileCache.get(tenantId));
     }
 
-    private void update(TenantId tenantId, EntityTransportRateLimits tenantRateLimitPrototype, EntityTransportRateLimits deviceRateLimitPrototype,
-                        EntityTransportRateLimits gatewayRateLimitPrototype, EntityTransportRateLimits gatewayDeviceRateLimitPrototype) {
-        mergeLimits(tenantId, tenantRateLimitPrototype, perTenantLimits::get, perTenantLimits::put);
-        getTenantDevices(tenantId).forEach(deviceId -> mergeLimits(deviceId, deviceRateLimitPrototype, perDeviceLimits::get, perDeviceLimits::put));
-        getTenantGateways(tenantId).forEach(gatewayId -> mergeLimits(gatewayId, gatewayRateLimitPrototype, perGatewayLimits::get, perGatewayLimits::put));
-        getTenantGatewayDevices(tenantId).forEach(gatewayId -> mergeLimits(gatewayId, gatewayDeviceRateLimitPrototype, perGatewayDeviceLimits::get, perGatewayDeviceLimits::put));
+    // Limits are created per entity, since distributed limits are bound to the entity they are shared for.
+    private void update(TenantId tenantId, TenantProfile profile) {
+        mergeLimits(tenantId, profile, TENANT_LIMITS, perTenantLimits::get, perTenantLimits::put);
+        getTenantDevices(tenantId).forEach(deviceId -> mergeLimits(deviceId, profile, DEVICE_LIMITS, perDeviceLimits::get, perDeviceLimits::put));
+        getTenantGateways(tenantId).forEach(gatewayId -> mergeLimits(gatewayId, profile, GATEWAY_LIMITS, perGatewayLimits::get, perGatewayLimits::put));
+        getTenantGatewayDevices(tenantId).forEach(gatewayId -> mergeLimits(gatewayId, profile, GATEWAY_DEVICE_LIMITS, perGatewayDeviceLimits::get, perGatewayDeviceLimits::put));
     }
 
     @Override
@@ -229,15 +225,16 @@ public class DefaultTransportRateLimitService implements TransportRateLimitServi
         }
     }
 
-    private <T extends EntityId> void mergeLimits(T entityId, EntityTransportRateLimits newRateLimits,
+    private <T extends EntityId> void mergeLimits(T entityId, TenantProfile profile, TransportLimitsType limitsType,
                                                   Function<T, EntityTransportRateLimits> getFunction,
                                                   BiConsumer<T, EntityTransportRateLimits> putFunction) {
         EntityTransportRateLimits oldRateLimits = getFunction.apply(entityId);
         if (oldRateLimits == null) {
+            EntityTransportRateLimits newRateLimits = createRateLimits(profile, limitsType, entityId);
             logLimits(entityId, "New", newRateLimits);
             putFunction.accept(entityId, newRateLimits);
         } else {
-            EntityTransportRateLimits updated = merge(oldRateLimits, newRateLimits);
+            EntityTransportRateLimits updated = merge(entityId, profile, limitsType, oldRateLimits);
             if (updated != null) {
                 logLimits(entityId, "Updated", updated);
                 putFunction.accept(entityId, updated);
@@ -254,35 +251,65 @@ public class DefaultTransportRateLimitService implements TransportRateLimitServi
         }
     }
 
-    private EntityTransportRateLimits merge(EntityTransportRateLimits oldRateLimits, EntityTransportRateLimits newRateLimits) {
-        boolean regularUpdate = !oldRateLimits.getRegularMsgRateLimit().getConfiguration().equals(newRateLimits.getRegularMsgRateLimit().getConfiguration());
-        boolean telemetryMsgRateUpdate = !oldRateLimits.getTelemetryMsgRateLimit().getConfiguration().equals(newRateLimits.getTelemetryMsgRateLimit().getConfiguration());
-        boolean telemetryDataPointUpdate = !oldRateLimits.getTelemetryDataPointsRateLimit().getConfiguration().equals(newRateLimits.getTelemetryDataPointsRateLimit().getConfiguration());
+    private EntityTransportRateLimits merge(EntityId entityId, TenantProfile tenantProfile, TransportLimitsType limitsType, EntityTransportRateLimits oldRateLimits) {
+        DefaultTenantProfileConfiguration profile = getProfileConfiguration(tenantProfile);
+        boolean distributed = isDistributed(profile, limitsType);
+        String regularConfig = getLimitConfig(profile, limitsType.getRegularMsgRateLimit());
+        String telemetryMsgConfig = getLimitConfig(profile, limitsType.getTelemetryMsgRateLimit());
+        String telemetryDataPointsConfig = getLimitConfig(profile, limitsType.getTelemetryDataPointsRateLimit());
+        boolean regularUpdate = isUpdated(oldRateLimits.getRegularMsgRateLimit(), regularConfig, distributed);
+        boolean telemetryMsgRateUpdate = isUpdated(oldRateLimits.getTelemetryMsgRateLimit(), telemetryMsgConfig, distributed);
+        boolean telemetryDataPointUpdate = isUpdated(oldRateLimits.getTelemetryDataPointsRateLimit(), telemetryDataPointsConfig, distributed);
         if (regularUpdate || telemetryMsgRateUpdate || telemetryDataPointUpdate) {
             return new EntityTransportRateLimits(
-                    regularUpdate ? newLimit(newRateLimits.getRegularMsgRateLimit().getConfiguration()) : oldRateLimits.getRegularMsgRateLimit(),
-                    telemetryMsgRateUpdate ? newLimit(newRateLimits.getTelemetryMsgRateLimit().getConfiguration()) : oldRateLimits.getTelemetryMsgRateLimit(),
-                    telemetryDataPointUpdate ? newLimit(newRateLimits.getTelemetryDataPointsRateLimit().getConfiguration()) : oldRateLimits.getTelemetryDataPointsRateLimit());
+                    regularUpdate ? newLimit(entityId, limitsType, REGULAR_MSG_LIMIT, regularConfig, distributed) : oldRateLimits.getRegularMsgRateLimit(),
+                    telemetryMsgRateUpdate ? newLimit(entityId, limitsType, TELEMETRY_MSG_LIMIT, telemetryMsgConfig, distributed) : oldRateLimits.getTelemetryMsgRateLimit(),
+                    telemetryDataPointUpdate ? newLimit(entityId, limitsType, TELEMETRY_DATA_POINTS_LIMIT, telemetryDataPointsConfig, distributed) : oldRateLimits.getTelemetryDataPointsRateLimit());
         } else {
             return null;
         }
     }
 
-    private EntityTransportRateLimits createRateLimits(TenantProfile tenantProfile, TransportLimitsType limitsType) {
-        TenantProfileData profileData = tenantProfile.getProfileData();
-        DefaultTenantProfileConfiguration profile = (DefaultTenantProfileConfiguration) profileData.getConfiguration();
+    private boolean isUpdated(TransportRateLimit oldRateLimit, String config, boolean distributed) {
+        if (StringUtils.isEmpty(config)) {
+            return oldRateLimit != ALLOW;
+        }
+        return !(oldRateLimit instanceof SimpleTransportRateLimit simpleRateLimit) ||
+                !rateLimitsFactory.isUpToDate(simpleRateLimit.getRateLimit(), config, distributed);
+    }
+
+    private EntityTransportRateLimits createRateLimits(TenantProfile tenantProfile, TransportLimitsType limitsType, EntityId entityId) {
+        DefaultTenantProfileConfiguration profile = getProfileConfiguration(tenantProfile);
         if (profile == null) {
             return new EntityTransportRateLimits(ALLOW, ALLOW, ALLOW);
         }
+        boolean distributed = isDistributed(profile, limitsType);
         return new EntityTransportRateLimits(
-                newLimit(limitsType.getRegularMsgRateLimit().apply(profile)),
-                newLimit(limitsType.getTelemetryMsgRateLimit().apply(profile)),
-                newLimit(limitsType.getTelemetryDataPointsRateLimit().apply(profile))
+                newLimit(entityId, limitsType, REGULAR_MSG_LIMIT, limitsType.getRegularMsgRateLimit().apply(profile), distributed),
+                newLimit(entityId, limitsType, TELEMETRY_MSG_LIMIT, limitsType.getTelemetryMsgRateLimit().apply(profile), distributed),
+                newLimit(entityId, limitsType, TELEMETRY_DATA_POINTS_LIMIT, limitsType.getTelemetryDataPointsRateLimit().apply(profile), distributed)
         );
     }
 
-    private static TransportRateLimit newLimit(String config) {
-        return StringUtils.isEmpty(config) ? ALLOW : new SimpleTransportRateLimit(config);
+    private TransportRateLimit newLimit(EntityId entityId, TransportLimitsType limitsType, String limitName, String config, boolean distributed) {
+        if (StringUtils.isEmpty(config)) {
+            return ALLOW;
+        }
+        String level = entityId.getEntityType() + ":" + entityId.getId() + ":" + limitName;
+        return new SimpleTransportRateLimit(rateLimitsFactory.create(limitsType.getLimitedApi(), level, config, distributed), config);
+    }
+
+    private static DefaultTenantProfileConfiguration getProfileConfiguration(TenantProfile tenantProfile) {
+        TenantProfileData profileData = tenantProfile.getProfileData();
+        return (DefaultTenantProfileConfiguration) profileData.getConfiguration();
+    }
+
+    private static boolean isDistributed(DefaultTenantProfileConfiguration profile, TransportLimitsType limitsType) {
+        return profile != null && profile.isDistributedRateLimit(limitsType.getLimitedApi());
+    }
+
+    private static String getLimitConfig(DefaultTenantProfileConfiguration profile, Function<DefaultTenantProfileConfiguration, String> configExtractor) {
+        return profile != null ? configExtractor.apply(profile) : null;
     }
 
     private EntityTransportRateLimits getTenantRateLimits(TenantId tenantId) {
@@ -308,7 +335,7 @@ public class DefaultTransportRateLimitService implements TransportRateLimitServi
             // Resolve the tenant profile WITHOUT holding the ConcurrentHashMap bin lock: the fetch may
             // block on a cross-service round-trip, so it must run before computeIfAbsent's mapping function.
             TenantProfile tenantProfile = tenantProfileCache.get(tenantId);
-            limits = limitsMap.computeIfAbsent(entityId, k -> createRateLimits(tenantProfile, limitsType));
+            limits = limitsMap.computeIfAbsent(entityId, k -> createRateLimits(tenantProfile, limitsType, entityId));
             // Runs on every observed miss, including callers that lost the computeIfAbsent race and got an
             // existing value back - NOT only on actual creation, so the callback must be idempotent.
             if (onMiss != null) {
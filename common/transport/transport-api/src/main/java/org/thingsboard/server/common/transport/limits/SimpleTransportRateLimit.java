@@ -22,6 +22,7 @@ import org.thingsboard.server.common.msg.tools.TbRateLimits;
 @RequiredArgsConstructor
 public class SimpleTransportRateLimit implements TransportRateLimit {
 
+    @Getter
     private final TbRateLimits rateLimit;
     @Getter
     private final String configuration;
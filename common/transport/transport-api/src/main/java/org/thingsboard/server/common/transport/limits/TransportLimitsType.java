@@ -17,6 +17,7 @@ package org.thingsboard.server.common.transport.limits;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.thingsboard.server.common.data.limit.LimitedApi;
 import org.thingsboard.server.common.data.tenant.profile.DefaultTenantProfileConfiguration;
 
 import java.util.function.Function;
@@ -26,26 +27,31 @@ import java.util.function.Function;
 public enum TransportLimitsType {
 
     TENANT_LIMITS(
+            LimitedApi.TRANSPORT_MESSAGES_PER_TENANT,
             DefaultTenantProfileConfiguration::getTransportTenantMsgRateLimit,
             DefaultTenantProfileConfiguration::getTransportTenantTelemetryMsgRateLimit,
             DefaultTenantProfileConfiguration::getTransportTenantTelemetryDataPointsRateLimit
     ),
     DEVICE_LIMITS(
+            LimitedApi.TRANSPORT_MESSAGES_PER_DEVICE,
             DefaultTenantProfileConfiguration::getTransportDeviceMsgRateLimit,
             DefaultTenantProfileConfiguration::getTransportDeviceTelemetryMsgRateLimit,
             DefaultTenantProfileConfiguration::getTransportDeviceTelemetryDataPointsRateLimit
     ),
     GATEWAY_LIMITS(
+            LimitedApi.TRANSPORT_MESSAGES_PER_GATEWAY,
             DefaultTenantProfileConfiguration::getTransportGatewayMsgRateLimit,
             DefaultTenantProfileConfiguration::getTransportGatewayTelemetryMsgRateLimit,
             DefaultTenantProfileConfiguration::getTransportGatewayTelemetryDataPointsRateLimit
     ),
     GATEWAY_DEVICE_LIMITS(
+            LimitedApi.TRANSPORT_MESSAGES_PER_GATEWAY_DEVICE,
             DefaultTenantProfileConfiguration::getTransportGatewayDeviceMsgRateLimit,
             DefaultTenantProfileConfiguration::getTransportGatewayDeviceTelemetryMsgRateLimit,
             DefaultTenantProfileConfiguration::getTransportGatewayDeviceTelemetryDataPointsRateLimit
     );
 
+    private final LimitedApi limitedApi;
     private final Function<DefaultTenantProfileConfiguration, String> regularMsgRateLimit;
     private final Function<DefaultTenantProfileConfiguration, String> telemetryMsgRateLimit;
     private final Function<DefaultTenantProfileConfiguration, String> telemetryDataPointsRateLimit;
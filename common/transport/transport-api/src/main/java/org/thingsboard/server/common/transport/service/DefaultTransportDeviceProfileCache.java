@@ -21,9 +21,12 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.thingsboard.server.common.data.DeviceProfile;
 import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.device.profile.ProtoTransportPayloadConfiguration;
+import org.thingsboard.server.common.data.device.profile.ProtoTransportPayloadDescriptors;
 import org.thingsboard.server.common.data.id.DeviceProfileId;
 import org.thingsboard.server.common.transport.TransportDeviceProfileCache;
 import org.thingsboard.server.common.transport.TransportService;
+import org.thingsboard.server.common.transport.profile.ProtoTransportPayloadConverters;
 import org.thingsboard.server.common.util.ProtoUtils;
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.queue.util.TbTransportComponent;
@@ -40,6 +43,7 @@ public class DefaultTransportDeviceProfileCache implements TransportDeviceProfil
 
     private final Lock deviceProfileFetchLock = new ReentrantLock();
     private final ConcurrentMap<DeviceProfileId, DeviceProfile> deviceProfiles = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DeviceProfileId, ProtoTransportPayloadConverters> protoPayloadConverters = new ConcurrentHashMap<>();
 
     private TransportService transportService;
 
@@ -67,6 +71,7 @@ public class DefaultTransportDeviceProfileCache implements TransportDeviceProfil
     @Override
     public void put(DeviceProfile profile) {
         deviceProfiles.put(profile.getId(), profile);
+        protoPayloadConverters.remove(profile.getId());
     }
 
     @Override
@@ -79,6 +84,19 @@ public class DefaultTransportDeviceProfileCache implements TransportDeviceProfil
     @Override
     public void evict(DeviceProfileId id) {
         deviceProfiles.remove(id);
+        protoPayloadConverters.remove(id);
+    }
+
+    @Override
+    public ProtoTransportPayloadConverters getProtoPayloadConverters(DeviceProfileId id, ProtoTransportPayloadConfiguration configuration) {
+        // the descriptors are parsed once per profile version, so the converters compiled from other descriptors are outdated
+        ProtoTransportPayloadDescriptors descriptors = configuration.getDescriptors();
+        ProtoTransportPayloadConverters converters = protoPayloadConverters.get(id);
+        if (converters == null || converters.descriptors() != descriptors) {
+            converters = protoPayloadConverters.compute(id, (profileId, current) ->
+                    current != null && current.descriptors() == descriptors ? current : ProtoTransportPayloadConverters.compile(descriptors));
+        }
+        return converters;
     }
 
 
@@ -32,6 +32,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.thingsboard.common.util.ShardedExecutor;
 import org.thingsboard.common.util.ThingsBoardExecutors;
 import org.thingsboard.common.util.ThingsBoardThreadFactory;
 import org.thingsboard.server.common.data.ApiUsageRecordKey;
@@ -155,6 +156,8 @@ public class DefaultTransportService extends TransportActivityManager implements
     private boolean statsEnabled;
     @Value("${transport.callback_thread_pool_size:20}")
     private int callbackThreadPoolSize;
+    @Value("${transport.session_lanes:0}")
+    private int sessionLanes;
 
     @Autowired
     @Lazy
@@ -190,6 +193,7 @@ public class DefaultTransportService extends TransportActivityManager implements
     protected MessagesStats transportApiStats;
 
     protected ExecutorService transportCallbackExecutor;
+    private ShardedExecutor sessionCallbackExecutor;
     private ExecutorService consumerExecutor;
 
     private final Map<String, RpcRequestMetadata> toServerRpcPendingMap = new ConcurrentHashMap<>();
@@ -201,6 +205,9 @@ public class DefaultTransportService extends TransportActivityManager implements
         this.tbCoreProducerStats = statsFactory.createMessagesStats(StatsType.CORE.getName() + ".producer");
         this.transportApiStats = statsFactory.createMessagesStats(StatsType.TRANSPORT.getName() + ".producer");
         this.transportCallbackExecutor = ThingsBoardExecutors.newWorkStealingPool(callbackThreadPoolSize, getClass());
+        if (sessionLanes > 0) {
+            this.sessionCallbackExecutor = new ShardedExecutor(sessionLanes, "transport-session-callback");
+        }
         this.scheduler.scheduleAtFixedRate(this::invalidateRateLimits, new Random().nextInt((int) sessionReportTimeout), sessionReportTimeout, TimeUnit.MILLISECONDS);
         transportApiRequestTemplate = queueProvider.createTransportApiRequestTemplate();
         transportApiRequestTemplate.setMessagesStats(transportApiStats);
@@ -247,6 +254,9 @@ public class DefaultTransportService extends TransportActivityManager implements
         if (transportCallbackExecutor != null) {
             transportCallbackExecutor.shutdownNow();
         }
+        if (sessionCallbackExecutor != null) {
+            sessionCallbackExecutor.shutdownNow();
+        }
         if (consumerExecutor != null) {
             consumerExecutor.shutdownNow();
         }
@@ -550,7 +560,8 @@ public class DefaultTransportService extends TransportActivityManager implements
             TenantId tenantId = getTenantId(sessionInfo);
             DeviceId deviceId = new DeviceId(new UUID(sessionInfo.getDeviceIdMSB(), sessionInfo.getDeviceIdLSB()));
             CustomerId customerId = getCustomerId(sessionInfo);
-            MsgPackCallback packCallback = new MsgPackCallback(msg.getTsKvListCount(), new ApiStatsProxyCallback<>(tenantId, customerId, dataPoints, callback));
+            MsgPackCallback packCallback = new MsgPackCallback(msg.getTsKvListCount(), getSessionCallbackExecutor(toSessionId(sessionInfo)),
+                    new ApiStatsProxyCallback<>(tenantId, customerId, dataPoints, callback));
             for (TransportProtos.TsKvListProto tsKv : msg.getTsKvListList()) {
                 TbMsgMetaData metaData = md != null ? md.copy() : new TbMsgMetaData();
                 metaData.putValue("deviceName", sessionInfo.getDeviceName());
@@ -583,7 +594,7 @@ public class DefaultTransportService extends TransportActivityManager implements
             metaData.putValue(DataConstants.NOTIFY_DEVICE_METADATA_KEY, "false");
             CustomerId customerId = getCustomerId(sessionInfo);
             sendToRuleEngine(tenantId, deviceId, customerId, sessionInfo, json, metaData, TbMsgType.POST_ATTRIBUTES_REQUEST,
-                    new TransportTbQueueCallback(new ApiStatsProxyCallback<>(tenantId, customerId, msg.getKvList().size(), callback)));
+                    new TransportTbQueueCallback(new ApiStatsProxyCallback<>(tenantId, customerId, msg.getKvList().size(), callback), getSessionCallbackExecutor(toSessionId(sessionInfo))));
         }
     }
 
@@ -668,7 +679,7 @@ public class DefaultTransportService extends TransportActivityManager implements
             SessionMetaData md = sessions.get(data.getSessionId());
             if (md != null) {
                 SessionMsgListener listener = md.getListener();
-                transportCallbackExecutor.submit(() -> {
+                getSessionCallbackExecutor(data.getSessionId()).submit(() -> {
                     TransportProtos.ToServerRpcResponseMsg responseMsg =
                             TransportProtos.ToServerRpcResponseMsg.newBuilder()
                                     .setRequestId(data.getRequestId())
@@ -702,7 +713,7 @@ public class DefaultTransportService extends TransportActivityManager implements
             metaData.putValue("serviceId", serviceInfoProvider.getServiceId());
             metaData.putValue("sessionId", sessionId.toString());
             sendToRuleEngine(tenantId, deviceId, getCustomerId(sessionInfo), sessionInfo, json, metaData,
-                    TbMsgType.TO_SERVER_RPC_REQUEST, new TransportTbQueueCallback(callback));
+                    TbMsgType.TO_SERVER_RPC_REQUEST, new TransportTbQueueCallback(callback, getSessionCallbackExecutor(sessionId)));
             String requestId = sessionId + "-" + msg.getRequestId();
             toServerRpcPendingMap.put(requestId, new RpcRequestMetadata(sessionId, msg.getRequestId()));
             scheduler.schedule(() -> processTimeout(requestId), clientSideRpcTimeout, TimeUnit.MILLISECONDS);
@@ -891,7 +902,7 @@ public class DefaultTransportService extends TransportActivityManager implements
         if (md != null) {
             log.trace("[{}] Processing notification: {}", sessionId, toSessionMsg);
             SessionMsgListener listener = md.getListener();
-            transportCallbackExecutor.submit(() -> {
+            getSessionCallbackExecutor(sessionId).submit(() -> {
                 if (toSessionMsg.hasGetAttributesResponse()) {
                     listener.onGetAttributesResponse(toSessionMsg.getGetAttributesResponse());
                 }
@@ -944,7 +955,7 @@ public class DefaultTransportService extends TransportActivityManager implements
                 transportResourceCache.update(tenantId, resourceType, resourceId);
                 sessions.forEach((id, mdRez) -> {
                     log.trace("ResourceUpdate - [{}] [{}]", id, mdRez);
-                    transportCallbackExecutor.submit(() -> mdRez.getListener().onResourceUpdate(msg));
+                    getSessionCallbackExecutor(id).submit(() -> mdRez.getListener().onResourceUpdate(msg));
                 });
             } else if (toSessionMsg.hasResourceDeleteMsg()) {
                 TransportProtos.ResourceDeleteMsg msg = toSessionMsg.getResourceDeleteMsg();
@@ -954,7 +965,7 @@ public class DefaultTransportService extends TransportActivityManager implements
                 transportResourceCache.evict(tenantId, resourceType, resourceId);
                 sessions.forEach((id, mdRez) -> {
                     log.trace("ResourceDelete - [{}] [{}]", id, mdRez);
-                    transportCallbackExecutor.submit(() -> mdRez.getListener().onResourceDelete(msg));
+                    getSessionCallbackExecutor(id).submit(() -> mdRez.getListener().onResourceDelete(msg));
                 });
             } else if (toSessionMsg.getQueueUpdateMsgsCount() > 0) {
                 partitionService.updateQueues(toSessionMsg.getQueueUpdateMsgsList());
@@ -982,7 +993,7 @@ public class DefaultTransportService extends TransportActivityManager implements
                         .setDeviceType(deviceProfile.getName())
                         .build();
                 md.setSessionInfo(newSessionInfo);
-                transportCallbackExecutor.submit(() -> md.getListener().onDeviceProfileUpdate(newSessionInfo, deviceProfile));
+                getSessionCallbackExecutor(id).submit(() -> md.getListener().onDeviceProfileUpdate(newSessionInfo, deviceProfile));
             }
         });
 
@@ -1053,7 +1064,7 @@ public class DefaultTransportService extends TransportActivityManager implements
                     md.setOverwriteActivityTime(deviceAdditionalInfo.get(DataConstants.OVERWRITE_ACTIVITY_TIME_PARAMETER).asBoolean());
                 }
                 md.setSessionInfo(newSessionInfo);
-                transportCallbackExecutor.submit(() -> md.getListener().onDeviceUpdate(newSessionInfo, device, Optional.ofNullable(newDeviceProfile)));
+                getSessionCallbackExecutor(id).submit(() -> md.getListener().onDeviceUpdate(newSessionInfo, device, Optional.ofNullable(newDeviceProfile)));
             }
         });
 
@@ -1064,7 +1075,7 @@ public class DefaultTransportService extends TransportActivityManager implements
         sessions.forEach((id, md) -> {
             DeviceId sessionDeviceId = new DeviceId(new UUID(md.getSessionInfo().getDeviceIdMSB(), md.getSessionInfo().getDeviceIdLSB()));
             if (sessionDeviceId.equals(deviceId)) {
-                transportCallbackExecutor.submit(() -> {
+                getSessionCallbackExecutor(id).submit(() -> {
                     md.getListener().onDeviceDeleted(deviceId);
                 });
             }
@@ -1073,6 +1084,13 @@ public class DefaultTransportService extends TransportActivityManager implements
         eventPublisher.publishEvent(new DeviceDeletedEvent(deviceId));
     }
 
+    /**
+     * Returns the session lane if the sharded mode is enabled, so that the session callbacks are executed in order.
+     */
+    private ExecutorService getSessionCallbackExecutor(UUID sessionId) {
+        return sessionCallbackExecutor != null ? sessionCallbackExecutor.getExecutor(sessionId) : transportCallbackExecutor;
+    }
+
     protected UUID toSessionId(TransportProtos.SessionInfoProto sessionInfo) {
         return new UUID(sessionInfo.getSessionIdMSB(), sessionInfo.getSessionIdLSB());
     }
@@ -1156,19 +1174,25 @@ public class DefaultTransportService extends TransportActivityManager implements
 
     private class TransportTbQueueCallback implements TbQueueCallback {
         private final TransportServiceCallback<Void> callback;
+        private final ExecutorService executor;
 
         private TransportTbQueueCallback(TransportServiceCallback<Void> callback) {
+            this(callback, DefaultTransportService.this.transportCallbackExecutor);
+        }
+
+        private TransportTbQueueCallback(TransportServiceCallback<Void> callback, ExecutorService executor) {
             this.callback = callback;
+            this.executor = executor;
         }
 
         @Override
         public void onSuccess(TbQueueMsgMetadata metadata) {
-            DefaultTransportService.this.transportCallbackExecutor.submit(() -> callback.onSuccess(null));
+            executor.submit(() -> callback.onSuccess(null));
         }
 
         @Override
         public void onFailure(Throwable t) {
-            DefaultTransportService.this.transportCallbackExecutor.submit(() -> callback.onError(t));
+            executor.submit(() -> callback.onError(t));
         }
 
     }
@@ -1200,25 +1224,27 @@ public class DefaultTransportService extends TransportActivityManager implements
 
     }
 
-    private class MsgPackCallback implements TbQueueCallback {
+    private static class MsgPackCallback implements TbQueueCallback {
         private final AtomicInteger msgCount;
+        private final ExecutorService executor;
         private final TransportServiceCallback<Void> callback;
 
-        public MsgPackCallback(Integer msgCount, TransportServiceCallback<Void> callback) {
+        public MsgPackCallback(Integer msgCount, ExecutorService executor, TransportServiceCallback<Void> callback) {
             this.msgCount = new AtomicInteger(msgCount);
+            this.executor = executor;
             this.callback = callback;
         }
 
         @Override
         public void onSuccess(TbQueueMsgMetadata metadata) {
             if (msgCount.decrementAndGet() <= 0) {
-                DefaultTransportService.this.transportCallbackExecutor.submit(() -> callback.onSuccess(null));
+                executor.submit(() -> callback.onSuccess(null));
             }
         }
 
         @Override
         public void onFailure(Throwable t) {
-            DefaultTransportService.this.transportCallbackExecutor.submit(() -> callback.onError(t));
+            executor.submit(() -> callback.onError(t));
         }
 
     }
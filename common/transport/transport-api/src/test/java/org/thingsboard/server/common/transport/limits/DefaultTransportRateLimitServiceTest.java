@@ -20,6 +20,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.thingsboard.server.cache.limits.TbRateLimitsFactory;
 import org.thingsboard.server.common.data.TenantProfile;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.id.TenantId;
@@ -29,6 +30,7 @@ import org.thingsboard.server.common.data.tenant.profile.TenantProfileData;
 import org.thingsboard.server.common.transport.TransportTenantProfileCache;
 import org.thingsboard.server.common.transport.profile.TenantProfileUpdateResult;
 
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
@@ -73,7 +75,7 @@ class DefaultTransportRateLimitServiceTest {
             return tenantProfile();
         });
 
-        DefaultTransportRateLimitService service = new DefaultTransportRateLimitService(tenantProfileCache);
+        DefaultTransportRateLimitService service = new DefaultTransportRateLimitService(tenantProfileCache, new TbRateLimitsFactory(Optional.empty()));
 
         Runnable check = () -> service.checkLimits(tenant, null, null, 1, false);
         executor.submit(check);
@@ -123,7 +125,7 @@ class DefaultTransportRateLimitServiceTest {
     void profileUpdateReachesEntityTrackedDuringFirstCheck(EntityLevel level) {
         DeviceId entity = new DeviceId(UUID.randomUUID());
         when(tenantProfileCache.get(tenant)).thenReturn(profileWithRegularMsgLimit(level, "100:600"));
-        DefaultTransportRateLimitService service = new DefaultTransportRateLimitService(tenantProfileCache);
+        DefaultTransportRateLimitService service = new DefaultTransportRateLimitService(tenantProfileCache, new TbRateLimitsFactory(Optional.empty()));
 
         // First check resolves the (permissive) limit and must register the entity into the per-tenant
         // tracking set via the onMiss callback - otherwise a later update(tenantId) can't reach it.
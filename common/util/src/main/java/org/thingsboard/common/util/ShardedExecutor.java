@@ -0,0 +1,57 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.common.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Set of single-threaded executors. Tasks submitted for the same key are executed by the same thread
+ * in the submission order, while tasks for different keys are spread across all threads.
+ */
+public class ShardedExecutor {
+
+    private final ExecutorService[] shards;
+
+    public ShardedExecutor(int shardsCount, String name) {
+        if (shardsCount <= 0) {
+            throw new IllegalArgumentException("Shards count must be positive: " + shardsCount);
+        }
+        this.shards = new ExecutorService[shardsCount];
+        for (int i = 0; i < shardsCount; i++) {
+            shards[i] = Executors.newSingleThreadExecutor(ThingsBoardThreadFactory.forName(name + "-" + i));
+        }
+    }
+
+    public ExecutorService getExecutor(Object key) {
+        return shards[Math.floorMod(key.hashCode(), shards.length)];
+    }
+
+    public void submit(Object key, Runnable task) {
+        getExecutor(key).submit(task);
+    }
+
+    public int getShardsCount() {
+        return shards.length;
+    }
+
+    public void shutdownNow() {
+        for (ExecutorService shard : shards) {
+            shard.shutdownNow();
+        }
+    }
+
+}
@@ -13,7 +13,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.thingsboard.server.edqs.util;
+package org.thingsboard.common.util;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
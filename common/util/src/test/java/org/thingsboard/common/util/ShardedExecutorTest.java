@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class ShardedExecutorTest {
+
+    private final ShardedExecutor executor = new ShardedExecutor(4, "sharded-executor-test");
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenTasksForSameKey_whenSubmit_thenExecutedInOrder() {
+        UUID key = UUID.randomUUID();
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        IntStream.range(0, 1000).forEach(i -> executor.submit(key, () -> executed.add(i)));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> executed.size() == 1000);
+        assertThat(executed).isSorted();
+    }
+
+    @Test
+    void givenSameKey_whenGetExecutor_thenSameShard() {
+        UUID key = UUID.randomUUID();
+        assertThat(executor.getExecutor(key)).isSameAs(executor.getExecutor(new UUID(key.getMostSignificantBits(), key.getLeastSignificantBits())));
+    }
+
+    @Test
+    void givenZeroShards_whenCreate_thenException() {
+        assertThatThrownBy(() -> new ShardedExecutor(0, "test")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
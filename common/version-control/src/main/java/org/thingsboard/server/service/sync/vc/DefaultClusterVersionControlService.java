@@ -255,20 +255,17 @@ public class DefaultClusterVersionControlService extends TbApplicationEventListe
     private void handleEntitiesContentRequest(VersionControlRequestCtx ctx, EntitiesContentRequestMsg request) throws Exception {
         var entityType = EntityType.valueOf(request.getEntityType());
         String path = getRelativePath(entityType, null);
-        var ids = vcService.listEntitiesAtVersion(ctx.getTenantId(), request.getVersionId(), path)
-                .stream().skip(request.getOffset()).limit(request.getLimit()).collect(Collectors.toList());
-        if (!ids.isEmpty()) {
-            for (int i = 0; i < ids.size(); i++) {
-                VersionedEntityInfo info = ids.get(i);
-                var data = vcService.getFileContentAtCommit(ctx.getTenantId(),
-                        getRelativePath(info.getExternalId().getEntityType(), info.getExternalId().getId().toString()), request.getVersionId());
+        var contents = vcService.getFilesContentAtCommit(ctx.getTenantId(), path, request.getVersionId(), request.getOffset(), request.getLimit());
+        if (!contents.isEmpty()) {
+            for (int i = 0; i < contents.size(); i++) {
+                String data = contents.get(i);
                 Iterable<String> dataChunks = StringUtils.split(data, msgChunkSize);
                 int chunksCount = Iterables.size(dataChunks);
                 AtomicInteger chunkIndex = new AtomicInteger();
                 int itemIdx = i;
                 dataChunks.forEach(chunk -> {
                     EntitiesContentResponseMsg.Builder response = EntitiesContentResponseMsg.newBuilder()
-                            .setItemsCount(ids.size())
+                            .setItemsCount(contents.size())
                             .setItemIdx(itemIdx)
                             .setItem(EntityContentResponseMsg.newBuilder()
                                     .setData(chunk)
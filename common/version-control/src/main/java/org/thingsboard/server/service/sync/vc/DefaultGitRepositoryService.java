@@ -175,6 +175,14 @@ public class DefaultGitRepositoryService implements GitRepositoryService {
         return new String(repository.getFileContentAtCommit(relativePath, versionId), StandardCharsets.UTF_8);
     }
 
+    @Override
+    public List<String> getFilesContentAtCommit(TenantId tenantId, String path, String versionId, int offset, int limit) {
+        GitRepository repository = checkRepository(tenantId);
+        return repository.getFilesContentAtCommit(versionId, path, offset, limit).stream()
+                .map(content -> new String(content, StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Diff> getVersionsDiffList(TenantId tenantId, String path, String versionId1, String versionId2) throws IOException {
         GitRepository repository = checkRepository(tenantId);
@@ -256,6 +264,7 @@ public class DefaultGitRepositoryService implements GitRepositoryService {
         GitRepository repository = repositories.remove(tenantId);
         if (repository != null) {
             log.debug("[{}] Clear tenant repository started.", tenantId);
+            repository.close();
             FileUtils.deleteDirectory(new File(repository.getDirectory()));
             log.debug("[{}] Clear tenant repository completed.", tenantId);
         }
@@ -0,0 +1,228 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.sync.vc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.thingsboard.common.util.JacksonUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Index of the commit metadata and changed paths per branch, persisted in the local repository directory.
+ * The index file of a branch is a list of segments, one per update, each holding the commits
+ * added since the previous head. The whole history is walked again only if the previous head
+ * is no longer an ancestor of the branch, e.g. after a force push.
+ * <p>
+ * To bound the size of the index, a commit that changes more than {@link #MAX_CHANGED_PATHS} files
+ * keeps only its changed top-level folders (entity types); whether a file inside such a folder
+ * was changed is then resolved from the commit trees.
+ */
+@Slf4j
+class GitCommitIndex {
+
+    static final int MAX_CHANGED_PATHS = 100;
+
+    private final Repository repository;
+    private final Path indexDirectory;
+    private final Map<String, BranchIndex> branches = new HashMap<>();
+
+    GitCommitIndex(Repository repository, Path indexDirectory) {
+        this.repository = repository;
+        this.indexDirectory = indexDirectory;
+    }
+
+    // commits reachable from the branch head, newest first
+    synchronized List<IndexedCommit> getCommits(String branch, ObjectId branchId) throws IOException {
+        BranchIndex index = branches.computeIfAbsent(branch, this::load);
+        if (index == null || !branchId.getName().equals(index.headId)) {
+            index = update(branch, index, branchId);
+            branches.put(branch, index);
+        }
+        return index.commits;
+    }
+
+    boolean isChanged(IndexedCommit commit, String path) throws IOException {
+        String folder = StringUtils.substringBefore(path, "/");
+        if (!commit.changedFolders()) {
+            for (String changedPath : commit.changedPaths()) {
+                if (changedPath.equals(path) || (changedPath.startsWith(path) && changedPath.charAt(path.length()) == '/')) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (!commit.changedPaths().contains(folder)) {
+            return false;
+        } else if (folder.equals(path)) {
+            return true;
+        }
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            RevCommit revCommit = revWalk.parseCommit(ObjectId.fromString(commit.id()));
+            return walkChangedPaths(revWalk, revCommit, PathFilter.create(path), changedPath -> false);
+        }
+    }
+
+    private BranchIndex update(String branch, BranchIndex index, ObjectId branchId) throws IOException {
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            RevCommit head = revWalk.parseCommit(branchId);
+            RevCommit lastHead = null;
+            if (index != null) {
+                ObjectId lastHeadId = ObjectId.fromString(index.headId);
+                if (repository.getObjectDatabase().has(lastHeadId)) {
+                    RevCommit commit = revWalk.parseCommit(lastHeadId);
+                    if (revWalk.isMergedInto(commit, head)) {
+                        lastHead = commit;
+                    }
+                }
+                revWalk.reset();
+            }
+            revWalk.markStart(head);
+            if (lastHead != null) {
+                revWalk.markUninteresting(lastHead);
+            }
+            List<IndexedCommit> newCommits = new ArrayList<>();
+            for (RevCommit commit : revWalk) {
+                newCommits.add(toIndexedCommit(revWalk, commit));
+            }
+            Segment segment = new Segment(head.getName(), newCommits);
+            if (lastHead != null) {
+                log.debug("[{}] Adding {} new commits to the index of branch {}", repository.getDirectory(), newCommits.size(), branch);
+                appendSegment(branch, segment, true);
+                List<IndexedCommit> commits = new ArrayList<>(newCommits.size() + index.commits.size());
+                commits.addAll(newCommits);
+                commits.addAll(index.commits);
+                return new BranchIndex(head.getName(), Collections.unmodifiableList(commits));
+            } else {
+                log.debug("[{}] Indexed {} commits of branch {}", repository.getDirectory(), newCommits.size(), branch);
+                appendSegment(branch, segment, false);
+                return new BranchIndex(head.getName(), Collections.unmodifiableList(newCommits));
+            }
+        }
+    }
+
+    private IndexedCommit toIndexedCommit(RevWalk revWalk, RevCommit commit) throws IOException {
+        Set<String> paths = new TreeSet<>();
+        Set<String> folders = new TreeSet<>();
+        walkChangedPaths(revWalk, commit, TreeFilter.ALL, path -> {
+            if (paths.size() <= MAX_CHANGED_PATHS) {
+                paths.add(path);
+            }
+            folders.add(StringUtils.substringBefore(path, "/"));
+            return true;
+        });
+        boolean changedFolders = paths.size() > MAX_CHANGED_PATHS;
+        return new IndexedCommit(commit.getName(), commit.getCommitTime(), commit.getFullMessage(),
+                commit.getAuthorIdent().getName(), commit.getAuthorIdent().getEmailAddress(),
+                commit.getParentCount(), changedFolders ? folders : paths, changedFolders);
+    }
+
+    // same as for the path filter of the log command: a path is changed if it differs from all the parents.
+    // returns true if a changed path was found and the consumer stopped the walk
+    private boolean walkChangedPaths(RevWalk revWalk, RevCommit commit, TreeFilter pathFilter, Predicate<String> consumer) throws IOException {
+        try (TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.setRecursive(true);
+            treeWalk.addTree(commit.getTree());
+            for (RevCommit parent : commit.getParents()) {
+                revWalk.parseHeaders(parent);
+                treeWalk.addTree(parent.getTree());
+            }
+            treeWalk.setFilter(AndTreeFilter.create(pathFilter, TreeFilter.ANY_DIFF));
+            while (treeWalk.next()) {
+                boolean changed = true;
+                for (int i = 1; i < treeWalk.getTreeCount() && changed; i++) {
+                    changed = !treeWalk.idEqual(0, i);
+                }
+                if (changed && !consumer.test(treeWalk.getPathString())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private BranchIndex load(String branch) {
+        Path file = getIndexFile(branch);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            String headId = null;
+            List<IndexedCommit> commits = new ArrayList<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                Segment segment = JacksonUtil.fromString(line, Segment.class);
+                headId = segment.headId();
+                commits.addAll(0, segment.commits());
+            }
+            return headId != null ? new BranchIndex(headId, Collections.unmodifiableList(commits)) : null;
+        } catch (Exception e) {
+            log.warn("[{}] Failed to load the commit index of branch {}, rebuilding", repository.getDirectory(), branch, e);
+            return null;
+        }
+    }
+
+    private void appendSegment(String branch, Segment segment, boolean append) {
+        Path file = getIndexFile(branch);
+        try {
+            Files.createDirectories(indexDirectory);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+                writer.write(JacksonUtil.toString(segment));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            // the in-memory index is still valid; the file is rebuilt on the next load
+            log.warn("[{}] Failed to persist the commit index of branch {}", repository.getDirectory(), branch, e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {}
+        }
+    }
+
+    private Path getIndexFile(String branch) {
+        return indexDirectory.resolve(UUID.nameUUIDFromBytes(branch.getBytes(StandardCharsets.UTF_8)) + ".json");
+    }
+
+    // changedPaths holds the changed top-level folders instead of the files if changedFolders is set
+    record IndexedCommit(String id, int commitTime, String message, String authorName, String authorEmail,
+                         int parentCount, Set<String> changedPaths, boolean changedFolders) {}
+
+    record Segment(String headId, List<IndexedCommit> commits) {}
+
+    private record BranchIndex(String headId, List<IndexedCommit> commits) {}
+
+}
@@ -15,6 +15,8 @@
  */
 package org.thingsboard.server.service.sync.vc;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Streams;
@@ -29,7 +31,6 @@ import org.apache.sshd.common.util.security.SecurityUtils;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.GitCommand;
-import org.eclipse.jgit.api.LogCommand;
 import org.eclipse.jgit.api.LsRemoteCommand;
 import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.TransportCommand;
@@ -40,16 +41,14 @@ import org.eclipse.jgit.diff.EditList;
 import org.eclipse.jgit.diff.HistogramDiff;
 import org.eclipse.jgit.diff.RawText;
 import org.eclipse.jgit.diff.RawTextComparator;
-import org.eclipse.jgit.errors.LargeObjectException;
 import org.eclipse.jgit.errors.RepositoryNotFoundException;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectLoader;
 import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.ObjectStream;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.revwalk.filter.RevFilter;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.FetchResult;
 import org.eclipse.jgit.transport.PushResult;
@@ -103,6 +102,9 @@ import static org.eclipse.jgit.transport.RemoteRefUpdate.Status.REJECTED_REMOTE_
 @Slf4j
 public class GitRepository {
 
+    private static final String COMMIT_INDEX_FOLDER = "tb-commit-index";
+    private static final int FILES_AT_COMMIT_CACHE_SIZE = 64;
+
     private final Git git;
     private final AuthHandler authHandler;
     @Getter
@@ -113,11 +115,19 @@ public class GitRepository {
 
     private ObjectId headId;
 
+    private final GitCommitIndex commitIndex;
+    // commits are immutable, so the listings are never invalidated
+    private final Cache<String, List<RepoFile>> filesAtCommitCache = CacheBuilder.newBuilder()
+            .maximumSize(FILES_AT_COMMIT_CACHE_SIZE)
+            .build();
+    private FilesContentCursor filesContentCursor;
+
     private GitRepository(Git git, RepositorySettings settings, AuthHandler authHandler, String directory) {
         this.git = git;
         this.settings = settings;
         this.authHandler = authHandler;
         this.directory = directory;
+        this.commitIndex = new GitCommitIndex(git.getRepository(), git.getRepository().getDirectory().toPath().resolve(COMMIT_INDEX_FOLDER));
     }
 
     public static GitRepository create(RepositorySettings settings, File directory) throws GitAPIException {
@@ -261,16 +271,18 @@ public class GitRepository {
         if (branchId == null) {
             return new PageData<>();
         }
-        LogCommand command = git.log()
-                .add(branchId);
-
-        command.setRevFilter(new CommitFilter(pageLink.getTextSearch(), settings.isShowMergeCommits()));
-        if (StringUtils.isNotEmpty(path)) {
-            command.addPath(path);
-        }
+        String textSearch = StringUtils.lowerCase(pageLink.getTextSearch());
+        boolean showMergeCommits = settings.isShowMergeCommits();
+        Iterable<GitCommitIndex.IndexedCommit> commits = Iterables.filter(commitIndex.getCommits(branch, branchId), commit ->
+                (showMergeCommits || commit.parentCount() < 2)
+                && (StringUtils.isEmpty(textSearch) || commit.message().toLowerCase().contains(textSearch))
+                && (StringUtils.isEmpty(path) || isChanged(commit, path)));
+        return iterableToPageData(commits, this::fromIndexedCommit, pageLink, indexedCommitComparatorFunction);
+    }
 
-        Iterable<RevCommit> commits = execute(command);
-        return iterableToPageData(commits, this::toCommit, pageLink, revCommitComparatorFunction);
+    @SneakyThrows
+    private boolean isChanged(GitCommitIndex.IndexedCommit commit, String path) {
+        return commitIndex.isChanged(commit, path);
     }
 
     public List<String> listFilesAtCommit(String commitId, String path) {
@@ -284,6 +296,11 @@ public class GitRepository {
 
     @SneakyThrows
     public List<RepoFile> listFilesAtCommit(RevCommit commit, String path, int depth) {
+        return filesAtCommitCache.get(commit.getName() + ":" + depth + ":" + StringUtils.defaultString(path),
+                () -> Collections.unmodifiableList(doListFilesAtCommit(commit, path, depth)));
+    }
+
+    private List<RepoFile> doListFilesAtCommit(RevCommit commit, String path, int depth) throws IOException {
         log.debug("Executing listFilesAtCommit [{}][{}][{}]", settings.getRepositoryUri(), commit, path);
         List<RepoFile> files = new ArrayList<>();
         try (TreeWalk treeWalk = new TreeWalk(git.getRepository())) {
@@ -319,16 +336,57 @@ public class GitRepository {
             }
             ObjectId blobId = treeWalk.getObjectId(0);
             try (ObjectReader objectReader = git.getRepository().newObjectReader()) {
-                ObjectLoader objectLoader = objectReader.open(blobId);
-                try {
-                    return objectLoader.getBytes();
-                } catch (LargeObjectException e) {
-                    throw new RuntimeException("File " + file + " is too big to load");
-                }
+                return readContent(objectReader, blobId);
             }
         }
     }
 
+    // pages are read sequentially by the import, so the tree walk of the previous page is kept open and continued;
+    // files before the offset are skipped without loading their blobs only when the walk has to be restarted
+    @SneakyThrows
+    public synchronized List<byte[]> getFilesContentAtCommit(String commitId, String path, int offset, int limit) {
+        RevCommit commit = resolveCommit(commitId);
+        log.debug("Executing getFilesContentAtCommit [{}][{}][{}][{}][{}]", settings.getRepositoryUri(), commit, path, offset, limit);
+        FilesContentCursor cursor = filesContentCursor;
+        filesContentCursor = null;
+        if (cursor == null || !cursor.isAt(commit, path, offset)) {
+            if (cursor != null) {
+                cursor.close();
+            }
+            cursor = new FilesContentCursor(commit, path);
+        }
+        try {
+            List<byte[]> contents = cursor.read(offset, limit);
+            if (contents.size() == limit) {
+                filesContentCursor = cursor;
+            } else {
+                cursor.close();
+            }
+            return contents;
+        } catch (Exception e) {
+            cursor.close();
+            throw e;
+        }
+    }
+
+    public synchronized void close() {
+        if (filesContentCursor != null) {
+            filesContentCursor.close();
+            filesContentCursor = null;
+        }
+    }
+
+    private static byte[] readContent(ObjectReader objectReader, ObjectId blobId) throws IOException {
+        ObjectLoader objectLoader = objectReader.open(blobId);
+        if (!objectLoader.isLarge()) {
+            return objectLoader.getCachedBytes();
+        }
+        // large blobs are not inflated into the cache, but read from the object stream
+        try (ObjectStream stream = objectLoader.openStream()) {
+            return stream.readAllBytes();
+        }
+    }
+
 
     public void createAndCheckoutOrphanBranch(String name) throws GitAPIException {
         log.debug("Executing createAndCheckoutOrphanBranch [{}][{}]", settings.getRepositoryUri(), name);
@@ -458,6 +516,11 @@ public class GitRepository {
                 revCommit.getFullMessage(), revCommit.getAuthorIdent().getName(), revCommit.getAuthorIdent().getEmailAddress());
     }
 
+    private Commit fromIndexedCommit(GitCommitIndex.IndexedCommit commit) {
+        return new Commit(commit.commitTime() * 1000L, commit.id(),
+                commit.message(), commit.authorName(), commit.authorEmail());
+    }
+
     @SneakyThrows
     public RevCommit resolveCommit(String id) {
         return git.getRepository().parseCommit(resolve(id));
@@ -487,12 +550,12 @@ public class GitRepository {
         return command.call();
     }
 
-    private static final Function<PageLink, Comparator<RevCommit>> revCommitComparatorFunction = pageLink -> {
+    private static final Function<PageLink, Comparator<GitCommitIndex.IndexedCommit>> indexedCommitComparatorFunction = pageLink -> {
         SortOrder sortOrder = pageLink.getSortOrder();
         if (sortOrder != null
             && sortOrder.getProperty().equals("timestamp")
             && SortOrder.Direction.ASC.equals(sortOrder.getDirection())) {
-            return Comparator.comparingInt(RevCommit::getCommitTime);
+            return Comparator.comparingInt(GitCommitIndex.IndexedCommit::commitTime);
         }
         return null;
     };
@@ -602,34 +665,6 @@ public class GitRepository {
         }
     }
 
-    private static class CommitFilter extends RevFilter {
-
-        private final String textSearch;
-        private final boolean showMergeCommits;
-
-        CommitFilter(String textSearch, boolean showMergeCommits) {
-            this.textSearch = textSearch.toLowerCase();
-            this.showMergeCommits = showMergeCommits;
-        }
-
-        @Override
-        public boolean include(RevWalk walker, RevCommit c) {
-            return (showMergeCommits || c.getParentCount() < 2) && (StringUtils.isEmpty(textSearch)
-                    || c.getFullMessage().toLowerCase().contains(textSearch));
-        }
-
-        @Override
-        public RevFilter clone() {
-            return this;
-        }
-
-        @Override
-        public boolean requiresCommitBody() {
-            return false;
-        }
-
-    }
-
     @Data
     public static class Commit {
         private final long timestamp;
@@ -657,6 +692,53 @@ public class GitRepository {
 
     public record RepoFile(String path, String name, FileType type) {}
 
+    private class FilesContentCursor {
+
+        private final ObjectId commitId;
+        private final String path;
+        private final ObjectReader objectReader;
+        private final TreeWalk treeWalk;
+        private int position;
+
+        FilesContentCursor(RevCommit commit, String path) throws IOException {
+            this.commitId = commit.getId();
+            this.path = path;
+            this.objectReader = git.getRepository().newObjectReader();
+            this.treeWalk = new TreeWalk(objectReader);
+            try {
+                treeWalk.reset(commit.getTree().getId());
+                if (StringUtils.isNotEmpty(path)) {
+                    treeWalk.setFilter(PathFilter.create(path));
+                }
+                treeWalk.setRecursive(true);
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        boolean isAt(RevCommit commit, String path, int offset) {
+            return commitId.equals(commit.getId()) && StringUtils.equals(this.path, path) && position == offset;
+        }
+
+        List<byte[]> read(int offset, int limit) throws IOException {
+            List<byte[]> contents = new ArrayList<>();
+            while (contents.size() < limit && treeWalk.next()) {
+                if (position++ < offset) {
+                    continue;
+                }
+                contents.add(readContent(objectReader, treeWalk.getObjectId(0)));
+            }
+            return contents;
+        }
+
+        void close() {
+            treeWalk.close();
+            objectReader.close();
+        }
+
+    }
+
     public enum FileType {
         FILE, DIRECTORY
     }
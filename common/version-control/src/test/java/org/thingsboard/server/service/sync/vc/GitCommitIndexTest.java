@@ -0,0 +1,184 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.sync.vc;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.MergeCommand;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thingsboard.server.service.sync.vc.GitCommitIndex.IndexedCommit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GitCommitIndexTest {
+
+    private static final String BRANCH = "main";
+
+    @TempDir
+    Path repoDir;
+
+    private Git git;
+    private Path indexDir;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        git = Git.init().setDirectory(repoDir.toFile()).setInitialBranch(BRANCH).call();
+        indexDir = git.getRepository().getDirectory().toPath().resolve("tb-commit-index");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        git.close();
+    }
+
+    @Test
+    public void testIndexIsReloadedFromFile() throws Exception {
+        RevCommit first = commit("first", "device/1.json");
+        RevCommit second = commit("second", "asset/1.json");
+
+        List<IndexedCommit> commits = new GitCommitIndex(git.getRepository(), indexDir).getCommits(BRANCH, second);
+        assertThat(commits).extracting(IndexedCommit::id).containsExactly(second.getName(), first.getName());
+        assertThat(getIndexFile()).exists();
+        assertThat(Files.readAllLines(getIndexFile())).hasSize(1);
+
+        GitCommitIndex reloaded = new GitCommitIndex(git.getRepository(), indexDir);
+        assertThat(reloaded.getCommits(BRANCH, second)).isEqualTo(commits);
+        // the head did not move, so the loaded index is used as is
+        assertThat(Files.readAllLines(getIndexFile())).hasSize(1);
+    }
+
+    @Test
+    public void testNewCommitsAreAppended() throws Exception {
+        RevCommit first = commit("first", "device/1.json");
+        GitCommitIndex index = new GitCommitIndex(git.getRepository(), indexDir);
+        index.getCommits(BRANCH, first);
+
+        RevCommit second = commit("second", "device/2.json");
+        RevCommit third = commit("third", "asset/1.json");
+        List<IndexedCommit> commits = index.getCommits(BRANCH, third);
+
+        assertThat(commits).extracting(IndexedCommit::id).containsExactly(third.getName(), second.getName(), first.getName());
+        assertThat(commits).extracting(IndexedCommit::message).containsExactly("third", "second", "first");
+        assertThat(Files.readAllLines(getIndexFile())).hasSize(2);
+        assertThat(new GitCommitIndex(git.getRepository(), indexDir).getCommits(BRANCH, third)).isEqualTo(commits);
+    }
+
+    @Test
+    public void testBranchIsReindexedAfterForcePush() throws Exception {
+        RevCommit first = commit("first", "device/1.json");
+        RevCommit second = commit("second", "device/2.json");
+        GitCommitIndex index = new GitCommitIndex(git.getRepository(), indexDir);
+        index.getCommits(BRANCH, second);
+
+        git.reset().setMode(ResetCommand.ResetType.HARD).setRef(first.getName()).call();
+        RevCommit rewritten = commit("rewritten", "asset/1.json");
+        List<IndexedCommit> commits = index.getCommits(BRANCH, rewritten);
+
+        assertThat(commits).extracting(IndexedCommit::id).containsExactly(rewritten.getName(), first.getName());
+        assertThat(Files.readAllLines(getIndexFile())).hasSize(1);
+        assertThat(new GitCommitIndex(git.getRepository(), indexDir).getCommits(BRANCH, rewritten)).isEqualTo(commits);
+    }
+
+    @Test
+    public void testPathFilterOnMergeCommits() throws Exception {
+        RevCommit base = commit("base", "device/1.json", "device/2.json", "asset/1.json");
+        git.branchCreate().setName("feature").call();
+        commit("main change", "device/1.json");
+        git.checkout().setName("feature").call();
+        RevCommit featureCommit = commit("feature change", "asset/1.json");
+        git.checkout().setName(BRANCH).call();
+        git.merge().include(featureCommit).setFastForward(MergeCommand.FastForwardMode.NO_FF).setCommit(false).call();
+        // changed on merge, so the file differs from both parents
+        RevCommit merge = commit("merge", "device/2.json");
+        assertThat(merge.getParentCount()).isEqualTo(2);
+
+        GitCommitIndex index = new GitCommitIndex(git.getRepository(), indexDir);
+        List<IndexedCommit> commits = index.getCommits(BRANCH, merge);
+        IndexedCommit mergeCommit = commits.get(0);
+
+        assertThat(mergeCommit.parentCount()).isEqualTo(2);
+        assertThat(mergeCommit.changedPaths()).containsExactly("device/2.json");
+        assertThat(index.isChanged(mergeCommit, "device/2.json")).isTrue();
+        assertThat(index.isChanged(mergeCommit, "device")).isTrue();
+        assertThat(index.isChanged(mergeCommit, "device/1.json")).isFalse();
+        assertThat(index.isChanged(mergeCommit, "asset/1.json")).isFalse();
+        assertThat(index.isChanged(mergeCommit, "asset")).isFalse();
+        assertThat(commits).filteredOn(commit -> isChanged(index, commit, "asset/1.json"))
+                .extracting(IndexedCommit::message).containsExactlyInAnyOrder("feature change", "base");
+        assertThat(commits).extracting(IndexedCommit::id).contains(base.getName());
+    }
+
+    @Test
+    public void testLargeCommitKeepsChangedFolders() throws Exception {
+        RevCommit first = commit("first", "asset/1.json", "device/unchanged.json");
+        String[] files = new String[GitCommitIndex.MAX_CHANGED_PATHS + 1];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = "device/" + i + ".json";
+        }
+        RevCommit large = commit("large", files);
+
+        GitCommitIndex index = new GitCommitIndex(git.getRepository(), indexDir);
+        IndexedCommit largeCommit = index.getCommits(BRANCH, large).get(0);
+
+        assertThat(largeCommit.changedFolders()).isTrue();
+        assertThat(largeCommit.changedPaths()).containsExactly("device");
+        assertThat(index.isChanged(largeCommit, "device")).isTrue();
+        assertThat(index.isChanged(largeCommit, "device/0.json")).isTrue();
+        assertThat(index.isChanged(largeCommit, "device/unchanged.json")).isFalse();
+        assertThat(index.isChanged(largeCommit, "asset/1.json")).isFalse();
+        assertThat(new GitCommitIndex(git.getRepository(), indexDir).getCommits(BRANCH, large).get(0)).isEqualTo(largeCommit);
+        assertThat(index.getCommits(BRANCH, large).get(1).id()).isEqualTo(first.getName());
+    }
+
+    private RevCommit commit(String message, String... files) throws Exception {
+        for (String file : files) {
+            writeFile(file, message);
+        }
+        git.add().addFilepattern(".").call();
+        return git.commit().setAuthor("test", "test@thingsboard.org").setMessage(message).call();
+    }
+
+    private void writeFile(String file, String content) throws IOException {
+        Path path = repoDir.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content + ":" + file, StandardCharsets.UTF_8);
+    }
+
+    private Path getIndexFile() throws IOException {
+        try (var files = Files.list(indexDir)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private static boolean isChanged(GitCommitIndex index, IndexedCommit commit, String path) {
+        try {
+            return index.isChanged(commit, path);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
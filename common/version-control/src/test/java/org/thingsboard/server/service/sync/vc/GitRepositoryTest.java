@@ -0,0 +1,127 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.sync.vc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thingsboard.server.common.data.sync.vc.RepositorySettings;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GitRepositoryTest {
+
+    @TempDir
+    Path repoDir;
+
+    private GitRepository repository;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        RepositorySettings settings = new RepositorySettings();
+        settings.setLocalOnly(true);
+        settings.setRepositoryUri("test");
+        repository = GitRepository.create(settings, repoDir.toFile());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    public void testGetFilesContentAtCommit_sequentialPages() throws Exception {
+        writeFiles("customer", 25);
+        writeFiles("device", 3);
+        String commitId = commit("initial");
+
+        List<String> contents = new ArrayList<>();
+        List<String> page;
+        int offset = 0;
+        do {
+            page = getContents(commitId, "customer", offset, 10);
+            contents.addAll(page);
+            offset += 10;
+        } while (page.size() == 10);
+
+        assertThat(contents).containsExactlyElementsOf(expectedContents("customer", 0, 25));
+        assertThat(getContents(commitId, "device", 0, 10)).containsExactlyElementsOf(expectedContents("device", 0, 3));
+    }
+
+    @Test
+    public void testGetFilesContentAtCommit_restartsWalkOnUnexpectedOffset() throws Exception {
+        writeFiles("customer", 25);
+        String commitId = commit("initial");
+
+        assertThat(getContents(commitId, "customer", 0, 10)).containsExactlyElementsOf(expectedContents("customer", 0, 10));
+        // same page requested again, e.g. a retry after a failed response
+        assertThat(getContents(commitId, "customer", 0, 10)).containsExactlyElementsOf(expectedContents("customer", 0, 10));
+        assertThat(getContents(commitId, "customer", 20, 10)).containsExactlyElementsOf(expectedContents("customer", 20, 25));
+        assertThat(getContents(commitId, "customer", 10, 10)).containsExactlyElementsOf(expectedContents("customer", 10, 20));
+        assertThat(getContents(commitId, "customer", 30, 10)).isEmpty();
+    }
+
+    @Test
+    public void testGetFilesContentAtCommit_interleavedCommitsAndPaths() throws Exception {
+        writeFiles("customer", 15);
+        writeFiles("device", 15);
+        String firstCommitId = commit("first");
+        Files.writeString(repoDir.resolve("customer").resolve("file_00.json"), "updated", StandardCharsets.UTF_8);
+        String secondCommitId = commit("second");
+
+        assertThat(getContents(firstCommitId, "customer", 0, 10)).containsExactlyElementsOf(expectedContents("customer", 0, 10));
+        assertThat(getContents(firstCommitId, "device", 0, 10)).containsExactlyElementsOf(expectedContents("device", 0, 10));
+        assertThat(getContents(secondCommitId, "customer", 0, 10)).first().isEqualTo("updated");
+        assertThat(getContents(firstCommitId, "customer", 10, 10)).containsExactlyElementsOf(expectedContents("customer", 10, 15));
+        assertThat(getContents(firstCommitId, "device", 10, 10)).containsExactlyElementsOf(expectedContents("device", 10, 15));
+    }
+
+    private void writeFiles(String folder, int count) throws IOException {
+        Path dir = Files.createDirectories(repoDir.resolve(folder));
+        for (int i = 0; i < count; i++) {
+            Files.writeString(dir.resolve(String.format("file_%02d.json", i)), content(folder, i), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String commit(String message) throws Exception {
+        repository.add(".");
+        return repository.commit(message, "test", "test@thingsboard.org").getId();
+    }
+
+    private List<String> getContents(String commitId, String path, int offset, int limit) {
+        return repository.getFilesContentAtCommit(commitId, path, offset, limit).stream()
+                .map(bytes -> new String(bytes, StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private static List<String> expectedContents(String folder, int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> content(folder, i)).toList();
+    }
+
+    private static String content(String folder, int i) {
+        return "{\"folder\":\"" + folder + "\",\"idx\":" + i + "}";
+    }
+
+}
@@ -54,6 +54,11 @@ public interface AlarmDao extends Dao<Alarm> {
 
     Alarm findLatestActiveByOriginatorAndType(TenantId tenantId, EntityId originator, String type);
 
+    /**
+     * Pages through the latest active alarm of every originator and type, ordered by originator id and type.
+     */
+    List<Alarm> findLatestActiveAlarms(Alarm offset, int limit);
+
     FluentFuture<Alarm> findLatestActiveByOriginatorAndTypeAsync(TenantId tenantId, EntityId originator, String type);
 
     ListenableFuture<Alarm> findLatestByOriginatorAndTypeAsync(TenantId tenantId, EntityId originator, String type);
@@ -98,6 +103,11 @@ public interface AlarmDao extends Dao<Alarm> {
 
     AlarmApiCallResult updateAlarm(AlarmUpdateRequest request);
 
+    /**
+     * Same as {@link #updateAlarm(AlarmUpdateRequest)}, but not successful if the alarm is already cleared.
+     */
+    AlarmApiCallResult updateActiveAlarm(AlarmUpdateRequest request);
+
     AlarmApiCallResult acknowledgeAlarm(TenantId tenantId, AlarmId id, long ackTs);
 
     AlarmApiCallResult clearAlarm(TenantId tenantId, AlarmId alarmId, long clearTs, JsonNode details);
@@ -115,6 +115,17 @@ public class BaseAlarmService extends AbstractCachedEntityService<TenantId, Page
         return result;
     }
 
+    @Override
+    public AlarmApiCallResult updateActiveAlarm(AlarmUpdateRequest request) {
+        validateAlarmRequest(request);
+        AlarmApiCallResult result = withPropagated(alarmDao.updateActiveAlarm(request));
+        if (result.getAlarm() != null) {
+            eventPublisher.publishEvent(SaveEntityEvent.builder().tenantId(result.getAlarm().getTenantId()).entity(result)
+                    .entityId(result.getAlarm().getId()).build());
+        }
+        return result;
+    }
+
     @Override
     public AlarmApiCallResult createAlarm(AlarmCreateOrUpdateActiveRequest request) {
         return createAlarm(request, true);
@@ -180,6 +191,11 @@ public class BaseAlarmService extends AbstractCachedEntityService<TenantId, Page
         return alarmDao.findLatestActiveByOriginatorAndTypeAsync(tenantId, originator, type);
     }
 
+    @Override
+    public List<Alarm> findLatestActiveAlarms(Alarm offset, int limit) {
+        return alarmDao.findLatestActiveAlarms(offset, limit);
+    }
+
     @Override
     public PageData<AlarmData> findAlarmDataByQueryForEntities(TenantId tenantId,
                                                                AlarmDataQuery query, Collection<EntityId> orderedEntityIds) {
@@ -41,6 +41,11 @@ public abstract class BaseEdgeEventService implements EdgeEventService {
         return edgeEventDao.findEdgeEvents(tenantId.getId(), edgeId, seqIdStart, seqIdEnd, pageLink);
     }
 
+    @Override
+    public PageData<EdgeEvent> findEdgeEventsAfterSeqId(TenantId tenantId, EdgeId edgeId, Long seqIdStart, Long seqIdEnd, TimePageLink pageLink) {
+        return edgeEventDao.findEdgeEventsAfterSeqId(tenantId.getId(), edgeId, seqIdStart, seqIdEnd, pageLink);
+    }
+
     @Override
     public void cleanupEvents(long ttl) {
         edgeEventDao.cleanupEvents(ttl);
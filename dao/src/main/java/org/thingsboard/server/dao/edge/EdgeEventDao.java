@@ -50,6 +50,20 @@ public interface EdgeEventDao extends Dao<EdgeEvent> {
      */
     PageData<EdgeEvent> findEdgeEvents(UUID tenantId, EdgeId edgeId, Long seqIdStart, Long seqIdEnd, TimePageLink pageLink);
 
+    /**
+     * Find edge events with seqId greater than seqIdStart, ordered by seqId.
+     * Page number of the pageLink is ignored: the next page is requested by passing the seqId of the last returned event.
+     * Total pages and total elements are not calculated and are set to -1.
+     *
+     * @param tenantId the tenantId
+     * @param edgeId   the edgeId
+     * @param seqIdStart  the seq id to start after
+     * @param seqIdEnd  the seq id end
+     * @param pageLink the pageLink
+     * @return the event list
+     */
+    PageData<EdgeEvent> findEdgeEventsAfterSeqId(UUID tenantId, EdgeId edgeId, Long seqIdStart, Long seqIdEnd, TimePageLink pageLink);
+
     /**
      * Executes stored procedure to cleanup old edge events.
      * @param ttl the ttl for edge events in seconds
@@ -21,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.event.TransactionalEventListener;
 import org.thingsboard.server.common.data.EntityType;
 import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.dao.sql.query.EntityDataQueryCache;
 
 @Service
 public class BaseEntityCountService extends AbstractCachedEntityService<EntityCountCacheKey, Long, EntityCountCacheEvictEvent> implements EntityCountService {
@@ -29,6 +30,9 @@ public class BaseEntityCountService extends AbstractCachedEntityService<EntityCo
     @Autowired
     private EntityServiceRegistry entityServiceRegistry;
 
+    @Autowired
+    private EntityDataQueryCache entityDataQueryCache;
+
     @Override
     public long countByTenantIdAndEntityType(TenantId tenantId, EntityType entityType) {
         return cache.getAndPutInTransaction(new EntityCountCacheKey(tenantId, entityType),
@@ -44,5 +48,6 @@ public class BaseEntityCountService extends AbstractCachedEntityService<EntityCo
     @Override
     public void handleEvictEvent(EntityCountCacheEvictEvent event) {
         cache.evict(new EntityCountCacheKey(event.getTenantId(), event.getEntityType()));
+        entityDataQueryCache.evict(event.getTenantId());
     }
 }
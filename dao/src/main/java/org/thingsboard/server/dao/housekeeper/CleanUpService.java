@@ -25,6 +25,7 @@ import org.thingsboard.server.common.data.EntityType;
 import org.thingsboard.server.common.data.User;
 import org.thingsboard.server.common.data.housekeeper.HousekeeperTask;
 import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.EntityIdFactory;
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.job.Job;
 import org.thingsboard.server.common.msg.housekeeper.HousekeeperClient;
@@ -33,8 +34,11 @@ import org.thingsboard.server.dao.eventsourcing.DeleteEntityEvent;
 import org.thingsboard.server.dao.relation.RelationService;
 
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
@@ -50,6 +54,9 @@ public class CleanUpService {
             EntityType.NOTIFICATION_TARGET, EntityType.NOTIFICATION_RULE, EntityType.AI_MODEL
     );
 
+    // set while the entities are deleted in bulk; the telemetry is then deleted by a single task for all the entities
+    private final ThreadLocal<Boolean> bulkDeletion = new ThreadLocal<>();
+
     @TransactionalEventListener(fallbackExecution = true) // after transaction commit
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void handleEntityDeletionEvent(DeleteEntityEvent<?> event) {
@@ -73,7 +80,9 @@ public class CleanUpService {
         log.debug("[{}][{}][{}] Cleaning up related data", tenantId, entityId.getEntityType(), entityId.getId());
         relationService.deleteEntityRelations(tenantId, entityId);
         submitTask(HousekeeperTask.deleteAttributes(tenantId, entityId));
-        submitTask(HousekeeperTask.deleteTelemetry(tenantId, entityId));
+        if (bulkDeletion.get() == null) {
+            submitTask(HousekeeperTask.deleteTelemetry(tenantId, entityId));
+        }
         submitTask(HousekeeperTask.deleteEvents(tenantId, entityId));
         submitTask(HousekeeperTask.deleteAlarms(tenantId, entityId));
         submitTask(HousekeeperTask.deleteCalculatedFields(tenantId, entityId));
@@ -82,6 +91,26 @@ public class CleanUpService {
         }
     }
 
+    /**
+     * Deletes the entities using the delete function, submitting one telemetry deletion task
+     * for all the entities instead of a task per entity.
+     * The entity deletion events must be handled in the calling thread (i.e. not within an outer transaction).
+     */
+    public void deleteEntities(TenantId tenantId, EntityType entityType, List<UUID> entities, Consumer<EntityId> deleteFunction) {
+        bulkDeletion.set(Boolean.TRUE);
+        try {
+            for (UUID entityUuid : entities) {
+                deleteFunction.accept(EntityIdFactory.getByTypeAndUuid(entityType, entityUuid));
+            }
+        } finally {
+            bulkDeletion.remove();
+            // submitted even if some of the entities failed to be deleted, since the rest are already deleted
+            if (!skippedEntities.contains(entityType)) {
+                submitTask(HousekeeperTask.deleteEntitiesTelemetry(tenantId, entityType, entities));
+            }
+        }
+    }
+
     public void removeTenantEntities(TenantId tenantId, EntityType... entityTypes) {
         for (EntityType entityType : entityTypes) {
             submitTask(HousekeeperTask.deleteTenantEntities(tenantId, entityType));
@@ -44,6 +44,13 @@ public interface AlarmRepository extends JpaRepository<AlarmEntity, UUID> {
                                                           @Param("alarmType") String alarmType,
                                                           Pageable pageable);
 
+    @Query(value = "SELECT DISTINCT ON (a.originator_id, a.type) * FROM alarm a " +
+            "WHERE a.cleared = false AND (a.originator_id, a.type) > (:originatorIdOffset, :typeOffset) " +
+            "ORDER BY a.originator_id, a.type, a.created_time DESC LIMIT :limit", nativeQuery = true)
+    List<AlarmEntity> findLatestActiveAlarms(@Param("originatorIdOffset") UUID originatorIdOffset,
+                                             @Param("typeOffset") String typeOffset,
+                                             @Param("limit") int limit);
+
     @Query(value = "SELECT a " +
             "FROM AlarmInfoEntity a " +
             "LEFT JOIN EntityAlarmEntity ea ON a.id = ea.alarmId " +
@@ -369,6 +376,13 @@ public interface AlarmRepository extends JpaRepository<AlarmEntity, UUID> {
                        @Param("a_propagate") boolean propagate, @Param("a_propagate_to_owner") boolean propagateToOwner,
                        @Param("a_propagate_to_tenant") boolean propagateToTenant, @Param("a_propagation_types") String propagationTypes);
 
+    @Query(value = "SELECT update_active_alarm(:t_id, :a_id, :a_severity, :a_start_ts, :a_end_ts, :a_details, :a_propagate, :a_propagate_to_owner, " +
+            ":a_propagate_to_tenant, :a_propagation_types)", nativeQuery = true)
+    String updateActiveAlarm(@Param("t_id") UUID tenantId, @Param("a_id") UUID alarmId, @Param("a_severity") String severity,
+                             @Param("a_start_ts") long startTs, @Param("a_end_ts") long endTs, @Param("a_details") String detailsAsString,
+                             @Param("a_propagate") boolean propagate, @Param("a_propagate_to_owner") boolean propagateToOwner,
+                             @Param("a_propagate_to_tenant") boolean propagateToTenant, @Param("a_propagation_types") String propagationTypes);
+
     @Query(value = "SELECT acknowledge_alarm(:t_id, :a_id, :a_ts)", nativeQuery = true)
     String acknowledgeAlarm(@Param("t_id") UUID tenantId, @Param("a_id") UUID alarmId, @Param("a_ts") long ts);
 
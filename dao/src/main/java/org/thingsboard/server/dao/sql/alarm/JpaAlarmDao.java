@@ -122,6 +122,13 @@ public class JpaAlarmDao extends JpaAbstractDao<AlarmEntity, Alarm> implements A
         return latest.isEmpty() ? null : DaoUtil.getData(latest.get(0));
     }
 
+    @Override
+    public List<Alarm> findLatestActiveAlarms(Alarm offset, int limit) {
+        UUID originatorIdOffset = offset != null ? offset.getOriginator().getId() : new UUID(0, 0);
+        String typeOffset = offset != null ? offset.getType() : "";
+        return DaoUtil.convertDataList(alarmRepository.findLatestActiveAlarms(originatorIdOffset, typeOffset, limit));
+    }
+
     @Override
     public FluentFuture<Alarm> findLatestActiveByOriginatorAndTypeAsync(TenantId tenantId, EntityId originator, String type) {
         return FluentFuture.from(service.submit(() -> findLatestActiveByOriginatorAndType(tenantId, originator, type)));
@@ -396,6 +403,26 @@ public class JpaAlarmDao extends JpaAbstractDao<AlarmEntity, Alarm> implements A
         ));
     }
 
+    @Override
+    public AlarmApiCallResult updateActiveAlarm(AlarmUpdateRequest request) {
+        UUID tenantUUID = request.getTenantId().getId();
+        UUID alarmUUID = request.getAlarmId().getId();
+        log.debug("[{}][{}] updateActiveAlarm {}", tenantUUID, alarmUUID, request);
+
+        AlarmPropagationInfo ap = getSafePropagationInfo(request.getPropagation());
+        return toAlarmApiResult(alarmRepository.updateActiveAlarm(
+                tenantUUID,
+                alarmUUID,
+                request.getSeverity().name(),
+                request.getStartTs(), request.getEndTs(),
+                getDetailsAsString(request.getDetails()),
+                ap.isPropagate(),
+                ap.isPropagateToOwner(),
+                ap.isPropagateToTenant(),
+                getPropagationTypes(ap)
+        ));
+    }
+
     @Override
     public AlarmApiCallResult acknowledgeAlarm(TenantId tenantId, AlarmId id, long ackTs) {
         log.debug("[{}][{}] acknowledgeAlarm [{}]", tenantId, id, ackTs);
@@ -23,6 +23,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.thingsboard.server.dao.model.sql.EdgeEventEntity;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface EdgeEventRepository extends JpaRepository<EdgeEventEntity, UUID>, JpaSpecificationExecutor<EdgeEventEntity> {
@@ -44,4 +45,24 @@ public interface EdgeEventRepository extends JpaRepository<EdgeEventEntity, UUID
                                                             @Param("seqIdStart") Long seqIdStart,
                                                             @Param("seqIdEnd") Long seqIdEnd,
                                                             Pageable pageable);
+
+    @Query("SELECT e FROM EdgeEventEntity e WHERE " +
+            "e.tenantId = :tenantId " +
+            "AND e.edgeId = :edgeId " +
+            "AND (:startTime IS NULL OR e.createdTime >= :startTime) " +
+            "AND (:endTime IS NULL OR e.createdTime <= :endTime) " +
+            "AND (:seqIdStart IS NULL OR e.seqId > :seqIdStart) " +
+            "AND (:seqIdEnd IS NULL OR e.seqId < :seqIdEnd) " +
+            "AND (:textSearch IS NULL OR ilike(e.edgeEventType, CONCAT('%', :textSearch, '%')) = true) " +
+            "ORDER BY e.seqId ASC"
+    )
+    List<EdgeEventEntity> findEdgeEventsByTenantIdAndEdgeIdAfterSeqId(@Param("tenantId") UUID tenantId,
+                                                                      @Param("edgeId") UUID edgeId,
+                                                                      @Param("textSearch") String textSearch,
+                                                                      @Param("startTime") Long startTime,
+                                                                      @Param("endTime") Long endTime,
+                                                                      @Param("seqIdStart") Long seqIdStart,
+                                                                      @Param("seqIdEnd") Long seqIdEnd,
+                                                                      Pageable pageable);
+
 }
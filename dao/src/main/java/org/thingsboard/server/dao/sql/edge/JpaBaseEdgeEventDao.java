@@ -22,6 +22,7 @@ import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
@@ -186,6 +187,26 @@ public class JpaBaseEdgeEventDao extends JpaPartitionedAbstractDao<EdgeEventEnti
                                 DaoUtil.toPageable(pageLink, SORT_ORDERS)));
     }
 
+    @Override
+    public PageData<EdgeEvent> findEdgeEventsAfterSeqId(UUID tenantId, EdgeId edgeId, Long seqIdStart, Long seqIdEnd, TimePageLink pageLink) {
+        int pageSize = pageLink.getPageSize();
+        List<EdgeEventEntity> entities = edgeEventRepository
+                .findEdgeEventsByTenantIdAndEdgeIdAfterSeqId(
+                        tenantId,
+                        edgeId.getId(),
+                        pageLink.getTextSearch(),
+                        pageLink.getStartTime(),
+                        pageLink.getEndTime(),
+                        seqIdStart,
+                        seqIdEnd,
+                        PageRequest.of(0, pageSize + 1));
+        boolean hasNext = entities.size() > pageSize;
+        if (hasNext) {
+            entities = entities.subList(0, pageSize);
+        }
+        return new PageData<>(DaoUtil.convertDataList(entities), -1, -1, hasNext);
+    }
+
     @Override
     public void cleanupEvents(long ttl) {
         partitioningRepository.dropPartitionsBefore(TABLE_NAME, ttl, TimeUnit.HOURS.toMillis(partitionSizeInHours));
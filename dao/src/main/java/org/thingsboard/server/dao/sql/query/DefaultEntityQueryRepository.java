@@ -326,6 +326,8 @@ public class DefaultEntityQueryRepository implements EntityQueryRepository {
     private static final String NULLS_ORDER_FIRST = "nulls_first";
     private static final String NULLS_ORDER_LAST = "nulls_last";
     private static final Set<String> ACCEPTED_NULLS_ORDER_STRATEGIES = Set.of(NULLS_ORDER_DEFAULT, NULLS_ORDER_FIRST, NULLS_ORDER_LAST);
+    private static final String KEYSET_SORT_VALUE_PARAM = "keyset_sort_value";
+    private static final String KEYSET_ID_PARAM = "keyset_id";
 
     @Getter
     @Value("${sql.relations.max_level:50}")
@@ -338,11 +340,14 @@ public class DefaultEntityQueryRepository implements EntityQueryRepository {
     private final NamedParameterJdbcTemplate jdbcTemplate;
     private final TransactionTemplate transactionTemplate;
     private final DefaultQueryLogComponent queryLog;
+    private final EntityDataQueryCache queryCache;
 
-    public DefaultEntityQueryRepository(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, DefaultQueryLogComponent queryLog) {
+    public DefaultEntityQueryRepository(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                        DefaultQueryLogComponent queryLog, EntityDataQueryCache queryCache) {
         this.jdbcTemplate = jdbcTemplate;
         this.transactionTemplate = transactionTemplate;
         this.queryLog = queryLog;
+        this.queryCache = queryCache;
     }
 
     @PostConstruct
@@ -574,37 +579,72 @@ public class DefaultEntityQueryRepository implements EntityQueryRepository {
             }
             String countQuery = String.format("select count(id) %s", fromClauseCount);
 
-            long startTs = System.currentTimeMillis();
+            // the first page always counts the entities, the next pages of the same query reuse the count
+            EntityDataQueryCache.QueryKey countKey = queryCache.getKey(ctx, countQuery);
+            Integer cachedCount = pageLink.getPage() > 0 ? queryCache.getCount(countKey) : null;
             int totalElements;
-            try {
-                totalElements = jdbcTemplate.queryForObject(countQuery, ctx, Integer.class);
-            } finally {
-                queryLog.logQuery(ctx, countQuery, System.currentTimeMillis() - startTs);
+            long startTs;
+            if (cachedCount != null) {
+                totalElements = cachedCount;
+            } else {
+                startTs = System.currentTimeMillis();
+                try {
+                    totalElements = jdbcTemplate.queryForObject(countQuery, ctx, Integer.class);
+                } finally {
+                    queryLog.logQuery(ctx, countQuery, System.currentTimeMillis() - startTs);
+                }
+                queryCache.putCount(countKey, totalElements);
             }
 
             if (totalElements == 0) {
                 return new PageData<>();
             }
             String dataQuery = String.format("select * %s", fromClauseData);
+            String orderBy = "";
+            EntityKeyMapping keysetMapping = null;
+            boolean asc = true;
 
             EntityDataSortOrder sortOrder = pageLink.getSortOrder();
             if (sortOrder != null) {
                 Optional<EntityKeyMapping> sortOrderMappingOpt = mappings.stream().filter(EntityKeyMapping::isSortOrder).findFirst();
                 if (sortOrderMappingOpt.isPresent()) {
                     EntityKeyMapping sortOrderMapping = sortOrderMappingOpt.get();
-                    String direction = sortOrder.getDirection() == EntityDataSortOrder.Direction.ASC ? "asc" : "desc";
+                    asc = sortOrder.getDirection() == EntityDataSortOrder.Direction.ASC;
+                    String direction = asc ? "asc" : "desc";
                     String nullsOrder = resolveNullsOrder();
                     if (sortOrderMapping.getEntityKey().getType() == EntityKeyType.ENTITY_FIELD) {
-                        dataQuery = String.format("%s order by %s %s%s, result.id %s", dataQuery, sortOrderMapping.getValueAlias(), direction, nullsOrder, direction);
+                        orderBy = String.format(" order by %s %s%s, result.id %s", sortOrderMapping.getValueAlias(), direction, nullsOrder, direction);
+                        if (queryCache.isKeysetSortKey(sortOrderMapping.getEntityKey())) {
+                            keysetMapping = sortOrderMapping;
+                        }
                     } else {
-                        dataQuery = String.format("%s order by %s %s%s, %s %s, result.id %s", dataQuery,
+                        orderBy = String.format(" order by %s %s%s, %s %s, result.id %s",
                                 sortOrderMapping.getSortOrderNumAlias(), direction, nullsOrder, sortOrderMapping.getSortOrderStrAlias(), direction, direction);
                     }
                 }
             }
             int startIndex = pageLink.getPageSize() * pageLink.getPage();
+            EntityDataQueryCache.QueryKey pageKey = null;
             if (pageLink.getPageSize() > 0) {
-                dataQuery = String.format("%s limit %s offset %s", dataQuery, pageLink.getPageSize(), startIndex);
+                EntityDataQueryCache.PageCursor cursor = null;
+                if (keysetMapping != null) {
+                    pageKey = queryCache.getKey(ctx, dataQuery + orderBy + " limit " + pageLink.getPageSize());
+                    if (pageLink.getPage() > 0) {
+                        cursor = queryCache.getCursor(pageKey, pageLink.getPage() - 1);
+                    }
+                }
+                if (cursor != null) {
+                    // continues right after the last row of the previous page instead of scanning the skipped rows
+                    ctx.addStringParameter(KEYSET_SORT_VALUE_PARAM, cursor.sortValue());
+                    ctx.addUuidParameter(KEYSET_ID_PARAM, cursor.id());
+                    dataQuery = String.format("select * from (%s) result where (result.%s, result.id) %s (:%s, :%s)%s limit %s",
+                            dataQuery, keysetMapping.getValueAlias(), asc ? ">" : "<", KEYSET_SORT_VALUE_PARAM, KEYSET_ID_PARAM,
+                            orderBy, pageLink.getPageSize());
+                } else {
+                    dataQuery = String.format("%s%s limit %s offset %s", dataQuery, orderBy, pageLink.getPageSize(), startIndex);
+                }
+            } else {
+                dataQuery = dataQuery + orderBy;
             }
             startTs = System.currentTimeMillis();
             List<Map<String, Object>> rows;
@@ -613,6 +653,12 @@ public class DefaultEntityQueryRepository implements EntityQueryRepository {
             } finally {
                 queryLog.logQuery(ctx, dataQuery, System.currentTimeMillis() - startTs);
             }
+            if (pageKey != null && !rows.isEmpty()) {
+                Map<String, Object> lastRow = rows.get(rows.size() - 1);
+                if (lastRow.get(keysetMapping.getValueAlias()) instanceof String sortValue && lastRow.get("id") instanceof UUID id) {
+                    queryCache.putCursor(pageKey, pageLink.getPage(), new EntityDataQueryCache.PageCursor(sortValue, id));
+                }
+            }
             return EntityDataAdapter.createEntityData(pageLink, selectionMapping, rows, totalElements);
         });
     }
@@ -0,0 +1,118 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sql.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.query.EntityKey;
+import org.thingsboard.server.common.data.query.EntityKeyType;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived cache of the total counts and the page boundaries of the entity data queries.
+ * Lets the next pages of the same query use keyset instead of offset pagination and, if enabled, skip the count query.
+ * Entries of a tenant are dropped once an entity of the tenant is created or deleted on this node.
+ * The counts are not invalidated on attribute, telemetry or entity field updates, nor on the other nodes,
+ * so a cached total may be stale for up to the TTL; that's why the count cache is disabled by default.
+ */
+@Component
+public class EntityDataQueryCache {
+
+    @Value("${sql.query.entity_data.page_cache_ttl_sec:30}")
+    private int ttlSec;
+    @Value("${sql.query.entity_data.count_cache_enabled:false}")
+    private boolean countCacheEnabled;
+    @Value("${sql.query.entity_data.page_cache_max_size:10000}")
+    private int maxSize;
+    @Value("${sql.query.entity_data.keyset_pagination_enabled:true}")
+    private boolean keysetPaginationEnabled;
+
+    private final Map<TenantId, AtomicLong> tenantVersions = new ConcurrentHashMap<>();
+    private Cache<QueryKey, Integer> counts;
+    private Cache<PageKey, PageCursor> cursors;
+
+    @PostConstruct
+    private void init() {
+        if (ttlSec > 0) {
+            if (countCacheEnabled) {
+                counts = Caffeine.newBuilder().expireAfterWrite(ttlSec, TimeUnit.SECONDS).maximumSize(maxSize).build();
+            }
+            cursors = Caffeine.newBuilder().expireAfterWrite(ttlSec, TimeUnit.SECONDS).maximumSize(maxSize).build();
+        }
+    }
+
+    public void evict(TenantId tenantId) {
+        if (tenantId != null) {
+            tenantVersions.computeIfAbsent(tenantId, id -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    // null if the results can't be cached; has to be called before the paging parameters are added to the context
+    QueryKey getKey(SqlQueryContext ctx, String query) {
+        if (cursors == null || ctx.getTenantId() == null || ctx.isIgnorePermissionCheck()) {
+            return null;
+        }
+        AtomicLong version = tenantVersions.get(ctx.getTenantId());
+        String params = Arrays.stream(ctx.getParameterNames()).sorted()
+                .map(name -> name + "=" + ctx.getValue(name))
+                .collect(Collectors.joining(","));
+        return new QueryKey(ctx.getTenantId(), version != null ? version.get() : 0, query, params);
+    }
+
+    Integer getCount(QueryKey key) {
+        return key != null && counts != null ? counts.getIfPresent(key) : null;
+    }
+
+    void putCount(QueryKey key, int count) {
+        if (key != null && counts != null) {
+            counts.put(key, count);
+        }
+    }
+
+    PageCursor getCursor(QueryKey key, int page) {
+        return key != null ? cursors.getIfPresent(new PageKey(key, page)) : null;
+    }
+
+    void putCursor(QueryKey key, int page, PageCursor cursor) {
+        if (key != null) {
+            cursors.put(new PageKey(key, page), cursor);
+        }
+    }
+
+    // the sort value of the keyset has to be non-null, otherwise the rows with null values are skipped
+    boolean isKeysetSortKey(EntityKey sortKey) {
+        return keysetPaginationEnabled && sortKey.getType() == EntityKeyType.ENTITY_FIELD
+                && EntityKeyMapping.CREATED_TIME.equals(sortKey.getKey());
+    }
+
+    record QueryKey(TenantId tenantId, long tenantVersion, String query, String params) {}
+
+    record PageKey(QueryKey queryKey, int page) {}
+
+    record PageCursor(String sortValue, UUID id) {}
+
+}
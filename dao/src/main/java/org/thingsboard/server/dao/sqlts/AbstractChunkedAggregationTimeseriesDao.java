@@ -21,8 +21,10 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.kv.Aggregation;
@@ -39,10 +41,13 @@ import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
 import org.thingsboard.server.dao.sql.TbSqlBlockingQueueParams;
 import org.thingsboard.server.dao.sql.TbSqlBlockingQueueWrapper;
 import org.thingsboard.server.dao.sqlts.insert.InsertTsRepository;
+import org.thingsboard.server.dao.sqlts.rollup.TsKvRollupService;
+import org.thingsboard.server.dao.sqlts.ts.TsKvAggregationRepository;
 import org.thingsboard.server.dao.sqlts.ts.TsKvRepository;
 import org.thingsboard.server.dao.timeseries.TimeseriesDao;
 import org.thingsboard.server.dao.util.TimeUtils;
 
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -57,9 +62,18 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
     @Autowired
     protected TsKvRepository tsKvRepository;
 
+    @Autowired
+    protected TsKvAggregationRepository tsKvAggregationRepository;
+
     @Autowired
     protected InsertTsRepository<TsKvEntity> insertRepository;
 
+    @Autowired(required = false)
+    protected TsKvRollupService rollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     protected TbSqlBlockingQueueWrapper<TsKvEntity, Void> tsQueue;
     @Autowired
     private StatsFactory statsFactory;
@@ -67,6 +81,9 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
     @Autowired
     private KeyDictionaryDao keyDictionaryDao;
 
+    @Value("${sql.ts.single_query_aggregation:true}")
+    private boolean singleQueryAggregation;
+
     @PostConstruct
     protected void init() {
         TbSqlBlockingQueueParams tsParams = TbSqlBlockingQueueParams.builder()
@@ -80,7 +97,17 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
 
         Function<TsKvEntity, Integer> hashcodeFunction = entity -> entity.getEntityId().hashCode();
         tsQueue = new TbSqlBlockingQueueWrapper<>(tsParams, hashcodeFunction, tsBatchThreads, statsFactory);
-        tsQueue.init(logExecutor, v -> insertRepository.saveOrUpdate(v),
+        tsQueue.init(logExecutor, v -> {
+                    if (rollupService != null) {
+                        // the rollups are marked as dirty in the same transaction, so the mark is not lost if the node stops right after the save
+                        transactionTemplate.executeWithoutResult(status -> {
+                            insertRepository.saveOrUpdate(v);
+                            rollupService.onSaved(v);
+                        });
+                    } else {
+                        insertRepository.saveOrUpdate(v);
+                    }
+                },
                 Comparator.comparing((Function<TsKvEntity, UUID>) AbstractTsKvEntity::getEntityId)
                         .thenComparing(AbstractTsKvEntity::getKey)
                         .thenComparing(AbstractTsKvEntity::getTs)
@@ -97,11 +124,19 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
     @Override
     public ListenableFuture<Void> remove(TenantId tenantId, EntityId entityId, DeleteTsKvQuery query) {
         return service.submit(() -> {
-            tsKvRepository.delete(
-                    entityId.getId(),
-                    keyDictionaryDao.getOrSaveKeyId(query.getKey()),
-                    query.getStartTs(),
-                    query.getEndTs());
+            Integer keyId = keyDictionaryDao.getOrSaveKeyId(query.getKey());
+            if (rollupService != null) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    tsKvRepository.delete(entityId.getId(), keyId, query.getStartTs(), query.getEndTs());
+                    rollupService.onRemoved(entityId.getId(), keyId, query.getStartTs(), query.getEndTs());
+                });
+            } else {
+                tsKvRepository.delete(
+                        entityId.getId(),
+                        keyId,
+                        query.getStartTs(),
+                        query.getEndTs());
+            }
             return null;
         });
     }
@@ -121,27 +156,69 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
         var aggParams = query.getAggParameters();
         if (Aggregation.NONE.equals(aggParams.getAggregation()) || aggParams.getInterval() < 1) {
             return service.submit(() -> findAllWithLimit(entityId, query));
-        } else {
-            List<ListenableFuture<Optional<TsKvEntity>>> futures = new ArrayList<>();
-            var intervalType = aggParams.getIntervalType();
-            long startPeriod = query.getStartTs();
-            long endPeriod = Math.max(query.getStartTs() + 1, query.getEndTs());
-            while (startPeriod < endPeriod) {
-                long startTs = startPeriod;
-                long endTs;
-                if (IntervalType.MILLISECONDS.equals(intervalType)) {
-                    endTs = startPeriod + aggParams.getInterval();
-                } else {
-                    endTs = TimeUtils.calculateIntervalEnd(startTs, intervalType, aggParams.getTzId());
-                }
-                endTs = Math.min(endTs, endPeriod);
-                long ts = startTs + (endTs - startTs) / 2;
-                ListenableFuture<Optional<TsKvEntity>> aggregateTsKvEntry = findAndAggregateAsync(entityId, query.getKey(), startTs, endTs, ts, query.getAggregation());
-                futures.add(aggregateTsKvEntry);
-                startPeriod = endTs;
+        }
+        long[] intervals = calculateIntervals(query.getStartTs(), Math.max(query.getStartTs() + 1, query.getEndTs()),
+                aggParams.getIntervalType(), aggParams.getInterval(), aggParams.getTzId());
+        if (rollupService != null || (singleQueryAggregation && intervals.length > 2)) {
+            long interval = IntervalType.MILLISECONDS.equals(aggParams.getIntervalType()) ? aggParams.getInterval() : 0;
+            return getReadTsKvQueryResultFuture(query, service.submit(() ->
+                    findAndAggregateAll(entityId, query.getKey(), intervals, interval, query.getAggregation())));
+        }
+        List<ListenableFuture<Optional<TsKvEntity>>> futures = new ArrayList<>();
+        for (int i = 0; i < intervals.length - 1; i++) {
+            long startTs = intervals[i];
+            long endTs = intervals[i + 1];
+            long ts = startTs + (endTs - startTs) / 2;
+            futures.add(findAndAggregateAsync(entityId, query.getKey(), startTs, endTs, ts, query.getAggregation()));
+        }
+        return getReadTsKvQueryResultFuture(query, Futures.allAsList(futures));
+    }
+
+    /**
+     * Splits the query period into aggregation intervals.
+     *
+     * @return starts of the intervals followed by the end of the last interval
+     */
+    static long[] calculateIntervals(long startPeriod, long endPeriod, IntervalType intervalType, long interval, ZoneId tzId) {
+        List<Long> intervals = new ArrayList<>();
+        intervals.add(startPeriod);
+        long startTs = startPeriod;
+        while (startTs < endPeriod) {
+            long endTs;
+            if (IntervalType.MILLISECONDS.equals(intervalType)) {
+                endTs = startTs + interval;
+            } else {
+                endTs = TimeUtils.calculateIntervalEnd(startTs, intervalType, tzId);
+            }
+            endTs = Math.min(endTs, endPeriod);
+            intervals.add(endTs);
+            startTs = endTs;
+        }
+        return intervals.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    List<Optional<? extends AbstractTsKvEntity>> findAndAggregateAll(EntityId entityId, String key, long[] intervals, long interval, Aggregation aggregation) {
+        var keyId = keyDictionaryDao.getOrSaveKeyId(key);
+        TsKvEntity[] entities = null;
+        if (rollupService != null) {
+            entities = rollupService.findAggregated(entityId.getId(), keyId, intervals, aggregation);
+        }
+        if (entities == null) {
+            entities = tsKvAggregationRepository.findAggregated(entityId.getId(), keyId, intervals, interval, aggregation);
+        }
+        List<Optional<? extends AbstractTsKvEntity>> result = new ArrayList<>(entities.length);
+        for (int i = 0; i < entities.length; i++) {
+            TsKvEntity entity = entities[i];
+            if (entity != null && entity.isNotEmpty()) {
+                entity.setEntityId(entityId.getId());
+                entity.setStrKey(key);
+                entity.setTs(intervals[i] + (intervals[i + 1] - intervals[i]) / 2);
+                result.add(Optional.of(entity));
+            } else {
+                result.add(Optional.empty());
             }
-            return getReadTsKvQueryResultFuture(query, Futures.allAsList(futures));
         }
+        return result;
     }
 
     ReadTsKvQueryResult findAllWithLimit(EntityId entityId, ReadTsKvQuery query) {
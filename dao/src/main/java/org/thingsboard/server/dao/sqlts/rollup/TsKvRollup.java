@@ -0,0 +1,89 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts.rollup;
+
+import lombok.Data;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
+
+/**
+ * Partial aggregate of the time-series values that can be merged with other partial aggregates
+ * and converted to the result of any supported aggregation.
+ */
+@Data
+public class TsKvRollup {
+
+    private long booleanCount;
+    private long strCount;
+    private long longCount;
+    private long doubleCount;
+    private long jsonCount;
+    private Long longSum;
+    private Long longMin;
+    private Long longMax;
+    private Double doubleSum;
+    private Double doubleMin;
+    private Double doubleMax;
+    private String strMin;
+    private String strMax;
+    private Long lastTs;
+
+    public TsKvRollup merge(TsKvRollup other) {
+        if (other == null) {
+            return this;
+        }
+        booleanCount += other.booleanCount;
+        strCount += other.strCount;
+        longCount += other.longCount;
+        doubleCount += other.doubleCount;
+        jsonCount += other.jsonCount;
+        longSum = longSum == null ? other.longSum : other.longSum == null ? longSum : longSum + other.longSum;
+        longMin = longMin == null ? other.longMin : other.longMin == null ? longMin : Math.min(longMin, other.longMin);
+        longMax = longMax == null ? other.longMax : other.longMax == null ? longMax : Math.max(longMax, other.longMax);
+        doubleSum = doubleSum == null ? other.doubleSum : other.doubleSum == null ? doubleSum : doubleSum + other.doubleSum;
+        doubleMin = doubleMin == null ? other.doubleMin : other.doubleMin == null ? doubleMin : Math.min(doubleMin, other.doubleMin);
+        doubleMax = doubleMax == null ? other.doubleMax : other.doubleMax == null ? doubleMax : Math.max(doubleMax, other.doubleMax);
+        strMin = strMin == null ? other.strMin : other.strMin == null ? strMin : strMin.compareTo(other.strMin) <= 0 ? strMin : other.strMin;
+        strMax = strMax == null ? other.strMax : other.strMax == null ? strMax : strMax.compareTo(other.strMax) >= 0 ? strMax : other.strMax;
+        lastTs = lastTs == null ? other.lastTs : other.lastTs == null ? lastTs : Math.max(lastTs, other.lastTs);
+        return this;
+    }
+
+    /**
+     * Produces the same result as the aggregate queries of the TsKvRepository for the same set of values.
+     */
+    public TsKvEntity toEntity(Aggregation aggregation) {
+        switch (aggregation) {
+            case AVG:
+            case SUM:
+                return new TsKvEntity(longSum != null ? longSum : 0L, doubleSum != null ? doubleSum : 0.0,
+                        longCount, doubleCount, aggregation.name(), lastTs);
+            case MIN:
+                TsKvEntity min = new TsKvEntity(longMin != null ? longMin : Long.MAX_VALUE, doubleMin != null ? doubleMin : Double.MAX_VALUE,
+                        longCount, doubleCount, aggregation.name(), lastTs);
+                return min.isNotEmpty() ? min : new TsKvEntity(strMin, lastTs);
+            case MAX:
+                TsKvEntity max = new TsKvEntity(longMax != null ? longMax : -Long.MAX_VALUE, doubleMax != null ? doubleMax : -Double.MAX_VALUE,
+                        longCount, doubleCount, aggregation.name(), lastTs);
+                return max.isNotEmpty() ? max : new TsKvEntity(strMax, lastTs);
+            case COUNT:
+                return new TsKvEntity(booleanCount, strCount, longCount, doubleCount, jsonCount, lastTs);
+            default:
+                throw new IllegalArgumentException("Not supported aggregation type: " + aggregation);
+        }
+    }
+
+}
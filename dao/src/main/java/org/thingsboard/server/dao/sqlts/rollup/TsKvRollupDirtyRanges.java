@@ -0,0 +1,60 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts.rollup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Disjoint time ranges of a single key whose rollups have to be recalculated.
+ * The ranges are widened to whole minutes, so that the values saved within the same or adjacent minutes end up in a single range,
+ * while the values saved far apart don't make the compactor recalculate everything in between.
+ * Not thread-safe.
+ */
+class TsKvRollupDirtyRanges {
+
+    private final NavigableMap<Long, Long> ranges = new TreeMap<>();
+
+    void add(long startTs, long endTs) {
+        long resolution = TsKvRollupService.RESOLUTIONS[0];
+        long start = TsKvRollupRepository.floor(startTs, resolution);
+        long end = TsKvRollupRepository.floor(endTs + resolution - 1, resolution);
+        Map.Entry<Long, Long> previous = ranges.floorEntry(start);
+        if (previous != null && previous.getValue() >= start) {
+            start = previous.getKey();
+            end = Math.max(end, previous.getValue());
+        }
+        Map.Entry<Long, Long> next;
+        while ((next = ranges.ceilingEntry(start)) != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            ranges.remove(next.getKey());
+        }
+        ranges.put(start, end);
+    }
+
+    /**
+     * @return start and end of each range, ordered by start
+     */
+    List<long[]> toList() {
+        List<long[]> result = new ArrayList<>(ranges.size());
+        ranges.forEach((start, end) -> result.add(new long[]{start, end}));
+        return result;
+    }
+
+}
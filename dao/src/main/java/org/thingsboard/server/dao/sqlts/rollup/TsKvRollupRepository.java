@@ -0,0 +1,289 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts.rollup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thingsboard.server.dao.sqlts.TsKey;
+import org.thingsboard.server.dao.util.SqlTsDao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+@SqlTsDao
+public class TsKvRollupRepository {
+
+    private static final List<String> VALUE_COLUMNS = List.of("bool_cnt", "str_cnt", "long_cnt", "dbl_cnt", "json_cnt",
+            "long_sum", "long_min", "long_max", "dbl_sum", "dbl_min", "dbl_max", "str_min", "str_max", "last_ts");
+
+    private static final String INSERT = "INSERT INTO ts_rollup (entity_id, key, resolution, ts, " + String.join(", ", VALUE_COLUMNS) + ") ";
+
+    private static final String ON_CONFLICT = " ON CONFLICT (entity_id, key, resolution, ts) DO UPDATE SET " +
+            VALUE_COLUMNS.stream().map(column -> column + " = EXCLUDED." + column).collect(Collectors.joining(", "));
+
+    private static final String RAW_AGGREGATES = "COUNT(bool_v) AS bool_cnt, COUNT(str_v) AS str_cnt, COUNT(long_v) AS long_cnt, " +
+            "COUNT(dbl_v) AS dbl_cnt, COUNT(json_v) AS json_cnt, SUM(long_v) AS long_sum, MIN(long_v) AS long_min, MAX(long_v) AS long_max, " +
+            "SUM(dbl_v) AS dbl_sum, MIN(dbl_v) AS dbl_min, MAX(dbl_v) AS dbl_max, MIN(str_v) AS str_min, MAX(str_v) AS str_max, MAX(ts) AS last_ts";
+
+    private static final String ROLLUP_AGGREGATES = "SUM(bool_cnt) AS bool_cnt, SUM(str_cnt) AS str_cnt, SUM(long_cnt) AS long_cnt, " +
+            "SUM(dbl_cnt) AS dbl_cnt, SUM(json_cnt) AS json_cnt, SUM(long_sum) AS long_sum, MIN(long_min) AS long_min, MAX(long_max) AS long_max, " +
+            "SUM(dbl_sum) AS dbl_sum, MIN(dbl_min) AS dbl_min, MAX(dbl_max) AS dbl_max, MIN(str_min) AS str_min, MAX(str_max) AS str_max, MAX(last_ts) AS last_ts";
+
+    private static final String DELETE_RANGE = "DELETE FROM ts_rollup WHERE entity_id = ? AND key = ? AND resolution = ? AND ts >= ? AND ts < ?";
+
+    private static final String ROLLUP_FROM_RAW = INSERT + "SELECT entity_id, key, ?, ts - ts % ?, " + RAW_AGGREGATES +
+            " FROM ts_kv WHERE entity_id = ? AND key = ? AND ts >= ? AND ts < ? GROUP BY 1, 2, 4" + ON_CONFLICT;
+
+    private static final String ROLLUP_FROM_ROLLUP = INSERT + "SELECT entity_id, key, ?, ts - ts % ?, " + ROLLUP_AGGREGATES +
+            " FROM ts_rollup WHERE entity_id = ? AND key = ? AND resolution = ? AND ts >= ? AND ts < ? GROUP BY 1, 2, 4" + ON_CONFLICT;
+
+    private static final String FIND_FROM_RAW = "SELECT width_bucket(ts, ?::bigint[]) - 1 AS bucket, " + RAW_AGGREGATES +
+            " FROM ts_kv WHERE entity_id = ? AND key = ? AND ts >= ? AND ts < ? GROUP BY bucket";
+
+    private static final String FIND_FROM_ROLLUP = "SELECT width_bucket(ts, ?::bigint[]) - 1 AS bucket, " + ROLLUP_AGGREGATES +
+            " FROM ts_rollup WHERE entity_id = ? AND key = ? AND resolution = ? AND ts >= ? AND ts < ? GROUP BY bucket";
+
+    private static final String FIND_MIN_RAW_TS = "SELECT r.entity_id, r.key, " +
+            "(SELECT MIN(t.ts) FROM ts_kv t WHERE t.entity_id = r.entity_id AND t.key = r.key) AS min_ts " +
+            "FROM (SELECT DISTINCT entity_id, key FROM ts_rollup WHERE resolution = ?) r";
+
+    private static final String DELETE_BEFORE = "DELETE FROM ts_rollup WHERE entity_id = ? AND key = ? AND ts + resolution <= ?";
+
+    private static final String SAVE_DIRTY = "INSERT INTO ts_rollup_dirty (entity_id, key, start_ts, end_ts) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (entity_id, key, start_ts) DO UPDATE SET end_ts = GREATEST(ts_rollup_dirty.end_ts, EXCLUDED.end_ts)";
+
+    private static final String FIND_DIRTY = "SELECT entity_id, key, start_ts, end_ts FROM ts_rollup_dirty " +
+            "WHERE (entity_id, key, start_ts) > (?, ?, ?) ORDER BY entity_id, key, start_ts LIMIT ?";
+
+    private static final String FIND_DIRTY_OVERLAPPING = "SELECT start_ts, end_ts FROM ts_rollup_dirty " +
+            "WHERE entity_id = ? AND key = ? AND start_ts < ? AND end_ts > ?";
+
+    private static final String LOCK_DIRTY = "SELECT end_ts FROM ts_rollup_dirty WHERE entity_id = ? AND key = ? AND start_ts = ? FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE_DIRTY = "DELETE FROM ts_rollup_dirty WHERE entity_id = ? AND key = ? AND start_ts = ?";
+
+    private static final String HAS_ROLLUPS = "SELECT EXISTS (SELECT 1 FROM ts_rollup) OR EXISTS (SELECT 1 FROM ts_rollup_dirty)";
+
+    // Distinct keys are collected by skipping through the primary key index of ts_kv instead of scanning the whole table
+    private static final String BACKFILL = "WITH RECURSIVE keys AS (" +
+            "(SELECT entity_id, key FROM ts_kv ORDER BY entity_id, key LIMIT 1) " +
+            "UNION ALL " +
+            "SELECT n.entity_id, n.key FROM keys k CROSS JOIN LATERAL " +
+            "(SELECT t.entity_id, t.key FROM ts_kv t WHERE (t.entity_id, t.key) > (k.entity_id, k.key) ORDER BY t.entity_id, t.key LIMIT 1) n) " +
+            "INSERT INTO ts_rollup_dirty (entity_id, key, start_ts, end_ts) " +
+            "SELECT k.entity_id, k.key, (SELECT MIN(t.ts) FROM ts_kv t WHERE t.entity_id = k.entity_id AND t.key = k.key), ? FROM keys k " +
+            "ON CONFLICT (entity_id, key, start_ts) DO UPDATE SET end_ts = GREATEST(ts_rollup_dirty.end_ts, EXCLUDED.end_ts)";
+
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public void saveDirtyRanges(List<TsKvRollupDirtyRange> ranges) {
+        jdbcTemplate.batchUpdate(SAVE_DIRTY, ranges, BATCH_SIZE, (ps, range) -> {
+            ps.setObject(1, range.entityId());
+            ps.setInt(2, range.key());
+            ps.setLong(3, range.startTs());
+            ps.setLong(4, range.endTs());
+        });
+    }
+
+    /**
+     * @param after the last range of the previous page, or null for the first page
+     * @return next page of the persisted dirty ranges, ordered by entity id, key and start
+     */
+    public List<TsKvRollupDirtyRange> findDirtyRanges(TsKvRollupDirtyRange after, int limit) {
+        return jdbcTemplate.query(FIND_DIRTY, (rs, rowNum) -> new TsKvRollupDirtyRange(rs.getObject("entity_id", UUID.class),
+                        rs.getInt("key"), rs.getLong("start_ts"), rs.getLong("end_ts")),
+                after != null ? after.entityId() : MIN_UUID, after != null ? after.key() : Integer.MIN_VALUE,
+                after != null ? after.startTs() : Long.MIN_VALUE, limit);
+    }
+
+    /**
+     * @return start and end of the persisted dirty ranges of the key that overlap the time range
+     */
+    public List<long[]> findDirtyRanges(UUID entityId, int key, long startTs, long endTs) {
+        return jdbcTemplate.query(FIND_DIRTY_OVERLAPPING, (rs, rowNum) -> new long[]{rs.getLong("start_ts"), rs.getLong("end_ts")},
+                entityId, key, endTs, startTs);
+    }
+
+    /**
+     * Recalculates the rollups of the first chunk of the dirty range, and then moves the start of the range to the end of the chunk,
+     * or removes the range once it's done. The range is locked until the transaction ends, so the compactors of the other nodes skip it.
+     *
+     * @return the rest of the range, or null if the range is done or is being recalculated by another node
+     */
+    public TsKvRollupDirtyRange rebuildChunk(TsKvRollupDirtyRange range, long[] resolutions, long chunkSize) {
+        return transactionTemplate.execute(status -> {
+            List<Long> endTs = jdbcTemplate.queryForList(LOCK_DIRTY, Long.class, range.entityId(), range.key(), range.startTs());
+            if (endTs.isEmpty()) {
+                return null;
+            }
+            long end = endTs.get(0);
+            long chunkEnd = Math.min(end, floor(range.startTs(), chunkSize) + chunkSize);
+            rebuild(range.entityId(), range.key(), resolutions, range.startTs(), chunkEnd);
+            jdbcTemplate.update(DELETE_DIRTY, range.entityId(), range.key(), range.startTs());
+            if (chunkEnd >= end) {
+                return null;
+            }
+            TsKvRollupDirtyRange rest = new TsKvRollupDirtyRange(range.entityId(), range.key(), chunkEnd, end);
+            jdbcTemplate.update(SAVE_DIRTY, rest.entityId(), rest.key(), rest.startTs(), rest.endTs());
+            return rest;
+        });
+    }
+
+    /**
+     * Marks the whole time range of every key of the raw table as dirty, so the compactor recalculates all the rollups.
+     */
+    public int backfill(long endTs) {
+        return jdbcTemplate.update(BACKFILL, endTs);
+    }
+
+    public boolean hasRollups() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_ROLLUPS, Boolean.class));
+    }
+
+    /**
+     * @param intervals starts of the intervals followed by the end of the last interval
+     * @return partial aggregate of the rollups for each interval within the time range, or null if there is no data in the interval
+     */
+    public TsKvRollup[] findRollups(UUID entityId, int key, long resolution, long[] intervals, long startTs, long endTs) {
+        return find(FIND_FROM_ROLLUP, intervals, entityId, key, resolution, startTs, endTs);
+    }
+
+    /**
+     * @param intervals starts of the intervals followed by the end of the last interval
+     * @return partial aggregate of the raw values for each interval within the time range, or null if there is no data in the interval
+     */
+    public TsKvRollup[] findRaw(UUID entityId, int key, long[] intervals, long startTs, long endTs) {
+        return find(FIND_FROM_RAW, intervals, entityId, key, startTs, endTs);
+    }
+
+    /**
+     * Removes the rollups that only cover the values already removed from the raw table, e.g. by TTL.
+     *
+     * @return min timestamp of the remaining raw values of the keys whose rollups were removed
+     */
+    public Map<TsKey, Long> deleteExpired(long resolution) {
+        Map<TsKey, Long> minTs = new LinkedHashMap<>();
+        jdbcTemplate.query(FIND_MIN_RAW_TS, rs -> {
+            long ts = rs.getLong("min_ts");
+            minTs.put(new TsKey(rs.getObject("entity_id", UUID.class), rs.getInt("key")), rs.wasNull() ? Long.MAX_VALUE : ts);
+        }, resolution);
+        List<Map.Entry<TsKey, Long>> keys = new ArrayList<>(minTs.entrySet());
+        int[][] deleted = jdbcTemplate.batchUpdate(DELETE_BEFORE, keys, BATCH_SIZE, (ps, entry) -> {
+            ps.setObject(1, entry.getKey().getEntityId());
+            ps.setInt(2, entry.getKey().getKey());
+            ps.setLong(3, entry.getValue());
+        });
+        Map<TsKey, Long> result = new HashMap<>();
+        int i = 0;
+        for (int[] batch : deleted) {
+            for (int count : batch) {
+                Map.Entry<TsKey, Long> entry = keys.get(i++);
+                if (count != 0 && entry.getValue() != Long.MAX_VALUE) {
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Recalculates the rollups of all resolutions that cover the time range.
+     * The finest resolution is calculated from the raw values, each next one from the previous resolution.
+     */
+    private void rebuild(UUID entityId, int key, long[] resolutions, long startTs, long endTs) {
+        for (int i = 0; i < resolutions.length; i++) {
+            long resolution = resolutions[i];
+            long from = floor(startTs, resolution);
+            long to = floor(endTs + resolution - 1, resolution);
+            jdbcTemplate.update(DELETE_RANGE, entityId, key, resolution, from, to);
+            if (i == 0) {
+                jdbcTemplate.update(ROLLUP_FROM_RAW, resolution, resolution, entityId, key, from, to);
+            } else {
+                jdbcTemplate.update(ROLLUP_FROM_ROLLUP, resolution, resolution, entityId, key, resolutions[i - 1], from, to);
+            }
+        }
+    }
+
+    private TsKvRollup[] find(String sql, long[] intervals, Object... args) {
+        int intervalsCount = intervals.length - 1;
+        TsKvRollup[] result = new TsKvRollup[intervalsCount];
+        jdbcTemplate.query(sql, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", Arrays.stream(intervals, 0, intervalsCount).boxed().toArray()));
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 2, args[i]);
+            }
+        }, rs -> {
+            int bucket = rs.getInt("bucket");
+            if (bucket >= 0 && bucket < intervalsCount) {
+                result[bucket] = toRollup(rs);
+            }
+        });
+        return result;
+    }
+
+    private static TsKvRollup toRollup(ResultSet rs) throws SQLException {
+        TsKvRollup rollup = new TsKvRollup();
+        rollup.setBooleanCount(rs.getLong("bool_cnt"));
+        rollup.setStrCount(rs.getLong("str_cnt"));
+        rollup.setLongCount(rs.getLong("long_cnt"));
+        rollup.setDoubleCount(rs.getLong("dbl_cnt"));
+        rollup.setJsonCount(rs.getLong("json_cnt"));
+        rollup.setLongSum(getLong(rs, "long_sum"));
+        rollup.setLongMin(getLong(rs, "long_min"));
+        rollup.setLongMax(getLong(rs, "long_max"));
+        rollup.setDoubleSum(getDouble(rs, "dbl_sum"));
+        rollup.setDoubleMin(getDouble(rs, "dbl_min"));
+        rollup.setDoubleMax(getDouble(rs, "dbl_max"));
+        rollup.setStrMin(rs.getString("str_min"));
+        rollup.setStrMax(rs.getString("str_max"));
+        rollup.setLastTs(getLong(rs, "last_ts"));
+        return rollup;
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Double getDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    static long floor(long ts, long resolution) {
+        return ts - Math.floorMod(ts, resolution);
+    }
+
+}
@@ -0,0 +1,262 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts.rollup;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
+import org.thingsboard.server.dao.sqlts.TsKey;
+import org.thingsboard.server.dao.util.SqlTsDao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains per-minute, per-hour and per-day rollups of the raw time-series values and uses them for the aggregation queries.
+ * Time ranges of the saved and removed values are marked as dirty in the ts_rollup_dirty table, in the same transaction
+ * as the raw values, so no mark is lost on a crash. The marks are shared by the compactors of all the nodes,
+ * which recalculate the dirty ranges in the background in chunks of a day. Until then, the intervals overlapping a dirty range
+ * are aggregated from the raw values, same as the most recent data.
+ * When the rollups are enabled for the first time (or the backfill is requested), the whole time range of every key is marked as dirty;
+ * the rollups are not used until that is done.
+ */
+@Slf4j
+@Component
+@SqlTsDao
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "sql.ts.rollup", value = "enabled", havingValue = "true")
+public class TsKvRollupService {
+
+    static final long[] RESOLUTIONS = {TimeUnit.MINUTES.toMillis(1), TimeUnit.HOURS.toMillis(1), TimeUnit.DAYS.toMillis(1)};
+
+    private final TsKvRollupRepository rollupRepository;
+
+    private static final int DIRTY_RANGES_PAGE_SIZE = 1000;
+
+    private static final Comparator<TsKvRollupDirtyRange> DIRTY_RANGES_ORDER = Comparator.comparing(TsKvRollupDirtyRange::entityId)
+            .thenComparingInt(TsKvRollupDirtyRange::key).thenComparingLong(TsKvRollupDirtyRange::startTs);
+
+    @Value("${sql.ts.rollup.compaction_interval_ms:60000}")
+    private long compactionIntervalMs;
+    @Value("${sql.ts.rollup.backfill:false}")
+    private boolean backfill;
+
+    private ScheduledExecutorService compactionExecutor;
+    private volatile boolean backfilled;
+
+    @PostConstruct
+    public void init() {
+        compactionExecutor = ThingsBoardExecutors.newSingleThreadScheduledExecutor("ts-rollup-compaction");
+        compactionExecutor.execute(this::backfillIfNeeded);
+        compactionExecutor.scheduleWithFixedDelay(this::compact, compactionIntervalMs, compactionIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (compactionExecutor != null) {
+            compactionExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Marks the time ranges of the saved values as dirty. Called in the transaction that saves the values.
+     */
+    public void onSaved(List<TsKvEntity> entities) {
+        Map<TsKey, TsKvRollupDirtyRanges> ranges = new HashMap<>();
+        for (TsKvEntity entity : entities) {
+            ranges.computeIfAbsent(new TsKey(entity.getEntityId(), entity.getKey()), key -> new TsKvRollupDirtyRanges())
+                    .add(entity.getTs(), entity.getTs() + 1);
+        }
+        List<TsKvRollupDirtyRange> dirtyRanges = new ArrayList<>();
+        ranges.forEach((key, keyRanges) -> keyRanges.toList().forEach(range ->
+                dirtyRanges.add(new TsKvRollupDirtyRange(key.getEntityId(), key.getKey(), range[0], range[1]))));
+        // the same order in all transactions, so that concurrent batches don't deadlock on the same ranges
+        dirtyRanges.sort(DIRTY_RANGES_ORDER);
+        rollupRepository.saveDirtyRanges(dirtyRanges);
+    }
+
+    /**
+     * Marks the time range of the removed values as dirty. Called in the transaction that removes the values.
+     */
+    public void onRemoved(UUID entityId, int key, long startTs, long endTs) {
+        rollupRepository.saveDirtyRanges(List.of(toDirtyRange(new TsKey(entityId, key), startTs, endTs)));
+    }
+
+    /**
+     * Removes the rollups of the values removed from the raw table by TTL.
+     */
+    public void cleanup() {
+        Map<TsKey, Long> minTs = rollupRepository.deleteExpired(RESOLUTIONS[RESOLUTIONS.length - 1]);
+        // rollups that only partially cover the removed values are recalculated
+        List<TsKvRollupDirtyRange> ranges = new ArrayList<>();
+        minTs.forEach((key, ts) -> ranges.add(toDirtyRange(key, ts, ts + 1)));
+        ranges.sort(DIRTY_RANGES_ORDER);
+        rollupRepository.saveDirtyRanges(ranges);
+        log.info("Removed expired rollups for {} keys", minTs.size());
+    }
+
+    /**
+     * @param intervals starts of the intervals followed by the end of the last interval
+     * @return aggregated entity for each interval (null if there is no data in the interval),
+     * or null if the rollups can't be used: the intervals are not aligned with any of the rollup resolutions,
+     * the backfill is not done yet, or all the intervals are dirty
+     */
+    public TsKvEntity[] findAggregated(UUID entityId, int key, long[] intervals, Aggregation aggregation) {
+        long resolution = getResolution(intervals);
+        if (resolution == 0 || !backfilled) {
+            return null;
+        }
+        int intervalsCount = intervals.length - 1;
+        long startTs = intervals[0];
+        long endTs = intervals[intervalsCount];
+        long rollupEndTs = TsKvRollupRepository.floor(Math.min(endTs, System.currentTimeMillis() - 2 * compactionIntervalMs), resolution);
+        if (rollupEndTs <= startTs) {
+            return null;
+        }
+        boolean[] dirty = new boolean[intervalsCount];
+        int firstDirty = -1;
+        int lastDirty = -1;
+        for (long[] range : rollupRepository.findDirtyRanges(entityId, key, startTs, rollupEndTs)) {
+            for (int i = 0; i < intervalsCount && intervals[i] < rollupEndTs; i++) {
+                if (intervals[i] < range[1] && intervals[i + 1] > range[0]) {
+                    dirty[i] = true;
+                    firstDirty = firstDirty < 0 ? i : Math.min(firstDirty, i);
+                    lastDirty = Math.max(lastDirty, i);
+                }
+            }
+        }
+        if (lastDirty >= 0 && intervals[lastDirty + 1] >= rollupEndTs && allDirty(dirty, lastDirty)) {
+            return null;
+        }
+        TsKvRollup[] rollups = rollupRepository.findRollups(entityId, key, resolution, intervals, startTs, rollupEndTs);
+        if (firstDirty >= 0) {
+            // the rollups of the dirty intervals are not recalculated yet
+            TsKvRollup[] raw = rollupRepository.findRaw(entityId, key, intervals, intervals[firstDirty], Math.min(intervals[lastDirty + 1], rollupEndTs));
+            for (int i = firstDirty; i <= lastDirty; i++) {
+                if (dirty[i]) {
+                    rollups[i] = raw[i];
+                }
+            }
+        }
+        if (rollupEndTs < endTs) {
+            TsKvRollup[] raw = rollupRepository.findRaw(entityId, key, intervals, rollupEndTs, endTs);
+            for (int i = 0; i < intervalsCount; i++) {
+                rollups[i] = rollups[i] != null ? rollups[i].merge(raw[i]) : raw[i];
+            }
+        }
+        TsKvEntity[] result = new TsKvEntity[intervalsCount];
+        for (int i = 0; i < intervalsCount; i++) {
+            if (rollups[i] != null) {
+                result[i] = rollups[i].toEntity(aggregation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the coarsest resolution all the intervals start at, or 0 if there is none.
+     * The end of the last interval doesn't have to be aligned: the remainder is aggregated from the raw values.
+     */
+    static long getResolution(long[] intervals) {
+        for (int i = RESOLUTIONS.length - 1; i >= 0; i--) {
+            long resolution = RESOLUTIONS[i];
+            boolean aligned = true;
+            for (int j = 0; j < intervals.length - 1 && aligned; j++) {
+                aligned = intervals[j] % resolution == 0;
+            }
+            if (aligned) {
+                return resolution;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean allDirty(boolean[] dirty, int last) {
+        for (int i = 0; i <= last; i++) {
+            if (!dirty[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void backfillIfNeeded() {
+        try {
+            if (backfill || !rollupRepository.hasRollups()) {
+                log.info("Marking the whole time range of all keys as dirty to backfill the rollups");
+                int keys = rollupRepository.backfill(System.currentTimeMillis());
+                log.info("Rollups of {} keys will be backfilled by the compactor", keys);
+            }
+            backfilled = true;
+        } catch (Exception e) {
+            log.warn("Failed to start the rollups backfill, retrying on the next compaction", e);
+        }
+    }
+
+    void compact() {
+        if (!backfilled) {
+            backfillIfNeeded();
+            if (!backfilled) {
+                return;
+            }
+        }
+        TsKvRollupDirtyRange last = null;
+        List<TsKvRollupDirtyRange> page;
+        do {
+            page = rollupRepository.findDirtyRanges(last, DIRTY_RANGES_PAGE_SIZE);
+            for (TsKvRollupDirtyRange range : page) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                rebuild(range);
+            }
+            if (!page.isEmpty()) {
+                last = page.get(page.size() - 1);
+            }
+        } while (page.size() == DIRTY_RANGES_PAGE_SIZE);
+    }
+
+    private void rebuild(TsKvRollupDirtyRange range) {
+        try {
+            while (range != null) {
+                range = rollupRepository.rebuildChunk(range, RESOLUTIONS, RESOLUTIONS[RESOLUTIONS.length - 1]);
+            }
+        } catch (Exception e) {
+            log.warn("[{}][{}] Failed to rebuild rollups for [{}-{}]", range.entityId(), range.key(), range.startTs(), range.endTs(), e);
+        }
+    }
+
+    private static TsKvRollupDirtyRange toDirtyRange(TsKey key, long startTs, long endTs) {
+        TsKvRollupDirtyRanges ranges = new TsKvRollupDirtyRanges();
+        ranges.add(startTs, endTs);
+        long[] range = ranges.toList().get(0);
+        return new TsKvRollupDirtyRange(key.getEntityId(), key.getKey(), range[0], range[1]);
+    }
+
+}
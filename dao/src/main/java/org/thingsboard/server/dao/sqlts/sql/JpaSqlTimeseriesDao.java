@@ -106,6 +106,9 @@ public class JpaSqlTimeseriesDao extends AbstractChunkedAggregationTimeseriesDao
             cleanupPartitions(systemTtl);
         }
         super.cleanup(systemTtl);
+        if (rollupService != null) {
+            rollupService.cleanup();
+        }
     }
 
     private void cleanupPartitions(long systemTtl) {
@@ -0,0 +1,160 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts.ts;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
+import org.thingsboard.server.dao.util.SqlTsDao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Computes all aggregation intervals of a time-series query with a single grouped query,
+ * instead of running a separate aggregate query for each interval.
+ */
+@Repository
+@SqlTsDao
+public class TsKvAggregationRepository {
+
+    private static final String AVG_SUM_COLUMNS =
+            "SUM(COALESCE(long_v, 0))::bigint AS long_v, " +
+            "SUM(COALESCE(dbl_v, 0.0)) AS dbl_v, " +
+            "SUM(CASE WHEN long_v IS NULL THEN 0 ELSE 1 END) AS long_cnt, " +
+            "SUM(CASE WHEN dbl_v IS NULL THEN 0 ELSE 1 END) AS dbl_cnt, ";
+
+    // same sentinels as in TsKvRepository.findNumericMax and findNumericMin
+    private static final String MAX_COLUMNS =
+            "MAX(COALESCE(long_v, -9223372036854775807)) AS long_v, " +
+            "MAX(COALESCE(dbl_v, -1.7976931348623157E308)) AS dbl_v, " +
+            "SUM(CASE WHEN long_v IS NULL THEN 0 ELSE 1 END) AS long_cnt, " +
+            "SUM(CASE WHEN dbl_v IS NULL THEN 0 ELSE 1 END) AS dbl_cnt, " +
+            "MAX(str_v) AS str_v, MAX(CASE WHEN str_v IS NULL THEN NULL ELSE ts END) AS str_ts, ";
+
+    private static final String MIN_COLUMNS =
+            "MIN(COALESCE(long_v, 9223372036854775807)) AS long_v, " +
+            "MIN(COALESCE(dbl_v, 1.7976931348623157E308)) AS dbl_v, " +
+            "SUM(CASE WHEN long_v IS NULL THEN 0 ELSE 1 END) AS long_cnt, " +
+            "SUM(CASE WHEN dbl_v IS NULL THEN 0 ELSE 1 END) AS dbl_cnt, " +
+            "MIN(str_v) AS str_v, MAX(CASE WHEN str_v IS NULL THEN NULL ELSE ts END) AS str_ts, ";
+
+    private static final String COUNT_COLUMNS =
+            "SUM(CASE WHEN bool_v IS NULL THEN 0 ELSE 1 END) AS bool_cnt, " +
+            "SUM(CASE WHEN str_v IS NULL THEN 0 ELSE 1 END) AS str_cnt, " +
+            "SUM(CASE WHEN long_v IS NULL THEN 0 ELSE 1 END) AS long_cnt, " +
+            "SUM(CASE WHEN dbl_v IS NULL THEN 0 ELSE 1 END) AS dbl_cnt, " +
+            "SUM(CASE WHEN json_v IS NULL THEN 0 ELSE 1 END) AS json_cnt, ";
+
+    // intervals of the same length, e.g. 1 hour
+    private static final String FIXED_BUCKET = "(ts - ?) / ?";
+    // calendar intervals (weeks, months, quarters) are calculated in the requested time zone and passed as the array of interval starts
+    private static final String CALENDAR_BUCKET = "width_bucket(ts, ?::bigint[]) - 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param intervals starts of the intervals followed by the end of the last interval
+     * @param interval  length of the intervals in milliseconds, or 0 if the intervals have different length
+     * @return aggregated entity for each interval, or null if there is no data in the interval
+     */
+    public TsKvEntity[] findAggregated(UUID entityId, int key, long[] intervals, long interval, Aggregation aggregation) {
+        int intervalsCount = intervals.length - 1;
+        long startTs = intervals[0];
+        long endTs = intervals[intervalsCount];
+        String sql = "SELECT " + (interval > 0 ? FIXED_BUCKET : CALENDAR_BUCKET) + " AS bucket, " +
+                getAggregationColumns(aggregation) + "MAX(ts) AS agg_ts FROM ts_kv " +
+                "WHERE entity_id = ? AND key = ? AND ts >= ? AND ts < ? GROUP BY bucket";
+        TsKvEntity[] result = new TsKvEntity[intervalsCount];
+        jdbcTemplate.query(sql, ps -> {
+            int i = 1;
+            if (interval > 0) {
+                ps.setLong(i++, startTs);
+                ps.setLong(i++, interval);
+            } else {
+                Long[] starts = new Long[intervalsCount];
+                for (int j = 0; j < intervalsCount; j++) {
+                    starts[j] = intervals[j];
+                }
+                ps.setArray(i++, ps.getConnection().createArrayOf("bigint", starts));
+            }
+            ps.setObject(i++, entityId);
+            ps.setInt(i++, key);
+            ps.setLong(i++, startTs);
+            ps.setLong(i, endTs);
+        }, rs -> {
+            int bucket = rs.getInt("bucket");
+            if (bucket >= 0 && bucket < intervalsCount) {
+                result[bucket] = toEntity(rs, aggregation);
+            }
+        });
+        return result;
+    }
+
+    private static String getAggregationColumns(Aggregation aggregation) {
+        switch (aggregation) {
+            case AVG:
+            case SUM:
+                return AVG_SUM_COLUMNS;
+            case MAX:
+                return MAX_COLUMNS;
+            case MIN:
+                return MIN_COLUMNS;
+            case COUNT:
+                return COUNT_COLUMNS;
+            default:
+                throw new IllegalArgumentException("Not supported aggregation type: " + aggregation);
+        }
+    }
+
+    private static TsKvEntity toEntity(ResultSet rs, Aggregation aggregation) throws SQLException {
+        Long aggValuesLastTs = getLong(rs, "agg_ts");
+        switch (aggregation) {
+            case AVG:
+            case SUM:
+                return new TsKvEntity(getLong(rs, "long_v"), getDouble(rs, "dbl_v"),
+                        getLong(rs, "long_cnt"), getLong(rs, "dbl_cnt"), aggregation.name(), aggValuesLastTs);
+            case MAX:
+            case MIN:
+                TsKvEntity numeric = new TsKvEntity(getLong(rs, "long_v"), getDouble(rs, "dbl_v"),
+                        getLong(rs, "long_cnt"), getLong(rs, "dbl_cnt"), aggregation.name(), aggValuesLastTs);
+                if (numeric.isNotEmpty()) {
+                    return numeric;
+                }
+                return new TsKvEntity(rs.getString("str_v"), getLong(rs, "str_ts"));
+            case COUNT:
+                return new TsKvEntity(getLong(rs, "bool_cnt"), getLong(rs, "str_cnt"), getLong(rs, "long_cnt"),
+                        getLong(rs, "dbl_cnt"), getLong(rs, "json_cnt"), aggValuesLastTs);
+            default:
+                throw new IllegalArgumentException("Not supported aggregation type: " + aggregation);
+        }
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Double getDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+}
@@ -69,6 +69,8 @@ CREATE INDEX IF NOT EXISTS idx_edge_event_tenant_id_and_created_time ON edge_eve
 
 CREATE INDEX IF NOT EXISTS idx_edge_event_tenant_id_edge_id_created_time ON edge_event(tenant_id, edge_id, created_time DESC);
 
+CREATE INDEX IF NOT EXISTS idx_edge_event_tenant_id_edge_id_seq_id ON edge_event(tenant_id, edge_id, seq_id);
+
 CREATE INDEX IF NOT EXISTS idx_edge_event_id ON edge_event(id);
 
 CREATE INDEX IF NOT EXISTS idx_rpc_tenant_id_device_id ON rpc(tenant_id, device_id);
@@ -127,6 +127,27 @@ BEGIN
 END
 $$;
 
+DROP FUNCTION IF EXISTS update_active_alarm;
+CREATE OR REPLACE FUNCTION update_active_alarm(t_id uuid, a_id uuid, a_severity varchar, a_start_ts bigint, a_end_ts bigint,
+                                               a_details varchar,
+                                               a_propagate boolean, a_propagate_to_owner boolean,
+                                               a_propagate_to_tenant boolean, a_propagation_types varchar)
+    RETURNS varchar
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    existing alarm;
+BEGIN
+    SELECT * INTO existing FROM alarm a WHERE a.id = a_id AND a.tenant_id = t_id FOR UPDATE;
+    IF existing.id IS NULL OR existing.cleared THEN
+        RETURN json_build_object('success', false)::text;
+    END IF;
+    RETURN update_alarm(t_id, a_id, a_severity, a_start_ts, a_end_ts, a_details, a_propagate, a_propagate_to_owner,
+                        a_propagate_to_tenant, a_propagation_types);
+END
+$$;
+
 DROP FUNCTION IF EXISTS acknowledge_alarm;
 CREATE OR REPLACE FUNCTION acknowledge_alarm(t_id uuid, a_id uuid, a_ts bigint)
     RETURNS varchar
@@ -27,6 +27,38 @@ CREATE TABLE IF NOT EXISTS ts_kv
     CONSTRAINT ts_kv_pkey PRIMARY KEY (entity_id, key, ts)
 ) PARTITION BY RANGE (ts);
 
+CREATE TABLE IF NOT EXISTS ts_rollup
+(
+    entity_id  uuid   NOT NULL,
+    key        int    NOT NULL,
+    resolution bigint NOT NULL,
+    ts         bigint NOT NULL,
+    bool_cnt   bigint NOT NULL,
+    str_cnt    bigint NOT NULL,
+    long_cnt   bigint NOT NULL,
+    dbl_cnt    bigint NOT NULL,
+    json_cnt   bigint NOT NULL,
+    long_sum   bigint,
+    long_min   bigint,
+    long_max   bigint,
+    dbl_sum    double precision,
+    dbl_min    double precision,
+    dbl_max    double precision,
+    str_min    varchar(10000000),
+    str_max    varchar(10000000),
+    last_ts    bigint NOT NULL,
+    CONSTRAINT ts_rollup_pkey PRIMARY KEY (entity_id, key, resolution, ts)
+);
+
+CREATE TABLE IF NOT EXISTS ts_rollup_dirty
+(
+    entity_id uuid   NOT NULL,
+    key       int    NOT NULL,
+    start_ts  bigint NOT NULL,
+    end_ts    bigint NOT NULL,
+    CONSTRAINT ts_rollup_dirty_pkey PRIMARY KEY (entity_id, key, start_ts)
+);
+
 CREATE TABLE IF NOT EXISTS key_dictionary
 (
     key    varchar(255) NOT NULL,
@@ -0,0 +1,129 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.output.OutputFrame;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.thingsboard.server.cache.limits.DistributedTbRateLimits;
+import org.thingsboard.server.cache.limits.RedisDistributedRateLimitStore;
+import org.thingsboard.server.common.data.StringUtils;
+import org.thingsboard.server.common.data.limit.RateLimitEntry;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@Testcontainers
+@Slf4j
+public class RedisDistributedRateLimitStoreTest {
+
+    @Container
+    private static final GenericContainer REDIS = new GenericContainer("bitnamilegacy/valkey:8.0")
+            .withEnv("ALLOW_EMPTY_PASSWORD", "yes")
+            .withLogConsumer(s -> log.warn(((OutputFrame) s).getUtf8String().trim()))
+            .withExposedPorts(6379);
+
+    private static JedisConnectionFactory connectionFactory;
+    private static RedisDistributedRateLimitStore store;
+
+    @BeforeAll
+    static void beforeAll() {
+        REDIS.start();
+        connectionFactory = new JedisConnectionFactory(new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        store = new RedisDistributedRateLimitStore(connectionFactory);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        connectionFactory.destroy();
+        REDIS.stop();
+    }
+
+    @Test
+    public void givenCapacity_whenAcquiring_thenGrantedUntilExhausted() {
+        String key = newKey();
+        List<RateLimitEntry> limits = List.of(new RateLimitEntry(10, 3600));
+
+        assertThat(store.tryAcquire(key, limits, 6)).isEqualTo(6);
+        assertThat(store.tryAcquire(key, limits, 6)).isEqualTo(4);
+        assertThat(store.tryAcquire(key, limits, 1)).isZero();
+    }
+
+    @Test
+    public void givenSeveralLimits_whenAcquiring_thenSmallestRemainingCapacityIsGranted() {
+        String key = newKey();
+        List<RateLimitEntry> limits = List.of(new RateLimitEntry(5, 3600), new RateLimitEntry(100, 3600));
+
+        assertThat(store.tryAcquire(key, limits, 8)).isEqualTo(5);
+        assertThat(store.tryAcquire(key, limits, 1)).isZero();
+    }
+
+    @Test
+    public void givenExhaustedWindow_whenNextWindowStarts_thenTokensAreGrantedAgain() {
+        String key = newKey();
+        List<RateLimitEntry> limits = List.of(new RateLimitEntry(3, 1));
+
+        assertThat(store.tryAcquire(key, limits, 3)).isEqualTo(3);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> store.tryAcquire(key, limits, 1) == 1);
+    }
+
+    @Test
+    public void givenScriptCacheFlushed_whenAcquiring_thenScriptIsLoadedAgain() {
+        String key = newKey();
+        List<RateLimitEntry> limits = List.of(new RateLimitEntry(10, 3600));
+        assertThat(store.tryAcquire(key, limits, 1)).isEqualTo(1);
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.scriptingCommands().scriptFlush();
+        }
+
+        assertThat(store.tryAcquire(key, limits, 1)).isEqualTo(1);
+    }
+
+    @Test
+    public void givenTwoNodes_whenConsuming_thenCapacityIsShared() {
+        String key = newKey();
+        DistributedTbRateLimits node1 = new DistributedTbRateLimits(store, Runnable::run, key, "100:3600", false, 100, 60000);
+        DistributedTbRateLimits node2 = new DistributedTbRateLimits(store, Runnable::run, key, "100:3600", false, 100, 60000);
+
+        int consumed = 0;
+        for (int i = 0; i < 150; i++) {
+            if ((i % 2 == 0 ? node1 : node2).tryConsume()) {
+                consumed++;
+            }
+        }
+
+        assertThat(consumed).isEqualTo(100);
+    }
+
+    private static String newKey() {
+        return "rateLimits:test:" + StringUtils.randomAlphanumeric(10);
+    }
+
+}
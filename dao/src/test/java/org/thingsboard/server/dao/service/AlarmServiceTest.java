@@ -62,6 +62,7 @@ import org.thingsboard.server.dao.relation.RelationService;
 import org.thingsboard.server.dao.user.UserService;
 import org.thingsboard.server.exception.DataValidationException;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -1015,4 +1016,64 @@ public class AlarmServiceTest extends AbstractServiceTest {
         assertThat(result.getAlarm().getId()).isNotNull();
     }
 
+    @Test
+    public void testUpdateActiveAlarm() {
+        AssetId originatorId = new AssetId(Uuids.timeBased());
+        AlarmInfo created = alarmService.createAlarm(AlarmCreateOrUpdateActiveRequest.builder()
+                .tenantId(tenantId)
+                .originator(originatorId)
+                .type(TEST_ALARM)
+                .severity(AlarmSeverity.MINOR)
+                .startTs(1000).endTs(1000).build()).getAlarm();
+
+        AlarmUpdateRequest update = AlarmUpdateRequest.builder()
+                .tenantId(tenantId)
+                .alarmId(created.getId())
+                .severity(AlarmSeverity.CRITICAL)
+                .startTs(1000).endTs(2000).build();
+        AlarmApiCallResult result = alarmService.updateActiveAlarm(update);
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.isModified()).isTrue();
+        assertThat(result.getAlarm().getSeverity()).isEqualTo(AlarmSeverity.CRITICAL);
+
+        alarmService.clearAlarm(tenantId, created.getId(), 3000, null, false);
+        update.setEndTs(4000);
+        assertThat(alarmService.updateActiveAlarm(update).isSuccessful()).isFalse();
+        assertThat(alarmService.findAlarmById(tenantId, created.getId()).getEndTs()).isEqualTo(2000);
+    }
+
+    @Test
+    public void testFindLatestActiveAlarms() {
+        AssetId originatorA = new AssetId(Uuids.timeBased());
+        AssetId originatorB = new AssetId(Uuids.timeBased());
+        AlarmInfo clearedA = createActiveAlarm(originatorA, TEST_ALARM);
+        alarmService.clearAlarm(tenantId, clearedA.getId(), System.currentTimeMillis(), null, false);
+        AlarmInfo activeA = createActiveAlarm(originatorA, TEST_ALARM);
+        AlarmInfo otherTypeA = createActiveAlarm(originatorA, "OTHER_ALARM");
+        AlarmInfo activeB = createActiveAlarm(originatorB, TEST_ALARM);
+
+        List<Alarm> found = new ArrayList<>();
+        Alarm offset = null;
+        List<Alarm> page;
+        do {
+            page = alarmService.findLatestActiveAlarms(offset, 1);
+            found.addAll(page);
+            offset = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (!page.isEmpty());
+
+        assertThat(found).extracting(Alarm::getId)
+                .contains(activeA.getId(), otherTypeA.getId(), activeB.getId())
+                .doesNotContain(clearedA.getId())
+                .doesNotHaveDuplicates();
+    }
+
+    private AlarmInfo createActiveAlarm(AssetId originatorId, String type) {
+        return alarmService.createAlarm(AlarmCreateOrUpdateActiveRequest.builder()
+                .tenantId(tenantId)
+                .originator(originatorId)
+                .type(type)
+                .severity(AlarmSeverity.CRITICAL)
+                .startTs(System.currentTimeMillis()).build()).getAlarm();
+    }
+
 }
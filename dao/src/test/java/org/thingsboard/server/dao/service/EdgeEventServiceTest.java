@@ -130,6 +130,34 @@ public class EdgeEventServiceTest extends AbstractServiceTest {
         edgeEventDao.cleanupEvents(1);
     }
 
+    @Test
+    public void findEdgeEventsAfterSeqId_nextPageStartsAfterLastSeqId() throws Exception {
+        EdgeId edgeId = new EdgeId(Uuids.timeBased());
+        DeviceId deviceId = new DeviceId(Uuids.timeBased());
+
+        saveEdgeEventWithProvidedTime(eventTime, edgeId, deviceId, tenantId).get();
+        saveEdgeEventWithProvidedTime(eventTime + 2, edgeId, deviceId, tenantId).get();
+        saveEdgeEventWithProvidedTime(eventTime + 1, edgeId, deviceId, tenantId).get();
+
+        TimePageLink pageLink = new TimePageLink(2, 0, null, null, startTime, endTime);
+        PageData<EdgeEvent> edgeEvents = edgeEventService.findEdgeEventsAfterSeqId(tenantId, edgeId, 0L, null, pageLink);
+
+        Assert.assertEquals(2, edgeEvents.getData().size());
+        Assert.assertEquals(Uuids.startOf(eventTime), edgeEvents.getData().get(0).getUuidId());
+        Assert.assertEquals(Uuids.startOf(eventTime + 2), edgeEvents.getData().get(1).getUuidId());
+        Assert.assertTrue(edgeEvents.hasNext());
+        Assert.assertEquals(-1, edgeEvents.getTotalElements());
+
+        long lastSeqId = edgeEvents.getData().get(1).getSeqId();
+        edgeEvents = edgeEventService.findEdgeEventsAfterSeqId(tenantId, edgeId, lastSeqId, null, pageLink);
+
+        Assert.assertEquals(1, edgeEvents.getData().size());
+        Assert.assertEquals(Uuids.startOf(eventTime + 1), edgeEvents.getData().get(0).getUuidId());
+        Assert.assertFalse(edgeEvents.hasNext());
+
+        edgeEventDao.cleanupEvents(1);
+    }
+
     private ListenableFuture<Void> saveEdgeEventWithProvidedTime(long time, EdgeId edgeId, EntityId entityId, TenantId tenantId) throws Exception {
         EdgeEvent edgeEvent = generateEdgeEvent(tenantId, edgeId, entityId);
         edgeEvent.setId(new EdgeEventId(Uuids.startOf(time)));
@@ -0,0 +1,104 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sql.query;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.permission.QueryContext;
+import org.thingsboard.server.common.data.query.EntityKey;
+import org.thingsboard.server.common.data.query.EntityKeyType;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = EntityDataQueryCache.class, properties = "sql.query.entity_data.count_cache_enabled=true")
+public class EntityDataQueryCacheTest {
+
+    @Autowired
+    EntityDataQueryCache queryCache;
+
+    @Test
+    public void givenCachedCount_whenTenantEvicted_thenCountIsNotReturned() {
+        TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+        var key = queryCache.getKey(newCtx(tenantId, "test"), "select count(id) from device");
+        queryCache.putCount(key, 10);
+
+        assertThat(queryCache.getCount(queryCache.getKey(newCtx(tenantId, "test"), "select count(id) from device"))).isEqualTo(10);
+        assertThat(queryCache.getCount(queryCache.getKey(newCtx(tenantId, "other"), "select count(id) from device"))).isNull();
+
+        queryCache.evict(TenantId.fromUUID(UUID.randomUUID()));
+        assertThat(queryCache.getCount(queryCache.getKey(newCtx(tenantId, "test"), "select count(id) from device"))).isEqualTo(10);
+
+        queryCache.evict(tenantId);
+        assertThat(queryCache.getCount(queryCache.getKey(newCtx(tenantId, "test"), "select count(id) from device"))).isNull();
+    }
+
+    @Test
+    public void givenPageCursor_whenGetNextPage_thenCursorOfPreviousPageIsReturned() {
+        TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+        var key = queryCache.getKey(newCtx(tenantId, "test"), "select * from device limit 10");
+        var cursor = new EntityDataQueryCache.PageCursor("1700000000000", UUID.randomUUID());
+        queryCache.putCursor(key, 0, cursor);
+
+        assertThat(queryCache.getCursor(key, 0)).isEqualTo(cursor);
+        assertThat(queryCache.getCursor(key, 1)).isNull();
+    }
+
+    @Test
+    public void givenCountCacheDisabled_whenPutCount_thenCountIsNotCachedButCursorIs() {
+        EntityDataQueryCache queryCache = new EntityDataQueryCache();
+        ReflectionTestUtils.setField(queryCache, "ttlSec", 30);
+        ReflectionTestUtils.setField(queryCache, "maxSize", 100);
+        ReflectionTestUtils.invokeMethod(queryCache, "init");
+
+        TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+        var key = queryCache.getKey(newCtx(tenantId, "test"), "select * from device limit 10");
+        queryCache.putCount(key, 10);
+        var cursor = new EntityDataQueryCache.PageCursor("1700000000000", UUID.randomUUID());
+        queryCache.putCursor(key, 0, cursor);
+
+        assertThat(queryCache.getCount(key)).isNull();
+        assertThat(queryCache.getCursor(key, 0)).isEqualTo(cursor);
+    }
+
+    @Test
+    public void givenQueryWithoutPermissionCheck_whenGetKey_thenNotCached() {
+        SqlQueryContext ctx = new SqlQueryContext(new QueryContext(TenantId.fromUUID(UUID.randomUUID()), null, EntityType.DEVICE, true));
+        assertThat(queryCache.getKey(ctx, "select count(id) from device")).isNull();
+    }
+
+    @Test
+    public void givenSortKey_whenCheckKeyset_thenOnlyCreatedTimeIsSupported() {
+        assertThat(queryCache.isKeysetSortKey(new EntityKey(EntityKeyType.ENTITY_FIELD, "createdTime"))).isTrue();
+        assertThat(queryCache.isKeysetSortKey(new EntityKey(EntityKeyType.ENTITY_FIELD, "name"))).isFalse();
+        assertThat(queryCache.isKeysetSortKey(new EntityKey(EntityKeyType.ATTRIBUTE, "createdTime"))).isFalse();
+    }
+
+    private SqlQueryContext newCtx(TenantId tenantId, String name) {
+        SqlQueryContext ctx = new SqlQueryContext(new QueryContext(tenantId, null, EntityType.DEVICE));
+        ctx.addStringParameter("name", name);
+        return ctx;
+    }
+
+}
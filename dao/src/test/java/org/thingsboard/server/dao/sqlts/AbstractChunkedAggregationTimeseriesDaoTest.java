@@ -21,10 +21,14 @@ import org.junit.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.thingsboard.common.util.DirectListeningExecutor;
 import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.IntervalType;
 import org.thingsboard.server.common.data.kv.ReadTsKvQuery;
 import org.thingsboard.server.common.data.kv.ReadTsKvQueryResult;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -168,6 +172,37 @@ public class AbstractChunkedAggregationTimeseriesDaoTest {
         verify(tsDao, times(0)).findAndAggregateAsync(any(), any(), anyLong(), anyLong(), anyLong(), any());
     }
 
+    @Test
+    public void givenSingleQueryAggregation_whenAggregateCount_thenAllIntervalsAreFetchedAtOnce() {
+        ReadTsKvQuery query = new BaseReadTsKvQuery(TEMP, 1, 3000, 1000, LIMIT, COUNT, DESC);
+        ReflectionTestUtils.setField(tsDao, "singleQueryAggregation", true);
+        willReturn(Collections.emptyList()).given(tsDao).findAndAggregateAll(any(), anyString(), any(), anyLong(), any());
+        willCallRealMethod().given(tsDao).findAllAsync(SYS_TENANT_ID, SYS_TENANT_ID, query);
+        tsDao.findAllAsync(SYS_TENANT_ID, SYS_TENANT_ID, query);
+        verify(tsDao, times(0)).findAndAggregateAsync(any(), any(), anyLong(), anyLong(), anyLong(), any());
+        verify(tsDao, times(1)).findAndAggregateAll(SYS_TENANT_ID, TEMP, new long[]{1, 1001, 2001, 3000}, 1000, COUNT);
+    }
+
+    @Test
+    public void givenMonthInterval_whenCalculateIntervals_thenIntervalsAreAlignedToMonthsInTimeZone() {
+        ZoneId tzId = ZoneId.of("Europe/Kyiv");
+        long startTs = ZonedDateTime.of(2024, 1, 15, 12, 0, 0, 0, tzId).toInstant().toEpochMilli();
+        long endTs = ZonedDateTime.of(2024, 4, 10, 0, 0, 0, 0, tzId).toInstant().toEpochMilli();
+        long[] intervals = AbstractChunkedAggregationTimeseriesDao.calculateIntervals(startTs, endTs, IntervalType.MONTH, 0, tzId);
+        assertThat(intervals).containsExactly(
+                startTs,
+                ZonedDateTime.of(2024, 2, 1, 0, 0, 0, 0, tzId).toInstant().toEpochMilli(),
+                ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, tzId).toInstant().toEpochMilli(),
+                ZonedDateTime.of(2024, 4, 1, 0, 0, 0, 0, tzId).toInstant().toEpochMilli(),
+                endTs);
+    }
+
+    @Test
+    public void givenMillisecondsInterval_whenCalculateIntervals_thenLastIntervalEndsAtEndTs() {
+        long[] intervals = AbstractChunkedAggregationTimeseriesDao.calculateIntervals(1, 3000, IntervalType.MILLISECONDS, 1000, ZoneId.of("UTC"));
+        assertThat(intervals).containsExactly(1, 1001, 2001, 3000);
+    }
+
     long getTsForReadTsKvQuery(long startTs, long endTs) {
         return startTs + (endTs - startTs) / 2L;
     }
@@ -0,0 +1,127 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.DoubleDataEntry;
+import org.thingsboard.server.common.data.kv.IntervalType;
+import org.thingsboard.server.common.data.kv.KvEntry;
+import org.thingsboard.server.common.data.kv.LongDataEntry;
+import org.thingsboard.server.common.data.kv.StringDataEntry;
+import org.thingsboard.server.dao.dictionary.KeyDictionaryDao;
+import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
+import org.thingsboard.server.dao.service.AbstractServiceTest;
+import org.thingsboard.server.dao.service.DaoSqlTest;
+import org.thingsboard.server.dao.sqlts.ts.TsKvAggregationRepository;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DaoSqlTest
+public class SqlTimeseriesAggregationTest extends AbstractServiceTest {
+
+    private static final ZoneId TZ = ZoneId.of("America/New_York");
+    private static final String NUMERIC_KEY = "temperature";
+    private static final String STRING_KEY = "state";
+
+    @Autowired
+    private AbstractChunkedAggregationTimeseriesDao timeseriesDao;
+
+    @Autowired
+    private TsKvAggregationRepository tsKvAggregationRepository;
+
+    @Autowired
+    private KeyDictionaryDao keyDictionaryDao;
+
+    @Test
+    public void givenMonthIntervalsAcrossDstChange_whenFindAggregated_thenSameAsPerIntervalQueries() throws Exception {
+        long startTs = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, TZ).toInstant().toEpochMilli();
+        long endTs = ZonedDateTime.of(2024, 6, 1, 0, 0, 0, 0, TZ).toInstant().toEpochMilli();
+        long[] intervals = AbstractChunkedAggregationTimeseriesDao.calculateIntervals(startTs, endTs, IntervalType.MONTH, 0, TZ);
+
+        assertSameAsPerIntervalQueries(intervals, 0);
+    }
+
+    @Test
+    public void givenWeekIntervalsStartingMidWeek_whenFindAggregated_thenSameAsPerIntervalQueries() throws Exception {
+        long startTs = ZonedDateTime.of(2024, 3, 6, 12, 0, 0, 0, TZ).toInstant().toEpochMilli();
+        long endTs = ZonedDateTime.of(2024, 4, 17, 12, 0, 0, 0, TZ).toInstant().toEpochMilli();
+
+        assertSameAsPerIntervalQueries(AbstractChunkedAggregationTimeseriesDao.calculateIntervals(startTs, endTs, IntervalType.WEEK, 0, TZ), 0);
+        assertSameAsPerIntervalQueries(AbstractChunkedAggregationTimeseriesDao.calculateIntervals(startTs, endTs, IntervalType.WEEK_ISO, 0, TZ), 0);
+    }
+
+    @Test
+    public void givenFixedIntervalsWithShorterLastInterval_whenFindAggregated_thenSameAsPerIntervalQueries() throws Exception {
+        long startTs = ZonedDateTime.of(2024, 3, 6, 12, 0, 0, 0, TZ).toInstant().toEpochMilli();
+        long interval = 3_600_000;
+        long endTs = startTs + 10 * interval + interval / 3;
+        long[] intervals = AbstractChunkedAggregationTimeseriesDao.calculateIntervals(startTs, endTs, IntervalType.MILLISECONDS, interval, TZ);
+
+        assertSameAsPerIntervalQueries(intervals, interval);
+    }
+
+    private void assertSameAsPerIntervalQueries(long[] intervals, long interval) throws Exception {
+        DeviceId deviceId = new DeviceId(UUID.randomUUID());
+        int intervalsCount = intervals.length - 1;
+        int emptyInterval = intervalsCount / 2;
+        for (int i = 0; i < intervalsCount; i++) {
+            if (i == emptyInterval) {
+                continue;
+            }
+            // points right at both boundaries of the interval and before the start of the next interval
+            long[] points = {intervals[i], intervals[i] + (intervals[i + 1] - intervals[i]) / 2, intervals[i + 1] - 1};
+            for (int j = 0; j < points.length; j++) {
+                KvEntry numeric = j % 2 == 0 ? new LongDataEntry(NUMERIC_KEY, (long) (i * 10 + j)) : new DoubleDataEntry(NUMERIC_KEY, i * 10 + j + 0.5);
+                timeseriesDao.save(tenantId, deviceId, new BasicTsKvEntry(points[j], numeric), 0).get();
+                timeseriesDao.save(tenantId, deviceId, new BasicTsKvEntry(points[j], new StringDataEntry(STRING_KEY, "s" + i + j)), 0).get();
+            }
+        }
+        // outside of the query period
+        timeseriesDao.save(tenantId, deviceId, new BasicTsKvEntry(intervals[0] - 1, new LongDataEntry(NUMERIC_KEY, 1000L)), 0).get();
+        timeseriesDao.save(tenantId, deviceId, new BasicTsKvEntry(intervals[intervalsCount], new LongDataEntry(NUMERIC_KEY, 1000L)), 0).get();
+
+        for (String key : List.of(NUMERIC_KEY, STRING_KEY)) {
+            int keyId = keyDictionaryDao.getOrSaveKeyId(key);
+            for (Aggregation aggregation : List.of(Aggregation.AVG, Aggregation.SUM, Aggregation.MIN, Aggregation.MAX, Aggregation.COUNT)) {
+                TsKvEntity[] grouped = tsKvAggregationRepository.findAggregated(deviceId.getId(), keyId, intervals, interval, aggregation);
+                assertThat(grouped).hasSize(intervalsCount);
+                List<TsKvEntity> expected = new ArrayList<>();
+                List<TsKvEntity> actual = new ArrayList<>();
+                for (int i = 0; i < intervalsCount; i++) {
+                    TsKvEntity perInterval = timeseriesDao.switchAggregation(deviceId, key, intervals[i], intervals[i + 1], aggregation);
+                    expected.add(perInterval != null && perInterval.isNotEmpty() ? perInterval : null);
+                    actual.add(grouped[i] != null && grouped[i].isNotEmpty() ? grouped[i] : null);
+                }
+                assertThat(actual).as("%s of %s", aggregation, key).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+                assertThat(actual.get(emptyInterval)).as("%s of %s in the empty interval", aggregation, key).isNull();
+                if (aggregation == Aggregation.COUNT) {
+                    assertThat(actual).filteredOn(entity -> entity != null).allMatch(entity -> entity.getLongValue() == 3);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts.rollup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TsKvRollupServiceTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final UUID entityId = UUID.randomUUID();
+    private TsKvRollupRepository rollupRepository;
+    private TsKvRollupService rollupService;
+
+    @BeforeEach
+    public void setUp() {
+        rollupRepository = mock(TsKvRollupRepository.class);
+        rollupService = new TsKvRollupService(rollupRepository);
+        ReflectionTestUtils.setField(rollupService, "compactionIntervalMs", MINUTE);
+        ReflectionTestUtils.setField(rollupService, "backfilled", true);
+    }
+
+    @Test
+    public void givenIntervals_whenGetResolution_thenCoarsestAlignedResolutionIsUsed() {
+        assertThat(TsKvRollupService.getResolution(new long[]{0, DAY, 2 * DAY + 1})).isEqualTo(DAY);
+        assertThat(TsKvRollupService.getResolution(new long[]{DAY, DAY + HOUR, DAY + 2 * HOUR})).isEqualTo(HOUR);
+        assertThat(TsKvRollupService.getResolution(new long[]{MINUTE, 2 * MINUTE, 3 * MINUTE})).isEqualTo(MINUTE);
+        assertThat(TsKvRollupService.getResolution(new long[]{1000, MINUTE + 1000, 2 * MINUTE + 1000})).isZero();
+    }
+
+    @Test
+    public void givenNotAlignedIntervals_whenFindAggregated_thenRollupsAreNotUsed() {
+        assertThat(rollupService.findAggregated(entityId, 1, new long[]{1000, MINUTE + 1000}, Aggregation.AVG)).isNull();
+        verify(rollupRepository, never()).findRollups(any(), anyInt(), anyLong(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void givenNotAlignedEnd_whenFindAggregated_thenRemainderIsAggregatedFromRawValues() {
+        long[] intervals = {0, HOUR, 2 * HOUR + 500};
+        when(rollupRepository.findRollups(entityId, 1, HOUR, intervals, 0, 2 * HOUR))
+                .thenReturn(new TsKvRollup[]{longRollup(10, 2), longRollup(20, 4)});
+        when(rollupRepository.findRaw(entityId, 1, intervals, 2 * HOUR, 2 * HOUR + 500))
+                .thenReturn(new TsKvRollup[]{null, longRollup(30, 1)});
+
+        TsKvEntity[] result = rollupService.findAggregated(entityId, 1, intervals, Aggregation.SUM);
+
+        assertThat(result).hasSize(2);
+        assertThat(result[0].getLongValue()).isEqualTo(10L);
+        assertThat(result[1].getLongValue()).isEqualTo(50L);
+    }
+
+    @Test
+    public void givenDirtyInterval_whenFindAggregated_thenDirtyIntervalIsAggregatedFromRawValues() {
+        long[] intervals = {0, HOUR, 2 * HOUR, 3 * HOUR};
+        when(rollupRepository.findDirtyRanges(entityId, 1, 0, 3 * HOUR)).thenReturn(List.of(new long[]{HOUR + MINUTE, HOUR + 2 * MINUTE}));
+        when(rollupRepository.findRollups(entityId, 1, HOUR, intervals, 0, 3 * HOUR))
+                .thenReturn(new TsKvRollup[]{longRollup(10, 2), longRollup(20, 4), longRollup(30, 1)});
+        when(rollupRepository.findRaw(entityId, 1, intervals, HOUR, 2 * HOUR))
+                .thenReturn(new TsKvRollup[]{null, longRollup(25, 5), null});
+
+        TsKvEntity[] result = rollupService.findAggregated(entityId, 1, intervals, Aggregation.SUM);
+
+        assertThat(result).extracting(TsKvEntity::getLongValue).containsExactly(10L, 25L, 30L);
+    }
+
+    @Test
+    public void givenAllIntervalsDirty_whenFindAggregated_thenRollupsAreNotUsed() {
+        long[] intervals = {0, HOUR, 2 * HOUR};
+        when(rollupRepository.findDirtyRanges(entityId, 1, 0, 2 * HOUR)).thenReturn(List.of(new long[]{0, 10 * DAY}));
+
+        assertThat(rollupService.findAggregated(entityId, 1, intervals, Aggregation.SUM)).isNull();
+        verify(rollupRepository, never()).findRollups(any(), anyInt(), anyLong(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void givenBackfillNotDone_whenFindAggregated_thenRollupsAreNotUsed() {
+        ReflectionTestUtils.setField(rollupService, "backfilled", false);
+
+        assertThat(rollupService.findAggregated(entityId, 1, new long[]{0, HOUR, 2 * HOUR}, Aggregation.SUM)).isNull();
+        verify(rollupRepository, never()).findRollups(any(), anyInt(), anyLong(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void givenRecentIntervals_whenFindAggregated_thenRawValuesAreUsed() {
+        long startTs = TsKvRollupRepository.floor(System.currentTimeMillis(), MINUTE);
+        assertThat(rollupService.findAggregated(entityId, 1, new long[]{startTs, startTs + MINUTE}, Aggregation.AVG)).isNull();
+        verify(rollupRepository, never()).findRaw(eq(entityId), anyInt(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void givenStringValues_whenConvertMaxRollup_thenStringMaxIsReturned() {
+        TsKvRollup rollup = new TsKvRollup();
+        rollup.setStrCount(2);
+        rollup.setStrMin("a");
+        rollup.setStrMax("b");
+        rollup.setLastTs(100L);
+
+        TsKvEntity max = rollup.toEntity(Aggregation.MAX);
+
+        assertThat(max.getStrValue()).isEqualTo("b");
+        assertThat(max.getAggValuesLastTs()).isEqualTo(100L);
+    }
+
+    @Test
+    public void givenValuesFarApart_whenSaved_thenDisjointRangesArePersisted() {
+        rollupService.onSaved(List.of(tsKv(10 * DAY + 5), tsKv(10), tsKv(MINUTE + 20)));
+
+        verify(rollupRepository).saveDirtyRanges(List.of(
+                new TsKvRollupDirtyRange(entityId, 1, 0, 2 * MINUTE),
+                new TsKvRollupDirtyRange(entityId, 1, 10 * DAY, 10 * DAY + MINUTE)));
+    }
+
+    @Test
+    public void givenOverlappingRanges_whenAdd_thenRangesAreMerged() {
+        TsKvRollupDirtyRanges ranges = new TsKvRollupDirtyRanges();
+        ranges.add(5 * MINUTE, 6 * MINUTE);
+        ranges.add(HOUR, HOUR + 1);
+        ranges.add(MINUTE + 1, 5 * MINUTE + 1);
+        ranges.add(0, 1);
+
+        assertThat(ranges.toList()).containsExactly(new long[]{0, 6 * MINUTE}, new long[]{HOUR, HOUR + MINUTE});
+    }
+
+    @Test
+    public void givenFailedPersist_whenSaved_thenSaveFails() {
+        doThrow(new RuntimeException("DB is not available")).when(rollupRepository).saveDirtyRanges(any());
+
+        // the exception rolls back the transaction of the raw values, so they are never saved without the dirty mark
+        assertThatThrownBy(() -> rollupService.onSaved(List.of(tsKv(10)))).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void givenPersistedRange_whenCompact_thenRangeIsRebuiltByChunks() {
+        TsKvRollupDirtyRange range = new TsKvRollupDirtyRange(entityId, 1, 0, 3 * DAY);
+        TsKvRollupDirtyRange rest = new TsKvRollupDirtyRange(entityId, 1, DAY, 3 * DAY);
+        TsKvRollupDirtyRange last = new TsKvRollupDirtyRange(entityId, 1, 2 * DAY, 3 * DAY);
+        when(rollupRepository.findDirtyRanges(null, 1000)).thenReturn(List.of(range));
+        when(rollupRepository.rebuildChunk(range, TsKvRollupService.RESOLUTIONS, DAY)).thenReturn(rest);
+        when(rollupRepository.rebuildChunk(rest, TsKvRollupService.RESOLUTIONS, DAY)).thenReturn(last);
+
+        rollupService.compact();
+
+        verify(rollupRepository).rebuildChunk(last, TsKvRollupService.RESOLUTIONS, DAY);
+        verify(rollupRepository, never()).findDirtyRanges(eq(range), anyInt());
+    }
+
+    @Test
+    public void givenNoRollups_whenStarted_thenAllKeysAreBackfilled() {
+        when(rollupRepository.hasRollups()).thenReturn(false);
+        rollupService.backfillIfNeeded();
+        verify(rollupRepository).backfill(anyLong());
+    }
+
+    @Test
+    public void givenFailedBackfill_whenCompact_thenBackfillIsRetriedBeforeRebuild() {
+        ReflectionTestUtils.setField(rollupService, "backfilled", false);
+        when(rollupRepository.hasRollups()).thenThrow(new RuntimeException("DB is not available")).thenReturn(true);
+
+        rollupService.backfillIfNeeded();
+        rollupService.compact();
+
+        assertThat(ReflectionTestUtils.getField(rollupService, "backfilled")).isEqualTo(true);
+        verify(rollupRepository).findDirtyRanges(null, 1000);
+    }
+
+    @Test
+    public void givenExistingRollups_whenStarted_thenBackfillIsSkipped() {
+        when(rollupRepository.hasRollups()).thenReturn(true);
+        rollupService.backfillIfNeeded();
+        verify(rollupRepository, never()).backfill(anyLong());
+    }
+
+    private TsKvEntity tsKv(long ts) {
+        TsKvEntity entity = new TsKvEntity();
+        entity.setEntityId(entityId);
+        entity.setKey(1);
+        entity.setTs(ts);
+        return entity;
+    }
+
+    private static TsKvRollup longRollup(long sum, long count) {
+        TsKvRollup rollup = new TsKvRollup();
+        rollup.setLongCount(count);
+        rollup.setLongSum(sum);
+        rollup.setLastTs(1L);
+        return rollup;
+    }
+
+}
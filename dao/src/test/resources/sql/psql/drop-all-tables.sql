@@ -39,6 +39,8 @@ DROP SEQUENCE IF EXISTS relation_version_seq;
 DROP TABLE IF EXISTS tenant;
 DROP TABLE IF EXISTS ts_kv;
 DROP TABLE IF EXISTS ts_kv_latest;
+DROP TABLE IF EXISTS ts_rollup;
+DROP TABLE IF EXISTS ts_rollup_dirty;
 DROP SEQUENCE IF EXISTS ts_kv_latest_version_seq;
 DROP TABLE IF EXISTS ts_kv_dictionary;
 DROP TABLE IF EXISTS user_credentials;
@@ -23,6 +23,7 @@ export interface RemoteJsRequest {
     compileRequest?: JsCompileRequest;
     invokeRequest?: JsInvokeRequest;
     releaseRequest?: JsReleaseRequest;
+    invokeBatchRequest?: JsInvokeBatchRequest;
 }
 
 export interface JsReleaseRequest extends TbMessage {
@@ -36,6 +37,18 @@ export interface JsInvokeRequest extends TbMessage {
     args: string[];
 }
 
+export interface JsInvokeBatchRequest extends TbMessage {
+    functionName: string;
+    scriptBody: string;
+    timeout: number;
+    batchTimeout?: number;
+    invocations: JsInvokeBatchItem[];
+}
+
+export interface JsInvokeBatchItem {
+    args: string[];
+}
+
 export interface JsCompileRequest extends TbMessage {
     functionName: string;
     scriptBody: string;
@@ -59,10 +72,15 @@ export interface JsInvokeResponse {
     errorDetails?: string;
 }
 
+export interface JsInvokeBatchResponse {
+    results: JsInvokeResponse[];
+}
+
 export interface RemoteJsResponse {
     requestIdMSB: string;
     requestIdLSB: string;
     compileResponse?: JsCompileResponse;
     invokeResponse?: JsInvokeResponse;
     releaseResponse?: JsReleaseResponse;
+    invokeBatchResponse?: JsInvokeBatchResponse;
 }
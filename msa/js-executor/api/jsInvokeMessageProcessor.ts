@@ -23,6 +23,9 @@ import { IQueue } from '../queue/queue.models';
 import {
     JsCompileRequest,
     JsCompileResponse,
+    JsInvokeBatchItem,
+    JsInvokeBatchRequest,
+    JsInvokeBatchResponse,
     JsInvokeRequest,
     JsInvokeResponse,
     JsReleaseRequest,
@@ -98,6 +101,8 @@ export class JsInvokeMessageProcessor {
                 this.processInvokeRequest(requestId, responseTopic, headers, request.invokeRequest);
             } else if (request.releaseRequest) {
                 this.processReleaseRequest(requestId, responseTopic, headers, request.releaseRequest);
+            } else if (request.invokeBatchRequest) {
+                this.processInvokeBatchRequest(requestId, responseTopic, headers, request.invokeBatchRequest);
             } else {
                 this.logger.error('[%s] Unknown request received!', requestId);
             }
@@ -112,9 +117,10 @@ export class JsInvokeMessageProcessor {
 
         if (tTook > slowQueryLogMs) {
             let functionName;
-            if (request.invokeRequest) {
+            const invokeRequest = request.invokeRequest || request.invokeBatchRequest;
+            if (invokeRequest) {
                 try {
-                    buf = Buffer.from(request.invokeRequest['functionName']);
+                    buf = Buffer.from(invokeRequest['functionName']);
                     functionName = buf.toString('utf8');
                 } catch (err: any) {
                     this.logger.error('[%s] Failed to read functionName from message header: %s', requestId, err.message);
@@ -155,6 +161,102 @@ export class JsInvokeMessageProcessor {
     processInvokeRequest(requestId: string, responseTopic: string, headers: any, invokeRequest: JsInvokeRequest) {
         const scriptId = JsInvokeMessageProcessor.getScriptId(invokeRequest);
         this.logger.debug('[%s] Processing invoke request, scriptId: [%s], invokeRequest [%s]', requestId, scriptId, invokeRequest);
+        this.onScriptExecuted(scriptId, invokeRequest.scriptBody);
+
+        this.getOrCompileScript(scriptId, invokeRequest.scriptBody).then(
+            (script) => {
+                this.invokeScript(script, invokeRequest.args, invokeRequest.timeout).then(
+                    (invokeResponse) => {
+                        this.logger.debug('[%s] Sending invoke response, scriptId: [%s], success: [%s]', requestId, scriptId, invokeResponse.success);
+                        this.sendResponse(requestId, responseTopic, headers, scriptId, undefined, invokeResponse);
+                    }
+                )
+            },
+            (err: any) => {
+                const invokeResponse = JsInvokeMessageProcessor.createCompilationFailedInvokeResponse(err);
+                this.logger.debug('[%s] Sending failed invoke response, scriptId: [%s], errorCode: [%s]', requestId, scriptId, invokeResponse.errorCode);
+                this.sendResponse(requestId, responseTopic, headers, scriptId, undefined, invokeResponse);
+            }
+        );
+    }
+
+    processInvokeBatchRequest(requestId: string, responseTopic: string, headers: any, invokeBatchRequest: JsInvokeBatchRequest) {
+        const scriptId = JsInvokeMessageProcessor.getScriptId(invokeBatchRequest);
+        const invocations = invokeBatchRequest.invocations || [];
+        this.logger.debug('[%s] Processing invoke batch request of [%s] invocations, scriptId: [%s]', requestId, invocations.length, scriptId);
+        invocations.forEach(() => this.onScriptExecuted(scriptId, invokeBatchRequest.scriptBody));
+
+        this.getOrCompileScript(scriptId, invokeBatchRequest.scriptBody).then(
+            (script) => {
+                this.invokeBatch(script, invocations, invokeBatchRequest.timeout, invokeBatchRequest.batchTimeout).then(
+                    (results) => {
+                        this.logger.debug('[%s] Sending invoke batch response, scriptId: [%s]', requestId, scriptId);
+                        this.sendResponse(requestId, responseTopic, headers, scriptId, undefined, undefined, undefined, {results: results});
+                    }
+                )
+            },
+            (err: any) => {
+                const invokeResponse = JsInvokeMessageProcessor.createCompilationFailedInvokeResponse(err);
+                this.logger.debug('[%s] Sending failed invoke batch response, scriptId: [%s], errorCode: [%s]', requestId, scriptId, invokeResponse.errorCode);
+                this.sendResponse(requestId, responseTopic, headers, scriptId, undefined, undefined, undefined,
+                    {results: invocations.map(() => invokeResponse)});
+            }
+        );
+    }
+
+    /*
+     * The invocations of a batch are executed one after another, so the total execution time of the batch
+     * is capped by batchTimeout: each invocation gets at most the remaining budget,
+     * and the invocations left when the budget is exhausted are answered with TIMEOUT without being executed
+     */
+    private async invokeBatch(script: TbScript, invocations: JsInvokeBatchItem[], timeout: number, batchTimeout?: number): Promise<JsInvokeResponse[]> {
+        const deadline = batchTimeout ? performance.now() + batchTimeout : undefined;
+        const results: JsInvokeResponse[] = [];
+        for (const invocation of invocations) {
+            let invocationTimeout = timeout;
+            if (deadline !== undefined) {
+                const remaining = Math.floor(deadline - performance.now());
+                if (remaining <= 0) {
+                    const err = {
+                        name: 'Error',
+                        message: 'Script execution timed out: batch execution budget of ' + batchTimeout + 'ms exceeded'
+                    }
+                    results.push(JsInvokeMessageProcessor.createInvokeResponse("", false, TIMEOUT_ERROR, err));
+                    continue;
+                }
+                invocationTimeout = timeout ? Math.min(timeout, remaining) : remaining;
+            }
+            results.push(await this.invokeScript(script, invocation.args, invocationTimeout));
+        }
+        return results;
+    }
+
+    private invokeScript(script: TbScript, args: string[], timeout: number): Promise<JsInvokeResponse> {
+        return this.executor.executeScript(script, args, timeout).then(
+            (result: string | undefined) => {
+                if (!result || result.length <= maxResultSize) {
+                    return JsInvokeMessageProcessor.createInvokeResponse(result, true);
+                } else {
+                    const err = {
+                        name: 'Error',
+                        message: 'script invocation result exceeds maximum allowed size of ' + maxResultSize + ' symbols'
+                    }
+                    return JsInvokeMessageProcessor.createInvokeResponse("", false, RUNTIME_ERROR, err);
+                }
+            },
+            (err: any) => {
+                let errorCode;
+                if (err && isString(err.message) && err.message.includes('Script execution timed out')) {
+                    errorCode = TIMEOUT_ERROR;
+                } else {
+                    errorCode = RUNTIME_ERROR;
+                }
+                return JsInvokeMessageProcessor.createInvokeResponse("", false, errorCode, err);
+            }
+        );
+    }
+
+    private onScriptExecuted(scriptId: string, scriptBody: string) {
         this.executedScriptsCounter++;
         if (this.executedScriptsCounter % statFrequency == 0) {
             const nowMs = performance.now();
@@ -166,53 +268,11 @@ export class JsInvokeMessageProcessor {
         }
 
         if (this.executedScriptsCounter % scriptBodyTraceFrequency == 0) {
-            this.logger.info('[%s] Executing script body: [%s]', scriptId, invokeRequest.scriptBody);
+            this.logger.info('[%s] Executing script body: [%s]', scriptId, scriptBody);
         }
         if (this.executedScriptsCounter % memoryUsageTraceFrequency == 0) {
             this.logger.info('Current memory usage: %s', JSON.stringify(process.memoryUsage()));
         }
-
-        this.getOrCompileScript(scriptId, invokeRequest.scriptBody).then(
-            (script) => {
-                this.executor.executeScript(script, invokeRequest.args, invokeRequest.timeout).then(
-                    (result: string | undefined) => {
-                        if (!result || result.length <= maxResultSize) {
-                            const invokeResponse = JsInvokeMessageProcessor.createInvokeResponse(result, true);
-                            this.logger.debug('[%s] Sending success invoke response, scriptId: [%s]', requestId, scriptId);
-                            this.sendResponse(requestId, responseTopic, headers, scriptId, undefined, invokeResponse);
-                        } else {
-                            const err = {
-                                name: 'Error',
-                                message: 'script invocation result exceeds maximum allowed size of ' + maxResultSize + ' symbols'
-                            }
-                            const invokeResponse = JsInvokeMessageProcessor.createInvokeResponse("", false, RUNTIME_ERROR, err);
-                            this.logger.debug('[%s] Script invocation result exceeds maximum allowed size of %s symbols, scriptId: [%s]', requestId, maxResultSize, scriptId);
-                            this.sendResponse(requestId, responseTopic, headers, scriptId, undefined, invokeResponse);
-                        }
-                    },
-                    (err: any) => {
-                        let errorCode;
-                        if (err && isString(err.message) && err.message.includes('Script execution timed out')) {
-                            errorCode = TIMEOUT_ERROR;
-                        } else {
-                            errorCode = RUNTIME_ERROR;
-                        }
-                        const invokeResponse = JsInvokeMessageProcessor.createInvokeResponse("", false, errorCode, err);
-                        this.logger.debug('[%s] Sending failed invoke response, scriptId: [%s], errorCode: [%s]', requestId, scriptId, errorCode);
-                        this.sendResponse(requestId, responseTopic, headers, scriptId, undefined, invokeResponse);
-                    }
-                )
-            },
-            (err: any) => {
-                let errorCode = COMPILATION_ERROR;
-                if (err?.name === 'script body not found') {
-                    errorCode = NOT_FOUND_ERROR;
-                }
-                const invokeResponse = JsInvokeMessageProcessor.createInvokeResponse("", false, errorCode, err);
-                this.logger.debug('[%s] Sending failed invoke response, scriptId: [%s], errorCode: [%s]', requestId, scriptId, errorCode);
-                this.sendResponse(requestId, responseTopic, headers, scriptId, undefined, invokeResponse);
-            }
-        );
     }
 
     processReleaseRequest(requestId: string, responseTopic: string, headers: any, releaseRequest: JsReleaseRequest) {
@@ -232,9 +292,10 @@ export class JsInvokeMessageProcessor {
     }
 
     sendResponse(requestId: string, responseTopic: string, headers: any, scriptId: string,
-                 compileResponse?: JsCompileResponse, invokeResponse?: JsInvokeResponse, releaseResponse?: JsReleaseResponse) {
+                 compileResponse?: JsCompileResponse, invokeResponse?: JsInvokeResponse, releaseResponse?: JsReleaseResponse,
+                 invokeBatchResponse?: JsInvokeBatchResponse) {
         const tStartSending = performance.now();
-        const remoteResponse = JsInvokeMessageProcessor.createRemoteResponse(requestId, compileResponse, invokeResponse, releaseResponse);
+        const remoteResponse = JsInvokeMessageProcessor.createRemoteResponse(requestId, compileResponse, invokeResponse, releaseResponse, invokeBatchResponse);
         const rawResponse = Buffer.from(JSON.stringify(remoteResponse), 'utf8');
         this.logger.debug('[%s] Sending response to queue, scriptId: [%s]', requestId, scriptId);
         this.producer.send(responseTopic, requestId, rawResponse, headers).then(
@@ -294,14 +355,16 @@ export class JsInvokeMessageProcessor {
     }
 
     private static createRemoteResponse(requestId: string, compileResponse?: JsCompileResponse,
-                                        invokeResponse?: JsInvokeResponse, releaseResponse?: JsReleaseResponse): RemoteJsResponse {
+                                        invokeResponse?: JsInvokeResponse, releaseResponse?: JsReleaseResponse,
+                                        invokeBatchResponse?: JsInvokeBatchResponse): RemoteJsResponse {
         const requestIdBits = UUIDToBits(requestId);
         return {
             requestIdMSB: requestIdBits[0],
             requestIdLSB: requestIdBits[1],
             compileResponse: compileResponse,
             invokeResponse: invokeResponse,
-            releaseResponse: releaseResponse
+            releaseResponse: releaseResponse,
+            invokeBatchResponse: invokeBatchResponse
         };
     }
 
@@ -323,6 +386,14 @@ export class JsInvokeMessageProcessor {
         };
     }
 
+    private static createCompilationFailedInvokeResponse(err: any): JsInvokeResponse {
+        let errorCode = COMPILATION_ERROR;
+        if (err?.name === 'script body not found') {
+            errorCode = NOT_FOUND_ERROR;
+        }
+        return JsInvokeMessageProcessor.createInvokeResponse("", false, errorCode, err);
+    }
+
     private static createReleaseResponse(scriptId: string, success: boolean): JsReleaseResponse {
         return {
             success: success,
@@ -0,0 +1,84 @@
+///
+/// Copyright © 2016-2026 The Thingsboard Authors
+///
+/// Licensed under the Apache License, Version 2.0 (the "License");
+/// you may not use this file except in compliance with the License.
+/// You may obtain a copy of the License at
+///
+///     http://www.apache.org/licenses/LICENSE-2.0
+///
+/// Unless required by applicable law or agreed to in writing, software
+/// distributed under the License is distributed on an "AS IS" BASIS,
+/// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+/// See the License for the specific language governing permissions and
+/// limitations under the License.
+///
+import { describe, test } from 'node:test';
+import assert from 'node:assert/strict';
+import { JsInvokeMessageProcessor } from '../api/jsInvokeMessageProcessor';
+import { IQueue } from '../queue/queue.models';
+import { JsInvokeBatchRequest, RemoteJsResponse } from '../api/jsExecutor.models';
+
+const TIMEOUT_ERROR = 2;
+const REQUEST_ID = '0f8fad5b-d9cb-469f-a165-70867728950e';
+
+const BUSY_SCRIPT = `function(msg){
+    var start = Date.now();
+    while (Date.now() - start < 150) {}
+    return 'done ' + msg;
+}`;
+
+function processBatch(batchRequest: JsInvokeBatchRequest): Promise<RemoteJsResponse> {
+    return new Promise((resolve) => {
+        const producer: IQueue = {
+            name: 'test',
+            init: () => Promise.resolve(),
+            send: (responseTopic: string, msgKey: string, rawResponse: Buffer) => {
+                resolve(JSON.parse(rawResponse.toString('utf8')));
+                return Promise.resolve();
+            },
+            destroy: () => Promise.resolve()
+        };
+        new JsInvokeMessageProcessor(producer).processInvokeBatchRequest(REQUEST_ID, 'response-topic', {}, batchRequest);
+    });
+}
+
+function batchRequest(invocationsCount: number, batchTimeout?: number): JsInvokeBatchRequest {
+    return {
+        scriptHash: 'busy-script-' + invocationsCount + '-' + batchTimeout,
+        functionName: 'busy',
+        scriptBody: BUSY_SCRIPT,
+        timeout: 1000,
+        batchTimeout: batchTimeout,
+        invocations: Array.from({length: invocationsCount}, (_, i) => ({args: [String(i)]}))
+    };
+}
+
+describe('js-invoke-message-processor', () => {
+
+test('batch execution is capped by the batch timeout and the rest of invocations time out', async () => {
+    const startTs = Date.now();
+    const response = await processBatch(batchRequest(10, 400));
+    const took = Date.now() - startTs;
+
+    const results = response.invokeBatchResponse!.results;
+    assert.equal(results.length, 10);
+    assert.equal(results[0].success, true);
+    assert.equal(results[0].result, 'done 0');
+    for (const result of results) {
+        assert.ok(result.success || result.errorCode === TIMEOUT_ERROR, 'every invocation either succeeds or times out');
+    }
+    assert.equal(results[9].success, false);
+    assert.equal(results[9].errorCode, TIMEOUT_ERROR);
+    // 10 invocations of 150ms would take 1500ms without the cap
+    assert.ok(took < 1000, 'batch took ' + took + 'ms');
+});
+
+test('batch without batch timeout executes all invocations', async () => {
+    const response = await processBatch(batchRequest(3));
+
+    const results = response.invokeBatchResponse!.results;
+    assert.deepEqual(results.map((result) => result.result), ['done 0', 'done 1', 'done 2']);
+});
+
+}); // describe('js-invoke-message-processor')
@@ -0,0 +1,38 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.rule.engine.api;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import org.thingsboard.server.common.data.AttributeScope;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.kv.AttributeKvEntry;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read access to attributes and latest telemetry for enrichment rule nodes.
+ * Concurrent lookups of the same entity from different rule node actors are coalesced into a single query.
+ */
+public interface RuleEngineDataFetchService {
+
+    ListenableFuture<List<AttributeKvEntry>> findAttributes(TenantId tenantId, EntityId entityId, AttributeScope scope, Collection<String> keys);
+
+    ListenableFuture<List<TsKvEntry>> findLatestTimeseries(TenantId tenantId, EntityId entityId, Collection<String> keys);
+
+}
@@ -308,6 +308,8 @@ public interface TbContext {
 
     TimeseriesService getTimeseriesService();
 
+    RuleEngineDataFetchService getDataFetchService();
+
     RelationService getRelationService();
 
     EntityViewService getEntityViewService();
@@ -135,7 +135,7 @@ public abstract class TbAbstractGetAttributesNode<C extends TbGetAttributesNodeC
         if (CollectionUtils.isEmpty(keys)) {
             return Futures.immediateFuture(null);
         }
-        var attributeKvEntryListFuture = ctx.getAttributesService().find(ctx.getTenantId(), entityId, scope, keys);
+        var attributeKvEntryListFuture = ctx.getDataFetchService().findAttributes(ctx.getTenantId(), entityId, scope, keys);
         return Futures.transform(attributeKvEntryListFuture, attributeKvEntryList -> {
             if (isTellFailureIfAbsent && attributeKvEntryList.size() != keys.size()) {
                 List<String> nonExistentKeys = getNonExistentKeys(attributeKvEntryList, keys);
@@ -149,7 +149,7 @@ public abstract class TbAbstractGetAttributesNode<C extends TbGetAttributesNodeC
         if (CollectionUtils.isEmpty(keys)) {
             return Futures.immediateFuture(null);
         }
-        ListenableFuture<List<TsKvEntry>> latestTelemetryFutures = ctx.getTimeseriesService().findLatest(ctx.getTenantId(), entityId, keys);
+        ListenableFuture<List<TsKvEntry>> latestTelemetryFutures = ctx.getDataFetchService().findLatestTimeseries(ctx.getTenantId(), entityId, keys);
         return Futures.transform(latestTelemetryFutures, tsKvEntries -> {
             var listTsKvEntry = new ArrayList<TsKvEntry>();
             var nonExistentKeys = new ArrayList<String>();
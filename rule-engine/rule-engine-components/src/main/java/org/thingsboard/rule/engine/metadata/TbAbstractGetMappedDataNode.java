@@ -134,7 +134,7 @@ public abstract class TbAbstractGetMappedDataNode<T extends EntityId, C extends
     }
 
     private ListenableFuture<List<KvEntry>> getAttributesAsync(TbContext ctx, EntityId entityId, List<String> attrKeys) {
-        var latest = ctx.getAttributesService().find(ctx.getTenantId(), entityId, AttributeScope.SERVER_SCOPE, attrKeys);
+        var latest = ctx.getDataFetchService().findAttributes(ctx.getTenantId(), entityId, AttributeScope.SERVER_SCOPE, attrKeys);
         return Futures.transform(latest, l ->
                         l.stream()
                                 .map(i -> (KvEntry) i)
@@ -143,7 +143,7 @@ public abstract class TbAbstractGetMappedDataNode<T extends EntityId, C extends
     }
 
     private ListenableFuture<List<KvEntry>> getLatestTelemetryAsync(TbContext ctx, EntityId entityId, List<String> timeseriesKeys) {
-        var latest = ctx.getTimeseriesService().findLatest(ctx.getTenantId(), entityId, timeseriesKeys);
+        var latest = ctx.getDataFetchService().findLatestTimeseries(ctx.getTenantId(), entityId, timeseriesKeys);
         return Futures.transform(latest, l ->
                         l.stream()
                                 .map(i -> (KvEntry) i)
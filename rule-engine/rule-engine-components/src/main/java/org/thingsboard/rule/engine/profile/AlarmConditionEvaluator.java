@@ -0,0 +1,285 @@
+/**
+ * Copyright © 2016-2026 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.rule.engine.profile;
+
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.server.common.data.device.profile.AlarmCondition;
+import org.thingsboard.server.common.data.device.profile.AlarmConditionFilter;
+import org.thingsboard.server.common.data.device.profile.AlarmConditionFilterKey;
+import org.thingsboard.server.common.data.device.profile.AlarmConditionKeyType;
+import org.thingsboard.server.common.data.query.BooleanFilterPredicate;
+import org.thingsboard.server.common.data.query.ComplexFilterPredicate;
+import org.thingsboard.server.common.data.query.DynamicValue;
+import org.thingsboard.server.common.data.query.FilterPredicateValue;
+import org.thingsboard.server.common.data.query.KeyFilterPredicate;
+import org.thingsboard.server.common.data.query.NumericFilterPredicate;
+import org.thingsboard.server.common.data.query.StringFilterPredicate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.thingsboard.server.common.data.StringUtils.equalsAny;
+import static org.thingsboard.server.common.data.StringUtils.splitByCommaWithoutQuotes;
+
+/**
+ * Alarm condition compiled into a flat array of filter evaluators. The operations, the constant key values
+ * and the predicate values that are not dynamic are resolved once per device profile version, when the profile is (re)loaded,
+ * instead of on every evaluation. The compiled condition holds no device state and is shared by all devices of the profile.
+ * Dynamic predicate values are resolved on evaluation, as they depend on the current data of the device.
+ */
+@Slf4j
+class AlarmConditionEvaluator {
+
+    private static final FilterEvaluator FALSE = ctx -> false;
+
+    private final FilterEvaluator[] filters;
+
+    AlarmConditionEvaluator(AlarmCondition condition) {
+        List<AlarmConditionFilter> conditionFilters = condition.getCondition();
+        this.filters = new FilterEvaluator[conditionFilters.size()];
+        for (int i = 0; i < filters.length; i++) {
+            filters[i] = compileFilter(conditionFilters.get(i));
+        }
+    }
+
+    boolean eval(DataSnapshot data, BiFunction<DataSnapshot, DynamicValue<?>, EntityKeyValue> dynamicValueResolver) {
+        EvalCtx ctx = new EvalCtx(data, dynamicValueResolver);
+        for (FilterEvaluator filter : filters) {
+            if (!filter.eval(ctx)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private FilterEvaluator compileFilter(AlarmConditionFilter filter) {
+        boolean constantKey = filter.getKey().getType() == AlarmConditionKeyType.CONSTANT;
+        KeyPredicate predicate = compilePredicate(filter.getPredicate(), constantKey);
+        if (constantKey) {
+            EntityKeyValue constantValue;
+            try {
+                constantValue = getConstantValue(filter);
+            } catch (RuntimeException e) {
+                log.warn("Failed to parse constant value from filter: {}", filter, e);
+                return FALSE;
+            }
+            return ctx -> predicate.eval(ctx, constantValue);
+        }
+        AlarmConditionFilterKey key = filter.getKey();
+        return ctx -> {
+            EntityKeyValue value = ctx.data().getValue(key);
+            return value != null && predicate.eval(ctx, value);
+        };
+    }
+
+    private static EntityKeyValue getConstantValue(AlarmConditionFilter filter) {
+        EntityKeyValue value = new EntityKeyValue();
+        String valueStr = filter.getValue().toString();
+        switch (filter.getValueType()) {
+            case STRING:
+                value.setStrValue(valueStr);
+                break;
+            case DATE_TIME:
+                value.setLngValue(Long.valueOf(valueStr));
+                break;
+            case NUMERIC:
+                value.setDblValue(Double.valueOf(valueStr));
+                break;
+            case BOOLEAN:
+                value.setBoolValue(Boolean.valueOf(valueStr));
+                break;
+        }
+        return value;
+    }
+
+    private KeyPredicate compilePredicate(KeyFilterPredicate predicate, boolean constantKey) {
+        return switch (predicate.getType()) {
+            case STRING -> compileStrPredicate((StringFilterPredicate) predicate, constantKey);
+            case NUMERIC -> compileNumPredicate((NumericFilterPredicate) predicate, constantKey);
+            case BOOLEAN -> compileBoolPredicate((BooleanFilterPredicate) predicate, constantKey);
+            case COMPLEX -> compileComplexPredicate((ComplexFilterPredicate) predicate, constantKey);
+        };
+    }
+
+    private KeyPredicate compileComplexPredicate(ComplexFilterPredicate predicate, boolean constantKey) {
+        KeyPredicate[] predicates = predicate.getPredicates().stream()
+                .map(kfp -> compilePredicate(kfp, constantKey))
+                .toArray(KeyPredicate[]::new);
+        return switch (predicate.getOperation()) {
+            case OR -> (ctx, ekv) -> {
+                for (KeyPredicate kp : predicates) {
+                    if (kp.eval(ctx, ekv)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+            case AND -> (ctx, ekv) -> {
+                for (KeyPredicate kp : predicates) {
+                    if (!kp.eval(ctx, ekv)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+            default -> unsupported(predicate.getOperation());
+        };
+    }
+
+    private KeyPredicate compileBoolPredicate(BooleanFilterPredicate predicate, boolean constantKey) {
+        BiPredicate<Boolean, Boolean> operation = switch (predicate.getOperation()) {
+            case EQUAL -> Boolean::equals;
+            case NOT_EQUAL -> (val, predicateValue) -> !val.equals(predicateValue);
+            default -> null;
+        };
+        if (operation == null) {
+            return unsupported(predicate.getOperation());
+        }
+        PredicateValue<Boolean> predicateValue = compilePredicateValue(predicate.getValue(), constantKey, AlarmRuleState::getBoolValue);
+        return (ctx, ekv) -> {
+            Boolean val = AlarmRuleState.getBoolValue(ekv);
+            if (val == null) {
+                return false;
+            }
+            Boolean value = predicateValue.get(ctx);
+            return value != null && operation.test(val, value);
+        };
+    }
+
+    private KeyPredicate compileNumPredicate(NumericFilterPredicate predicate, boolean constantKey) {
+        BiPredicate<Double, Double> operation = switch (predicate.getOperation()) {
+            case NOT_EQUAL -> (val, predicateValue) -> !val.equals(predicateValue);
+            case EQUAL -> Double::equals;
+            case GREATER -> (val, predicateValue) -> val > predicateValue;
+            case GREATER_OR_EQUAL -> (val, predicateValue) -> val >= predicateValue;
+            case LESS -> (val, predicateValue) -> val < predicateValue;
+            case LESS_OR_EQUAL -> (val, predicateValue) -> val <= predicateValue;
+            default -> null;
+        };
+        if (operation == null) {
+            return unsupported(predicate.getOperation());
+        }
+        PredicateValue<Double> predicateValue = compilePredicateValue(predicate.getValue(), constantKey, AlarmRuleState::getDblValue);
+        return (ctx, ekv) -> {
+            Double val = AlarmRuleState.getDblValue(ekv);
+            if (val == null) {
+                return false;
+            }
+            Double value = predicateValue.get(ctx);
+            return value != null && operation.test(val, value);
+        };
+    }
+
+    private KeyPredicate compileStrPredicate(StringFilterPredicate predicate, boolean constantKey) {
+        StringFilterPredicate.StringOperation operation = predicate.getOperation();
+        boolean ignoreCase = predicate.isIgnoreCase();
+        FilterPredicateValue<String> value = predicate.getValue();
+        if (value.getDynamicValue() == null) {
+            String predicateValue = constantKey ? null : value.getDefaultValue();
+            if (predicateValue == null) {
+                return (ctx, ekv) -> false;
+            }
+            Predicate<String> matcher = compileStrMatcher(operation, ignoreCase ? predicateValue.toLowerCase() : predicateValue);
+            return (ctx, ekv) -> {
+                String val = AlarmRuleState.getStrValue(ekv);
+                return val != null && matcher.test(ignoreCase ? val.toLowerCase() : val);
+            };
+        }
+        PredicateValue<String> predicateValue = compilePredicateValue(value, constantKey, AlarmRuleState::getStrValue);
+        return (ctx, ekv) -> {
+            String val = AlarmRuleState.getStrValue(ekv);
+            if (val == null) {
+                return false;
+            }
+            String resolvedValue = predicateValue.get(ctx);
+            if (resolvedValue == null) {
+                return false;
+            }
+            if (ignoreCase) {
+                val = val.toLowerCase();
+                resolvedValue = resolvedValue.toLowerCase();
+            }
+            return compileStrMatcher(operation, resolvedValue).test(val);
+        };
+    }
+
+    private static Predicate<String> compileStrMatcher(StringFilterPredicate.StringOperation operation, String predicateValue) {
+        return switch (operation) {
+            case CONTAINS -> val -> val.contains(predicateValue);
+            case EQUAL -> predicateValue::equals;
+            case STARTS_WITH -> val -> val.startsWith(predicateValue);
+            case ENDS_WITH -> val -> val.endsWith(predicateValue);
+            case NOT_EQUAL -> val -> !val.equals(predicateValue);
+            case NOT_CONTAINS -> val -> !val.contains(predicateValue);
+            case IN -> {
+                List<String> values = splitByCommaWithoutQuotes(predicateValue);
+                yield val -> equalsAny(val, values);
+            }
+            case NOT_IN -> {
+                List<String> values = splitByCommaWithoutQuotes(predicateValue);
+                yield val -> !equalsAny(val, values);
+            }
+            default -> throw new RuntimeException("Operation not supported: " + operation);
+        };
+    }
+
+    private <T> PredicateValue<T> compilePredicateValue(FilterPredicateValue<T> value, boolean constantKey, Function<EntityKeyValue, T> transformFunction) {
+        T defaultValue = constantKey ? null : value.getDefaultValue();
+        DynamicValue<T> dynamicValue = value.getDynamicValue();
+        if (dynamicValue == null) {
+            return ctx -> defaultValue;
+        }
+        return ctx -> {
+            EntityKeyValue ekv = ctx.dynamicValueResolver().apply(ctx.data(), dynamicValue);
+            if (ekv != null) {
+                T result = transformFunction.apply(ekv);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return defaultValue;
+        };
+    }
+
+    // the same as the interpreter did, the unsupported operations fail on evaluation and not when the profile is loaded
+    private static KeyPredicate unsupported(Object operation) {
+        return (ctx, ekv) -> {
+            throw new RuntimeException("Operation not supported: " + operation);
+        };
+    }
+
+    @FunctionalInterface
+    private interface FilterEvaluator {
+        boolean eval(EvalCtx ctx);
+    }
+
+    @FunctionalInterface
+    private interface KeyPredicate {
+        boolean eval(EvalCtx ctx, EntityKeyValue ekv);
+    }
+
+    @FunctionalInterface
+    private interface PredicateValue<T> {
+        T get(EvalCtx ctx);
+    }
+
+    private record EvalCtx(DataSnapshot data, BiFunction<DataSnapshot, DynamicValue<?>, EntityKeyValue> dynamicValueResolver) {
+    }
+
+}
@@ -57,6 +57,10 @@ class ProfileState {
     private final Map<String, Map<AlarmSeverity, Set<AlarmConditionFilterKey>>> alarmCreateKeys = new HashMap<>();
     private final Map<String, Set<AlarmConditionFilterKey>> alarmClearKeys = new HashMap<>();
 
+    // compiled once per profile version and shared by the alarm states of all devices of the profile
+    private final Map<String, Map<AlarmSeverity, AlarmConditionEvaluator>> alarmCreateEvaluators = new HashMap<>();
+    private final Map<String, AlarmConditionEvaluator> alarmClearEvaluators = new HashMap<>();
+
     ProfileState(DeviceProfile deviceProfile) {
         updateDeviceProfile(deviceProfile);
     }
@@ -66,12 +70,16 @@ class ProfileState {
         alarmSettings.clear();
         alarmCreateKeys.clear();
         alarmClearKeys.clear();
+        alarmCreateEvaluators.clear();
+        alarmClearEvaluators.clear();
         entityKeys.clear();
         if (deviceProfile.getProfileData().getAlarms() != null) {
             alarmSettings.addAll(deviceProfile.getProfileData().getAlarms());
             for (DeviceProfileAlarm alarm : deviceProfile.getProfileData().getAlarms()) {
                 Map<AlarmSeverity, Set<AlarmConditionFilterKey>> createAlarmKeys = alarmCreateKeys.computeIfAbsent(alarm.getId(), id -> new HashMap<>());
+                Map<AlarmSeverity, AlarmConditionEvaluator> createAlarmEvaluators = alarmCreateEvaluators.computeIfAbsent(alarm.getId(), id -> new HashMap<>());
                 alarm.getCreateRules().forEach(((severity, alarmRule) -> {
+                    createAlarmEvaluators.put(severity, new AlarmConditionEvaluator(alarmRule.getCondition()));
                     var ruleKeys = createAlarmKeys.computeIfAbsent(severity, id -> new HashSet<>());
                     for (var keyFilter : alarmRule.getCondition().getCondition()) {
                         entityKeys.add(keyFilter.getKey());
@@ -85,6 +93,7 @@ class ProfileState {
                     }
                 }));
                 if (alarm.getClearRule() != null) {
+                    alarmClearEvaluators.put(alarm.getId(), new AlarmConditionEvaluator(alarm.getClearRule().getCondition()));
                     var clearAlarmKeys = alarmClearKeys.computeIfAbsent(alarm.getId(), id -> new HashSet<>());
                     for (var keyFilter : alarm.getClearRule().getCondition().getCondition()) {
                         entityKeys.add(keyFilter.getKey());
@@ -187,4 +196,13 @@ class ProfileState {
             return keys;
         }
     }
+
+    AlarmConditionEvaluator getCreateAlarmEvaluator(String id, AlarmSeverity severity) {
+        Map<AlarmSeverity, AlarmConditionEvaluator> evaluators = alarmCreateEvaluators.get(id);
+        return evaluators != null ? evaluators.get(severity) : null;
+    }
+
+    AlarmConditionEvaluator getClearAlarmEvaluator(String id) {
+        return alarmClearEvaluators.get(id);
+    }
 }
@@ -28,6 +28,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.thingsboard.common.util.AbstractListeningExecutor;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.rule.engine.AbstractRuleNodeUpgradeTest;
+import org.thingsboard.rule.engine.api.RuleEngineDataFetchService;
 import org.thingsboard.rule.engine.api.TbContext;
 import org.thingsboard.rule.engine.api.TbNode;
 import org.thingsboard.rule.engine.api.TbNodeConfiguration;
@@ -46,8 +47,6 @@ import org.thingsboard.server.common.data.kv.TsKvEntry;
 import org.thingsboard.server.common.data.msg.TbMsgType;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.TbMsgMetaData;
-import org.thingsboard.server.dao.attributes.AttributesService;
-import org.thingsboard.server.dao.timeseries.TimeseriesService;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -76,9 +75,7 @@ public class TbGetAttributesNodeTest extends AbstractRuleNodeUpgradeTest {
     @Mock
     private TbContext ctxMock;
     @Mock
-    private AttributesService attributesServiceMock;
-    @Mock
-    private TimeseriesService timeseriesServiceMock;
+    private RuleEngineDataFetchService dataFetchServiceMock;
 
     private List<String> clientAttributes;
     private List<String> serverAttributes;
@@ -99,8 +96,7 @@ public class TbGetAttributesNodeTest extends AbstractRuleNodeUpgradeTest {
         };
         dbExecutor.init();
 
-        lenient().when(ctxMock.getAttributesService()).thenReturn(attributesServiceMock);
-        lenient().when(ctxMock.getTimeseriesService()).thenReturn(timeseriesServiceMock);
+        lenient().when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
         lenient().when(ctxMock.getTenantId()).thenReturn(TENANT_ID);
         lenient().when(ctxMock.getDbCallbackExecutor()).thenReturn(dbExecutor);
 
@@ -110,16 +106,16 @@ public class TbGetAttributesNodeTest extends AbstractRuleNodeUpgradeTest {
         tsKeys = List.of("temperature", "humidity", "unknown");
         ts = System.currentTimeMillis();
 
-        lenient().when(attributesServiceMock.find(TENANT_ID, ORIGINATOR_ID, AttributeScope.CLIENT_SCOPE, clientAttributes))
+        lenient().when(dataFetchServiceMock.findAttributes(TENANT_ID, ORIGINATOR_ID, AttributeScope.CLIENT_SCOPE, clientAttributes))
                 .thenReturn(Futures.immediateFuture(getListAttributeKvEntry(clientAttributes, ts)));
 
-        lenient().when(attributesServiceMock.find(TENANT_ID, ORIGINATOR_ID, AttributeScope.SERVER_SCOPE, serverAttributes))
+        lenient().when(dataFetchServiceMock.findAttributes(TENANT_ID, ORIGINATOR_ID, AttributeScope.SERVER_SCOPE, serverAttributes))
                 .thenReturn(Futures.immediateFuture(getListAttributeKvEntry(serverAttributes, ts)));
 
-        lenient().when(attributesServiceMock.find(TENANT_ID, ORIGINATOR_ID, AttributeScope.SHARED_SCOPE, sharedAttributes))
+        lenient().when(dataFetchServiceMock.findAttributes(TENANT_ID, ORIGINATOR_ID, AttributeScope.SHARED_SCOPE, sharedAttributes))
                 .thenReturn(Futures.immediateFuture(getListAttributeKvEntry(sharedAttributes, ts)));
 
-        lenient().when(timeseriesServiceMock.findLatest(TENANT_ID, ORIGINATOR_ID, tsKeys))
+        lenient().when(dataFetchServiceMock.findLatestTimeseries(TENANT_ID, ORIGINATOR_ID, tsKeys))
                 .thenReturn(Futures.immediateFuture(getListTsKvEntry(tsKeys, ts)));
     }
 
@@ -29,6 +29,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.common.util.ListeningExecutor;
 import org.thingsboard.common.util.DirectListeningExecutor;
+import org.thingsboard.rule.engine.api.RuleEngineDataFetchService;
 import org.thingsboard.rule.engine.api.TbContext;
 import org.thingsboard.rule.engine.api.TbNodeConfiguration;
 import org.thingsboard.rule.engine.api.TbNodeException;
@@ -53,9 +54,7 @@ import org.thingsboard.server.common.data.msg.TbMsgType;
 import org.thingsboard.server.common.data.util.TbPair;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.TbMsgMetaData;
-import org.thingsboard.server.dao.attributes.AttributesService;
 import org.thingsboard.server.dao.entity.EntityService;
-import org.thingsboard.server.dao.timeseries.TimeseriesService;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -90,9 +89,7 @@ public class TbGetCustomerAttributeNodeTest {
     @Mock
     private TbContext ctxMock;
     @Mock
-    private AttributesService attributesServiceMock;
-    @Mock
-    private TimeseriesService timeseriesServiceMock;
+    private RuleEngineDataFetchService dataFetchServiceMock;
     @Mock
     private EntityService entityServiceMock;
 
@@ -109,8 +106,7 @@ public class TbGetCustomerAttributeNodeTest {
 
         lenient().when(ctxMock.getTenantId()).thenReturn(TENANT_ID);
         lenient().when(ctxMock.getDbCallbackExecutor()).thenReturn(DB_EXECUTOR);
-        lenient().when(ctxMock.getAttributesService()).thenReturn(attributesServiceMock);
-        lenient().when(ctxMock.getTimeseriesService()).thenReturn(timeseriesServiceMock);
+        lenient().when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
         lenient().when(ctxMock.getEntityService()).thenReturn(entityServiceMock);
     }
 
@@ -282,7 +278,7 @@ public class TbGetCustomerAttributeNodeTest {
                 FluentFuture.from(immediateFuture(Optional.of(CUSTOMER_ID)))
         );
 
-        when(attributesServiceMock.find(eq(TENANT_ID), eq(CUSTOMER_ID), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(dataFetchServiceMock.findAttributes(eq(TENANT_ID), eq(CUSTOMER_ID), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(immediateFuture(attributesList));
 
         // WHEN
@@ -325,7 +321,7 @@ public class TbGetCustomerAttributeNodeTest {
                 FluentFuture.from(immediateFuture(Optional.of(CUSTOMER_ID)))
         );
 
-        when(attributesServiceMock.find(eq(TENANT_ID), eq(CUSTOMER_ID), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(dataFetchServiceMock.findAttributes(eq(TENANT_ID), eq(CUSTOMER_ID), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(immediateFuture(attributesList));
 
         // WHEN
@@ -363,7 +359,7 @@ public class TbGetCustomerAttributeNodeTest {
         );
         var expectedPatternProcessedKeysList = List.of("sourceKey1", "sourceKey2", "sourceKey3");
 
-        when(timeseriesServiceMock.findLatest(eq(TENANT_ID), eq(customer.getId()), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(dataFetchServiceMock.findLatestTimeseries(eq(TENANT_ID), eq(customer.getId()), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(immediateFuture(timeseriesList));
 
         // WHEN
@@ -408,7 +404,7 @@ public class TbGetCustomerAttributeNodeTest {
                 FluentFuture.from(immediateFuture(Optional.of(CUSTOMER_ID)))
         );
 
-        when(timeseriesServiceMock.findLatest(eq(TENANT_ID), eq(CUSTOMER_ID), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(dataFetchServiceMock.findLatestTimeseries(eq(TENANT_ID), eq(CUSTOMER_ID), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(immediateFuture(timeseriesList));
 
         // WHEN
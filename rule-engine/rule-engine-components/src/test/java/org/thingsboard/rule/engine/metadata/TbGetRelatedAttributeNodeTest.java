@@ -29,6 +29,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.common.util.ListeningExecutor;
 import org.thingsboard.common.util.DirectListeningExecutor;
+import org.thingsboard.rule.engine.api.RuleEngineDataFetchService;
 import org.thingsboard.rule.engine.api.TbContext;
 import org.thingsboard.rule.engine.api.TbNodeConfiguration;
 import org.thingsboard.rule.engine.api.TbNodeException;
@@ -62,10 +63,8 @@ import org.thingsboard.server.common.data.relation.RelationEntityTypeFilter;
 import org.thingsboard.server.common.data.util.TbPair;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.TbMsgMetaData;
-import org.thingsboard.server.dao.attributes.AttributesService;
 import org.thingsboard.server.dao.device.DeviceService;
 import org.thingsboard.server.dao.relation.RelationService;
-import org.thingsboard.server.dao.timeseries.TimeseriesService;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -96,9 +95,7 @@ public class TbGetRelatedAttributeNodeTest {
     @Mock
     private TbContext ctxMock;
     @Mock
-    private AttributesService attributesServiceMock;
-    @Mock
-    private TimeseriesService timeseriesServiceMock;
+    private RuleEngineDataFetchService dataFetchServiceMock;
     @Mock
     private RelationService relationServiceMock;
     @Mock
@@ -295,8 +292,8 @@ public class TbGetRelatedAttributeNodeTest {
         when(ctxMock.getRelationService()).thenReturn(relationServiceMock);
         doReturn(Futures.immediateFuture(List.of(entityRelation))).when(relationServiceMock).findByQuery(eq(TENANT_ID), any());
 
-        when(ctxMock.getAttributesService()).thenReturn(attributesServiceMock);
-        when(attributesServiceMock.find(eq(TENANT_ID), eq(user.getId()), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
+        when(dataFetchServiceMock.findAttributes(eq(TENANT_ID), eq(user.getId()), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(Futures.immediateFuture(attributes));
 
         when(ctxMock.getDbCallbackExecutor()).thenReturn(DB_EXECUTOR);
@@ -346,8 +343,8 @@ public class TbGetRelatedAttributeNodeTest {
         when(ctxMock.getRelationService()).thenReturn(relationServiceMock);
         doReturn(Futures.immediateFuture(List.of(entityRelation))).when(relationServiceMock).findByQuery(eq(TENANT_ID), any());
 
-        when(ctxMock.getAttributesService()).thenReturn(attributesServiceMock);
-        when(attributesServiceMock.find(eq(TENANT_ID), eq(secondCustomer.getId()), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
+        when(dataFetchServiceMock.findAttributes(eq(TENANT_ID), eq(secondCustomer.getId()), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(Futures.immediateFuture(attributes));
 
         when(ctxMock.getDbCallbackExecutor()).thenReturn(DB_EXECUTOR);
@@ -397,8 +394,8 @@ public class TbGetRelatedAttributeNodeTest {
         when(ctxMock.getRelationService()).thenReturn(relationServiceMock);
         doReturn(Futures.immediateFuture(List.of(entityRelation))).when(relationServiceMock).findByQuery(eq(TENANT_ID), any());
 
-        when(ctxMock.getTimeseriesService()).thenReturn(timeseriesServiceMock);
-        when(timeseriesServiceMock.findLatest(eq(TENANT_ID), eq(entityView.getId()), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
+        when(dataFetchServiceMock.findLatestTimeseries(eq(TENANT_ID), eq(entityView.getId()), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(Futures.immediateFuture(timeseries));
 
         when(ctxMock.getDbCallbackExecutor()).thenReturn(DB_EXECUTOR);
@@ -448,8 +445,8 @@ public class TbGetRelatedAttributeNodeTest {
         when(ctxMock.getRelationService()).thenReturn(relationServiceMock);
         doReturn(Futures.immediateFuture(List.of(entityRelation))).when(relationServiceMock).findByQuery(eq(tenant.getId()), any());
 
-        when(ctxMock.getTimeseriesService()).thenReturn(timeseriesServiceMock);
-        when(timeseriesServiceMock.findLatest(eq(tenant.getId()), eq(device.getId()), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
+        when(dataFetchServiceMock.findLatestTimeseries(eq(tenant.getId()), eq(device.getId()), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(Futures.immediateFuture(timeseries));
 
         when(ctxMock.getDbCallbackExecutor()).thenReturn(DB_EXECUTOR);
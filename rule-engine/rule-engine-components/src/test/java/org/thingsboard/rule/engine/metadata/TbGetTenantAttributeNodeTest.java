@@ -28,6 +28,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.common.util.DirectListeningExecutor;
+import org.thingsboard.rule.engine.api.RuleEngineDataFetchService;
 import org.thingsboard.rule.engine.api.TbContext;
 import org.thingsboard.rule.engine.api.TbNodeConfiguration;
 import org.thingsboard.rule.engine.api.TbNodeException;
@@ -47,8 +48,6 @@ import org.thingsboard.server.common.data.msg.TbMsgType;
 import org.thingsboard.server.common.data.util.TbPair;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.TbMsgMetaData;
-import org.thingsboard.server.dao.attributes.AttributesService;
-import org.thingsboard.server.dao.timeseries.TimeseriesService;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -75,9 +74,7 @@ public class TbGetTenantAttributeNodeTest {
     @Mock
     private TbContext ctxMock;
     @Mock
-    private AttributesService attributesServiceMock;
-    @Mock
-    private TimeseriesService timeseriesServiceMock;
+    private RuleEngineDataFetchService dataFetchServiceMock;
     private TbGetTenantAttributeNode node;
     private TbGetEntityDataNodeConfiguration config;
     private TbNodeConfiguration nodeConfiguration;
@@ -221,8 +218,8 @@ public class TbGetTenantAttributeNodeTest {
 
         when(ctxMock.getTenantId()).thenReturn(TENANT_ID);
 
-        when(ctxMock.getAttributesService()).thenReturn(attributesServiceMock);
-        when(attributesServiceMock.find(eq(TENANT_ID), eq(TENANT_ID), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
+        when(dataFetchServiceMock.findAttributes(eq(TENANT_ID), eq(TENANT_ID), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(Futures.immediateFuture(attributesList));
 
         when(ctxMock.getDbCallbackExecutor()).thenReturn(DB_EXECUTOR);
@@ -262,8 +259,8 @@ public class TbGetTenantAttributeNodeTest {
 
         when(ctxMock.getTenantId()).thenReturn(TENANT_ID);
 
-        when(ctxMock.getAttributesService()).thenReturn(attributesServiceMock);
-        when(attributesServiceMock.find(eq(TENANT_ID), eq(TENANT_ID), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
+        when(dataFetchServiceMock.findAttributes(eq(TENANT_ID), eq(TENANT_ID), eq(AttributeScope.SERVER_SCOPE), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(Futures.immediateFuture(attributesList));
 
         when(ctxMock.getDbCallbackExecutor()).thenReturn(DB_EXECUTOR);
@@ -305,8 +302,8 @@ public class TbGetTenantAttributeNodeTest {
 
         when(ctxMock.getTenantId()).thenReturn(TENANT_ID);
 
-        when(ctxMock.getTimeseriesService()).thenReturn(timeseriesServiceMock);
-        when(timeseriesServiceMock.findLatest(eq(TENANT_ID), eq(TENANT_ID), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
+        when(dataFetchServiceMock.findLatestTimeseries(eq(TENANT_ID), eq(TENANT_ID), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(Futures.immediateFuture(timeseries));
 
         when(ctxMock.getDbCallbackExecutor()).thenReturn(DB_EXECUTOR);
@@ -348,8 +345,8 @@ public class TbGetTenantAttributeNodeTest {
 
         when(ctxMock.getTenantId()).thenReturn(TENANT_ID);
 
-        when(ctxMock.getTimeseriesService()).thenReturn(timeseriesServiceMock);
-        when(timeseriesServiceMock.findLatest(eq(TENANT_ID), eq(TENANT_ID), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
+        when(ctxMock.getDataFetchService()).thenReturn(dataFetchServiceMock);
+        when(dataFetchServiceMock.findLatestTimeseries(eq(TENANT_ID), eq(TENANT_ID), argThat(new ListMatcher<>(expectedPatternProcessedKeysList))))
                 .thenReturn(Futures.immediateFuture(timeseries));
 
         when(ctxMock.getDbCallbackExecutor()).thenReturn(DB_EXECUTOR);
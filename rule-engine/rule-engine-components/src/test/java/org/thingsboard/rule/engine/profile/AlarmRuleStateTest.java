@@ -16,6 +16,7 @@
 package org.thingsboard.rule.engine.profile;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -25,8 +26,14 @@ import org.thingsboard.server.common.data.device.profile.AlarmConditionFilterKey
 import org.thingsboard.server.common.data.device.profile.AlarmConditionKeyType;
 import org.thingsboard.server.common.data.device.profile.AlarmRule;
 import org.thingsboard.server.common.data.device.profile.SimpleAlarmConditionSpec;
+import org.thingsboard.server.common.data.query.ComplexFilterPredicate;
+import org.thingsboard.server.common.data.query.ComplexOperation;
+import org.thingsboard.server.common.data.query.DynamicValue;
+import org.thingsboard.server.common.data.query.DynamicValueSourceType;
 import org.thingsboard.server.common.data.query.EntityKeyValueType;
 import org.thingsboard.server.common.data.query.FilterPredicateValue;
+import org.thingsboard.server.common.data.query.KeyFilterPredicate;
+import org.thingsboard.server.common.data.query.NumericFilterPredicate;
 import org.thingsboard.server.common.data.query.StringFilterPredicate;
 
 import java.util.ArrayList;
@@ -35,6 +42,9 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
 public class AlarmRuleStateTest {
 
     private static Stream<Arguments> testEvalCondition() {
@@ -89,4 +99,105 @@ public class AlarmRuleStateTest {
             result.putValue(alarmConditionFilterKey, System.currentTimeMillis(), EntityKeyValue.fromString(attributeValue));
             Assertions.assertEquals(evalResult, alarmRuleState.eval(result));
     }
+
+    @Test
+    public void testEvalComplexNumericCondition() {
+        AlarmConditionFilterKey temperatureKey = new AlarmConditionFilterKey(AlarmConditionKeyType.TIME_SERIES, "temperature");
+
+        NumericFilterPredicate greater = new NumericFilterPredicate();
+        greater.setOperation(NumericFilterPredicate.NumericOperation.GREATER);
+        greater.setValue(new FilterPredicateValue<>(50.0));
+        NumericFilterPredicate less = new NumericFilterPredicate();
+        less.setOperation(NumericFilterPredicate.NumericOperation.LESS);
+        less.setValue(new FilterPredicateValue<>(0.0));
+        ComplexFilterPredicate predicate = new ComplexFilterPredicate();
+        predicate.setOperation(ComplexOperation.OR);
+        predicate.setPredicates(List.of(greater, less));
+
+        AlarmRuleState alarmRuleState = createAlarmRuleState(createFilter(temperatureKey, EntityKeyValueType.NUMERIC, null, predicate));
+
+        Assertions.assertEquals(AlarmEvalResult.TRUE, alarmRuleState.eval(createSnapshot(temperatureKey, EntityKeyValue.fromDouble(55.0))));
+        Assertions.assertEquals(AlarmEvalResult.TRUE, alarmRuleState.eval(createSnapshot(temperatureKey, EntityKeyValue.fromLong(-5))));
+        Assertions.assertEquals(AlarmEvalResult.FALSE, alarmRuleState.eval(createSnapshot(temperatureKey, EntityKeyValue.fromDouble(25.0))));
+        Assertions.assertEquals(AlarmEvalResult.FALSE, alarmRuleState.eval(createSnapshot(new AlarmConditionFilterKey(AlarmConditionKeyType.TIME_SERIES, "humidity"), EntityKeyValue.fromDouble(55.0))));
+    }
+
+    @Test
+    public void testEvalConstantKeyConditionWithDynamicValue() {
+        AlarmConditionFilterKey thresholdKey = new AlarmConditionFilterKey(AlarmConditionKeyType.ATTRIBUTE, "threshold");
+
+        NumericFilterPredicate predicate = new NumericFilterPredicate();
+        predicate.setOperation(NumericFilterPredicate.NumericOperation.LESS);
+        predicate.setValue(new FilterPredicateValue<>(100.0, null, new DynamicValue<>(DynamicValueSourceType.CURRENT_DEVICE, "threshold")));
+
+        AlarmConditionFilterKey constantKey = new AlarmConditionFilterKey(AlarmConditionKeyType.CONSTANT, "constant");
+        AlarmRuleState alarmRuleState = createAlarmRuleState(createFilter(constantKey, EntityKeyValueType.NUMERIC, 10, predicate));
+
+        Assertions.assertEquals(AlarmEvalResult.TRUE, alarmRuleState.eval(createSnapshot(thresholdKey, EntityKeyValue.fromDouble(20.0))));
+        Assertions.assertEquals(AlarmEvalResult.FALSE, alarmRuleState.eval(createSnapshot(thresholdKey, EntityKeyValue.fromDouble(5.0))));
+        // the default value is not used for the constant keys
+        Assertions.assertEquals(AlarmEvalResult.FALSE, alarmRuleState.eval(new DataSnapshot(Set.of(thresholdKey))));
+    }
+
+    @Test
+    public void testEvalInvalidConstantKeyCondition() {
+        NumericFilterPredicate predicate = new NumericFilterPredicate();
+        predicate.setOperation(NumericFilterPredicate.NumericOperation.GREATER);
+        predicate.setValue(new FilterPredicateValue<>(0.0));
+
+        AlarmConditionFilterKey constantKey = new AlarmConditionFilterKey(AlarmConditionKeyType.CONSTANT, "constant");
+        AlarmRuleState alarmRuleState = createAlarmRuleState(createFilter(constantKey, EntityKeyValueType.NUMERIC, "not a number", predicate));
+
+        Assertions.assertEquals(AlarmEvalResult.FALSE, alarmRuleState.eval(new DataSnapshot(Set.of(constantKey))));
+    }
+
+    @Test
+    public void testEvalConditionSharedByDevicesOfProfile() {
+        AlarmConditionFilterKey temperatureKey = new AlarmConditionFilterKey(AlarmConditionKeyType.TIME_SERIES, "temperature");
+
+        NumericFilterPredicate predicate = new NumericFilterPredicate();
+        predicate.setOperation(NumericFilterPredicate.NumericOperation.GREATER);
+        predicate.setValue(new FilterPredicateValue<>(100.0, null, new DynamicValue<>(DynamicValueSourceType.CURRENT_CUSTOMER, "threshold")));
+
+        AlarmRule alarmRule = createAlarmRuleState(createFilter(temperatureKey, EntityKeyValueType.NUMERIC, null, predicate)).getAlarmRule();
+        AlarmConditionEvaluator evaluator = new AlarmConditionEvaluator(alarmRule.getCondition());
+
+        DynamicPredicateValueCtx firstCustomerCtx = mock(DynamicPredicateValueCtx.class);
+        when(firstCustomerCtx.getCustomerValue("threshold")).thenReturn(EntityKeyValue.fromDouble(10.0));
+        DynamicPredicateValueCtx secondCustomerCtx = mock(DynamicPredicateValueCtx.class);
+        when(secondCustomerCtx.getCustomerValue("threshold")).thenReturn(EntityKeyValue.fromDouble(50.0));
+        AlarmRuleState firstDeviceState = new AlarmRuleState(null, alarmRule, null, null, firstCustomerCtx, evaluator);
+        AlarmRuleState secondDeviceState = new AlarmRuleState(null, alarmRule, null, null, secondCustomerCtx, evaluator);
+
+        Assertions.assertSame(firstDeviceState.getConditionEvaluator(), secondDeviceState.getConditionEvaluator());
+        DataSnapshot snapshot = createSnapshot(temperatureKey, EntityKeyValue.fromDouble(30.0));
+        Assertions.assertEquals(AlarmEvalResult.TRUE, firstDeviceState.eval(snapshot));
+        Assertions.assertEquals(AlarmEvalResult.FALSE, secondDeviceState.eval(snapshot));
+    }
+
+    private static AlarmConditionFilter createFilter(AlarmConditionFilterKey key, EntityKeyValueType valueType, Object value, KeyFilterPredicate predicate) {
+        AlarmConditionFilter alarmConditionFilter = new AlarmConditionFilter();
+        alarmConditionFilter.setKey(key);
+        alarmConditionFilter.setValueType(valueType);
+        alarmConditionFilter.setValue(value);
+        alarmConditionFilter.setPredicate(predicate);
+        return alarmConditionFilter;
+    }
+
+    private static AlarmRuleState createAlarmRuleState(AlarmConditionFilter filter) {
+        AlarmCondition alarmCondition = new AlarmCondition();
+        alarmCondition.setSpec(new SimpleAlarmConditionSpec());
+        alarmCondition.setCondition(List.of(filter));
+
+        AlarmRule alarmRule = new AlarmRule();
+        alarmRule.setCondition(alarmCondition);
+        return new AlarmRuleState(null, alarmRule, null, null, null);
+    }
+
+    private static DataSnapshot createSnapshot(AlarmConditionFilterKey key, EntityKeyValue value) {
+        DataSnapshot snapshot = new DataSnapshot(Set.of(key));
+        snapshot.putValue(key, System.currentTimeMillis(), value);
+        return snapshot;
+    }
+
 }